@@ -0,0 +1,36 @@
+package com.mgm.inditex.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of {@code benchmarks.jar}: runs the benchmarks selected by the usual JMH command line with the GC
+ * profiler always on, so every result comes with its allocation rate and bytes allocated per operation
+ * ({@code gc.alloc.rate.norm}).
+ * <p>
+ * Run with {@code mvn package -pl products-api-benchmarks -am -DskipTests} and
+ * {@code java -jar products-api-benchmarks/target/benchmarks.jar [regexp] [JMH options]}, e.g.
+ * {@code java -jar products-api-benchmarks/target/benchmarks.jar RateUseCase -p ratesPerProduct=1,64}.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+public final class BenchmarkRunner
+{
+    private BenchmarkRunner()
+    {
+    }
+
+    public static void main( final String[] args ) throws RunnerException, CommandLineOptionException
+    {
+        var options = new OptionsBuilder()
+            .parent( new CommandLineOptions( args ) )
+            .addProfiler( GCProfiler.class )
+            .build();
+        new Runner( options ).run();
+    }
+}
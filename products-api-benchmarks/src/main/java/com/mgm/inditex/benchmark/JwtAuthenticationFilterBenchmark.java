@@ -0,0 +1,92 @@
+package com.mgm.inditex.benchmark;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Clock;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mgm.inditex.infrastructure.security.jwt.JwtAuthenticationFilter;
+import com.mgm.inditex.infrastructure.security.jwt.JwtService;
+import com.mgm.inditex.infrastructure.security.jwt.VerifiedToken;
+import com.mgm.inditex.infrastructure.security.jwt.VerifiedTokenCache;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+
+/**
+ * Overhead that {@link JwtAuthenticationFilter} adds to a request carrying the same bearer token every time, with
+ * each token verified by {@link JwtService} ({@code cached=false}) or resolved from a {@link VerifiedTokenCache}
+ * ({@code cached=true}). The rest of the chain does nothing.
+ *
+ * @author Miguel Maquieira
+ */
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+@State( Scope.Benchmark )
+public class JwtAuthenticationFilterBenchmark
+{
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret";
+    private static final FilterChain NO_OP_CHAIN = ( request, response ) ->
+    {
+    };
+
+    @Param( {"false", "true"} )
+    public boolean cached;
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup( Level.Trial )
+    public void setUp()
+    {
+        var clock = Clock.systemUTC();
+        var jwtService = new JwtService( SECRET, 3_600_000L, clock );
+        filter = new JwtAuthenticationFilter( jwtService );
+        if ( cached )
+        {
+            var tokens = Caffeine.newBuilder()
+                .maximumSize( 10_000 )
+                .expireAfter( VerifiedTokenCache.untilTokenExpiry( clock ) )
+                .<ByteBuffer, VerifiedToken>build();
+            filter.setVerifiedTokens( new VerifiedTokenCache( tokens, jwtService, clock ) );
+        }
+        request = new MockHttpServletRequest( "GET", "/inditex/api/v1/prices" );
+        request.addHeader( "Authorization", "Bearer " + jwtService.generateToken( "user@inditex.com" ) );
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Object authenticate() throws ServletException, IOException
+    {
+        try
+        {
+            filter.doFilter( request, response, NO_OP_CHAIN );
+            return SecurityContextHolder.getContext().getAuthentication();
+        }
+        finally
+        {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
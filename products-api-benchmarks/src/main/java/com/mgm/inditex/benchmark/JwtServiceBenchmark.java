@@ -0,0 +1,58 @@
+package com.mgm.inditex.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.mgm.inditex.infrastructure.security.jwt.JwtService;
+
+/**
+ * Cost of {@link JwtService#validateAndGetSubject}, paid by every authenticated request, for a valid token and
+ * for one whose signature does not match.
+ *
+ * @author Miguel Maquieira
+ */
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+@State( Scope.Benchmark )
+public class JwtServiceBenchmark
+{
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret";
+
+    private JwtService jwtService;
+    private String token;
+    private String forgedToken;
+
+    @Setup( Level.Trial )
+    public void setUp()
+    {
+        jwtService = new JwtService( SECRET, 3_600_000L );
+        token = jwtService.generateToken( "user@inditex.com" );
+        forgedToken = new JwtService( SECRET.toUpperCase(), 3_600_000L ).generateToken( "user@inditex.com" );
+    }
+
+    @Benchmark
+    public String validToken()
+    {
+        return jwtService.validateAndGetSubject( token );
+    }
+
+    @Benchmark
+    public String forgedToken()
+    {
+        return jwtService.validateAndGetSubject( forgedToken );
+    }
+}
@@ -0,0 +1,53 @@
+package com.mgm.inditex.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.mgm.inditex.core.domain.Rate;
+
+/**
+ * Cost of building and matching the {@link Rate}s of one product: {@link Rate#of} for each of them, as an adapter
+ * does per row, and {@link Rate#appliesAt} for each of them, as an in-memory lookup does per request.
+ *
+ * @author Miguel Maquieira
+ */
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class RateBenchmark
+{
+    @Benchmark
+    public void rateOf( final RateDataset dataset, final Blackhole blackhole )
+    {
+        for ( var rate : dataset.rates )
+        {
+            blackhole.consume( Rate.of( rate.getBrandId(), rate.getProductId(), rate.getPriceListId(),
+                rate.getStartDate(), rate.getEndDate(), rate.getPriority(), rate.getPriceAmount(),
+                rate.getCurrency() ) );
+        }
+    }
+
+    @Benchmark
+    public int appliesAt( final RateDataset dataset )
+    {
+        var applicable = 0;
+        for ( var rate : dataset.rates )
+        {
+            if ( rate.appliesAt( dataset.date ) )
+            {
+                applicable++;
+            }
+        }
+        return applicable;
+    }
+}
@@ -0,0 +1,78 @@
+package com.mgm.inditex.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.mgm.inditex.adapter.outbound.persistence.jpa.entity.RateJpaEntity;
+import com.mgm.inditex.core.domain.Rate;
+
+/**
+ * Rates of a single brand/product/currency, shared by the benchmarks that walk them.
+ * <p>
+ * Rate {@code i} starts {@code i} days after {@link #START} and lasts half as many days as there are rates, so
+ * about half of them apply at {@link #date} and several priorities compete for it, as in a product whose price
+ * lists overlap. The same rates are also kept as {@link RateJpaEntity}s, as the database returns them.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+@State( Scope.Benchmark )
+public class RateDataset
+{
+    public static final int BRAND_ID = 1;
+    public static final long PRODUCT_ID = 35455L;
+    public static final String CURRENCY = "EUR";
+    public static final LocalDateTime START = LocalDateTime.of( 2020, 6, 14, 0, 0 );
+
+    @Param( {"1", "4", "16", "64"} )
+    public int ratesPerProduct;
+
+    public List<Rate> rates;
+    public List<Rate> applicableRates;
+    public List<RateJpaEntity> entities;
+    public LocalDateTime date;
+    public Rate winner;
+
+    @Setup( Level.Trial )
+    public void setUp()
+    {
+        var days = Math.max( 1, ratesPerProduct / 2 );
+        date = START.plusDays( ratesPerProduct / 2 ).withHour( 12 );
+        rates = new ArrayList<>( ratesPerProduct );
+        entities = new ArrayList<>( ratesPerProduct );
+        for ( var i = 0; i < ratesPerProduct; i++ )
+        {
+            var start = START.plusDays( i );
+            var rate = Rate.of( BRAND_ID, PRODUCT_ID, i + 1, start, start.plusDays( days ), ( short ) ( i % 3 ),
+                BigDecimal.valueOf( 1000 + i, 2 ), CURRENCY );
+            rates.add( rate );
+            entities.add( toEntity( i, rate ) );
+        }
+        applicableRates = rates.stream().filter( rate -> rate.appliesAt( date ) ).toList();
+        winner = applicableRates.stream().reduce( Rate.HIGHER_PRIORITY ).orElseThrow();
+    }
+
+    private static RateJpaEntity toEntity( final long id, final Rate rate )
+    {
+        var entity = new RateJpaEntity();
+        entity.setId( id );
+        entity.setBrandId( rate.getBrandId() );
+        entity.setProductId( rate.getProductId() );
+        entity.setCurrency( rate.getCurrency() );
+        entity.setPriceListId( rate.getPriceListId() );
+        entity.setStartDate( rate.getStartDate().toInstant( ZoneOffset.UTC ) );
+        entity.setEndDate( rate.getEndDate().toInstant( ZoneOffset.UTC ) );
+        entity.setPriority( rate.getPriority() );
+        entity.setPrice( rate.getPrice() );
+        return entity;
+    }
+}
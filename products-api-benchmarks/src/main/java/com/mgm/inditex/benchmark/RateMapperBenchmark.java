@@ -0,0 +1,52 @@
+package com.mgm.inditex.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.mgm.inditex.adapter.inbound.web.controller.rate.mapper.RateWebMapper;
+import com.mgm.inditex.adapter.outbound.persistence.jpa.mapper.RateJpaMapper;
+import com.mgm.inditex.controller.model.PriceResponse;
+
+/**
+ * Cost of the two mappings around a lookup: {@link RateJpaMapper#rateJpaEntityToRate} for every entity the JPA
+ * adapter reads for a product, and {@link RateWebMapper#domainToApi} for the winner returned to the client.
+ *
+ * @author Miguel Maquieira
+ */
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+@State( Scope.Benchmark )
+public class RateMapperBenchmark
+{
+    private final RateJpaMapper jpaMapper = Mappers.getMapper( RateJpaMapper.class );
+    private final RateWebMapper webMapper = Mappers.getMapper( RateWebMapper.class );
+
+    @Benchmark
+    public void jpaEntityToRate( final RateDataset dataset, final Blackhole blackhole )
+    {
+        for ( var entity : dataset.entities )
+        {
+            blackhole.consume( jpaMapper.rateJpaEntityToRate( entity ) );
+        }
+    }
+
+    @Benchmark
+    public PriceResponse domainToApi( final RateDataset dataset )
+    {
+        return webMapper.domainToApi( dataset.winner );
+    }
+}
@@ -0,0 +1,106 @@
+package com.mgm.inditex.benchmark;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.mgm.inditex.core.domain.Rate;
+import com.mgm.inditex.core.domain.RateKey;
+import com.mgm.inditex.core.filter.RateKeyFilter;
+import com.mgm.inditex.core.port.outbound.RateRepositoryPort;
+import com.mgm.inditex.core.usecase.RateUseCase;
+import com.mgm.inditex.core.validation.DefaultRateValidator;
+
+/**
+ * Cost of {@link RateUseCase#getPrice} around a repository that answers from memory: validation, key filtering,
+ * logging and picking the winner among the rates that apply, without any I/O.
+ *
+ * @author Miguel Maquieira
+ */
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+@State( Scope.Benchmark )
+public class RateUseCaseBenchmark
+{
+    private RateUseCase useCase;
+    private LocalDateTime date;
+
+    @Setup( Level.Trial )
+    public void setUp( final RateDataset dataset )
+    {
+        useCase = new RateUseCase( new StubRateRepository( dataset.applicableRates ), new DefaultRateValidator(),
+            RateKeyFilter.ALLOW_ALL );
+        date = dataset.date;
+    }
+
+    @Benchmark
+    public Optional<Rate> getPrice()
+    {
+        return useCase.getPrice( RateDataset.BRAND_ID, RateDataset.PRODUCT_ID, RateDataset.CURRENCY, date );
+    }
+
+    /**
+     * Answers every single lookup with the same applicable rates, leaving the choice of the winner to the default
+     * {@link RateRepositoryPort#findApplicableRate}, and every other query with no rates, as an empty store would.
+     */
+    private record StubRateRepository( List<Rate> applicableRates ) implements RateRepositoryPort
+    {
+        @Override
+        public List<Rate> findRatesForBrandAndProductAndCurrency( final Integer brandId, final Long productId,
+            final String currency, final Instant date )
+        {
+            return applicableRates;
+        }
+
+        @Override
+        public List<Rate> findRatesForBrandAndProduct( final Integer brandId, final Long productId,
+            final Instant date )
+        {
+            return List.of();
+        }
+
+        @Override
+        public List<Rate> findAllRatesForBrandAndProductAndCurrency( final Integer brandId, final Long productId,
+            final String currency )
+        {
+            return List.of();
+        }
+
+        @Override
+        public List<Rate> findRatesForKeys( final Collection<RateKey> keys, final Instant from, final Instant to )
+        {
+            return List.of();
+        }
+
+        @Override
+        public void forEachRateForBrand( final Integer brandId, final Instant date, final Consumer<Rate> action )
+        {
+            // no rates to stream
+        }
+
+        @Override
+        public List<RateKey> findAllRateKeys()
+        {
+            return List.of();
+        }
+    }
+}
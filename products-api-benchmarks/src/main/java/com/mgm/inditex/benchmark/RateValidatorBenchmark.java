@@ -0,0 +1,54 @@
+package com.mgm.inditex.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.mgm.inditex.core.validation.ApiValidationException;
+import com.mgm.inditex.core.validation.DefaultRateValidator;
+
+/**
+ * Cost of {@link DefaultRateValidator#validateGetPriceRequest} for a valid request, paid by every price lookup,
+ * and for an invalid one, which also builds the errors and the {@link ApiValidationException}.
+ *
+ * @author Miguel Maquieira
+ */
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+@State( Scope.Benchmark )
+public class RateValidatorBenchmark
+{
+    private final DefaultRateValidator validator = new DefaultRateValidator();
+
+    @Benchmark
+    public void validRequest()
+    {
+        validator.validateGetPriceRequest( RateDataset.BRAND_ID, RateDataset.PRODUCT_ID, RateDataset.CURRENCY,
+            RateDataset.START );
+    }
+
+    @Benchmark
+    public ApiValidationException invalidRequest()
+    {
+        try
+        {
+            validator.validateGetPriceRequest( -1, RateDataset.PRODUCT_ID, "", null );
+            return null;
+        }
+        catch ( ApiValidationException e )
+        {
+            return e;
+        }
+    }
+}
@@ -7,6 +7,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
+import com.mgm.inditex.core.validation.ApiConflictException;
+import com.mgm.inditex.core.validation.ApiNotFoundException;
 import com.mgm.inditex.core.validation.ApiValidationException;
 import com.mgm.inditex.shared.exception.model.ApiError;
 import com.mgm.inditex.shared.exception.model.ApiErrorResponse;
@@ -59,6 +61,40 @@ public class ApiControllerAdvise
         return ResponseEntity.status( HttpStatus.BAD_REQUEST ).body( response );
     }
 
+    /**
+     * Handles requests that target a resource that does not exist.
+     *
+     * @param exception the not found exception containing the missing resource
+     * @return a 404 Not Found response containing the error details
+     */
+    @ExceptionHandler( ApiNotFoundException.class )
+    public ResponseEntity<ApiErrorResponse> handleApiNotFound( final ApiNotFoundException exception )
+    {
+        List<ApiError> errors = exception.getErrors();
+        logErrors( "Not found error", errors, exception.getMessage() );
+
+        var response = ApiErrorResponse.builder().message( exception.getMessage() ).errors( errors ).build();
+
+        return ResponseEntity.status( HttpStatus.NOT_FOUND ).body( response );
+    }
+
+    /**
+     * Handles requests that conflict with the data already stored.
+     *
+     * @param exception the conflict exception containing the conflicting data
+     * @return a 409 Conflict response containing the error details
+     */
+    @ExceptionHandler( ApiConflictException.class )
+    public ResponseEntity<ApiErrorResponse> handleApiConflict( final ApiConflictException exception )
+    {
+        List<ApiError> errors = exception.getErrors();
+        logErrors( "Conflict error", errors, exception.getMessage() );
+
+        var response = ApiErrorResponse.builder().message( exception.getMessage() ).errors( errors ).build();
+
+        return ResponseEntity.status( HttpStatus.CONFLICT ).body( response );
+    }
+
     private void logErrors( final String prefix, final List<ApiError> errors, final String fallbackMessage )
     {
         if ( errors != null && !errors.isEmpty() )
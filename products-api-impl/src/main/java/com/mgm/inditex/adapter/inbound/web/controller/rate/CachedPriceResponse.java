@@ -0,0 +1,33 @@
+package com.mgm.inditex.adapter.inbound.web.controller.rate;
+
+import com.mgm.inditex.controller.model.PriceResponse;
+
+/**
+ * {@link PriceResponse} that also carries its serialized JSON body.
+ * <p>
+ * Instances come from the {@link PriceResponseBytesCache} and are shared between requests, so they must not be
+ * modified. The fields are those of the mapped response, so any code that inspects the body sees the real price,
+ * while {@link CachedPriceResponseConverter} writes the cached bytes instead of serializing it again.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+public class CachedPriceResponse extends PriceResponse
+{
+    private final byte[] body;
+
+    CachedPriceResponse( final PriceResponse response, final byte[] body )
+    {
+        super( response.getBrandId(), response.getProductId(), response.getPriceList(), response.getStartDate(),
+            response.getEndDate(), response.getPrice(), response.getCurrency() );
+        this.body = body;
+    }
+
+    /**
+     * @return the UTF-8 JSON body of the response; callers must not modify it
+     */
+    public byte[] body()
+    {
+        return body;
+    }
+}
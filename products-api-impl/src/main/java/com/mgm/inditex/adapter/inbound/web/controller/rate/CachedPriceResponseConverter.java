@@ -0,0 +1,59 @@
+package com.mgm.inditex.adapter.inbound.web.controller.rate;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+/**
+ * Writes a {@link CachedPriceResponse} as its cached JSON bytes.
+ * <p>
+ * It only handles {@code application/json}, the media type the price endpoint produces, so content negotiation,
+ * {@code Accept} handling and any {@code ResponseBodyAdvice} run as for every other body. It must come before the
+ * Jackson converter, which Spring Boot does for converters declared as beans.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+public class CachedPriceResponseConverter extends AbstractHttpMessageConverter<CachedPriceResponse>
+{
+    public CachedPriceResponseConverter()
+    {
+        super( MediaType.APPLICATION_JSON );
+    }
+
+    @Override
+    protected boolean supports( final Class<?> clazz )
+    {
+        return CachedPriceResponse.class.isAssignableFrom( clazz );
+    }
+
+    @Override
+    public boolean canRead( final Class<?> clazz, final MediaType mediaType )
+    {
+        return false;
+    }
+
+    @Override
+    protected CachedPriceResponse readInternal( final Class<? extends CachedPriceResponse> clazz,
+        final HttpInputMessage inputMessage )
+    {
+        throw new HttpMessageNotReadableException( "Cached price responses are write-only", inputMessage );
+    }
+
+    @Override
+    protected Long getContentLength( final CachedPriceResponse response, final MediaType contentType )
+    {
+        return ( long ) response.body().length;
+    }
+
+    @Override
+    protected void writeInternal( final CachedPriceResponse response, final HttpOutputMessage outputMessage )
+        throws IOException
+    {
+        outputMessage.getBody().write( response.body() );
+    }
+}
@@ -0,0 +1,139 @@
+package com.mgm.inditex.adapter.inbound.web.controller.rate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.mgm.inditex.core.metrics.PriceLookupOutcome;
+
+/**
+ * Aggregated access log of single price lookups.
+ * <p>
+ * Instead of one line per request, lookups are counted per brand and response status, and every {@link #flush()}
+ * writes one JSON line per brand and status seen since the previous flush, with the number of requests and their
+ * mean and maximum duration in the controller:
+ * </p>
+ * <pre>
+ * {"from":"2020-06-14T10:00:00Z","to":"2020-06-14T10:00:10Z","brandId":1,"status":200,"requests":1250,
+ *  "meanMicros":180,"maxMicros":4200}
+ * </pre>
+ * <p>
+ * All the lines of a flush are written as a single event of the {@value #LOGGER_NAME} logger, so a busy instance
+ * hands the appenders one event per interval. Recording a request only touches striped counters. Brands beyond the
+ * first {@code maximumKeys} brand/status pairs are written with a {@code null} brand, which bounds the memory held.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+public class PriceAccessLog
+{
+    /**
+     * Name of the logger the JSON lines are written to.
+     */
+    public static final String LOGGER_NAME = "price-access";
+
+    private static final Logger ACCESS = LoggerFactory.getLogger( LOGGER_NAME );
+
+    private final ConcurrentHashMap<Key, Window> windows = new ConcurrentHashMap<>();
+    private final int maximumKeys;
+    private final Clock clock;
+    private final Logger logger;
+    private Instant since;
+
+    public PriceAccessLog( final int maximumKeys, final Clock clock )
+    {
+        this( maximumKeys, clock, ACCESS );
+    }
+
+    PriceAccessLog( final int maximumKeys, final Clock clock, final Logger logger )
+    {
+        if ( maximumKeys < 1 )
+        {
+            throw new IllegalArgumentException( "maximumKeys must be positive" );
+        }
+        this.maximumKeys = maximumKeys;
+        this.clock = Objects.requireNonNull( clock, "clock" );
+        this.logger = Objects.requireNonNull( logger, "logger" );
+        this.since = clock.instant();
+    }
+
+    /**
+     * Counts a lookup in the current window.
+     *
+     * @param outcome how the lookup was answered
+     * @param brandId the brand of the lookup, or {@code null}
+     * @param nanos how long the controller took, in nanoseconds
+     */
+    public void record( final PriceLookupOutcome outcome, final Integer brandId, final long nanos )
+    {
+        var key = new Key( brandId, outcome.status() );
+        var window = windows.get( key );
+        if ( window == null )
+        {
+            window = windows.computeIfAbsent( windows.size() < maximumKeys ? key : new Key( null, outcome.status() ),
+                k -> new Window() );
+        }
+        window.requests.increment();
+        window.nanos.add( nanos );
+        window.maxNanos.accumulate( nanos );
+    }
+
+    /**
+     * Writes the lines of the current window and starts a new one.
+     *
+     * @return the number of lines written
+     */
+    public synchronized int flush()
+    {
+        var to = clock.instant();
+        var lines = new StringBuilder();
+        var written = 0;
+        for ( var entry : windows.entrySet() )
+        {
+            var window = entry.getValue();
+            var requests = window.requests.sumThenReset();
+            if ( requests == 0 )
+            {
+                continue;
+            }
+            var nanos = window.nanos.sumThenReset();
+            var maxNanos = window.maxNanos.getThenReset();
+            if ( written++ > 0 )
+            {
+                lines.append( '\n' );
+            }
+            lines.append( "{\"from\":\"" ).append( since )
+                .append( "\",\"to\":\"" ).append( to )
+                .append( "\",\"brandId\":" ).append( entry.getKey().brandId() )
+                .append( ",\"status\":" ).append( entry.getKey().status() )
+                .append( ",\"requests\":" ).append( requests )
+                .append( ",\"meanMicros\":" ).append( nanos / requests / 1_000 )
+                .append( ",\"maxMicros\":" ).append( maxNanos / 1_000 )
+                .append( '}' );
+        }
+        since = to;
+
+        if ( written > 0 )
+        {
+            logger.info( "{}", lines );
+        }
+        return written;
+    }
+
+    private record Key( Integer brandId, int status )
+    {
+    }
+
+    private static final class Window
+    {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator( Math::max, 0 );
+    }
+}
@@ -0,0 +1,84 @@
+package com.mgm.inditex.adapter.inbound.web.controller.rate;
+
+import java.io.UncheckedIOException;
+import java.util.Objects;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.mgm.inditex.adapter.inbound.web.controller.rate.mapper.RateWebMapper;
+import com.mgm.inditex.controller.model.PriceResponse;
+import com.mgm.inditex.core.domain.Rate;
+
+/**
+ * Cache of the UTF-8 JSON body of the {@link PriceResponse} of each resolved {@link Rate}.
+ * <p>
+ * The body of a price depends on nothing but its rate, so it is mapped and serialized once and later requests
+ * return the same {@link CachedPriceResponse}, whose bytes {@link CachedPriceResponseConverter} copies to the
+ * response, skipping {@link RateWebMapper} and Jackson. Entries are keyed by the {@link Rate} itself, whose
+ * equality covers every field of the response: a rate that changes in the repository is a different key, so stale
+ * bytes are never served, and {@link #invalidateAll()} only releases the bodies of superseded rates.
+ * </p>
+ * <p>
+ * Bounds and expiry belong to the {@link Cache} handed in (see {@code PriceResponseCacheConfig}).
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+public class PriceResponseBytesCache
+{
+    private final Cache<Rate, CachedPriceResponse> responses;
+    private final RateWebMapper rateWebMapper;
+    private final ObjectWriter priceWriter;
+
+    public PriceResponseBytesCache( final Cache<Rate, CachedPriceResponse> responses,
+        final RateWebMapper rateWebMapper, final ObjectWriter priceWriter )
+    {
+        this.responses = Objects.requireNonNull( responses, "responses" );
+        this.rateWebMapper = Objects.requireNonNull( rateWebMapper, "rateWebMapper" );
+        this.priceWriter = Objects.requireNonNull( priceWriter, "priceWriter" );
+    }
+
+    /**
+     * Returns the price of a rate with its JSON body, mapping and serializing it on the first call only.
+     *
+     * @param rate the resolved rate
+     * @return the shared response of the rate; callers must not modify it
+     */
+    public CachedPriceResponse responseOf( final Rate rate )
+    {
+        return responses.get( rate, this::serialize );
+    }
+
+    /**
+     * Returns the JSON body of the price of a rate, serializing it on the first call only.
+     *
+     * @param rate the resolved rate
+     * @return the UTF-8 bytes of its {@link PriceResponse}; callers must not modify them
+     */
+    public byte[] bodyOf( final Rate rate )
+    {
+        return responseOf( rate ).body();
+    }
+
+    /**
+     * Drops every cached body.
+     */
+    public void invalidateAll()
+    {
+        responses.invalidateAll();
+    }
+
+    private CachedPriceResponse serialize( final Rate rate )
+    {
+        try
+        {
+            var response = rateWebMapper.domainToApi( rate );
+            return new CachedPriceResponse( response, priceWriter.writeValueAsBytes( response ) );
+        }
+        catch ( JsonProcessingException e )
+        {
+            throw new UncheckedIOException( e );
+        }
+    }
+}
@@ -1,14 +1,25 @@
 package com.mgm.inditex.adapter.inbound.web.controller.rate;
 
 import java.time.OffsetDateTime;
+import java.util.Optional;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 
 import com.mgm.inditex.adapter.inbound.web.controller.rate.mapper.RateWebMapper;
 import com.mgm.inditex.controller.api.PriceApiDelegate;
+import com.mgm.inditex.controller.model.PriceBatchItem;
+import com.mgm.inditex.controller.model.PriceBatchRequest;
+import com.mgm.inditex.controller.model.PriceBatchResponse;
 import com.mgm.inditex.controller.model.PriceResponse;
-import com.mgm.inditex.core.usecase.RateUseCase;
+import com.mgm.inditex.controller.model.PriceTimelineResponse;
+import com.mgm.inditex.core.domain.Rate;
+import com.mgm.inditex.core.metrics.PriceLookupMetrics;
+import com.mgm.inditex.core.metrics.PriceLookupOutcome;
+import com.mgm.inditex.core.metrics.PriceLookupStage;
+import com.mgm.inditex.core.port.inbound.RateUserCasePort;
+import com.mgm.inditex.core.validation.ApiValidationException;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -24,7 +35,17 @@ import lombok.extern.slf4j.Slf4j;
  * exposing a REST API endpoint for clients to query for product prices. It
  * delegates the business logic to the core domain, adhering to the {@link PriceApiDelegate}
  * interface, which is typically generated from an OpenAPI specification.
- *
+ * <p>
+ * When a {@link PriceResponseBytesCache} is configured, single prices are answered with a
+ * {@link CachedPriceResponse} that is written from its cached JSON bytes instead of being mapped and serialized on
+ * every request.
+ * </p>
+ * <p>
+ * When {@link PriceLookupMetrics} are configured, single prices record the duration of the controller call and
+ * whether they were answered as found, not found or invalid. Requests rejected before reaching the controller,
+ * such as those with a malformed date, are not counted. The same outcomes and durations feed the
+ * {@link PriceAccessLog} when one is configured.
+ * </p>
  *
  * @author Miguel Maquieira
  */
@@ -34,8 +55,29 @@ import lombok.extern.slf4j.Slf4j;
 @Component
 public class RateController implements PriceApiDelegate
 {
-    private final RateUseCase rateUsecase;
+    private final RateUserCasePort rateUsecase;
     private final RateWebMapper rateWebMapper;
+    private PriceResponseBytesCache priceResponseBytes;
+    private PriceLookupMetrics priceLookupMetrics = PriceLookupMetrics.NONE;
+    private PriceAccessLog priceAccessLog;
+
+    @Autowired( required = false )
+    void setPriceResponseBytes( final PriceResponseBytesCache priceResponseBytes )
+    {
+        this.priceResponseBytes = priceResponseBytes;
+    }
+
+    @Autowired( required = false )
+    void setPriceLookupMetrics( final PriceLookupMetrics priceLookupMetrics )
+    {
+        this.priceLookupMetrics = priceLookupMetrics;
+    }
+
+    @Autowired( required = false )
+    void setPriceAccessLog( final PriceAccessLog priceAccessLog )
+    {
+        this.priceAccessLog = priceAccessLog;
+    }
 
     /**
      * Retrieves the applicable price for a specific product, brand, date, and currency.
@@ -74,11 +116,123 @@ public class RateController implements PriceApiDelegate
     public ResponseEntity<PriceResponse> getPrice( final Integer brandId, final Long productId,
         final OffsetDateTime date, final String currency )
     {
-        var result = rateUsecase.getPrice( brandId, productId, currency, date.toLocalDateTime() );
+        var start = System.nanoTime();
+        PriceLookupOutcome outcome = null;
+        try
+        {
+            var result = rateUsecase.getPrice( brandId, productId, currency, date.toLocalDateTime() );
+            outcome = result.isPresent() ? PriceLookupOutcome.FOUND : PriceLookupOutcome.NOT_FOUND;
+
+            return result
+                .map( this::toPriceResponse )
+                .map( ResponseEntity::ok )
+                .orElse( ResponseEntity.notFound().build() );
+        }
+        catch ( ApiValidationException e )
+        {
+            outcome = PriceLookupOutcome.INVALID;
+            throw e;
+        }
+        finally
+        {
+            var elapsed = System.nanoTime() - start;
+            priceLookupMetrics.recordStage( PriceLookupStage.CONTROLLER, brandId, elapsed );
+            if ( outcome != null )
+            {
+                priceLookupMetrics.recordOutcome( outcome, brandId );
+                if ( priceAccessLog != null )
+                {
+                    priceAccessLog.record( outcome, brandId, elapsed );
+                }
+            }
+        }
+    }
+
+    /**
+     * Retrieves the effective price segments of a product over a date range, so that a price history can be
+     * rendered with one request instead of one {@link #getPrice} call per timestamp.
+     *
+     * @param brandId The unique identifier of the brand.
+     * @param productId The unique identifier of the product.
+     * @param from The first instant of the range, inclusive.
+     * @param to The last instant of the range, inclusive.
+     * @param currency The currency of the prices.
+     * @return A {@link ResponseEntity} containing a {@link PriceTimelineResponse} with the segments in
+     * chronological order, empty if no price applies within the range (HTTP 200 OK).
+     */
+    @Operation(
+        summary = "Get the effective price segments of a product over a date range.",
+        description = "Returns the ordered, non-overlapping periods during which a single price applies."
+    )
+    @ApiResponse(
+        responseCode = "200",
+        description = "Successful response, returns the effective price segments in chronological order.",
+        content = @Content(
+            mediaType = "application/json",
+            schema = @Schema(implementation = PriceTimelineResponse.class)
+        )
+    )
+    @ApiResponse(
+        responseCode = "400",
+        description = "Invalid input. The dates, productId, or brandId may be missing, in the wrong format, or " +
+            "reversed."
+    )
+    @Override
+    public ResponseEntity<PriceTimelineResponse> getPriceTimeline( final Integer brandId, final Long productId,
+        final OffsetDateTime from, final OffsetDateTime to, final String currency )
+    {
+        var segments = rateUsecase.getPriceSegments( brandId, productId, currency, from.toLocalDateTime(),
+            to.toLocalDateTime() );
+
+        return ResponseEntity.ok( new PriceTimelineResponse()
+            .brandId( brandId )
+            .productId( productId )
+            .currency( currency )
+            .segments( segments.stream().map( rateWebMapper::segmentToApi ).toList() ) );
+    }
+
+    /**
+     * Retrieves the applicable prices of many products in a single request.
+     * Every query is resolved as in {@link #getPrice}, but the whole batch is answered from one lookup.
+     *
+     * @param priceBatchRequest The queries, each with its brand, product, date, and currency.
+     * @return A {@link ResponseEntity} containing a {@link PriceBatchResponse} with one item per query, in request
+     * order, marked as {@code NOT_FOUND} when no price is applicable (HTTP 200 OK).
+     */
+    @Operation(
+        summary = "Get the applicable prices of many products in one request.",
+        description = "Returns one item per query, in request order, with a NOT_FOUND status when no price applies."
+    )
+    @ApiResponse(
+        responseCode = "200",
+        description = "Successful response, returns one item per query in request order.",
+        content = @Content(
+            mediaType = "application/json",
+            schema = @Schema(implementation = PriceBatchResponse.class)
+        )
+    )
+    @ApiResponse(
+        responseCode = "400",
+        description = "Invalid input. The batch is empty, too large, or one of its queries is malformed."
+    )
+    @Override
+    public ResponseEntity<PriceBatchResponse> getPricesBatch( final PriceBatchRequest priceBatchRequest )
+    {
+        var queries = priceBatchRequest.getItems().stream().map( rateWebMapper::apiToDomain ).toList();
+        var results = rateUsecase.getPrices( queries );
+
+        return ResponseEntity.ok( new PriceBatchResponse( results.stream().map( this::toBatchItem ).toList() ) );
+    }
 
-        return result
-            .map( rateWebMapper::domainToApi )
-            .map( ResponseEntity::ok )
-            .orElse( ResponseEntity.notFound().build() );
+    private PriceResponse toPriceResponse( final Rate rate )
+    {
+        return priceResponseBytes != null ? priceResponseBytes.responseOf( rate ) : rateWebMapper.domainToApi( rate );
+    }
+
+    private PriceBatchItem toBatchItem( final Optional<Rate> rate )
+    {
+        return rate
+            .map( r -> new PriceBatchItem( PriceBatchItem.StatusEnum.FOUND ).price( rateWebMapper.domainToApi( r ) ) )
+            .orElseGet( () -> new PriceBatchItem( PriceBatchItem.StatusEnum.NOT_FOUND ) );
     }
 }
@@ -0,0 +1,128 @@
+package com.mgm.inditex.adapter.inbound.web.controller.rate;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.OffsetDateTime;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.mgm.inditex.adapter.inbound.web.controller.rate.mapper.RateWebMapper;
+import com.mgm.inditex.controller.model.PriceResponse;
+import com.mgm.inditex.core.domain.PriceExport;
+import com.mgm.inditex.core.port.inbound.RateUserCasePort;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Controller that streams the effective price of every product of a brand as newline-delimited JSON.
+ * <p>
+ * Unlike {@link RateController} it is written by hand rather than generated from {@code products.yaml}: the
+ * generated delegates return a fully built body, while this endpoint writes each {@link PriceResponse} to the
+ * response as soon as the core resolves it, so memory use does not depend on the size of the catalogue. The
+ * request is validated before the response starts, so invalid input still fails with a regular error response.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+@Slf4j
+@Tag( name = "Price", description = "API to fetch the applicable price for a product from the rates table." )
+@RestController
+@RequestMapping( "${openapi.priceService.base-path:/inditex}" )
+public class RateExportController
+{
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final byte NEWLINE = '\n';
+
+    private final RateUserCasePort rateUsecase;
+    private final RateWebMapper rateWebMapper;
+    private final ObjectWriter priceWriter;
+
+    public RateExportController( final RateUserCasePort rateUsecase, final RateWebMapper rateWebMapper,
+        final ObjectMapper objectMapper )
+    {
+        this.rateUsecase = rateUsecase;
+        this.rateWebMapper = rateWebMapper;
+        this.priceWriter = objectMapper.writerFor( PriceResponse.class );
+    }
+
+    /**
+     * Streams the applicable price of every product and currency of a brand at a given date, one JSON document
+     * per line, ordered by product and currency.
+     *
+     * @param brandId The unique identifier of the brand.
+     * @param date The date and time for which the prices are valid.
+     * @return A {@link ResponseEntity} whose body writes one {@link PriceResponse} per line (HTTP 200 OK), empty
+     * if the brand has no price on that date.
+     */
+    @Operation(
+        summary = "Export the applicable price of every product of a brand at a given time.",
+        description = "Streams one PriceResponse per line (NDJSON), ordered by product and currency."
+    )
+    @ApiResponse(
+        responseCode = "200",
+        description = "Successful response, streams the price of every product of the brand.",
+        content = @Content(
+            mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+            schema = @Schema(implementation = PriceResponse.class)
+        )
+    )
+    @ApiResponse(
+        responseCode = "400",
+        description = "Invalid input. The date or brandId may be missing or in the wrong format."
+    )
+    @GetMapping( value = "/api/v1/prices/export", produces = MediaType.APPLICATION_NDJSON_VALUE )
+    public ResponseEntity<StreamingResponseBody> exportPrices(
+        @RequestParam( "brandId" ) final Integer brandId,
+        @RequestParam( "date" ) @DateTimeFormat( iso = DateTimeFormat.ISO.DATE_TIME ) final OffsetDateTime date )
+    {
+        var prices = rateUsecase.exportPricesOfBrand( brandId, date.toLocalDateTime() );
+        StreamingResponseBody body = out -> writePrices( prices, brandId, date, out );
+
+        return ResponseEntity.ok().contentType( MediaType.APPLICATION_NDJSON ).body( body );
+    }
+
+    private void writePrices( final PriceExport prices, final Integer brandId, final OffsetDateTime date,
+        final OutputStream out ) throws IOException
+    {
+        var buffered = new BufferedOutputStream( out, BUFFER_SIZE );
+        try
+        {
+            prices.forEach( rate ->
+            {
+                try
+                {
+                    buffered.write( priceWriter.writeValueAsBytes( rateWebMapper.domainToApi( rate ) ) );
+                    buffered.write( NEWLINE );
+                }
+                catch ( IOException e )
+                {
+                    throw new UncheckedIOException( e );
+                }
+            } );
+        }
+        catch ( UncheckedIOException e )
+        {
+            log.warn( "Price export aborted. {} {}", kv( "brandId", brandId ), kv( "date", date ) );
+            throw e.getCause();
+        }
+        buffered.flush();
+    }
+}
@@ -0,0 +1,116 @@
+package com.mgm.inditex.adapter.inbound.web.controller.rate;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import com.mgm.inditex.adapter.inbound.web.controller.rate.mapper.RateWebMapper;
+import com.mgm.inditex.controller.api.RateApiDelegate;
+import com.mgm.inditex.controller.model.RateRequest;
+import com.mgm.inditex.controller.model.RateResponse;
+import com.mgm.inditex.core.port.inbound.RateWriteUseCasePort;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Controller for creating, updating and deleting rates.
+ * This class acts as an **inbound adapter** in the hexagonal architecture, implementing the {@link RateApiDelegate}
+ * generated from the OpenAPI specification and delegating the business logic to the {@link RateWriteUseCasePort}.
+ * Validation, not found and conflict errors are raised by the use case and rendered by {@code ApiControllerAdvise}.
+ *
+ * @author Miguel Maquieira
+ */
+@Tag( name = "Rate", description = "API to create, update and delete the rates prices are resolved from." )
+@RequiredArgsConstructor
+@Component
+public class RateWriteController implements RateApiDelegate
+{
+    private final RateWriteUseCasePort rateWriteUseCase;
+    private final RateWebMapper rateWebMapper;
+
+    /**
+     * Creates a rate.
+     *
+     * @param rateRequest The fields of the new rate.
+     * @return A {@link ResponseEntity} containing the stored {@link RateResponse} with its identifier
+     * (HTTP 201 Created).
+     */
+    @Operation(
+        summary = "Create a rate.",
+        description = "Stores a new rate, rejecting it if it conflicts with a stored rate of the same product."
+    )
+    @ApiResponse(
+        responseCode = "201",
+        description = "Rate created, returns the stored rate with its identifier.",
+        content = @Content(
+            mediaType = "application/json",
+            schema = @Schema(implementation = RateResponse.class)
+        )
+    )
+    @ApiResponse( responseCode = "400", description = "Invalid input." )
+    @ApiResponse( responseCode = "409", description = "The rate conflicts with a stored rate." )
+    @Override
+    public ResponseEntity<RateResponse> createRate( final RateRequest rateRequest )
+    {
+        var created = rateWriteUseCase.createRate( rateWebMapper.apiToDomain( rateRequest ) );
+        return ResponseEntity.status( HttpStatus.CREATED ).body( rateWebMapper.recordToApi( created ) );
+    }
+
+    /**
+     * Retrieves a rate.
+     *
+     * @param rateId The identifier of the rate.
+     * @return A {@link ResponseEntity} containing the {@link RateResponse} (HTTP 200 OK).
+     */
+    @Operation( summary = "Get a rate." )
+    @ApiResponse( responseCode = "200", description = "Successful response, returns the rate." )
+    @ApiResponse( responseCode = "404", description = "There is no rate with the given identifier." )
+    @Override
+    public ResponseEntity<RateResponse> getRate( final Long rateId )
+    {
+        return ResponseEntity.ok( rateWebMapper.recordToApi( rateWriteUseCase.getRate( rateId ) ) );
+    }
+
+    /**
+     * Replaces every field of a rate.
+     *
+     * @param rateId The identifier of the rate.
+     * @param rateRequest The new fields of the rate.
+     * @return A {@link ResponseEntity} containing the updated {@link RateResponse} (HTTP 200 OK).
+     */
+    @Operation(
+        summary = "Replace a rate.",
+        description = "Replaces every field of a stored rate with the same conflict rules as its creation."
+    )
+    @ApiResponse( responseCode = "200", description = "Rate updated, returns the stored rate." )
+    @ApiResponse( responseCode = "400", description = "Invalid input." )
+    @ApiResponse( responseCode = "404", description = "There is no rate with the given identifier." )
+    @ApiResponse( responseCode = "409", description = "The rate conflicts with another stored rate." )
+    @Override
+    public ResponseEntity<RateResponse> updateRate( final Long rateId, final RateRequest rateRequest )
+    {
+        var updated = rateWriteUseCase.updateRate( rateId, rateWebMapper.apiToDomain( rateRequest ) );
+        return ResponseEntity.ok( rateWebMapper.recordToApi( updated ) );
+    }
+
+    /**
+     * Deletes a rate.
+     *
+     * @param rateId The identifier of the rate.
+     * @return An empty {@link ResponseEntity} (HTTP 204 No Content).
+     */
+    @Operation( summary = "Delete a rate." )
+    @ApiResponse( responseCode = "204", description = "Rate deleted." )
+    @ApiResponse( responseCode = "404", description = "There is no rate with the given identifier." )
+    @Override
+    public ResponseEntity<Void> deleteRate( final Long rateId )
+    {
+        rateWriteUseCase.deleteRate( rateId );
+        return ResponseEntity.noContent().build();
+    }
+}
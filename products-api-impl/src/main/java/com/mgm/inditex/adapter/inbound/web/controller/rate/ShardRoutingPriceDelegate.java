@@ -0,0 +1,317 @@
+package com.mgm.inditex.adapter.inbound.web.controller.rate;
+
+import java.net.URI;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.mgm.inditex.adapter.inbound.web.controller.rate.mapper.RateWebMapper;
+import com.mgm.inditex.controller.api.PriceApiDelegate;
+import com.mgm.inditex.controller.model.PriceBatchItem;
+import com.mgm.inditex.controller.model.PriceBatchRequest;
+import com.mgm.inditex.controller.model.PriceBatchResponse;
+import com.mgm.inditex.controller.model.PriceQuery;
+import com.mgm.inditex.controller.model.PriceResponse;
+import com.mgm.inditex.controller.model.PriceTimelineResponse;
+import com.mgm.inditex.core.shard.BrandShardCoordinator;
+import com.mgm.inditex.core.validation.RateValidator;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Routing tier of a brand-sharded deployment, in front of the local {@link PriceApiDelegate}.
+ * <p>
+ * A lookup of a brand owned by another instance, according to the {@link BrandShardCoordinator}, is validated
+ * here and forwarded to that instance with the same path, query and credentials. The owner's price or timeline is
+ * read into the response model and returned with the owner's status, so it goes through the same message
+ * converters as a local answer; a 404 is returned without a body, as it is locally. Batches are split by owner:
+ * the queries of each other instance are sent to it as one sub-batch, concurrently, while the local ones are
+ * answered here, and the items are put back in request order.
+ * </p>
+ * <p>
+ * Forwarded requests carry the {@value #FORWARDED_BY_HEADER} header and are always answered by the instance that
+ * receives them, so a request is never forwarded twice even while two instances disagree on the ring. If the
+ * owner cannot be reached or answers anything else than a success or a 404, the request is answered locally, from
+ * the database for brands this instance does not hold. The member that answered is reported in the
+ * {@value #SERVED_BY_HEADER} response header.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+@Slf4j
+public class ShardRoutingPriceDelegate implements PriceApiDelegate
+{
+    public static final String FORWARDED_BY_HEADER = "X-Shard-Forwarded-By";
+    public static final String SERVED_BY_HEADER = "X-Shard-Member";
+
+    // same bound as the specification and the validator, so a batch is never split into acceptable sub-batches
+    private static final int MAX_BATCH_SIZE = 500;
+
+    /**
+     * How a request, or a sub-batch, was answered.
+     */
+    public enum Outcome
+    {
+        LOCAL, FORWARDED, FALLBACK
+    }
+
+    private final PriceApiDelegate local;
+    private final BrandShardCoordinator coordinator;
+    private final RestClient client;
+    private final Executor forwarders;
+    private final RateValidator rateValidator;
+    private final RateWebMapper rateWebMapper;
+    private final Consumer<Outcome> outcomes;
+
+    public ShardRoutingPriceDelegate( final PriceApiDelegate local, final BrandShardCoordinator coordinator,
+        final RestClient client, final Executor forwarders, final RateValidator rateValidator,
+        final RateWebMapper rateWebMapper, final Consumer<Outcome> outcomes )
+    {
+        this.local = Objects.requireNonNull( local, "local" );
+        this.coordinator = Objects.requireNonNull( coordinator, "coordinator" );
+        this.client = Objects.requireNonNull( client, "client" );
+        this.forwarders = Objects.requireNonNull( forwarders, "forwarders" );
+        this.rateValidator = Objects.requireNonNull( rateValidator, "rateValidator" );
+        this.rateWebMapper = Objects.requireNonNull( rateWebMapper, "rateWebMapper" );
+        this.outcomes = Objects.requireNonNull( outcomes, "outcomes" );
+    }
+
+    @Override
+    public ResponseEntity<PriceResponse> getPrice( final Integer brandId, final Long productId,
+        final OffsetDateTime date, final String currency )
+    {
+        var owner = remoteOwnerOf( brandId );
+        if ( owner != null )
+        {
+            rateValidator.validateGetPriceRequest( brandId, productId, currency, date.toLocalDateTime() );
+            var forwarded = forward( owner, PriceResponse.class );
+            if ( forwarded.isPresent() )
+            {
+                return forwarded.get();
+            }
+        }
+        return servedBy( local.getPrice( brandId, productId, date, currency ), coordinator.self() );
+    }
+
+    @Override
+    public ResponseEntity<PriceTimelineResponse> getPriceTimeline( final Integer brandId, final Long productId,
+        final OffsetDateTime from, final OffsetDateTime to, final String currency )
+    {
+        var owner = remoteOwnerOf( brandId );
+        if ( owner != null )
+        {
+            rateValidator.validateGetPriceSegmentsRequest( brandId, productId, currency, from.toLocalDateTime(),
+                to.toLocalDateTime() );
+            var forwarded = forward( owner, PriceTimelineResponse.class );
+            if ( forwarded.isPresent() )
+            {
+                return forwarded.get();
+            }
+        }
+        return servedBy( local.getPriceTimeline( brandId, productId, from, to, currency ), coordinator.self() );
+    }
+
+    @Override
+    public ResponseEntity<PriceBatchResponse> getPricesBatch( final PriceBatchRequest priceBatchRequest )
+    {
+        var items = priceBatchRequest.getItems();
+        var request = currentRequest();
+        if ( request == null || isForwarded( request ) || items == null || items.isEmpty() ||
+            items.size() > MAX_BATCH_SIZE )
+        {
+            return answerLocally( priceBatchRequest );
+        }
+        // the whole batch is validated here, so that errors keep the positions of the original request
+        rateValidator.validateGetPricesRequest( items.stream().map( rateWebMapper::apiToDomain ).toList() );
+
+        var positionsByOwner = new LinkedHashMap<String, List<Integer>>();
+        for ( var i = 0; i < items.size(); i++ )
+        {
+            positionsByOwner.computeIfAbsent( coordinator.ownerOf( items.get( i ).getBrandId() ),
+                owner -> new ArrayList<>() ).add( i );
+        }
+        if ( positionsByOwner.size() == 1 && positionsByOwner.containsKey( coordinator.self() ) )
+        {
+            return answerLocally( priceBatchRequest );
+        }
+
+        var uri = request.getRequestURI();
+        var credentials = request.getHeader( HttpHeaders.AUTHORIZATION );
+        var remote = new LinkedHashMap<String, CompletableFuture<PriceBatchResponse>>();
+        positionsByOwner.forEach( ( owner, positions ) ->
+        {
+            if ( !owner.equals( coordinator.self() ) )
+            {
+                var subBatch = subBatch( items, positions );
+                remote.put( owner, CompletableFuture.supplyAsync( () -> post( owner, uri, credentials, subBatch ),
+                    forwarders ) );
+            }
+        } );
+
+        var answered = new PriceBatchItem[items.size()];
+        var servedBy = new LinkedHashSet<String>();
+        positionsByOwner.forEach( ( owner, positions ) ->
+        {
+            var subBatch = subBatch( items, positions );
+            var response = owner.equals( coordinator.self() ) ? null : remote.get( owner ).handle( ( body, error ) ->
+                error == null ? body : fallback( owner, error ) ).join();
+            if ( response == null )
+            {
+                response = local.getPricesBatch( subBatch ).getBody();
+                servedBy.add( coordinator.self() );
+                outcomes.accept( owner.equals( coordinator.self() ) ? Outcome.LOCAL : Outcome.FALLBACK );
+            }
+            else
+            {
+                servedBy.add( owner );
+                outcomes.accept( Outcome.FORWARDED );
+            }
+            for ( var i = 0; i < positions.size(); i++ )
+            {
+                answered[positions.get( i )] = response.getItems().get( i );
+            }
+        } );
+
+        return ResponseEntity.ok()
+            .header( SERVED_BY_HEADER, String.join( ",", servedBy ) )
+            .body( new PriceBatchResponse( List.of( answered ) ) );
+    }
+
+    private ResponseEntity<PriceBatchResponse> answerLocally( final PriceBatchRequest priceBatchRequest )
+    {
+        outcomes.accept( Outcome.LOCAL );
+        return servedBy( local.getPricesBatch( priceBatchRequest ), coordinator.self() );
+    }
+
+    /**
+     * Decides whether a lookup of a brand has to be forwarded, counting it as local when it does not.
+     *
+     * @param brandId the brand of the request
+     * @return the owner of the brand when it is another instance and the request has not been forwarded already,
+     * {@code null} if the request must be answered locally
+     */
+    private String remoteOwnerOf( final Integer brandId )
+    {
+        var request = currentRequest();
+        if ( brandId == null || request == null || isForwarded( request ) || coordinator.isLocal( brandId ) )
+        {
+            outcomes.accept( Outcome.LOCAL );
+            return null;
+        }
+        return coordinator.ownerOf( brandId );
+    }
+
+    /**
+     * Forwards the current request to the owner of its brand.
+     *
+     * @param owner the base URL of the owner
+     * @param bodyType the response model of the endpoint
+     * @param <T> the type of the response model
+     * @return the owner's answer, or empty if the request must be answered locally
+     */
+    private <T> Optional<ResponseEntity<T>> forward( final String owner, final Class<T> bodyType )
+    {
+        var request = currentRequest();
+        var query = request.getQueryString();
+        try
+        {
+            var forwarded = client.get()
+                .uri( URI.create( owner + request.getRequestURI() + ( query == null ? "" : "?" + query ) ) )
+                .headers( headers -> forwardedHeaders( headers, request.getHeader( HttpHeaders.AUTHORIZATION ) ) )
+                .exchange( ( clientRequest, clientResponse ) ->
+                {
+                    var status = clientResponse.getStatusCode();
+                    if ( !status.is2xxSuccessful() && !status.isSameCodeAs( HttpStatus.NOT_FOUND ) )
+                    {
+                        throw new RestClientException( "Shard owner answered " + status );
+                    }
+                    var servedBy = clientResponse.getHeaders().getFirst( SERVED_BY_HEADER );
+                    var response = ResponseEntity.status( status )
+                        .header( SERVED_BY_HEADER, servedBy != null ? servedBy : owner );
+                    return status.is2xxSuccessful()
+                        ? response.body( clientResponse.bodyTo( bodyType ) )
+                        : response.<T>build();
+                } );
+            outcomes.accept( Outcome.FORWARDED );
+            return Optional.of( forwarded );
+        }
+        catch ( RestClientException e )
+        {
+            fallback( owner, e );
+            outcomes.accept( Outcome.FALLBACK );
+            return Optional.empty();
+        }
+    }
+
+    private PriceBatchResponse post( final String owner, final String uri, final String credentials,
+        final PriceBatchRequest subBatch )
+    {
+        return client.post()
+            .uri( URI.create( owner + uri ) )
+            .headers( headers -> forwardedHeaders( headers, credentials ) )
+            .contentType( MediaType.APPLICATION_JSON )
+            .body( subBatch )
+            .retrieve()
+            .body( PriceBatchResponse.class );
+    }
+
+    private void forwardedHeaders( final HttpHeaders headers, final String credentials )
+    {
+        headers.set( FORWARDED_BY_HEADER, coordinator.self() );
+        headers.setAccept( List.of( MediaType.APPLICATION_JSON ) );
+        if ( credentials != null )
+        {
+            headers.set( HttpHeaders.AUTHORIZATION, credentials );
+        }
+    }
+
+    private PriceBatchResponse fallback( final String owner, final Throwable error )
+    {
+        log.warn( "Shard owner unavailable, answering locally. {} {}", kv( "owner", owner ),
+            kv( "error", error.getMessage() ) );
+        return null;
+    }
+
+    private static PriceBatchRequest subBatch( final List<PriceQuery> items, final List<Integer> positions )
+    {
+        return new PriceBatchRequest( positions.stream().map( items::get ).toList() );
+    }
+
+    private static <T> ResponseEntity<T> servedBy( final ResponseEntity<T> response, final String member )
+    {
+        return ResponseEntity.status( response.getStatusCode() )
+            .headers( response.getHeaders() )
+            .header( SERVED_BY_HEADER, member )
+            .body( response.getBody() );
+    }
+
+    private static boolean isForwarded( final HttpServletRequest request )
+    {
+        return request.getHeader( FORWARDED_BY_HEADER ) != null;
+    }
+
+    private static HttpServletRequest currentRequest()
+    {
+        return RequestContextHolder.getRequestAttributes() instanceof final ServletRequestAttributes attributes
+            ? attributes.getRequest() : null;
+    }
+}
@@ -1,7 +1,6 @@
 package com.mgm.inditex.adapter.inbound.web.controller.rate.mapper;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
@@ -11,8 +10,17 @@ import org.mapstruct.Mapping;
 import org.mapstruct.Mappings;
 import org.mapstruct.Named;
 
+import com.mgm.inditex.controller.model.PriceQuery;
 import com.mgm.inditex.controller.model.PriceResponse;
+import com.mgm.inditex.controller.model.PriceSegment;
+import com.mgm.inditex.controller.model.RateRequest;
+import com.mgm.inditex.controller.model.RateResponse;
+import com.mgm.inditex.core.domain.Price;
 import com.mgm.inditex.core.domain.Rate;
+import com.mgm.inditex.core.domain.RateDraft;
+import com.mgm.inditex.core.domain.RateQuery;
+import com.mgm.inditex.core.domain.RateRecord;
+import com.mgm.inditex.core.timeline.RateSegment;
 
 /**
  * Please add your description here.
@@ -30,11 +38,47 @@ public interface RateWebMapper
         @Mapping( target = "priceList",     source = "priceListId" ),
         @Mapping( target = "startDate",     source = "startDate" ),
         @Mapping( target = "endDate",       source = "endDate" ),
-        @Mapping( target = "price",         source = "price", qualifiedByName = "round2" ),
+        @Mapping( target = "price",         source = "priceAmount", qualifiedByName = "round2" ),
         @Mapping( target = "currency",      source = "currency" )
     } )
     PriceResponse domainToApi( Rate rate );
 
+    @Mappings( {
+        @Mapping( target = "priceList",     source = "rate.priceListId" ),
+        @Mapping( target = "startDate",     source = "start" ),
+        @Mapping( target = "endDate",       expression = "java( mapToOffset( segment.endInclusive() ) )" ),
+        @Mapping( target = "price",         source = "rate.priceAmount", qualifiedByName = "round2" )
+    } )
+    PriceSegment segmentToApi( RateSegment segment );
+
+    @Mappings( {
+        @Mapping( target = "id",            source = "id" ),
+        @Mapping( target = "brandId",       source = "rate.brandId" ),
+        @Mapping( target = "productId",     source = "rate.productId" ),
+        @Mapping( target = "priceList",     source = "rate.priceListId" ),
+        @Mapping( target = "startDate",     source = "rate.startDate" ),
+        @Mapping( target = "endDate",       source = "rate.endDate" ),
+        @Mapping( target = "priority",      source = "rate.priority" ),
+        @Mapping( target = "price",         source = "rate.priceAmount", qualifiedByName = "round2" ),
+        @Mapping( target = "currency",      source = "rate.currency" )
+    } )
+    RateResponse recordToApi( RateRecord rateRecord );
+
+    // API → Domain
+    RateQuery apiToDomain( PriceQuery query );
+
+    @Mapping( target = "priceListId",       source = "priceList" )
+    RateDraft apiToDomain( RateRequest request );
+
+    default LocalDateTime mapToLocal( final OffsetDateTime offsetDateTime )
+    {
+        if ( offsetDateTime == null )
+        {
+            return null;
+        }
+        return offsetDateTime.toLocalDateTime();
+    }
+
     default OffsetDateTime mapToOffset( final LocalDateTime localDateTime )
     {
         if ( localDateTime == null )
@@ -44,9 +88,10 @@ public interface RateWebMapper
         return localDateTime.atOffset( ZoneOffset.UTC );
     }
 
+    // rounds the fixed-point amount in integer arithmetic, half up, and builds the only BigDecimal of the response
     @Named( "round2" )
-    default BigDecimal round2( final BigDecimal value )
+    default BigDecimal round2( final Price value )
     {
-        return value == null ? null : value.setScale( 2, RoundingMode.HALF_UP );
+        return value == null ? null : value.toCentsBigDecimal();
     }
 }
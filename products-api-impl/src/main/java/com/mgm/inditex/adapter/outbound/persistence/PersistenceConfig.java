@@ -1,23 +1,222 @@
 package com.mgm.inditex.adapter.outbound.persistence;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.mgm.inditex.adapter.outbound.persistence.ingest.RateBulkImporter;
+import com.mgm.inditex.adapter.outbound.persistence.jdbc.RateJdbcRepositoryAdapter;
 import com.mgm.inditex.adapter.outbound.persistence.jpa.RateJpaRepository;
 import com.mgm.inditex.adapter.outbound.persistence.jpa.mapper.RateJpaMapper;
+import com.mgm.inditex.adapter.outbound.persistence.memory.ColumnarRateStore;
+import com.mgm.inditex.adapter.outbound.persistence.memory.RateInMemoryRepositoryAdapter;
+import com.mgm.inditex.adapter.outbound.persistence.memory.RateSnapshotFile;
+import com.mgm.inditex.adapter.outbound.persistence.memory.RateWriteThroughAdapter;
+import com.mgm.inditex.adapter.outbound.persistence.shard.ShardedRateRepositoryAdapter;
+import com.mgm.inditex.core.domain.Rate;
 import com.mgm.inditex.core.port.outbound.RateRepositoryPort;
+import com.mgm.inditex.core.port.outbound.RateWritePort;
+import com.mgm.inditex.core.sync.RateChangeListener;
+
+import jakarta.persistence.EntityManager;
 
 /**
  * Spring configuration for persistence layer beans.
+ * <p>
+ * The {@link RateRepositoryPort} implementation is selected with {@code app.persistence.rate-repository}:
+ * {@code jpa} (default) queries the database on every lookup, {@code jdbc} runs the same queries with plain
+ * JDBC and maps rows straight into rates, bypassing Hibernate, {@code memory} loads the {@code rates} table
+ * into an interval index on startup and answers lookups from the heap, {@code columnar} does the same with
+ * primitive columns that only materialise {@code Rate} objects for the returned rows, and {@code snapshot}
+ * memory-maps the columns from the {@link RateSnapshotFile} at {@code app.persistence.snapshot-path}.
+ * {@code sharded} holds only the brands this instance owns in memory, see {@link ShardedRateRepositoryAdapter}
+ * and {@code ShardingConfig}.
+ * </p>
+ * <p>
+ * The {@link RateWritePort} is the database repository itself with {@code jpa} and {@code jdbc}. The in-memory
+ * repositories are written through a {@link RateJdbcRepositoryAdapter} by a {@link RateWriteThroughAdapter},
+ * which patches them with the keys each write touched.
+ * </p>
+ * <p>
+ * Setting {@code app.persistence.snapshot-export} turns the application into an admin command that writes that
+ * snapshot file from the database and exits. Likewise, setting {@code app.persistence.rate-import.file} imports
+ * that CSV or NDJSON rate file with the {@link RateBulkImporter} and exits.
+ * </p>
  *
  * @author Miguel Maquieira
  */
 @Configuration
 public class PersistenceConfig
 {
+    private static final String RATE_REPOSITORY_PROPERTY = "rate-repository";
+    private static final String PERSISTENCE_PREFIX = "app.persistence";
+    // rows read per round trip by brand-wide scans; single lookups return far fewer
+    private static final int JDBC_FETCH_SIZE = 500;
+
+    @Bean
+    @ConditionalOnProperty( prefix = PERSISTENCE_PREFIX, name = RATE_REPOSITORY_PROPERTY, havingValue = "jpa",
+        matchIfMissing = true )
+    RateJpaRepositoryAdapter rateRepositoryPort( final RateJpaRepository jpa, final RateJpaMapper jpaMapper,
+        final EntityManager entityManager )
+    {
+        return new RateJpaRepositoryAdapter( jpa,  jpaMapper, entityManager );
+    }
+
+    @Bean
+    @ConditionalOnProperty( prefix = PERSISTENCE_PREFIX, name = RATE_REPOSITORY_PROPERTY, havingValue = "jdbc" )
+    RateJdbcRepositoryAdapter jdbcRateRepositoryPort( final DataSource dataSource,
+        final PlatformTransactionManager transactionManager )
+    {
+        var jdbc = new JdbcTemplate( dataSource );
+        jdbc.setFetchSize( JDBC_FETCH_SIZE );
+        return new RateJdbcRepositoryAdapter( new NamedParameterJdbcTemplate( jdbc ),
+            new TransactionTemplate( transactionManager ) );
+    }
+
+    @Bean( initMethod = "reload" )
+    @ConditionalOnProperty( prefix = PERSISTENCE_PREFIX, name = RATE_REPOSITORY_PROPERTY, havingValue = "memory" )
+    RateInMemoryRepositoryAdapter inMemoryRateRepositoryPort( final RateJpaRepository jpa,
+        final RateJpaMapper jpaMapper, final PersistenceConfigProps props )
+    {
+        return compacting( new RateInMemoryRepositoryAdapter( allRates( jpa, jpaMapper ) ), props );
+    }
+
+    @Bean( initMethod = "reload" )
+    @ConditionalOnProperty( prefix = PERSISTENCE_PREFIX, name = RATE_REPOSITORY_PROPERTY, havingValue = "columnar" )
+    RateInMemoryRepositoryAdapter columnarRateRepositoryPort( final RateJpaRepository jpa,
+        final RateJpaMapper jpaMapper, final PersistenceConfigProps props )
+    {
+        return compacting( new RateInMemoryRepositoryAdapter( allRates( jpa, jpaMapper ), ColumnarRateStore::of ),
+            props );
+    }
+
+    @Bean( initMethod = "reload" )
+    @ConditionalOnProperty( prefix = PERSISTENCE_PREFIX, name = RATE_REPOSITORY_PROPERTY, havingValue = "snapshot" )
+    RateInMemoryRepositoryAdapter snapshotRateRepositoryPort( final PersistenceConfigProps props )
+    {
+        // patches are folded into a heap columnar store, which the next reload replaces with the mapped file again
+        return compacting( RateInMemoryRepositoryAdapter.fromStore( () -> mapSnapshot( props.getSnapshotPath() ),
+            ColumnarRateStore::of ), props );
+    }
+
+    @Bean
+    @ConditionalOnProperty( prefix = PERSISTENCE_PREFIX, name = RATE_REPOSITORY_PROPERTY, havingValue = "sharded" )
+    ShardedRateRepositoryAdapter shardedRateRepositoryPort( final RateJpaRepository jpa,
+        final RateJpaMapper jpaMapper, final DataSource dataSource, final PersistenceConfigProps props )
+    {
+        // the brands are loaded on the first rebalance, once the members of the ring are known
+        var sharded = new ShardedRateRepositoryAdapter( jdbcRepository( dataSource ), jpa::findAllBrandIds,
+            brands -> jpa.findAllRatesForBrands( brands ).stream().map( jpaMapper::rateJpaEntityToRate ).toList() );
+        sharded.setCompactionThreshold( props.getPatchCompactionThreshold() );
+        return sharded;
+    }
+
+    @Bean
+    @ConditionalOnBean( RateInMemoryRepositoryAdapter.class )
+    RateWriteThroughAdapter inMemoryRateWritePort( final RateInMemoryRepositoryAdapter store,
+        final DataSource dataSource, final PlatformTransactionManager transactionManager )
+    {
+        return writeThrough( store, dataSource, transactionManager );
+    }
+
+    @Bean
+    @ConditionalOnBean( ShardedRateRepositoryAdapter.class )
+    RateWriteThroughAdapter shardedRateWritePort( final ShardedRateRepositoryAdapter store,
+        final DataSource dataSource, final PlatformTransactionManager transactionManager )
+    {
+        return writeThrough( store, dataSource, transactionManager );
+    }
+
+    @Bean
+    RateSnapshotExporter rateSnapshotExporter( final RateJpaRepository jpa, final RateJpaMapper jpaMapper )
+    {
+        return new RateSnapshotExporter( allRates( jpa, jpaMapper ) );
+    }
+
     @Bean
-    RateRepositoryPort rateRepositoryPort( final RateJpaRepository jpa, final RateJpaMapper jpaMapper )
+    @ConditionalOnProperty( prefix = PERSISTENCE_PREFIX, name = "snapshot-export" )
+    ApplicationRunner rateSnapshotExportCommand( final RateSnapshotExporter exporter,
+        final PersistenceConfigProps props, final ConfigurableApplicationContext context )
+    {
+        return args ->
+        {
+            exporter.export( props.getSnapshotExport() );
+            System.exit( SpringApplication.exit( context ) );
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty( prefix = PERSISTENCE_PREFIX + ".rate-import", name = "file" )
+    ApplicationRunner rateImportCommand( final DataSource dataSource, final PersistenceConfigProps props,
+        final ConfigurableApplicationContext context )
+    {
+        var settings = props.getRateImport();
+        var importer = new RateBulkImporter( dataSource, settings.getBatchSize(), settings.getRowsPerTransaction(),
+            settings.getParallelism() );
+        return args ->
+        {
+            importer.importFile( settings.getFile() );
+            System.exit( SpringApplication.exit( context ) );
+        };
+    }
+
+    private static RateWriteThroughAdapter writeThrough( final RateChangeListener store, final DataSource dataSource,
+        final PlatformTransactionManager transactionManager )
+    {
+        // built outside Spring, so the writes are wrapped in transactions explicitly rather than by a proxy
+        var database = new RateJdbcRepositoryAdapter( new NamedParameterJdbcTemplate( dataSource ),
+            new TransactionTemplate( transactionManager ) );
+        return new RateWriteThroughAdapter( database, database, store );
+    }
+
+    private static RateInMemoryRepositoryAdapter compacting( final RateInMemoryRepositoryAdapter adapter,
+        final PersistenceConfigProps props )
+    {
+        adapter.setCompactionThreshold( props.getPatchCompactionThreshold() );
+        return adapter;
+    }
+
+    private static RateJdbcRepositoryAdapter jdbcRepository( final DataSource dataSource )
+    {
+        return new RateJdbcRepositoryAdapter( new NamedParameterJdbcTemplate( dataSource ) );
+    }
+
+    private static ColumnarRateStore mapSnapshot( final Path path )
+    {
+        if ( path == null )
+        {
+            throw new IllegalStateException( PERSISTENCE_PREFIX + ".snapshot-path is required for the snapshot "
+                + "rate repository" );
+        }
+        try
+        {
+            return RateSnapshotFile.map( path );
+        }
+        catch ( IOException e )
+        {
+            throw new UncheckedIOException( e );
+        }
+    }
+
+    private static Supplier<List<Rate>> allRates( final RateJpaRepository jpa, final RateJpaMapper jpaMapper )
     {
-        return new RateJpaRepositoryAdapter( jpa,  jpaMapper );
+        return () -> jpa.findAll( Sort.by( "id" ) ).stream().map( jpaMapper::rateJpaEntityToRate ).toList();
     }
 }
@@ -0,0 +1,69 @@
+package com.mgm.inditex.adapter.outbound.persistence;
+
+import java.nio.file.Path;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import com.mgm.inditex.adapter.outbound.persistence.memory.RateInMemoryRepositoryAdapter;
+
+import lombok.Data;
+
+/**
+ * Persistence config bean.
+ *
+ * @author Miguel Maquieira
+ */
+@Component
+@ConfigurationProperties( prefix = "app.persistence" )
+@Data
+public class PersistenceConfigProps
+{
+    /**
+     * Snapshot file served when {@code rate-repository} is {@code snapshot}.
+     */
+    private Path snapshotPath;
+
+    /**
+     * Keys patched into an in-memory rate store by writes and change capture above which the patches are folded
+     * into a new store, rather than copied on every later change until the next reload.
+     */
+    private int patchCompactionThreshold = RateInMemoryRepositoryAdapter.DEFAULT_COMPACTION_THRESHOLD;
+
+    /**
+     * When set, the application writes a snapshot of the {@code rates} table to this file and exits.
+     */
+    private Path snapshotExport;
+
+    /**
+     * Bulk import of a rate file, run as an admin command when {@code rate-import.file} is set.
+     */
+    private RateImport rateImport = new RateImport();
+
+    /**
+     * Rate import settings.
+     */
+    @Data
+    public static class RateImport
+    {
+        /**
+         * When set, the application imports this CSV or NDJSON rate file into the {@code rates} table and exits.
+         */
+        private Path file;
+
+        /**
+         * Rows per JDBC batch, which is also the size of the chunks validated in parallel.
+         */
+        private int batchSize = 1_000;
+
+        /**
+         * Rows written between commits.
+         */
+        private long rowsPerTransaction = 100_000;
+
+        /**
+         * Threads parsing and validating rows.
+         */
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+    }
+}
@@ -1,71 +1,329 @@
 package com.mgm.inditex.adapter.outbound.persistence;
 
 import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import static net.logstash.logback.argument.StructuredArguments.kv;
 
+import org.hibernate.Session;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.mgm.inditex.adapter.outbound.persistence.jdbc.RateChangeJdbcAdapter;
+import com.mgm.inditex.adapter.outbound.persistence.jdbc.RateKeyLocks;
 import com.mgm.inditex.adapter.outbound.persistence.jpa.RateJpaRepository;
+import com.mgm.inditex.adapter.outbound.persistence.jpa.entity.RateJpaEntity;
 import com.mgm.inditex.adapter.outbound.persistence.jpa.mapper.RateJpaMapper;
+import com.mgm.inditex.adapter.outbound.persistence.jpa.projection.RateProjection;
 import com.mgm.inditex.core.domain.Rate;
+import com.mgm.inditex.core.domain.RateKey;
+import com.mgm.inditex.core.domain.RateRecord;
+import com.mgm.inditex.core.port.outbound.RateConflictCheck;
+import com.mgm.inditex.core.port.outbound.RateConstraintViolationException;
 import com.mgm.inditex.core.port.outbound.RateRepositoryPort;
+import com.mgm.inditex.core.port.outbound.RateWritePort;
 
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
- * Adapter that implements the {@link RateRepositoryPort} using JPA.
+ * Adapter that implements the {@link RateRepositoryPort} and the {@link RateWritePort} using JPA.
  * <p>
  * Delegates persistence operations to {@link RateJpaRepository}
  * and maps entities to the domain model {@link Rate}.
  * </p>
+ * <p>
+ * Single price lookups let the database pick the winner and read it as a {@link RateProjection}, so one row
+ * crosses the JDBC boundary and nothing enters the persistence context however many rates overlap.
+ * </p>
+ * <p>
+ * Brand-wide scans are streamed from a database cursor and every entity is detached once mapped, so the
+ * persistence context never grows with the size of the catalogue.
+ * </p>
+ * <p>
+ * Writes are flushed before they return, so constraint violations surface from the call that caused them, as a
+ * {@link RateConstraintViolationException}, and
+ * append the keys they touch to the {@code rate_changes} log on the same connection and transaction (see
+ * {@link RateChangeJdbcAdapter}). Inserts and updates first lock the written key and check the rates overlapping it
+ * on that connection too (see {@link RateKeyLocks}).
+ * </p>
  *
  * @author Miguel Maquieira
  */
 @Slf4j
 @RequiredArgsConstructor
-public class RateJpaRepositoryAdapter implements RateRepositoryPort
+public class RateJpaRepositoryAdapter implements RateRepositoryPort, RateWritePort
 {
     private final RateJpaRepository jpaRepository;
     private final RateJpaMapper mapper;
+    private final EntityManager entityManager;
 
     @Override
     public List<Rate> findRatesForBrandAndProductAndCurrency( final Integer brandId, final Long productId,
         final String currency, final Instant date )
     {
-        log.debug( "Finding rates. {} {} {} {}",
-            kv( "brandId", brandId ),
-            kv( "productId", productId ),
-            kv( "currency", currency ),
-            kv( "date", date ) );
+        if ( log.isDebugEnabled() )
+        {
+            log.debug( "Finding rates. {} {} {} {}",
+                kv( "brandId", brandId ),
+                kv( "productId", productId ),
+                kv( "currency", currency ),
+                kv( "date", date ) );
+        }
 
         var entities = jpaRepository.findRatesForBrandAndProductAndCurrency( brandId, productId, currency, date );
-        log.debug( "JPA repository returns {} entities. {} {} {} {}",
-            entities.size(),
-            kv( "brandId", brandId ),
-            kv( "productId", productId ),
-            kv( "currency", currency ),
-            kv( "date", date ) );
+        if ( log.isDebugEnabled() )
+        {
+            log.debug( "JPA repository returns {} entities. {} {} {} {}",
+                entities.size(),
+                kv( "brandId", brandId ),
+                kv( "productId", productId ),
+                kv( "currency", currency ),
+                kv( "date", date ) );
+        }
 
         return entities.stream().map( mapper::rateJpaEntityToRate ).toList();
     }
 
+    @Override
+    public Optional<Rate> findApplicableRate( final Integer brandId, final Long productId, final String currency,
+        final Instant date )
+    {
+        if ( log.isDebugEnabled() )
+        {
+            log.debug( "Finding applicable rate. {} {} {} {}",
+                kv( "brandId", brandId ),
+                kv( "productId", productId ),
+                kv( "currency", currency ),
+                kv( "date", date ) );
+        }
+
+        return jpaRepository.findRatesByPriorityForBrandAndProductAndCurrency( brandId, productId, currency, date,
+                Limit.of( 1 ) )
+            .stream()
+            .findFirst()
+            .map( mapper::rateProjectionToRate );
+    }
+
     @Override
     public List<Rate> findRatesForBrandAndProduct( final Integer brandId, final Long productId,
         final Instant date )
     {
-        log.debug( "Finding rates. {} {} {}",
-            kv( "brandId", brandId ),
-            kv( "productId", productId ),
-            kv( "date", date ) );
+        if ( log.isDebugEnabled() )
+        {
+            log.debug( "Finding rates. {} {} {}",
+                kv( "brandId", brandId ),
+                kv( "productId", productId ),
+                kv( "date", date ) );
+        }
 
         var entities = jpaRepository.findRatesForBrandAndProduct( brandId, productId, date );
-        log.debug( "JPA repository returns {} entities. {} {} {}",
-            entities.size(),
-            kv( "brandId", brandId ),
-            kv( "productId", productId ),
-            kv( "date", date ) );
+        if ( log.isDebugEnabled() )
+        {
+            log.debug( "JPA repository returns {} entities. {} {} {}",
+                entities.size(),
+                kv( "brandId", brandId ),
+                kv( "productId", productId ),
+                kv( "date", date ) );
+        }
 
         return entities.stream().map( mapper::rateJpaEntityToRate ).toList();
     }
+
+    @Override
+    public List<Rate> findAllRatesForBrandAndProductAndCurrency( final Integer brandId, final Long productId,
+        final String currency )
+    {
+        if ( log.isDebugEnabled() )
+        {
+            log.debug( "Finding all rates. {} {} {}",
+                kv( "brandId", brandId ),
+                kv( "productId", productId ),
+                kv( "currency", currency ) );
+        }
+
+        var entities = jpaRepository.findAllRatesForBrandAndProductAndCurrency( brandId, productId, currency );
+        if ( log.isDebugEnabled() )
+        {
+            log.debug( "JPA repository returns {} entities. {} {} {}",
+                entities.size(),
+                kv( "brandId", brandId ),
+                kv( "productId", productId ),
+                kv( "currency", currency ) );
+        }
+
+        return entities.stream().map( mapper::rateJpaEntityToRate ).toList();
+    }
+
+    @Override
+    public boolean hasRatesForBrandAndProductAndCurrency( final Integer brandId, final Long productId,
+        final String currency )
+    {
+        return jpaRepository.existsByBrandIdAndProductIdAndCurrency( brandId, productId, currency );
+    }
+
+    @Override
+    public List<Rate> findRatesForKeys( final Collection<RateKey> keys, final Instant from, final Instant to )
+    {
+        if ( keys.isEmpty() )
+        {
+            return List.of();
+        }
+        var wanted = Set.copyOf( keys );
+        var brandIds = new HashSet<Integer>();
+        var productIds = new HashSet<Long>();
+        var currencies = new HashSet<String>();
+        wanted.forEach( key ->
+        {
+            brandIds.add( key.brandId() );
+            productIds.add( key.productId() );
+            currencies.add( key.currency() );
+        } );
+
+        if ( log.isDebugEnabled() )
+        {
+            log.debug( "Finding rates for keys. {} {} {}",
+                kv( "keys", wanted.size() ),
+                kv( "from", from ),
+                kv( "to", to ) );
+        }
+
+        var entities = jpaRepository.findRatesForBrandsAndProductsAndCurrencies( brandIds, productIds, currencies,
+            from, to );
+        if ( log.isDebugEnabled() )
+        {
+            log.debug( "JPA repository returns {} entities. {} {} {}",
+                entities.size(),
+                kv( "keys", wanted.size() ),
+                kv( "from", from ),
+                kv( "to", to ) );
+        }
+
+        return entities.stream()
+            .map( mapper::rateJpaEntityToRate )
+            .filter( rate -> wanted.contains( RateKey.of( rate ) ) )
+            .toList();
+    }
+
+    @Override
+    @Transactional( readOnly = true )
+    public void forEachRateForBrand( final Integer brandId, final Instant date, final Consumer<Rate> action )
+    {
+        if ( log.isDebugEnabled() )
+        {
+            log.debug( "Streaming rates. {} {}",
+                kv( "brandId", brandId ),
+                kv( "date", date ) );
+        }
+
+        var streamed = 0L;
+        try ( var entities = jpaRepository.streamRatesForBrand( brandId, date ) )
+        {
+            for ( var iterator = entities.iterator(); iterator.hasNext(); streamed++ )
+            {
+                var entity = iterator.next();
+                entityManager.detach( entity );
+                action.accept( mapper.rateJpaEntityToRate( entity ) );
+            }
+        }
+        if ( log.isDebugEnabled() )
+        {
+            log.debug( "JPA repository streamed {} entities. {} {}",
+                streamed,
+                kv( "brandId", brandId ),
+                kv( "date", date ) );
+        }
+    }
+
+    @Override
+    public List<RateKey> findAllRateKeys()
+    {
+        var keys = jpaRepository.findAllRateKeys();
+        log.debug( "JPA repository returns {} rate keys.", keys.size() );
+
+        return keys;
+    }
+
+    @Override
+    public Optional<RateRecord> findRateById( final Long id )
+    {
+        return jpaRepository.findById( id )
+            .map( entity -> new RateRecord( entity.getId(), mapper.rateJpaEntityToRate( entity ) ) );
+    }
+
+    @Override
+    @Transactional
+    public RateRecord insertRate( final Rate rate, final RateConflictCheck check )
+    {
+        check.check( lockAndFindOverlapping( rate, null ) );
+        var entity = write( () -> jpaRepository.saveAndFlush( mapper.copyToEntity( rate, new RateJpaEntity() ) ) );
+        recordChanges( List.of( RateKey.of( rate ) ) );
+
+        log.info( "Rate created. {} {}", kv( "id", entity.getId() ), kv( "key", RateKey.of( rate ) ) );
+        return new RateRecord( entity.getId(), rate );
+    }
+
+    @Override
+    @Transactional
+    public Optional<Rate> updateRate( final Long id, final Rate rate, final RateConflictCheck check )
+    {
+        return jpaRepository.findById( id ).map( entity ->
+        {
+            var previous = mapper.rateJpaEntityToRate( entity );
+            check.check( lockAndFindOverlapping( rate, id ) );
+            mapper.copyToEntity( rate, entity );
+            write( () -> jpaRepository.saveAndFlush( entity ) );
+            recordChanges( List.of( RateKey.of( previous ), RateKey.of( rate ) ) );
+
+            log.info( "Rate updated. {} {}", kv( "id", id ), kv( "key", RateKey.of( rate ) ) );
+            return previous;
+        } );
+    }
+
+    @Override
+    @Transactional
+    public Optional<Rate> deleteRate( final Long id )
+    {
+        return jpaRepository.findById( id ).map( entity ->
+        {
+            var previous = mapper.rateJpaEntityToRate( entity );
+            jpaRepository.delete( entity );
+            jpaRepository.flush();
+            recordChanges( List.of( RateKey.of( previous ) ) );
+
+            log.info( "Rate deleted. {} {}", kv( "id", id ), kv( "key", RateKey.of( previous ) ) );
+            return previous;
+        } );
+    }
+
+    private static <T> T write( final Supplier<T> write )
+    {
+        try
+        {
+            return write.get();
+        }
+        catch ( DataIntegrityViolationException e )
+        {
+            throw new RateConstraintViolationException( e.getMostSpecificCause().getMessage(), e );
+        }
+    }
+
+    private List<Rate> lockAndFindOverlapping( final Rate rate, final Long replacedId )
+    {
+        return entityManager.unwrap( Session.class )
+            .doReturningWork( connection -> RateKeyLocks.lockAndFindOverlapping( connection, rate, replacedId ) );
+    }
+
+    private void recordChanges( final Collection<RateKey> keys )
+    {
+        entityManager.unwrap( Session.class ).doWork( connection -> RateChangeJdbcAdapter.record( connection, keys ) );
+    }
 }
@@ -0,0 +1,52 @@
+package com.mgm.inditex.adapter.outbound.persistence;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+import com.mgm.inditex.adapter.outbound.persistence.memory.ColumnarRateStore;
+import com.mgm.inditex.adapter.outbound.persistence.memory.RateSnapshotFile;
+import com.mgm.inditex.core.domain.Rate;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes the {@code rates} table to a {@link RateSnapshotFile}.
+ * <p>
+ * Used by the {@code app.persistence.snapshot-export} admin command (see {@link PersistenceConfig}) to produce
+ * the file that nodes running with {@code app.persistence.rate-repository=snapshot} map on startup.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class RateSnapshotExporter
+{
+    private final Supplier<List<Rate>> loader;
+
+    /**
+     * Reads every rate through the loader and writes them to the given file.
+     *
+     * @param path the snapshot file, replaced if it exists
+     * @return the store that was written
+     * @throws IOException if the file cannot be written
+     */
+    public ColumnarRateStore export( final Path path ) throws IOException
+    {
+        var start = System.nanoTime();
+        var store = ColumnarRateStore.of( loader.get() );
+        RateSnapshotFile.write( store, path );
+
+        log.info( "Rate snapshot written. {} {} {} {}",
+            kv( "path", path ),
+            kv( "rates", store.size() ),
+            kv( "bytes", store.estimatedBytes() ),
+            kv( "elapsedMs", ( System.nanoTime() - start ) / 1_000_000 ) );
+        return store;
+    }
+}
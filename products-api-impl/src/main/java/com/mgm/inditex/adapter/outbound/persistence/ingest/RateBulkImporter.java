@@ -0,0 +1,340 @@
+package com.mgm.inditex.adapter.outbound.persistence.ingest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+import javax.sql.DataSource;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+import com.mgm.inditex.adapter.outbound.persistence.jdbc.RateChangeJdbcAdapter;
+import com.mgm.inditex.core.domain.Rate;
+import com.mgm.inditex.core.domain.RateKey;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Streams a CSV or NDJSON rate file (see {@link RateFileFormat}) into the {@code rates} table.
+ * <p>
+ * The file is read sequentially in chunks of {@code batchSize} lines. Each chunk is parsed and checked against
+ * the {@link Rate#of} invariants and for whole-second boundaries in parallel on a dedicated pool while the previous
+ * chunk is written, as one JDBC batch, on a single connection. Transactions are committed every
+ * {@code rowsPerTransaction} rows, so a failed load keeps the rows of the transactions already committed.
+ * </p>
+ * <p>
+ * Rows that are malformed, break an invariant or are refused by the database because of their data (such as a
+ * duplicate of the {@code unique_rate} constraint) are rejected and reported without aborting the load: a batch
+ * the database refuses is rolled back to a savepoint and written again row by row, each row under its own
+ * savepoint. Any other database error aborts the load.
+ * </p>
+ * <p>
+ * The keys of the imported rates are appended to the {@code rate_changes} log in the transaction that writes them
+ * (see {@link RateChangeJdbcAdapter}), so running instances pick up the new rates without a full reload.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+@Slf4j
+public class RateBulkImporter
+{
+    private static final String INSERT = "INSERT INTO rates (brand_id, product_id, price_list_id, start_date, " +
+        "end_date, priority, price, currency) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // SQL state classes of errors caused by the row itself: data exceptions and integrity constraint violations
+    private static final String DATA_EXCEPTION = "22";
+    private static final String INTEGRITY_CONSTRAINT_VIOLATION = "23";
+    private static final String UNIQUE_VIOLATION = "23505";
+    private static final int MAX_REJECTIONS_KEPT = 100;
+
+    private final DataSource dataSource;
+    private final int batchSize;
+    private final long rowsPerTransaction;
+    private final int parallelism;
+
+    public RateBulkImporter( final DataSource dataSource, final int batchSize, final long rowsPerTransaction,
+        final int parallelism )
+    {
+        if ( batchSize < 1 || rowsPerTransaction < 1 || parallelism < 1 )
+        {
+            throw new IllegalArgumentException( "batchSize, rowsPerTransaction and parallelism must be positive" );
+        }
+        this.dataSource = dataSource;
+        this.batchSize = batchSize;
+        this.rowsPerTransaction = rowsPerTransaction;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Imports every valid rate of a file.
+     *
+     * @param file the CSV or NDJSON rate file
+     * @return the counts, rate and first rejections of the import
+     * @throws IOException if the file cannot be read
+     * @throws SQLException if the database fails for a reason other than the data of a row
+     */
+    public RateImportReport importFile( final Path file ) throws IOException, SQLException
+    {
+        var format = RateFileFormat.of( file );
+        var start = System.nanoTime();
+        var tally = new Tally( start );
+
+        try ( var reader = Files.newBufferedReader( file, StandardCharsets.UTF_8 );
+            var validators = new ForkJoinPool( parallelism );
+            var connection = dataSource.getConnection() )
+        {
+            var parser = format.parser( format.hasHeader() ? header( reader, tally ) : null );
+            connection.setAutoCommit( false );
+            try ( var insert = connection.prepareStatement( INSERT ) )
+            {
+                var next = validate( readChunk( reader, tally ), parser, validators );
+                var uncommitted = 0L;
+                var changed = new HashSet<RateKey>();
+                for ( var rows = next.join(); !rows.isEmpty(); rows = next.join() )
+                {
+                    // the next chunk is validated while this one is written
+                    next = validate( readChunk( reader, tally ), parser, validators );
+                    uncommitted += write( connection, insert, rows, tally, changed );
+                    if ( uncommitted >= rowsPerTransaction )
+                    {
+                        recordChanges( connection, changed );
+                        connection.commit();
+                        uncommitted = 0;
+                        logProgress( tally );
+                    }
+                }
+                recordChanges( connection, changed );
+                connection.commit();
+            }
+            catch ( IOException | SQLException | RuntimeException e )
+            {
+                connection.rollback();
+                throw e;
+            }
+            finally
+            {
+                connection.setAutoCommit( true );
+            }
+        }
+
+        var report = new RateImportReport( file, tally.read, tally.imported, tally.rejected,
+            List.copyOf( tally.rejections ), Duration.ofNanos( System.nanoTime() - start ) );
+        log.info( "Rate import finished. {} {} {} {} {} {}",
+            kv( "file", file ),
+            kv( "rowsRead", report.rowsRead() ),
+            kv( "rowsImported", report.rowsImported() ),
+            kv( "rowsRejected", report.rowsRejected() ),
+            kv( "rowsPerSecond", Math.round( report.rowsPerSecond() ) ),
+            kv( "elapsedMs", report.elapsed().toMillis() ) );
+        return report;
+    }
+
+    private static String header( final BufferedReader reader, final Tally tally ) throws IOException
+    {
+        tally.line++;
+        return reader.readLine();
+    }
+
+    private List<Line> readChunk( final BufferedReader reader, final Tally tally ) throws IOException
+    {
+        var chunk = new ArrayList<Line>( batchSize );
+        String text;
+        while ( chunk.size() < batchSize && ( text = reader.readLine() ) != null )
+        {
+            tally.line++;
+            if ( !text.isBlank() )
+            {
+                chunk.add( new Line( tally.line, text ) );
+            }
+        }
+        tally.read += chunk.size();
+        return chunk;
+    }
+
+    private static CompletableFuture<List<ParsedRow>> validate( final List<Line> chunk,
+        final Function<String, Rate> parser, final ForkJoinPool validators )
+    {
+        // a parallel stream started inside the pool runs on the pool's workers
+        return CompletableFuture.supplyAsync( () -> chunk.parallelStream().map( line -> parse( line, parser ) )
+            .toList(), validators );
+    }
+
+    private static ParsedRow parse( final Line line, final Function<String, Rate> parser )
+    {
+        try
+        {
+            var rate = parser.apply( line.text() );
+            if ( rate.getStartDate().getNano() != 0 || rate.getEndDate().getNano() != 0 )
+            {
+                // refused by the rates table anyway, but without a round trip and a savepoint per row
+                throw new IllegalArgumentException( "rate boundaries must be whole seconds" );
+            }
+            return new ParsedRow( line.number(), rate, null );
+        }
+        catch ( RuntimeException e )
+        {
+            return new ParsedRow( line.number(), null, e.getMessage() != null ? e.getMessage()
+                : e.getClass().getSimpleName() );
+        }
+    }
+
+    private static void recordChanges( final Connection connection, final Set<RateKey> changed )
+        throws SQLException
+    {
+        RateChangeJdbcAdapter.record( connection, changed );
+        changed.clear();
+    }
+
+    private static long write( final Connection connection, final PreparedStatement insert,
+        final List<ParsedRow> rows, final Tally tally, final Set<RateKey> changed ) throws SQLException
+    {
+        var valid = new ArrayList<ParsedRow>( rows.size() );
+        for ( var row : rows )
+        {
+            if ( row.rate() != null )
+            {
+                valid.add( row );
+            }
+            else
+            {
+                tally.reject( row.line(), row.error() );
+            }
+        }
+        if ( valid.isEmpty() )
+        {
+            return 0;
+        }
+
+        var savepoint = connection.setSavepoint();
+        try
+        {
+            for ( var row : valid )
+            {
+                bind( insert, row.rate() );
+                insert.addBatch();
+            }
+            insert.executeBatch();
+            connection.releaseSavepoint( savepoint );
+            valid.forEach( row -> changed.add( RateKey.of( row.rate() ) ) );
+            tally.imported += valid.size();
+            return valid.size();
+        }
+        catch ( BatchUpdateException e )
+        {
+            insert.clearBatch();
+            connection.rollback( savepoint );
+            return writeOneByOne( connection, insert, valid, tally, changed );
+        }
+    }
+
+    private static long writeOneByOne( final Connection connection, final PreparedStatement insert,
+        final List<ParsedRow> rows, final Tally tally, final Set<RateKey> changed ) throws SQLException
+    {
+        var written = 0L;
+        for ( var row : rows )
+        {
+            var savepoint = connection.setSavepoint();
+            try
+            {
+                bind( insert, row.rate() );
+                insert.executeUpdate();
+                connection.releaseSavepoint( savepoint );
+                changed.add( RateKey.of( row.rate() ) );
+                written++;
+            }
+            catch ( SQLException e )
+            {
+                if ( !isCausedByRow( e ) )
+                {
+                    throw e;
+                }
+                connection.rollback( savepoint );
+                tally.reject( row.line(), UNIQUE_VIOLATION.equals( e.getSQLState() )
+                    ? "duplicates an existing rate (unique_rate)" : e.getMessage() );
+            }
+        }
+        tally.imported += written;
+        return written;
+    }
+
+    private static boolean isCausedByRow( final SQLException e )
+    {
+        var state = e.getSQLState();
+        return state != null && ( state.startsWith( DATA_EXCEPTION ) ||
+            state.startsWith( INTEGRITY_CONSTRAINT_VIOLATION ) );
+    }
+
+    private static void bind( final PreparedStatement insert, final Rate rate ) throws SQLException
+    {
+        insert.setInt( 1, rate.getBrandId() );
+        insert.setLong( 2, rate.getProductId() );
+        insert.setInt( 3, rate.getPriceListId() );
+        // bound as UTC instants, as the repository adapters read them
+        insert.setObject( 4, rate.getStartDate().atOffset( ZoneOffset.UTC ) );
+        insert.setObject( 5, rate.getEndDate().atOffset( ZoneOffset.UTC ) );
+        insert.setShort( 6, rate.getPriority() );
+        insert.setBigDecimal( 7, rate.getPrice() );
+        insert.setString( 8, rate.getCurrency() );
+    }
+
+    private static void logProgress( final Tally tally )
+    {
+        var seconds = Math.max( 1L, System.nanoTime() - tally.start ) / 1e9;
+        log.info( "Rate import progress. {} {} {} {}",
+            kv( "rowsRead", tally.read ),
+            kv( "rowsImported", tally.imported ),
+            kv( "rowsRejected", tally.rejected ),
+            kv( "rowsPerSecond", Math.round( tally.read / seconds ) ) );
+    }
+
+    private record Line( long number, String text )
+    {
+    }
+
+    private record ParsedRow( long line, Rate rate, String error )
+    {
+    }
+
+    /**
+     * Counters of a single import, only touched by the thread that reads and writes.
+     */
+    private static final class Tally
+    {
+        private final long start;
+        private final List<RateImportReport.Rejection> rejections = new ArrayList<>();
+        private long line;
+        private long read;
+        private long imported;
+        private long rejected;
+
+        private Tally( final long start )
+        {
+            this.start = start;
+        }
+
+        private void reject( final long lineNumber, final String reason )
+        {
+            rejected++;
+            if ( rejections.size() < MAX_REJECTIONS_KEPT )
+            {
+                rejections.add( new RateImportReport.Rejection( lineNumber, reason ) );
+                log.warn( "Rate row rejected. {} {}", kv( "line", lineNumber ), kv( "reason", reason ) );
+            }
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.mgm.inditex.adapter.outbound.persistence.ingest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mgm.inditex.core.domain.Rate;
+
+/**
+ * Line-oriented file formats accepted by the {@link RateBulkImporter}.
+ * <p>
+ * Both formats carry one rate per line with the fields of the price API: {@code brandId}, {@code productId},
+ * {@code priceList}, {@code startDate}, {@code endDate}, {@code priority}, {@code price} and {@code currency}.
+ * Dates are ISO-8601 date-times of whole seconds, in UTC unless they carry an offset. CSV files start with a
+ * header naming the columns, in any order, and hold no quoted values; NDJSON files hold one JSON object per line.
+ * </p>
+ * <p>
+ * Parsers are thread-safe, so the lines of a file can be parsed and validated in parallel.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+public enum RateFileFormat
+{
+    CSV
+        {
+            @Override
+            public Function<String, Rate> parser( final String header )
+            {
+                if ( header == null )
+                {
+                    throw new IllegalArgumentException( "CSV rate files must start with a header" );
+                }
+                var columns = new HashMap<String, Integer>();
+                var names = header.strip().split( "," );
+                for ( var i = 0; i < names.length; i++ )
+                {
+                    columns.put( names[i].strip(), i );
+                }
+                var missing = FIELDS.stream().filter( field -> !columns.containsKey( field ) ).toList();
+                if ( !missing.isEmpty() )
+                {
+                    throw new IllegalArgumentException( "CSV header misses columns " + missing );
+                }
+
+                return line ->
+                {
+                    var values = line.split( ",", -1 );
+                    if ( values.length != names.length )
+                    {
+                        throw new IllegalArgumentException( "expected %d columns but found %d"
+                            .formatted( names.length, values.length ) );
+                    }
+                    return toRate( field -> values[columns.get( field )].strip() );
+                };
+            }
+        },
+
+    NDJSON
+        {
+            @Override
+            public Function<String, Rate> parser( final String header )
+            {
+                return line ->
+                {
+                    try
+                    {
+                        var node = JSON.readTree( line );
+                        return toRate( field -> text( node.get( field ) ) );
+                    }
+                    catch ( IOException e )
+                    {
+                        throw new UncheckedIOException( e );
+                    }
+                };
+            }
+        };
+
+    private static final List<String> FIELDS = List.of( "brandId", "productId", "priceList", "startDate", "endDate",
+        "priority", "price", "currency" );
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    /**
+     * Picks the format from the extension of a file: {@code .csv}, or {@code .ndjson}/{@code .jsonl}.
+     *
+     * @param path the rate file
+     * @return its format
+     * @throws IllegalArgumentException if the extension is not recognised
+     */
+    public static RateFileFormat of( final Path path )
+    {
+        var name = path.getFileName().toString().toLowerCase( Locale.ROOT );
+        if ( name.endsWith( ".csv" ) )
+        {
+            return CSV;
+        }
+        if ( name.endsWith( ".ndjson" ) || name.endsWith( ".jsonl" ) )
+        {
+            return NDJSON;
+        }
+        throw new IllegalArgumentException( "Unsupported rate file " + path + ", expected .csv, .ndjson or .jsonl" );
+    }
+
+    /**
+     * @return {@code true} if the first line of the file is a header rather than a rate
+     */
+    public boolean hasHeader()
+    {
+        return this == CSV;
+    }
+
+    /**
+     * Builds the parser of the lines of a file.
+     *
+     * @param header the first line of the file if the format {@link #hasHeader() has one}, {@code null} otherwise
+     * @return a function that turns a line into a {@link Rate}, throwing a {@link RuntimeException} describing the
+     * problem if the line is malformed or breaks an invariant of {@link Rate#of}
+     */
+    public abstract Function<String, Rate> parser( String header );
+
+    private static Rate toRate( final Function<String, String> field )
+    {
+        return Rate.of(
+            Integer.valueOf( required( field, "brandId" ) ),
+            Long.valueOf( required( field, "productId" ) ),
+            Integer.valueOf( required( field, "priceList" ) ),
+            dateTime( field, "startDate" ),
+            dateTime( field, "endDate" ),
+            Short.valueOf( required( field, "priority" ) ),
+            new BigDecimal( required( field, "price" ) ),
+            required( field, "currency" ) );
+    }
+
+    private static String required( final Function<String, String> field, final String name )
+    {
+        var value = field.apply( name );
+        if ( value == null || value.isEmpty() )
+        {
+            throw new IllegalArgumentException( name + " is required" );
+        }
+        return value;
+    }
+
+    private static String text( final JsonNode node )
+    {
+        return node == null || node.isNull() ? null : node.asText();
+    }
+
+    private static LocalDateTime dateTime( final Function<String, String> field, final String name )
+    {
+        var value = required( field, name );
+        var last = value.charAt( value.length() - 1 );
+        var dateTime = last == 'Z' || value.lastIndexOf( '+' ) > 0 || value.lastIndexOf( '-' ) > value.indexOf( 'T' )
+            ? LocalDateTime.ofInstant( OffsetDateTime.parse( value ).toInstant(), ZoneOffset.UTC )
+            : LocalDateTime.parse( value );
+        if ( dateTime.getNano() != 0 )
+        {
+            throw new IllegalArgumentException( name + " must be a whole second" );
+        }
+        return dateTime;
+    }
+}
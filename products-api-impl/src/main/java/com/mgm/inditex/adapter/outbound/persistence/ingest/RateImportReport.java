@@ -0,0 +1,39 @@
+package com.mgm.inditex.adapter.outbound.persistence.ingest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Outcome of a {@link RateBulkImporter} run.
+ *
+ * @param file the imported file
+ * @param rowsRead the rate lines read, header excluded
+ * @param rowsImported the rows written to the {@code rates} table
+ * @param rowsRejected the rows that were malformed, broke a {@code Rate} invariant or duplicated an existing rate
+ * @param rejections the first rejected rows, in file order
+ * @param elapsed the wall-clock time of the import
+ * @author Miguel Maquieira
+ */
+public record RateImportReport( Path file, long rowsRead, long rowsImported, long rowsRejected,
+                                List<Rejection> rejections, Duration elapsed )
+{
+    /**
+     * @return the rows read per second of wall-clock time
+     */
+    public double rowsPerSecond()
+    {
+        var nanos = Math.max( 1L, elapsed.toNanos() );
+        return rowsRead * 1e9 / nanos;
+    }
+
+    /**
+     * A rejected row.
+     *
+     * @param line the line number in the file, starting at 1
+     * @param reason why the row was rejected
+     */
+    public record Rejection( long line, String reason )
+    {
+    }
+}
@@ -0,0 +1,30 @@
+package com.mgm.inditex.adapter.outbound.persistence.jdbc;
+
+import java.util.List;
+
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import com.mgm.inditex.core.domain.FxRate;
+import com.mgm.inditex.core.port.outbound.FxRatePort;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Adapter that implements the {@link FxRatePort} over the {@code fx_rates} table.
+ *
+ * @author Miguel Maquieira
+ */
+@RequiredArgsConstructor
+public class FxRateJdbcAdapter implements FxRatePort
+{
+    private static final String FIND_ALL = "SELECT base_currency, quote_currency, rate FROM fx_rates";
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    @Override
+    public List<FxRate> findAllFxRates()
+    {
+        return jdbc.query( FIND_ALL, ( rs, rowNum ) -> new FxRate( rs.getString( "base_currency" ),
+            rs.getString( "quote_currency" ), rs.getBigDecimal( "rate" ) ) );
+    }
+}
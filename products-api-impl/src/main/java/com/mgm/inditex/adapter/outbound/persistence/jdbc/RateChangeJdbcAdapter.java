@@ -0,0 +1,113 @@
+package com.mgm.inditex.adapter.outbound.persistence.jdbc;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import com.mgm.inditex.core.domain.RateChanges;
+import com.mgm.inditex.core.domain.RateKey;
+import com.mgm.inditex.core.port.outbound.RateChangeFeedPort;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Adapter that implements the {@link RateChangeFeedPort} over the {@code rate_changes} table.
+ * <p>
+ * Writers of the {@code rates} table append the keys they touch with {@link #record(Connection, Collection)} in
+ * the same transaction as the rates, so a change is visible in the feed exactly when it is committed. The
+ * auto-incremented {@code version} orders the changes as they were written, which is not always the order they
+ * were committed in.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+@RequiredArgsConstructor
+public class RateChangeJdbcAdapter implements RateChangeFeedPort
+{
+    private static final String INSERT = "INSERT INTO rate_changes (brand_id, product_id, currency) VALUES (?, ?, ?)";
+
+    private static final String VERSION_BEFORE = "SELECT COALESCE(MAX(version), 0) FROM rate_changes " +
+        "WHERE changed_at < :time";
+
+    private static final String CHANGES_SINCE = "SELECT version, brand_id, product_id, currency, changed_at " +
+        "FROM rate_changes WHERE version > :version ORDER BY version FETCH FIRST :limit ROWS ONLY";
+
+    private static final String CHANGES_AT = "SELECT version, brand_id, product_id, currency, changed_at " +
+        "FROM rate_changes WHERE version IN (:versions) ORDER BY version";
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    /**
+     * Appends the given keys to the change log on the caller's connection and transaction.
+     *
+     * @param connection the connection the rates were written with
+     * @param keys the keys whose rates were inserted, updated or deleted
+     * @throws SQLException if the change log cannot be written
+     */
+    public static void record( final Connection connection, final Collection<RateKey> keys ) throws SQLException
+    {
+        if ( keys.isEmpty() )
+        {
+            return;
+        }
+        try ( var insert = connection.prepareStatement( INSERT ) )
+        {
+            for ( var key : new HashSet<>( keys ) )
+            {
+                insert.setInt( 1, key.brandId() );
+                insert.setLong( 2, key.productId() );
+                insert.setString( 3, key.currency() );
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+    }
+
+    @Override
+    public long versionBefore( final Instant time )
+    {
+        var version = jdbc.queryForObject( VERSION_BEFORE, Map.of( "time", time.atOffset( ZoneOffset.UTC ) ),
+            Long.class );
+        return version == null ? 0 : version;
+    }
+
+    @Override
+    public RateChanges changesSince( final long version, final int limit )
+    {
+        return read( CHANGES_SINCE, Map.of( "version", version, "limit", limit ), version );
+    }
+
+    @Override
+    public RateChanges changesAt( final Collection<Long> versions )
+    {
+        return versions.isEmpty() ? RateChanges.none( 0 )
+            : read( CHANGES_AT, Map.of( "versions", versions ), 0 );
+    }
+
+    private RateChanges read( final String sql, final Map<String, ?> params, final long version )
+    {
+        var keys = new HashSet<RateKey>();
+        var versions = new HashSet<Long>();
+        var latest = new long[] {version};
+        var oldest = new Instant[1];
+        jdbc.query( sql, params, rs ->
+        {
+            latest[0] = rs.getLong( 1 );
+            versions.add( latest[0] );
+            keys.add( new RateKey( rs.getInt( 2 ), rs.getLong( 3 ), rs.getString( 4 ) ) );
+            var changedAt = rs.getObject( 5, OffsetDateTime.class ).toInstant();
+            if ( oldest[0] == null || changedAt.isBefore( oldest[0] ) )
+            {
+                oldest[0] = changedAt;
+            }
+        } );
+        return keys.isEmpty() ? RateChanges.none( version ) : new RateChanges( latest[0], keys, oldest[0], versions );
+    }
+}
@@ -0,0 +1,372 @@
+package com.mgm.inditex.adapter.outbound.persistence.jdbc;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.mgm.inditex.core.domain.Price;
+import com.mgm.inditex.core.domain.Rate;
+import com.mgm.inditex.core.domain.RateKey;
+import com.mgm.inditex.core.domain.RateRecord;
+import com.mgm.inditex.core.port.outbound.RateConflictCheck;
+import com.mgm.inditex.core.port.outbound.RateConstraintViolationException;
+import com.mgm.inditex.core.port.outbound.RateRepositoryPort;
+import com.mgm.inditex.core.port.outbound.RateWritePort;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Adapter that implements the {@link RateRepositoryPort} and the {@link RateWritePort} with plain SQL over
+ * {@link NamedParameterJdbcTemplate}.
+ * <p>
+ * It runs the same queries as {@code RateJpaRepository} but maps every {@link ResultSet} row straight into a
+ * {@link Rate}, so lookups skip query derivation, the persistence context and dirty-checking snapshots. Instants
+ * are bound and read as UTC {@link OffsetDateTime}s, as Hibernate does, so both adapters see the same rows.
+ * </p>
+ * <p>
+ * Single lookups do not log: building the structured arguments would cost more than the mapping itself.
+ * </p>
+ * <p>
+ * Writes run in a transaction that also appends the keys they touch to the {@code rate_changes} log (see
+ * {@link RateChangeJdbcAdapter}) and, for inserts and updates, first lock the written key and check the rates
+ * overlapping it (see {@link RateKeyLocks}); constraint violations are reported as
+ * {@link RateConstraintViolationException}. The transaction is opened with {@link TransactionOperations} rather
+ * than {@code @Transactional}, so it holds whether the adapter is a Spring bean or not.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+@Slf4j
+public class RateJdbcRepositoryAdapter implements RateRepositoryPort, RateWritePort
+{
+    // the DECIMAL(10,4) price is read as a whole number of ten-thousandths, so no BigDecimal is built per row
+    static final String SELECT_RATES = "SELECT brand_id, product_id, price_list_id, start_date, end_date, " +
+        "priority, CAST(price * 10000 AS BIGINT), currency FROM rates ";
+
+    private static final String FIND_BY_BRAND_PRODUCT_CURRENCY = SELECT_RATES +
+        "WHERE brand_id = :brandId AND product_id = :productId AND currency = :currency " +
+        "AND start_date <= :date AND end_date >= :date ORDER BY id";
+
+    private static final String FIND_APPLICABLE = SELECT_RATES +
+        "WHERE brand_id = :brandId AND product_id = :productId AND currency = :currency " +
+        "AND start_date <= :date AND end_date >= :date ORDER BY priority DESC, id FETCH FIRST 1 ROWS ONLY";
+
+    private static final String FIND_BY_BRAND_PRODUCT = SELECT_RATES +
+        "WHERE brand_id = :brandId AND product_id = :productId " +
+        "AND start_date <= :date AND end_date >= :date ORDER BY id";
+
+    private static final String FIND_ALL_BY_BRAND_PRODUCT_CURRENCY = SELECT_RATES +
+        "WHERE brand_id = :brandId AND product_id = :productId AND currency = :currency ORDER BY id";
+
+    private static final String EXISTS_FOR_BRAND_PRODUCT_CURRENCY = "SELECT 1 FROM rates " +
+        "WHERE brand_id = :brandId AND product_id = :productId AND currency = :currency FETCH FIRST 1 ROWS ONLY";
+
+    // tuple IN is not portable, so it matches the cross product of the values and callers keep their keys
+    private static final String FIND_FOR_KEYS = SELECT_RATES +
+        "WHERE brand_id IN (:brandIds) AND product_id IN (:productIds) AND currency IN (:currencies) " +
+        "AND start_date <= :to AND end_date >= :from ORDER BY id";
+
+    private static final String STREAM_FOR_BRAND = SELECT_RATES +
+        "WHERE brand_id = :brandId AND start_date <= :date AND end_date >= :date " +
+        "ORDER BY product_id, currency, id";
+
+    private static final String FIND_ALL_KEYS = "SELECT DISTINCT brand_id, product_id, currency FROM rates";
+
+    private static final String FIND_BY_ID = SELECT_RATES + "WHERE id = :id";
+
+    private static final String INSERT = "INSERT INTO rates (brand_id, product_id, price_list_id, start_date, " +
+        "end_date, priority, price, currency) VALUES (:brandId, :productId, :priceListId, :startDate, :endDate, " +
+        ":priority, :price, :currency)";
+
+    private static final String UPDATE = "UPDATE rates SET brand_id = :brandId, product_id = :productId, " +
+        "price_list_id = :priceListId, start_date = :startDate, end_date = :endDate, priority = :priority, " +
+        "price = :price, currency = :currency WHERE id = :id";
+
+    private static final String DELETE = "DELETE FROM rates WHERE id = :id";
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final TransactionOperations transactions;
+
+    /**
+     * Builds an adapter whose writes run in transactions of its own data source.
+     *
+     * @param jdbc the template the queries run with
+     */
+    public RateJdbcRepositoryAdapter( final NamedParameterJdbcTemplate jdbc )
+    {
+        this( jdbc, new TransactionTemplate( new DataSourceTransactionManager(
+            jdbc.getJdbcTemplate().getDataSource() ) ) );
+    }
+
+    /**
+     * @param jdbc the template the queries run with
+     * @param transactions runs each write in a transaction, on the data source of {@code jdbc}
+     */
+    public RateJdbcRepositoryAdapter( final NamedParameterJdbcTemplate jdbc,
+        final TransactionOperations transactions )
+    {
+        this.jdbc = jdbc;
+        this.transactions = transactions;
+    }
+
+    @Override
+    public List<Rate> findRatesForBrandAndProductAndCurrency( final Integer brandId, final Long productId,
+        final String currency, final Instant date )
+    {
+        return jdbc.query( FIND_BY_BRAND_PRODUCT_CURRENCY, Map.of(
+            "brandId", brandId,
+            "productId", productId,
+            "currency", currency,
+            "date", utc( date ) ), RateJdbcRepositoryAdapter::toRate );
+    }
+
+    @Override
+    public Optional<Rate> findApplicableRate( final Integer brandId, final Long productId, final String currency,
+        final Instant date )
+    {
+        return jdbc.query( FIND_APPLICABLE, Map.of(
+            "brandId", brandId,
+            "productId", productId,
+            "currency", currency,
+            "date", utc( date ) ), rs -> rs.next() ? Optional.of( toRate( rs, 1 ) ) : Optional.empty() );
+    }
+
+    @Override
+    public List<Rate> findRatesForBrandAndProduct( final Integer brandId, final Long productId, final Instant date )
+    {
+        return jdbc.query( FIND_BY_BRAND_PRODUCT, Map.of(
+            "brandId", brandId,
+            "productId", productId,
+            "date", utc( date ) ), RateJdbcRepositoryAdapter::toRate );
+    }
+
+    @Override
+    public List<Rate> findAllRatesForBrandAndProductAndCurrency( final Integer brandId, final Long productId,
+        final String currency )
+    {
+        return jdbc.query( FIND_ALL_BY_BRAND_PRODUCT_CURRENCY, Map.of(
+            "brandId", brandId,
+            "productId", productId,
+            "currency", currency ), RateJdbcRepositoryAdapter::toRate );
+    }
+
+    @Override
+    public boolean hasRatesForBrandAndProductAndCurrency( final Integer brandId, final Long productId,
+        final String currency )
+    {
+        return !jdbc.queryForList( EXISTS_FOR_BRAND_PRODUCT_CURRENCY, Map.of(
+            "brandId", brandId,
+            "productId", productId,
+            "currency", currency ), Integer.class ).isEmpty();
+    }
+
+    @Override
+    public List<Rate> findRatesForKeys( final Collection<RateKey> keys, final Instant from, final Instant to )
+    {
+        if ( keys.isEmpty() )
+        {
+            return List.of();
+        }
+        var wanted = Set.copyOf( keys );
+        var brandIds = new HashSet<Integer>();
+        var productIds = new HashSet<Long>();
+        var currencies = new HashSet<String>();
+        wanted.forEach( key ->
+        {
+            brandIds.add( key.brandId() );
+            productIds.add( key.productId() );
+            currencies.add( key.currency() );
+        } );
+
+        var rates = jdbc.query( FIND_FOR_KEYS, Map.of(
+            "brandIds", brandIds,
+            "productIds", productIds,
+            "currencies", currencies,
+            "from", utc( from ),
+            "to", utc( to ) ), RateJdbcRepositoryAdapter::toRate );
+        log.debug( "JDBC repository returns {} rates. {} {} {}",
+            rates.size(),
+            kv( "keys", wanted.size() ),
+            kv( "from", from ),
+            kv( "to", to ) );
+
+        return rates.stream().filter( rate -> wanted.contains( RateKey.of( rate ) ) ).toList();
+    }
+
+    @Override
+    @Transactional( readOnly = true )
+    public void forEachRateForBrand( final Integer brandId, final Instant date, final Consumer<Rate> action )
+    {
+        var streamed = new long[1];
+        jdbc.query( STREAM_FOR_BRAND, Map.of(
+            "brandId", brandId,
+            "date", utc( date ) ), ( RowCallbackHandler ) rs ->
+        {
+            action.accept( toRate( rs, rs.getRow() ) );
+            streamed[0]++;
+        } );
+        log.debug( "JDBC repository streamed {} rates. {} {}",
+            streamed[0],
+            kv( "brandId", brandId ),
+            kv( "date", date ) );
+    }
+
+    @Override
+    public List<RateKey> findAllRateKeys()
+    {
+        var keys = jdbc.query( FIND_ALL_KEYS, ( rs, row ) -> new RateKey( rs.getInt( 1 ), rs.getLong( 2 ),
+            rs.getString( 3 ) ) );
+        log.debug( "JDBC repository returns {} rate keys.", keys.size() );
+
+        return keys;
+    }
+
+    @Override
+    public Optional<RateRecord> findRateById( final Long id )
+    {
+        return findById( id ).map( rate -> new RateRecord( id, rate ) );
+    }
+
+    @Override
+    public RateRecord insertRate( final Rate rate, final RateConflictCheck check )
+    {
+        return write( () ->
+        {
+            check.check( lockAndFindOverlapping( rate, null ) );
+            var keyHolder = new GeneratedKeyHolder();
+            jdbc.update( INSERT, parameters( rate ), keyHolder, new String[] {"id"} );
+            var id = keyHolder.getKeyAs( Long.class );
+            recordChanges( List.of( RateKey.of( rate ) ) );
+
+            log.info( "Rate created. {} {}", kv( "id", id ), kv( "key", RateKey.of( rate ) ) );
+            return new RateRecord( id, rate );
+        } );
+    }
+
+    @Override
+    public Optional<Rate> updateRate( final Long id, final Rate rate, final RateConflictCheck check )
+    {
+        return write( () ->
+        {
+            var previous = findById( id );
+            if ( previous.isPresent() )
+            {
+                check.check( lockAndFindOverlapping( rate, id ) );
+                jdbc.update( UPDATE, parameters( rate ).addValue( "id", id ) );
+                recordChanges( List.of( RateKey.of( previous.get() ), RateKey.of( rate ) ) );
+                log.info( "Rate updated. {} {}", kv( "id", id ), kv( "key", RateKey.of( rate ) ) );
+            }
+            return previous;
+        } );
+    }
+
+    @Override
+    public Optional<Rate> deleteRate( final Long id )
+    {
+        return write( () ->
+        {
+            var previous = findById( id );
+            if ( previous.isPresent() )
+            {
+                jdbc.update( DELETE, Map.of( "id", id ) );
+                recordChanges( List.of( RateKey.of( previous.get() ) ) );
+                log.info( "Rate deleted. {} {}", kv( "id", id ), kv( "key", RateKey.of( previous.get() ) ) );
+            }
+            return previous;
+        } );
+    }
+
+    private <T> T write( final Supplier<T> write )
+    {
+        try
+        {
+            return transactions.execute( status -> write.get() );
+        }
+        catch ( DataIntegrityViolationException e )
+        {
+            throw new RateConstraintViolationException( e.getMostSpecificCause().getMessage(), e );
+        }
+    }
+
+    private Optional<Rate> findById( final Long id )
+    {
+        return jdbc.query( FIND_BY_ID, Map.of( "id", id ), RateJdbcRepositoryAdapter::toRate ).stream().findFirst();
+    }
+
+    private List<Rate> lockAndFindOverlapping( final Rate rate, final Long replacedId )
+    {
+        // on the connection of the current transaction, so the key stays locked until the write commits
+        return jdbc.getJdbcTemplate().execute( ( ConnectionCallback<List<Rate>> ) connection ->
+            RateKeyLocks.lockAndFindOverlapping( connection, rate, replacedId ) );
+    }
+
+    private void recordChanges( final Collection<RateKey> keys )
+    {
+        // on the connection of the current transaction, so the changes commit with the rates
+        jdbc.getJdbcTemplate().execute( ( ConnectionCallback<Void> ) connection ->
+        {
+            RateChangeJdbcAdapter.record( connection, keys );
+            return null;
+        } );
+    }
+
+    private static MapSqlParameterSource parameters( final Rate rate )
+    {
+        return new MapSqlParameterSource()
+            .addValue( "brandId", rate.getBrandId() )
+            .addValue( "productId", rate.getProductId() )
+            .addValue( "priceListId", rate.getPriceListId() )
+            .addValue( "startDate", rate.getStartDate().atOffset( ZoneOffset.UTC ) )
+            .addValue( "endDate", rate.getEndDate().atOffset( ZoneOffset.UTC ) )
+            .addValue( "priority", rate.getPriority() )
+            .addValue( "price", rate.getPrice() )
+            .addValue( "currency", rate.getCurrency() );
+    }
+
+    static Rate toRate( final ResultSet rs, final int row ) throws SQLException
+    {
+        return Rate.of(
+            rs.getInt( 1 ),
+            rs.getLong( 2 ),
+            rs.getInt( 3 ),
+            local( rs.getObject( 4, OffsetDateTime.class ) ),
+            local( rs.getObject( 5, OffsetDateTime.class ) ),
+            rs.getShort( 6 ),
+            Price.ofTenThousandths( rs.getLong( 7 ) ),
+            rs.getString( 8 ) );
+    }
+
+    private static OffsetDateTime utc( final Instant instant )
+    {
+        return instant.atOffset( ZoneOffset.UTC );
+    }
+
+    private static LocalDateTime local( final OffsetDateTime dateTime )
+    {
+        return LocalDateTime.ofInstant( dateTime.toInstant(), ZoneOffset.UTC );
+    }
+}
@@ -0,0 +1,79 @@
+package com.mgm.inditex.adapter.outbound.persistence.jdbc;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.mgm.inditex.core.domain.Rate;
+import com.mgm.inditex.core.domain.RateKey;
+import com.mgm.inditex.core.port.outbound.RateConflictCheck;
+
+/**
+ * Locks a rate key in the {@code rate_key_locks} table and reads the stored rates of the key that a write has to
+ * be checked against.
+ * <p>
+ * The row of the key is upserted on the caller's connection and transaction, so it stays locked until that
+ * transaction ends: a second writer of the same key, on any instance, waits on the upsert and then reads the rates
+ * the first one committed. Keys are never removed from the table, so the row of a key outlives its rates.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+public final class RateKeyLocks
+{
+    // H2 runs a MERGE on an existing key as an update, which waits for an uncommitted insert of the same key
+    private static final String LOCK = "MERGE INTO rate_key_locks (brand_id, product_id, currency) " +
+        "KEY (brand_id, product_id, currency) VALUES (?, ?, ?)";
+
+    private static final String FIND_OVERLAPPING = RateJdbcRepositoryAdapter.SELECT_RATES +
+        "WHERE brand_id = ? AND product_id = ? AND currency = ? AND start_date <= ? AND end_date >= ? " +
+        "AND id <> ? ORDER BY id";
+
+    private RateKeyLocks()
+    {
+    }
+
+    /**
+     * Locks the key of the given rate until the caller's transaction ends and finds the stored rates of that key
+     * overlapping the rate, to be handed to a {@link RateConflictCheck}.
+     *
+     * @param connection the connection the rate is about to be written with
+     * @param rate the rate about to be written
+     * @param replacedId the identifier of the rate it replaces, which is left out, or {@code null}
+     * @return the overlapping rates, in insertion order
+     * @throws SQLException if the key cannot be locked or its rates cannot be read
+     */
+    public static List<Rate> lockAndFindOverlapping( final Connection connection, final Rate rate,
+        final Long replacedId ) throws SQLException
+    {
+        var key = RateKey.of( rate );
+        try ( var lock = connection.prepareStatement( LOCK ) )
+        {
+            lock.setInt( 1, key.brandId() );
+            lock.setLong( 2, key.productId() );
+            lock.setString( 3, key.currency() );
+            lock.executeUpdate();
+        }
+
+        var overlapping = new ArrayList<Rate>();
+        try ( var find = connection.prepareStatement( FIND_OVERLAPPING ) )
+        {
+            find.setInt( 1, key.brandId() );
+            find.setLong( 2, key.productId() );
+            find.setString( 3, key.currency() );
+            find.setObject( 4, rate.getEndDate().atOffset( ZoneOffset.UTC ) );
+            find.setObject( 5, rate.getStartDate().atOffset( ZoneOffset.UTC ) );
+            find.setLong( 6, replacedId == null ? -1 : replacedId );
+            try ( var rs = find.executeQuery() )
+            {
+                while ( rs.next() )
+                {
+                    overlapping.add( RateJdbcRepositoryAdapter.toRate( rs, rs.getRow() ) );
+                }
+            }
+        }
+        return overlapping;
+    }
+}
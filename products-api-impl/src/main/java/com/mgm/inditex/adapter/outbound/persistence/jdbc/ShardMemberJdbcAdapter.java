@@ -0,0 +1,68 @@
+package com.mgm.inditex.adapter.outbound.persistence.jdbc;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import com.mgm.inditex.core.port.outbound.ShardMembershipPort;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Adapter that implements the {@link ShardMembershipPort} over the {@code shard_members} table.
+ * <p>
+ * A heartbeat updates the member's row and inserts it if it is missing, with portable SQL rather than a
+ * vendor-specific upsert. Heartbeat times come from the instances' clocks, so the member TTL must cover their
+ * skew.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+@RequiredArgsConstructor
+public class ShardMemberJdbcAdapter implements ShardMembershipPort
+{
+    private static final String UPDATE = "UPDATE shard_members SET heartbeat_at = :at WHERE member_id = :member";
+
+    private static final String INSERT = "INSERT INTO shard_members (member_id, heartbeat_at) VALUES (:member, :at)";
+
+    private static final String LIVE_MEMBERS = "SELECT member_id FROM shard_members WHERE heartbeat_at >= :since";
+
+    private static final String DELETE = "DELETE FROM shard_members WHERE member_id = :member";
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    @Override
+    public void heartbeat( final String member, final Instant at )
+    {
+        var parameters = Map.of( "member", member, "at", at.atOffset( ZoneOffset.UTC ) );
+        if ( jdbc.update( UPDATE, parameters ) > 0 )
+        {
+            return;
+        }
+        try
+        {
+            jdbc.update( INSERT, parameters );
+        }
+        catch ( DuplicateKeyException e )
+        {
+            // registered concurrently by a previous instance with the same identifier
+            jdbc.update( UPDATE, parameters );
+        }
+    }
+
+    @Override
+    public List<String> liveMembers( final Instant since )
+    {
+        return jdbc.queryForList( LIVE_MEMBERS, Map.of( "since", since.atOffset( ZoneOffset.UTC ) ), String.class );
+    }
+
+    @Override
+    public void leave( final String member )
+    {
+        jdbc.update( DELETE, Map.of( "member", member ) );
+    }
+}
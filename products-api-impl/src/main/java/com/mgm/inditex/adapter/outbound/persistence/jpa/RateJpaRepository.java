@@ -1,13 +1,22 @@
 package com.mgm.inditex.adapter.outbound.persistence.jpa;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import com.mgm.inditex.adapter.outbound.persistence.jpa.entity.RateJpaEntity;
+import com.mgm.inditex.adapter.outbound.persistence.jpa.projection.RateProjection;
+import com.mgm.inditex.core.domain.RateKey;
+
+import jakarta.persistence.QueryHint;
 
 /**
  * Repository for managing price data in the database.
@@ -29,6 +38,23 @@ public interface RateJpaRepository extends JpaRepository<RateJpaEntity, Long>
         @Param( "currency" ) String currency,
         @Param( "date" ) Instant date );
 
+    // Query to find the applicable price when currency is provided: the database ranks the candidates by priority,
+    // first in insertion order on a tie, and only the rows allowed by the limit are read, as unmanaged projections
+    @Query( "SELECT new com.mgm.inditex.adapter.outbound.persistence.jpa.projection.RateProjection( " +
+        "r.brandId, r.productId, r.priceListId, r.startDate, r.endDate, r.priority, r.price, r.currency ) " +
+        "FROM RateJpaEntity r WHERE r.brandId = :brandId " +
+        "AND r.productId = :productId " +
+        "AND r.currency = :currency " +
+        "AND r.startDate <= :date " +
+        "AND r.endDate >= :date " +
+        "ORDER BY r.priority DESC, r.id" )
+    List<RateProjection> findRatesByPriorityForBrandAndProductAndCurrency(
+        @Param( "brandId" ) Integer brandId,
+        @Param( "productId" ) Long productId,
+        @Param( "currency" ) String currency,
+        @Param( "date" ) Instant date,
+        Limit limit );
+
     // Query to find prices when currency is not provided (returns a list of prices)
     @Query( "SELECT r FROM RateJpaEntity r WHERE r.brandId = :brandId " +
         "AND r.productId = :productId " +
@@ -38,4 +64,59 @@ public interface RateJpaRepository extends JpaRepository<RateJpaEntity, Long>
         @Param( "brandId" ) Integer brandId,
         @Param( "productId" ) Long productId,
         @Param( "date" ) Instant date );
+
+    // Query to find every price of a product and currency, in insertion order
+    @Query( "SELECT r FROM RateJpaEntity r WHERE r.brandId = :brandId " +
+        "AND r.productId = :productId " +
+        "AND r.currency = :currency " +
+        "ORDER BY r.id" )
+    List<RateJpaEntity> findAllRatesForBrandAndProductAndCurrency(
+        @Param( "brandId" ) Integer brandId,
+        @Param( "productId" ) Long productId,
+        @Param( "currency" ) String currency );
+
+    // Derived query that stops at the first price of a product and currency
+    boolean existsByBrandIdAndProductIdAndCurrency( Integer brandId, Long productId, String currency );
+
+    // Query to find, in one round trip, the prices of several products and currencies overlapping a date range.
+    // Tuple IN is not portable JPQL, so it matches the cross product of the values and callers keep their keys.
+    @Query( "SELECT r FROM RateJpaEntity r WHERE r.brandId IN :brandIds " +
+        "AND r.productId IN :productIds " +
+        "AND r.currency IN :currencies " +
+        "AND r.startDate <= :to " +
+        "AND r.endDate >= :from " +
+        "ORDER BY r.id" )
+    List<RateJpaEntity> findRatesForBrandsAndProductsAndCurrencies(
+        @Param( "brandIds" ) Collection<Integer> brandIds,
+        @Param( "productIds" ) Collection<Long> productIds,
+        @Param( "currencies" ) Collection<String> currencies,
+        @Param( "from" ) Instant from,
+        @Param( "to" ) Instant to );
+
+    // Query to stream the prices of a brand at a date, grouped by product and currency, in insertion order.
+    // Rows are fetched in pages by the driver, so callers must consume the stream inside a transaction.
+    @QueryHints( {
+        @QueryHint( name = HibernateHints.HINT_FETCH_SIZE, value = "500" ),
+        @QueryHint( name = HibernateHints.HINT_READ_ONLY, value = "true" )
+    } )
+    @Query( "SELECT r FROM RateJpaEntity r WHERE r.brandId = :brandId " +
+        "AND r.startDate <= :date " +
+        "AND r.endDate >= :date " +
+        "ORDER BY r.productId, r.currency, r.id" )
+    Stream<RateJpaEntity> streamRatesForBrand(
+        @Param( "brandId" ) Integer brandId,
+        @Param( "date" ) Instant date );
+
+    // Query to find every brand with prices
+    @Query( "SELECT DISTINCT r.brandId FROM RateJpaEntity r" )
+    List<Integer> findAllBrandIds();
+
+    // Query to find every price of some brands, in insertion order
+    @Query( "SELECT r FROM RateJpaEntity r WHERE r.brandId IN :brandIds ORDER BY r.id" )
+    List<RateJpaEntity> findAllRatesForBrands( @Param( "brandIds" ) Collection<Integer> brandIds );
+
+    // Query to find every brand/product/currency combination with prices
+    @Query( "SELECT DISTINCT new com.mgm.inditex.core.domain.RateKey( r.brandId, r.productId, r.currency ) " +
+        "FROM RateJpaEntity r" )
+    List<RateKey> findAllRateKeys();
 }
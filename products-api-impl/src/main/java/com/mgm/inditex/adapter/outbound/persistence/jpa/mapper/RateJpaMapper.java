@@ -11,6 +11,7 @@ import org.mapstruct.ObjectFactory;
 import org.mapstruct.TargetType;
 
 import com.mgm.inditex.adapter.outbound.persistence.jpa.entity.RateJpaEntity;
+import com.mgm.inditex.adapter.outbound.persistence.jpa.projection.RateProjection;
 import com.mgm.inditex.core.domain.Rate;
 
 /**
@@ -51,6 +52,39 @@ public interface RateJpaMapper
         );
     }
 
+    // domain -> new or managed entity, leaving its id untouched
+    default RateJpaEntity copyToEntity( final Rate rate, final RateJpaEntity entity )
+    {
+        entity.setBrandId( rate.getBrandId() );
+        entity.setProductId( rate.getProductId() );
+        entity.setPriceListId( rate.getPriceListId() );
+        entity.setStartDate( rate.getStartDate().toInstant( ZoneOffset.UTC ) );
+        entity.setEndDate( rate.getEndDate().toInstant( ZoneOffset.UTC ) );
+        entity.setPriority( rate.getPriority() );
+        entity.setPrice( rate.getPrice() );
+        entity.setCurrency( rate.getCurrency() );
+        return entity;
+    }
+
+    // read-only projection -> domain
+    default Rate rateProjectionToRate( final RateProjection src )
+    {
+        if ( src == null )
+        {
+            return null;
+        }
+        return Rate.of(
+            src.brandId(),
+            src.productId(),
+            src.priceListId(),
+            map( src.startDate() ),
+            map( src.endDate() ),
+            src.priority(),
+            src.price(),
+            src.currency()
+        );
+    }
+
     // Custom mapping method to convert Instant to LocalDateTime
     default LocalDateTime map( final Instant instant )
     {
@@ -0,0 +1,27 @@
+package com.mgm.inditex.adapter.outbound.persistence.jpa.projection;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import com.mgm.inditex.adapter.outbound.persistence.jpa.entity.RateJpaEntity;
+
+/**
+ * Read-only view of the columns of a {@link RateJpaEntity} needed to build a domain rate.
+ * <p>
+ * Built by a JPQL constructor expression, so Hibernate neither manages nor snapshots it: reading one costs the
+ * columns and nothing else.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+public record RateProjection(
+    Integer brandId,
+    Long productId,
+    Integer priceListId,
+    Instant startDate,
+    Instant endDate,
+    Short priority,
+    BigDecimal price,
+    String currency )
+{
+}
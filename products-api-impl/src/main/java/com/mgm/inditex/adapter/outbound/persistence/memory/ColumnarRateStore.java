@@ -0,0 +1,633 @@
+package com.mgm.inditex.adapter.outbound.persistence.memory;
+
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.ShortBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntBinaryOperator;
+
+import com.mgm.inditex.core.domain.Price;
+import com.mgm.inditex.core.domain.Rate;
+import com.mgm.inditex.core.domain.RateKey;
+
+/**
+ * Columnar {@link RateStore} that keeps every rate in parallel primitive arrays instead of {@link Rate} objects.
+ * <p>
+ * Rows are grouped by brand/product/currency and sorted by start date. Dates are stored as UTC epoch seconds,
+ * prices as {@code long} ten-thousandths (the scale of the {@code DECIMAL(10,4)} column, as in {@link Price}) and
+ * currencies as a code into a small dictionary, so a rate costs a few dozen bytes instead of a graph of boxed ids
+ * and {@link LocalDateTime}s. {@link Rate} objects are only materialised for the rows a lookup returns.
+ * </p>
+ * <p>
+ * Lookups binary-search the key columns, then walk the rows of the key as an implicit interval tree: the middle
+ * row of every range is the root of its halves and {@code maxEnds} holds the latest end date below it, so ranges
+ * that end before the query or start after it are skipped and a lookup costs a logarithmic number of rows per
+ * match. Start and end dates are inclusive and results are returned in load order, exactly as in
+ * {@link RateIntervalIndex}. Rate boundaries must be whole seconds, which is what the {@code rates} table stores.
+ * </p>
+ * <p>
+ * Columns are read through {@code java.nio} buffers, so the same store can wrap heap arrays built from
+ * {@link #of(Collection)} or a memory-mapped {@link RateSnapshotFile} without copying it onto the heap.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+public final class ColumnarRateStore implements RateStore
+{
+    private static final int ARRAY_HEADER_BYTES = 16;
+
+    private final RateColumns columns;
+    private final String[] currencies;
+    private final Map<String, Short> currencyCodes;
+
+    private final IntBuffer keyBrandIds;
+    private final LongBuffer keyProductIds;
+    private final ShortBuffer keyCurrencies;
+    private final IntBuffer keyOffsets;
+
+    private final LongBuffer starts;
+    private final LongBuffer ends;
+    private final LongBuffer maxEnds;
+    private final IntBuffer priceListIds;
+    private final ShortBuffer priorities;
+    private final LongBuffer prices;
+    private final IntBuffer ordinals;
+
+    ColumnarRateStore( final RateColumns columns )
+    {
+        this.columns = columns;
+        this.currencies = columns.currencies().clone();
+        var codes = new HashMap<String, Short>();
+        for ( var code = 0; code < currencies.length; code++ )
+        {
+            codes.put( currencies[code], ( short ) code );
+        }
+        this.currencyCodes = Map.copyOf( codes );
+        this.keyBrandIds = columns.keyBrandIds();
+        this.keyProductIds = columns.keyProductIds();
+        this.keyCurrencies = columns.keyCurrencies();
+        this.keyOffsets = columns.keyOffsets();
+        this.starts = columns.starts();
+        this.ends = columns.ends();
+        this.maxEnds = columns.maxEnds();
+        this.priceListIds = columns.priceListIds();
+        this.priorities = columns.priorities();
+        this.prices = columns.prices();
+        this.ordinals = columns.ordinals();
+    }
+
+    private static RateColumns sort( final Builder builder )
+    {
+        var size = builder.size;
+
+        var order = new int[size];
+        Arrays.setAll( order, i -> i );
+        mergeSort( order, size, ( a, b ) ->
+        {
+            var cmp = compareKey( builder.brandIds[a], builder.productIds[a], builder.currencyCodes[a],
+                builder.brandIds[b], builder.productIds[b], builder.currencyCodes[b] );
+            return cmp != 0 ? cmp : Long.compare( builder.starts[a], builder.starts[b] );
+        } );
+
+        var starts = new long[size];
+        var ends = new long[size];
+        var maxEnds = new long[size];
+        var priceListIds = new int[size];
+        var priorities = new short[size];
+        var prices = new long[size];
+        var ordinals = new int[size];
+
+        var brandIds = new int[size];
+        var productIds = new long[size];
+        var codes = new short[size];
+        var offsets = new int[size + 1];
+        var keys = 0;
+
+        for ( var row = 0; row < size; row++ )
+        {
+            var source = order[row];
+            var newKey = row == 0 || compareKey( brandIds[keys - 1], productIds[keys - 1], codes[keys - 1],
+                builder.brandIds[source], builder.productIds[source], builder.currencyCodes[source] ) != 0;
+            if ( newKey )
+            {
+                brandIds[keys] = builder.brandIds[source];
+                productIds[keys] = builder.productIds[source];
+                codes[keys] = builder.currencyCodes[source];
+                offsets[keys++] = row;
+            }
+            starts[row] = builder.starts[source];
+            ends[row] = builder.ends[source];
+            priceListIds[row] = builder.priceListIds[source];
+            priorities[row] = builder.priorities[source];
+            prices[row] = builder.prices[source];
+            ordinals[row] = source;
+        }
+        offsets[keys] = size;
+        for ( var key = 0; key < keys; key++ )
+        {
+            fillMaxEnds( ends, maxEnds, offsets[key], offsets[key + 1] );
+        }
+
+        return new RateColumns(
+            builder.dictionary.toArray( String[]::new ),
+            IntBuffer.wrap( Arrays.copyOf( brandIds, keys ) ),
+            LongBuffer.wrap( Arrays.copyOf( productIds, keys ) ),
+            ShortBuffer.wrap( Arrays.copyOf( codes, keys ) ),
+            IntBuffer.wrap( Arrays.copyOf( offsets, keys + 1 ) ),
+            LongBuffer.wrap( starts ),
+            LongBuffer.wrap( ends ),
+            LongBuffer.wrap( maxEnds ),
+            IntBuffer.wrap( priceListIds ),
+            ShortBuffer.wrap( priorities ),
+            LongBuffer.wrap( prices ),
+            IntBuffer.wrap( ordinals ) );
+    }
+
+    /**
+     * Builds a store over the given rates, using their iteration order as load order.
+     *
+     * @param rates the rates to store
+     * @return a new immutable store
+     */
+    public static ColumnarRateStore of( final Collection<Rate> rates )
+    {
+        var builder = builder( rates.size() );
+        rates.forEach( builder::add );
+        return builder.build();
+    }
+
+    /**
+     * @param expectedSize expected number of rates, used to size the columns
+     * @return a builder that appends rates in load order
+     */
+    public static Builder builder( final int expectedSize )
+    {
+        return new Builder( expectedSize );
+    }
+
+    @Override
+    public List<Rate> find( final RateKey key, final LocalDateTime at )
+    {
+        var code = currencyCodes.get( key.currency() );
+        if ( code == null )
+        {
+            return List.of();
+        }
+        var keyIndex = findKey( key.brandId(), key.productId(), code );
+        if ( keyIndex < 0 )
+        {
+            return List.of();
+        }
+        var matches = new Rows( 2 );
+        collect( keyIndex, at.toEpochSecond( ZoneOffset.UTC ), at.getNano(), matches );
+        return materialise( matches );
+    }
+
+    @Override
+    public List<Rate> find( final Integer brandId, final Long productId, final LocalDateTime at )
+    {
+        var epochSecond = at.toEpochSecond( ZoneOffset.UTC );
+        var matches = new Rows( 2 );
+        for ( var keyIndex = firstKey( brandId, productId );
+            keyIndex < keyCount() && keyBrandIds.get( keyIndex ) == brandId
+                && keyProductIds.get( keyIndex ) == productId;
+            keyIndex++ )
+        {
+            collect( keyIndex, epochSecond, at.getNano(), matches );
+        }
+        return materialise( matches );
+    }
+
+    @Override
+    public List<Rate> find( final RateKey key )
+    {
+        var code = currencyCodes.get( key.currency() );
+        var keyIndex = code == null ? -1 : findKey( key.brandId(), key.productId(), code );
+        if ( keyIndex < 0 )
+        {
+            return List.of();
+        }
+        var from = keyOffsets.get( keyIndex );
+        var to = keyOffsets.get( keyIndex + 1 );
+        var rows = new Rows( to - from );
+        for ( var row = from; row < to; row++ )
+        {
+            rows.add( row );
+        }
+        return materialise( rows );
+    }
+
+    @Override
+    public boolean contains( final RateKey key )
+    {
+        var code = currencyCodes.get( key.currency() );
+        return code != null && findKey( key.brandId(), key.productId(), code ) >= 0;
+    }
+
+    @Override
+    public int count( final RateKey key )
+    {
+        var code = currencyCodes.get( key.currency() );
+        var keyIndex = code == null ? -1 : findKey( key.brandId(), key.productId(), code );
+        return keyIndex < 0 ? 0 : keyOffsets.get( keyIndex + 1 ) - keyOffsets.get( keyIndex );
+    }
+
+    @Override
+    public List<RateKey> keys()
+    {
+        var keys = new ArrayList<RateKey>( keyCount() );
+        for ( var keyIndex = 0; keyIndex < keyCount(); keyIndex++ )
+        {
+            keys.add( new RateKey( keyBrandIds.get( keyIndex ), keyProductIds.get( keyIndex ),
+                currencies[keyCurrencies.get( keyIndex )] ) );
+        }
+        return keys;
+    }
+
+    @Override
+    public List<RateKey> keys( final Integer brandId )
+    {
+        // keys are sorted by brand first, so the brand is the range between two lower bounds
+        var to = firstKey( brandId + 1L, Long.MIN_VALUE );
+        var keys = new ArrayList<RateKey>();
+        for ( var keyIndex = firstKey( brandId, Long.MIN_VALUE ); keyIndex < to; keyIndex++ )
+        {
+            keys.add( new RateKey( brandId, keyProductIds.get( keyIndex ),
+                currencies[keyCurrencies.get( keyIndex )] ) );
+        }
+        return keys;
+    }
+
+    @Override
+    public int size()
+    {
+        return starts.capacity();
+    }
+
+    @Override
+    public int keyCount()
+    {
+        return keyBrandIds.capacity();
+    }
+
+    /**
+     * @return the bytes held by the columns, on the heap or in a mapped snapshot file
+     */
+    public long estimatedBytes()
+    {
+        long rows = size();
+        long keys = keyCount();
+        return rows * ( Long.BYTES * 4 + Integer.BYTES * 2 + Short.BYTES )
+            + keys * ( Integer.BYTES * 2 + Long.BYTES + Short.BYTES ) + Integer.BYTES
+            + ARRAY_HEADER_BYTES * 11L;
+    }
+
+    RateColumns columns()
+    {
+        return columns;
+    }
+
+    private void collect( final int keyIndex, final long epochSecond, final int nano, final Rows sink )
+    {
+        collect( keyOffsets.get( keyIndex ), keyOffsets.get( keyIndex + 1 ), epochSecond, nano, sink );
+    }
+
+    /**
+     * Collects the rows of {@code [low, high)} open at the given instant, in the subtree rooted at its middle row.
+     */
+    private void collect( final int low, final int high, final long epochSecond, final int nano, final Rows sink )
+    {
+        if ( low >= high )
+        {
+            return;
+        }
+        var mid = ( low + high ) >>> 1;
+        if ( maxEnds.get( mid ) < epochSecond )
+        {
+            return;
+        }
+        collect( low, mid, epochSecond, nano, sink );
+        // rows after the middle one start no earlier, so none of them applies if it starts after the instant
+        if ( starts.get( mid ) <= epochSecond )
+        {
+            // the end date is inclusive, so an instant within its last second only matches the exact second
+            var end = ends.get( mid );
+            if ( end > epochSecond || ( end == epochSecond && nano == 0 ) )
+            {
+                sink.add( mid );
+            }
+            collect( mid + 1, high, epochSecond, nano, sink );
+        }
+    }
+
+    private int findKey( final int brandId, final long productId, final short currency )
+    {
+        var low = 0;
+        var high = keyCount() - 1;
+        while ( low <= high )
+        {
+            var mid = ( low + high ) >>> 1;
+            var cmp = compareKey( keyBrandIds.get( mid ), keyProductIds.get( mid ), keyCurrencies.get( mid ), brandId,
+                productId, currency );
+            if ( cmp < 0 )
+            {
+                low = mid + 1;
+            }
+            else if ( cmp > 0 )
+            {
+                high = mid - 1;
+            }
+            else
+            {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the first key at or after the given brand and product, taking the brand as a {@code long} so the key
+     * after the last brand can be searched for
+     */
+    private int firstKey( final long brandId, final long productId )
+    {
+        var low = 0;
+        var high = keyCount();
+        while ( low < high )
+        {
+            var mid = ( low + high ) >>> 1;
+            var brand = keyBrandIds.get( mid );
+            if ( brand < brandId || ( brand == brandId && keyProductIds.get( mid ) < productId ) )
+            {
+                low = mid + 1;
+            }
+            else
+            {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private List<Rate> materialise( final Rows rows )
+    {
+        if ( rows.count == 0 )
+        {
+            return List.of();
+        }
+        if ( rows.count == 1 )
+        {
+            return List.of( toRate( rows.rows[0] ) );
+        }
+        mergeSort( rows.rows, rows.count, ( a, b ) -> Integer.compare( ordinals.get( a ), ordinals.get( b ) ) );
+        var rates = new ArrayList<Rate>( rows.count );
+        for ( var i = 0; i < rows.count; i++ )
+        {
+            rates.add( toRate( rows.rows[i] ) );
+        }
+        return rates;
+    }
+
+    private Rate toRate( final int row )
+    {
+        var keyIndex = keyOf( row );
+        return Rate.of(
+            keyBrandIds.get( keyIndex ),
+            keyProductIds.get( keyIndex ),
+            priceListIds.get( row ),
+            LocalDateTime.ofEpochSecond( starts.get( row ), 0, ZoneOffset.UTC ),
+            LocalDateTime.ofEpochSecond( ends.get( row ), 0, ZoneOffset.UTC ),
+            priorities.get( row ),
+            Price.ofTenThousandths( prices.get( row ) ),
+            currencies[keyCurrencies.get( keyIndex )] );
+    }
+
+    /**
+     * @return the last key whose first row is at or before the given row
+     */
+    private int keyOf( final int row )
+    {
+        var low = 0;
+        var high = keyCount() - 1;
+        while ( low < high )
+        {
+            var mid = ( low + high + 1 ) >>> 1;
+            if ( keyOffsets.get( mid ) > row )
+            {
+                high = mid - 1;
+            }
+            else
+            {
+                low = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Stores in {@code maxEnds} the latest end date of the subtree rooted at the middle row of every range, as walked
+     * by {@link #collect(int, int, long, int, Rows)}.
+     *
+     * @return the latest end date of {@code [low, high)}
+     */
+    private static long fillMaxEnds( final long[] ends, final long[] maxEnds, final int low, final int high )
+    {
+        if ( low >= high )
+        {
+            return Long.MIN_VALUE;
+        }
+        var mid = ( low + high ) >>> 1;
+        var left = fillMaxEnds( ends, maxEnds, low, mid );
+        var right = fillMaxEnds( ends, maxEnds, mid + 1, high );
+        maxEnds[mid] = Math.max( ends[mid], Math.max( left, right ) );
+        return maxEnds[mid];
+    }
+
+    private static int compareKey( final int brandA, final long productA, final short currencyA, final int brandB,
+        final long productB, final short currencyB )
+    {
+        var cmp = Integer.compare( brandA, brandB );
+        if ( cmp == 0 )
+        {
+            cmp = Long.compare( productA, productB );
+        }
+        return cmp != 0 ? cmp : Short.compare( currencyA, currencyB );
+    }
+
+    /**
+     * Stable bottom-up merge sort of the first {@code length} row numbers, so rows with equal keys keep their load
+     * order without boxing.
+     */
+    private static void mergeSort( final int[] rows, final int length, final IntBinaryOperator comparator )
+    {
+        var source = rows;
+        var target = new int[length];
+        for ( var width = 1; width < length; width <<= 1 )
+        {
+            for ( var low = 0; low < length; low += width << 1 )
+            {
+                var mid = Math.min( low + width, length );
+                var high = Math.min( low + ( width << 1 ), length );
+                var left = low;
+                var right = mid;
+                for ( var out = low; out < high; out++ )
+                {
+                    if ( left < mid && ( right >= high || comparator.applyAsInt( source[left], source[right] ) <= 0 ) )
+                    {
+                        target[out] = source[left++];
+                    }
+                    else
+                    {
+                        target[out] = source[right++];
+                    }
+                }
+            }
+            var swap = source;
+            source = target;
+            target = swap;
+        }
+        if ( source != rows )
+        {
+            System.arraycopy( source, 0, rows, 0, length );
+        }
+    }
+
+    /**
+     * Growable list of matched row numbers, so lookups collect rows without boxing them.
+     */
+    private static final class Rows
+    {
+        private int[] rows;
+        private int count;
+
+        Rows( final int capacity )
+        {
+            rows = new int[Math.max( capacity, 1 )];
+        }
+
+        void add( final int row )
+        {
+            if ( count == rows.length )
+            {
+                rows = Arrays.copyOf( rows, count << 1 );
+            }
+            rows[count++] = row;
+        }
+    }
+
+    /**
+     * Appends rates in load order into growable primitive columns.
+     */
+    public static final class Builder
+    {
+        private final List<String> dictionary = new ArrayList<>();
+        private final Map<String, Short> dictionaryCodes = new HashMap<>();
+
+        private int size;
+        private int[] brandIds;
+        private long[] productIds;
+        private short[] currencyCodes;
+        private long[] starts;
+        private long[] ends;
+        private int[] priceListIds;
+        private short[] priorities;
+        private long[] prices;
+
+        private Builder( final int expectedSize )
+        {
+            var capacity = Math.max( expectedSize, 16 );
+            brandIds = new int[capacity];
+            productIds = new long[capacity];
+            currencyCodes = new short[capacity];
+            starts = new long[capacity];
+            ends = new long[capacity];
+            priceListIds = new int[capacity];
+            priorities = new short[capacity];
+            prices = new long[capacity];
+        }
+
+        /**
+         * Appends a domain rate.
+         *
+         * @param rate the rate; its dates must be whole seconds
+         * @return this builder
+         */
+        public Builder add( final Rate rate )
+        {
+            if ( rate.getStartDate().getNano() != 0 || rate.getEndDate().getNano() != 0 )
+            {
+                throw new IllegalArgumentException( "rate boundaries must be whole seconds: " + rate );
+            }
+            return add( rate.getBrandId(), rate.getProductId(), rate.getPriceListId(),
+                rate.getStartDate().toEpochSecond( ZoneOffset.UTC ), rate.getEndDate().toEpochSecond( ZoneOffset.UTC ),
+                rate.getPriority(), rate.getPriceAmount().tenThousandths(),
+                rate.getCurrency() );
+        }
+
+        /**
+         * Appends a rate given as primitive columns.
+         *
+         * @param brandId the brand ID
+         * @param productId the product ID
+         * @param priceListId the price list ID
+         * @param startEpochSecond inclusive start, UTC epoch seconds
+         * @param endEpochSecond inclusive end, UTC epoch seconds
+         * @param priority the priority
+         * @param priceTenThousandths the price in ten-thousandths of the currency unit
+         * @param currency the ISO currency code
+         * @return this builder
+         */
+        public Builder add( final int brandId, final long productId, final int priceListId,
+            final long startEpochSecond, final long endEpochSecond, final short priority,
+            final long priceTenThousandths, final String currency )
+        {
+            if ( size == starts.length )
+            {
+                grow();
+            }
+            var code = dictionaryCodes.computeIfAbsent( currency, c ->
+            {
+                dictionary.add( c );
+                return ( short ) ( dictionary.size() - 1 );
+            } );
+            brandIds[size] = brandId;
+            productIds[size] = productId;
+            currencyCodes[size] = code;
+            starts[size] = startEpochSecond;
+            ends[size] = endEpochSecond;
+            priceListIds[size] = priceListId;
+            priorities[size] = priority;
+            prices[size] = priceTenThousandths;
+            size++;
+            return this;
+        }
+
+        /**
+         * @return the immutable store
+         */
+        public ColumnarRateStore build()
+        {
+            return new ColumnarRateStore( sort( this ) );
+        }
+
+        private void grow()
+        {
+            var capacity = starts.length + ( starts.length >> 1 );
+            brandIds = Arrays.copyOf( brandIds, capacity );
+            productIds = Arrays.copyOf( productIds, capacity );
+            currencyCodes = Arrays.copyOf( currencyCodes, capacity );
+            starts = Arrays.copyOf( starts, capacity );
+            ends = Arrays.copyOf( ends, capacity );
+            priceListIds = Arrays.copyOf( priceListIds, capacity );
+            priorities = Arrays.copyOf( priorities, capacity );
+            prices = Arrays.copyOf( prices, capacity );
+        }
+    }
+}
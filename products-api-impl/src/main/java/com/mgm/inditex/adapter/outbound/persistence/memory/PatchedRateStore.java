@@ -0,0 +1,178 @@
+package com.mgm.inditex.adapter.outbound.persistence.memory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import com.mgm.inditex.core.domain.Rate;
+import com.mgm.inditex.core.domain.RateKey;
+
+/**
+ * Immutable {@link RateStore} that overrides the rates of some keys of a base store, so a few changed keys can be
+ * applied to a large snapshot without rebuilding it.
+ * <p>
+ * The rates of a patched key are answered from a {@link RateIntervalIndex} over the patches only, and an empty
+ * patch hides the key altogether, as when its rates are deleted. Every other key is answered by the base store.
+ * Patching a patched store merges the new patches into the existing ones over the same base, so lookups never go
+ * through more than one layer, and the number of rates and keys is carried over from the patched store, so each
+ * patch only counts the keys it changes. Rates of different keys of a product come back with the unpatched keys
+ * first.
+ * </p>
+ * <p>
+ * Patches only grow until the next reload; {@link RateInMemoryRepositoryAdapter} folds them into a new base store
+ * once too many keys are patched.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+public final class PatchedRateStore implements RateStore
+{
+    private final RateStore base;
+    private final Map<RateKey, List<Rate>> patches;
+    private final RateIntervalIndex patched;
+    private final int size;
+    private final int keyCount;
+
+    private PatchedRateStore( final RateStore base, final Map<RateKey, List<Rate>> patches, final int size,
+        final int keyCount )
+    {
+        this.base = base;
+        this.patches = patches;
+        this.patched = RateIntervalIndex.of( patches.values().stream().flatMap( List::stream ).toList() );
+        this.size = size;
+        this.keyCount = keyCount;
+    }
+
+    /**
+     * Replaces the rates of some keys of a store.
+     *
+     * @param store the store to patch, possibly a {@link PatchedRateStore} already
+     * @param changes every current rate of each changed key, in load order; an empty list removes the key
+     * @return a new store with the changes applied
+     */
+    public static PatchedRateStore patch( final RateStore store, final Map<RateKey, List<Rate>> changes )
+    {
+        var base = store;
+        var patches = new HashMap<RateKey, List<Rate>>();
+        if ( store instanceof PatchedRateStore previous )
+        {
+            base = previous.base;
+            patches.putAll( previous.patches );
+        }
+        // the totals of the store carry over, so only the changed keys are counted, not every patch
+        var size = store.size();
+        var keyCount = store.keyCount();
+        for ( var change : changes.entrySet() )
+        {
+            var replaced = store.count( change.getKey() );
+            size += change.getValue().size() - replaced;
+            keyCount += ( change.getValue().isEmpty() ? 0 : 1 ) - ( replaced == 0 ? 0 : 1 );
+            patches.put( change.getKey(), List.copyOf( change.getValue() ) );
+        }
+        return new PatchedRateStore( base, Map.copyOf( patches ), size, keyCount );
+    }
+
+    /**
+     * @return the number of keys whose rates are answered from the patches
+     */
+    public int patchedKeyCount()
+    {
+        return patches.size();
+    }
+
+    @Override
+    public List<Rate> find( final RateKey key, final LocalDateTime at )
+    {
+        return patches.containsKey( key ) ? patched.find( key, at ) : base.find( key, at );
+    }
+
+    @Override
+    public List<Rate> find( final RateKey key, final LocalDateTime from, final LocalDateTime to )
+    {
+        return patches.containsKey( key ) ? patched.find( key, from, to ) : base.find( key, from, to );
+    }
+
+    @Override
+    public List<Rate> find( final Integer brandId, final Long productId, final LocalDateTime at )
+    {
+        var rates = new ArrayList<Rate>();
+        for ( var rate : base.find( brandId, productId, at ) )
+        {
+            if ( !patches.containsKey( RateKey.of( rate ) ) )
+            {
+                rates.add( rate );
+            }
+        }
+        rates.addAll( patched.find( brandId, productId, at ) );
+        return rates;
+    }
+
+    @Override
+    public List<Rate> find( final RateKey key )
+    {
+        var patch = patches.get( key );
+        return patch != null ? patch : base.find( key );
+    }
+
+    @Override
+    public boolean contains( final RateKey key )
+    {
+        var patch = patches.get( key );
+        return patch != null ? !patch.isEmpty() : base.contains( key );
+    }
+
+    @Override
+    public int count( final RateKey key )
+    {
+        var patch = patches.get( key );
+        return patch != null ? patch.size() : base.count( key );
+    }
+
+    @Override
+    public List<RateKey> keys()
+    {
+        return Stream.concat(
+                base.keys().stream().filter( key -> !patches.containsKey( key ) ),
+                patches.entrySet().stream().filter( patch -> !patch.getValue().isEmpty() ).map( Map.Entry::getKey ) )
+            .toList();
+    }
+
+    @Override
+    public List<RateKey> keys( final Integer brandId )
+    {
+        // both sides are sorted by product, so they are merged instead of sorted again
+        var unpatched = base.keys( brandId ).stream().filter( key -> !patches.containsKey( key ) ).toList();
+        var changed = patched.keys( brandId );
+        var keys = new ArrayList<RateKey>( unpatched.size() + changed.size() );
+        var i = 0;
+        var j = 0;
+        while ( i < unpatched.size() || j < changed.size() )
+        {
+            if ( j == changed.size()
+                || ( i < unpatched.size() && unpatched.get( i ).productId() <= changed.get( j ).productId() ) )
+            {
+                keys.add( unpatched.get( i++ ) );
+            }
+            else
+            {
+                keys.add( changed.get( j++ ) );
+            }
+        }
+        return keys;
+    }
+
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    @Override
+    public int keyCount()
+    {
+        return keyCount;
+    }
+}
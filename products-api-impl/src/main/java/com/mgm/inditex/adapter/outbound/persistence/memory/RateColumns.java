@@ -0,0 +1,31 @@
+package com.mgm.inditex.adapter.outbound.persistence.memory;
+
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.ShortBuffer;
+
+/**
+ * Columns of a {@link ColumnarRateStore}, as written to and mapped from a {@link RateSnapshotFile}.
+ * <p>
+ * Key columns hold one entry per brand/product/currency key, sorted, with {@code keyOffsets} pointing at the
+ * first row of each key plus a trailing entry equal to the row count. Row columns are grouped by key and sorted by
+ * start date; {@code maxEnds} holds, for the middle row of every range of a key, the latest end date of that range,
+ * and {@code ordinals} keeps the load order used to break priority ties.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+record RateColumns( String[] currencies,
+    IntBuffer keyBrandIds,
+    LongBuffer keyProductIds,
+    ShortBuffer keyCurrencies,
+    IntBuffer keyOffsets,
+    LongBuffer starts,
+    LongBuffer ends,
+    LongBuffer maxEnds,
+    IntBuffer priceListIds,
+    ShortBuffer priorities,
+    LongBuffer prices,
+    IntBuffer ordinals )
+{
+}
@@ -0,0 +1,252 @@
+package com.mgm.inditex.adapter.outbound.persistence.memory;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+import com.mgm.inditex.core.domain.Rate;
+import com.mgm.inditex.core.domain.RateKey;
+import com.mgm.inditex.core.port.outbound.RateRepositoryPort;
+import com.mgm.inditex.core.sync.RateChangeListener;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Adapter that implements the {@link RateRepositoryPort} from an in-memory {@link RateStore}.
+ * <p>
+ * The whole {@code rates} table is read through the configured loader when {@link #reload()} is called
+ * (on startup, see {@code PersistenceConfig}) and lookups are then answered without touching the database.
+ * A reload builds a new store and swaps it atomically, so concurrent lookups always see a complete snapshot.
+ * The store layout is pluggable: a {@link RateIntervalIndex} of domain objects by default, or a
+ * {@link ColumnarRateStore} of primitive columns when heap footprint matters more, possibly mapped from a
+ * {@link RateSnapshotFile} so that startup does not depend on the database at all.
+ * </p>
+ * <p>
+ * Between reloads, the rates of the keys that changed can be applied with {@link #apply(Map)} (see
+ * {@code RateChangeSynchronizer}): they are layered over the loaded store as a {@link PatchedRateStore}, swapped
+ * in the same way, and folded into the next full reload. Every patch copies the patches before it, so once more
+ * keys than the compaction threshold are patched the store is rebuilt through the store factory from its current
+ * rates, without a trip to the database, and later patches start again from an empty layer.
+ * </p>
+ * <p>
+ * The store itself is read-only: writes go to the database through a {@link RateWriteThroughAdapter}, which
+ * applies the rates of the keys they touched to the store once committed.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+@Slf4j
+public class RateInMemoryRepositoryAdapter implements RateRepositoryPort, RateChangeListener
+{
+    /**
+     * Patched keys above which the patches are folded into a new store, unless set otherwise.
+     */
+    public static final int DEFAULT_COMPACTION_THRESHOLD = 10_000;
+
+    private final Supplier<? extends RateStore> storeLoader;
+    private final Function<List<Rate>, ? extends RateStore> storeFactory;
+    private int compactionThreshold = DEFAULT_COMPACTION_THRESHOLD;
+    private volatile RateStore store = RateIntervalIndex.empty();
+    private volatile Instant loadedAt;
+
+    public RateInMemoryRepositoryAdapter( final Supplier<List<Rate>> loader )
+    {
+        this( loader, RateIntervalIndex::of );
+    }
+
+    public RateInMemoryRepositoryAdapter( final Supplier<List<Rate>> loader,
+        final Function<List<Rate>, ? extends RateStore> storeFactory )
+    {
+        this( storeFactory, () -> storeFactory.apply( loader.get() ) );
+        Objects.requireNonNull( loader, "loader" );
+    }
+
+    private RateInMemoryRepositoryAdapter( final Function<List<Rate>, ? extends RateStore> storeFactory,
+        final Supplier<? extends RateStore> storeLoader )
+    {
+        this.storeFactory = Objects.requireNonNull( storeFactory, "storeFactory" );
+        this.storeLoader = Objects.requireNonNull( storeLoader, "storeLoader" );
+    }
+
+    /**
+     * Builds an adapter whose store is opened directly rather than built from a list of rates, for instance
+     * from a {@link RateSnapshotFile}.
+     *
+     * @param storeLoader opens a new store on every reload
+     * @param storeFactory builds the store the patches are folded into, of the same layout as the opened one
+     * @return a new adapter with an empty store until {@link #reload()} is called
+     */
+    public static RateInMemoryRepositoryAdapter fromStore( final Supplier<? extends RateStore> storeLoader,
+        final Function<List<Rate>, ? extends RateStore> storeFactory )
+    {
+        return new RateInMemoryRepositoryAdapter( storeFactory, storeLoader );
+    }
+
+    /**
+     * @param patchedKeys the number of patched keys above which {@link #apply(Map)} folds the patches into a new
+     * store
+     */
+    public synchronized void setCompactionThreshold( final int patchedKeys )
+    {
+        if ( patchedKeys < 0 )
+        {
+            throw new IllegalArgumentException( "compaction threshold must not be negative: " + patchedKeys );
+        }
+        this.compactionThreshold = patchedKeys;
+    }
+
+    /**
+     * Loads a new store through the loader and replaces the current one.
+     */
+    public synchronized void reload()
+    {
+        var start = System.nanoTime();
+        var startedAt = Instant.now();
+        var newStore = storeLoader.get();
+        store = newStore;
+        loadedAt = startedAt;
+
+        log.info( "Rate store loaded. {} {} {} {}",
+            kv( "store", newStore.getClass().getSimpleName() ),
+            kv( "rates", newStore.size() ),
+            kv( "keys", newStore.keyCount() ),
+            kv( "elapsedMs", ( System.nanoTime() - start ) / 1_000_000 ) );
+    }
+
+    /**
+     * Replaces the rates of the changed keys in the current store.
+     *
+     * @param changes every current rate of each changed key, in insertion order; an empty list removes the key
+     */
+    @Override
+    public synchronized void apply( final Map<RateKey, List<Rate>> changes )
+    {
+        if ( changes.isEmpty() )
+        {
+            return;
+        }
+        var patched = PatchedRateStore.patch( store, changes );
+        if ( patched.patchedKeyCount() > compactionThreshold )
+        {
+            compact( patched );
+            return;
+        }
+        store = patched;
+
+        log.debug( "Rate store patched. {} {} {}",
+            kv( "changedKeys", changes.size() ),
+            kv( "patchedKeys", patched.patchedKeyCount() ),
+            kv( "rates", patched.size() ) );
+    }
+
+    private void compact( final PatchedRateStore patched )
+    {
+        var start = System.nanoTime();
+        var rates = new ArrayList<Rate>( patched.size() );
+        patched.keys().forEach( key -> rates.addAll( patched.find( key ) ) );
+        var compacted = storeFactory.apply( rates );
+        store = compacted;
+
+        log.info( "Rate store compacted. {} {} {} {}",
+            kv( "patchedKeys", patched.patchedKeyCount() ),
+            kv( "rates", compacted.size() ),
+            kv( "keys", compacted.keyCount() ),
+            kv( "elapsedMs", ( System.nanoTime() - start ) / 1_000_000 ) );
+    }
+
+    /**
+     * @return when the current store started loading, or {@code null} before the first {@link #reload()}
+     */
+    public Instant loadedAt()
+    {
+        return loadedAt;
+    }
+
+    RateStore store()
+    {
+        return store;
+    }
+
+    @Override
+    public List<Rate> findRatesForBrandAndProductAndCurrency( final Integer brandId, final Long productId,
+        final String currency, final Instant date )
+    {
+        return store.find( new RateKey( brandId, productId, currency ), toLocalDateTime( date ) );
+    }
+
+    @Override
+    public List<Rate> findRatesForBrandAndProduct( final Integer brandId, final Long productId,
+        final Instant date )
+    {
+        return store.find( brandId, productId, toLocalDateTime( date ) );
+    }
+
+    @Override
+    public List<Rate> findAllRatesForBrandAndProductAndCurrency( final Integer brandId, final Long productId,
+        final String currency )
+    {
+        return store.find( new RateKey( brandId, productId, currency ) );
+    }
+
+    @Override
+    public boolean hasRatesForBrandAndProductAndCurrency( final Integer brandId, final Long productId,
+        final String currency )
+    {
+        return store.contains( new RateKey( brandId, productId, currency ) );
+    }
+
+    @Override
+    public List<Rate> findRatesForKeys( final Collection<RateKey> keys, final Instant from, final Instant to )
+    {
+        var start = toLocalDateTime( from );
+        var end = toLocalDateTime( to );
+        var current = store;
+        return new LinkedHashSet<>( keys ).stream()
+            .flatMap( key -> current.find( key, start, end ).stream() )
+            .toList();
+    }
+
+    @Override
+    public void forEachRateForBrand( final Integer brandId, final Instant date, final Consumer<Rate> action )
+    {
+        var at = toLocalDateTime( date );
+        var current = store;
+        var keys = current.keys( brandId );
+        // keys come grouped by product, so only the few currencies of each product are sorted
+        for ( var from = 0; from < keys.size(); )
+        {
+            var to = from + 1;
+            while ( to < keys.size() && keys.get( to ).productId().equals( keys.get( from ).productId() ) )
+            {
+                to++;
+            }
+            keys.subList( from, to ).stream()
+                .sorted( Comparator.comparing( RateKey::currency ) )
+                .forEach( key -> current.find( key, at ).forEach( action ) );
+            from = to;
+        }
+    }
+
+    @Override
+    public List<RateKey> findAllRateKeys()
+    {
+        return store.keys();
+    }
+
+    private static LocalDateTime toLocalDateTime( final Instant date )
+    {
+        return LocalDateTime.ofInstant( date, ZoneOffset.UTC );
+    }
+}
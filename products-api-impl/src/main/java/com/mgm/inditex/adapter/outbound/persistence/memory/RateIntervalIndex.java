@@ -0,0 +1,289 @@
+package com.mgm.inditex.adapter.outbound.persistence.memory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.mgm.inditex.core.domain.Rate;
+import com.mgm.inditex.core.domain.RateKey;
+
+/**
+ * Immutable in-memory index of rates answering "which rates apply at instant t" queries.
+ * <p>
+ * Rates are grouped per {@link RateKey} and, inside each group, sorted by start date and walked as an implicit
+ * interval tree: the middle rate of every range is the root of its halves and remembers the latest end date below
+ * it, so a lookup at {@code t} skips every range that ends before {@code t} or starts after it and costs a
+ * logarithmic number of rates per match. Start and end dates are both inclusive, as in
+ * {@link Rate#appliesAt(LocalDateTime)}. Overlap queries over a range, such as the conflict checks of rate writes,
+ * skip the ranges ending before its start or starting after its end in the same way.
+ * </p>
+ * <p>
+ * Results are returned in load order, so callers that break priority ties by position (see
+ * {@code RateUseCase}) see exactly the same ordering they would get from the database. The keys of each brand are
+ * kept sorted by product for walks over a whole brand.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+public final class RateIntervalIndex implements RateStore
+{
+    private static final RateIntervalIndex EMPTY = new RateIntervalIndex( Map.of(), Map.of(), Map.of(), 0 );
+
+    private final Map<RateKey, Intervals> byKey;
+    private final Map<ProductKey, List<Intervals>> byProduct;
+    private final Map<Integer, List<RateKey>> byBrand;
+    private final int size;
+
+    private RateIntervalIndex( final Map<RateKey, Intervals> byKey, final Map<ProductKey, List<Intervals>> byProduct,
+        final Map<Integer, List<RateKey>> byBrand, final int size )
+    {
+        this.byKey = byKey;
+        this.byProduct = byProduct;
+        this.byBrand = byBrand;
+        this.size = size;
+    }
+
+    /**
+     * @return an index without rates
+     */
+    public static RateIntervalIndex empty()
+    {
+        return EMPTY;
+    }
+
+    /**
+     * Builds an index over the given rates. The iteration order of {@code rates} is the load order used to
+     * sort lookup results.
+     *
+     * @param rates the rates to index
+     * @return a new immutable index
+     */
+    public static RateIntervalIndex of( final Collection<Rate> rates )
+    {
+        var grouped = new HashMap<RateKey, List<Entry>>();
+        var ordinal = 0;
+        for ( var rate : rates )
+        {
+            grouped.computeIfAbsent( RateKey.of( rate ), k -> new ArrayList<>() ).add( new Entry( rate, ordinal++ ) );
+        }
+
+        var byKey = new HashMap<RateKey, Intervals>( grouped.size() * 2 );
+        var byProduct = new HashMap<ProductKey, List<Intervals>>();
+        var byBrand = new HashMap<Integer, List<RateKey>>();
+        grouped.forEach( ( key, entries ) ->
+        {
+            var intervals = Intervals.of( entries );
+            byKey.put( key, intervals );
+            byProduct.computeIfAbsent( new ProductKey( key.brandId(), key.productId() ), k -> new ArrayList<>() )
+                .add( intervals );
+            byBrand.computeIfAbsent( key.brandId(), k -> new ArrayList<>() ).add( key );
+        } );
+        byBrand.replaceAll( ( brandId, keys ) ->
+        {
+            keys.sort( Comparator.comparing( RateKey::productId ) );
+            return List.copyOf( keys );
+        } );
+        return new RateIntervalIndex( byKey, byProduct, byBrand, ordinal );
+    }
+
+    @Override
+    public List<Rate> find( final RateKey key, final LocalDateTime at )
+    {
+        var intervals = byKey.get( key );
+        if ( intervals == null )
+        {
+            return List.of();
+        }
+        var matches = new ArrayList<Entry>( 2 );
+        intervals.collect( at, matches );
+        return toRates( matches );
+    }
+
+    @Override
+    public List<Rate> find( final RateKey key, final LocalDateTime from, final LocalDateTime to )
+    {
+        var intervals = byKey.get( key );
+        if ( intervals == null )
+        {
+            return List.of();
+        }
+        var matches = new ArrayList<Entry>( 2 );
+        intervals.collect( from, to, matches );
+        return toRates( matches );
+    }
+
+    @Override
+    public List<Rate> find( final Integer brandId, final Long productId, final LocalDateTime at )
+    {
+        var groups = byProduct.get( new ProductKey( brandId, productId ) );
+        if ( groups == null )
+        {
+            return List.of();
+        }
+        var matches = new ArrayList<Entry>( 2 );
+        for ( var intervals : groups )
+        {
+            intervals.collect( at, matches );
+        }
+        return toRates( matches );
+    }
+
+    @Override
+    public List<Rate> find( final RateKey key )
+    {
+        var intervals = byKey.get( key );
+        return intervals == null ? List.of() : toRates( new ArrayList<>( Arrays.asList( intervals.entries ) ) );
+    }
+
+    @Override
+    public boolean contains( final RateKey key )
+    {
+        return byKey.containsKey( key );
+    }
+
+    @Override
+    public int count( final RateKey key )
+    {
+        var intervals = byKey.get( key );
+        return intervals == null ? 0 : intervals.entries.length;
+    }
+
+    @Override
+    public List<RateKey> keys()
+    {
+        return List.copyOf( byKey.keySet() );
+    }
+
+    @Override
+    public List<RateKey> keys( final Integer brandId )
+    {
+        return byBrand.getOrDefault( brandId, List.of() );
+    }
+
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    @Override
+    public int keyCount()
+    {
+        return byKey.size();
+    }
+
+    private static List<Rate> toRates( final List<Entry> matches )
+    {
+        if ( matches.isEmpty() )
+        {
+            return List.of();
+        }
+        if ( matches.size() > 1 )
+        {
+            matches.sort( Comparator.comparingInt( Entry::ordinal ) );
+        }
+        var result = new ArrayList<Rate>( matches.size() );
+        for ( var match : matches )
+        {
+            result.add( match.rate() );
+        }
+        return result;
+    }
+
+    private record ProductKey( Integer brandId, Long productId )
+    {
+    }
+
+    private record Entry( Rate rate, int ordinal )
+    {
+    }
+
+    /**
+     * Rates of a single key sorted by start date, with the latest end date of the range each of them is the middle
+     * of.
+     */
+    private static final class Intervals
+    {
+        private final Entry[] entries;
+        private final LocalDateTime[] starts;
+        private final LocalDateTime[] maxEnds;
+
+        private Intervals( final Entry[] entries, final LocalDateTime[] starts, final LocalDateTime[] maxEnds )
+        {
+            this.entries = entries;
+            this.starts = starts;
+            this.maxEnds = maxEnds;
+        }
+
+        static Intervals of( final List<Entry> group )
+        {
+            var entries = group.toArray( Entry[]::new );
+            Arrays.sort( entries, Comparator.comparing( ( Entry e ) -> e.rate().getStartDate() )
+                .thenComparingInt( Entry::ordinal ) );
+
+            var starts = new LocalDateTime[entries.length];
+            for ( var i = 0; i < entries.length; i++ )
+            {
+                starts[i] = entries[i].rate().getStartDate();
+            }
+            var maxEnds = new LocalDateTime[entries.length];
+            fillMaxEnds( entries, maxEnds, 0, entries.length );
+            return new Intervals( entries, starts, maxEnds );
+        }
+
+        void collect( final LocalDateTime at, final List<Entry> sink )
+        {
+            collect( at, at, sink );
+        }
+
+        void collect( final LocalDateTime from, final LocalDateTime to, final List<Entry> sink )
+        {
+            collect( 0, entries.length, from, to, sink );
+        }
+
+        private void collect( final int low, final int high, final LocalDateTime from, final LocalDateTime to,
+            final List<Entry> sink )
+        {
+            if ( low >= high )
+            {
+                return;
+            }
+            var mid = ( low + high ) >>> 1;
+            if ( maxEnds[mid].isBefore( from ) )
+            {
+                return;
+            }
+            collect( low, mid, from, to, sink );
+            // rates after the middle one start no earlier, so none of them overlaps if it starts after the range
+            if ( !starts[mid].isAfter( to ) )
+            {
+                if ( !entries[mid].rate().getEndDate().isBefore( from ) )
+                {
+                    sink.add( entries[mid] );
+                }
+                collect( mid + 1, high, from, to, sink );
+            }
+        }
+
+        private static LocalDateTime fillMaxEnds( final Entry[] entries, final LocalDateTime[] maxEnds,
+            final int low, final int high )
+        {
+            if ( low >= high )
+            {
+                return LocalDateTime.MIN;
+            }
+            var mid = ( low + high ) >>> 1;
+            var left = fillMaxEnds( entries, maxEnds, low, mid );
+            var right = fillMaxEnds( entries, maxEnds, mid + 1, high );
+            var maxEnd = entries[mid].rate().getEndDate();
+            maxEnd = left.isAfter( maxEnd ) ? left : maxEnd;
+            maxEnds[mid] = right.isAfter( maxEnd ) ? right : maxEnd;
+            return maxEnds[mid];
+        }
+    }
+}
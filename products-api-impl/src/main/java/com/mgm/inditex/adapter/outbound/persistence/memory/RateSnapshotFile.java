@@ -0,0 +1,288 @@
+package com.mgm.inditex.adapter.outbound.persistence.memory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Binary snapshot of a {@link ColumnarRateStore} that can be served straight from a memory-mapped file.
+ * <p>
+ * The file starts with a header (magic, version, row count, key count and the currency dictionary) followed by
+ * the {@link RateColumns} in declaration order, little-endian and 8-byte aligned. {@link #map(Path)} maps each
+ * column read-only and wraps it in a store, so opening a snapshot costs a few system calls regardless of its size:
+ * there is no per-row parsing and the rows stay in the page cache instead of the heap.
+ * </p>
+ * <p>
+ * {@link #write(ColumnarRateStore, Path)} writes to a sibling temporary file, forces every mapped column region and
+ * the file to disk and only then renames it into place, so a node never maps a half-written snapshot.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+public final class RateSnapshotFile
+{
+    static final int MAGIC = 0x52545331;
+    static final int VERSION = 2;
+
+    private static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+    private static final int FIXED_HEADER_BYTES = Integer.BYTES * 5;
+    private static final int ALIGNMENT = Long.BYTES;
+
+    private RateSnapshotFile()
+    {
+    }
+
+    /**
+     * Writes the columns of a store to a snapshot file, replacing any existing one.
+     *
+     * @param store the store to write
+     * @param path the snapshot file
+     * @throws IOException if the file cannot be written
+     */
+    public static void write( final ColumnarRateStore store, final Path path ) throws IOException
+    {
+        var columns = store.columns();
+        var temporary = path.resolveSibling( path.getFileName() + ".tmp" );
+        try
+        {
+            write( columns, temporary );
+            Files.move( temporary, path, REPLACE_EXISTING, ATOMIC_MOVE );
+        }
+        catch ( IOException | RuntimeException e )
+        {
+            Files.deleteIfExists( temporary );
+            throw e;
+        }
+    }
+
+    private static void write( final RateColumns columns, final Path temporary ) throws IOException
+    {
+        try ( var channel = FileChannel.open( temporary, CREATE, TRUNCATE_EXISTING, READ, WRITE ) )
+        {
+            var header = header( columns );
+            while ( header.hasRemaining() )
+            {
+                channel.write( header );
+            }
+            var writer = new ColumnWriter( channel, align( header.limit() ) );
+            writer.ints( columns.keyBrandIds() );
+            writer.longs( columns.keyProductIds() );
+            writer.shorts( columns.keyCurrencies() );
+            writer.ints( columns.keyOffsets() );
+            writer.longs( columns.starts() );
+            writer.longs( columns.ends() );
+            writer.longs( columns.maxEnds() );
+            writer.ints( columns.priceListIds() );
+            writer.shorts( columns.priorities() );
+            writer.longs( columns.prices() );
+            writer.ints( columns.ordinals() );
+            // channel.force does not cover pages written through a mapping, each region was forced on its own
+            channel.force( true );
+        }
+    }
+
+    /**
+     * Maps a snapshot file into a read-only store.
+     * <p>
+     * The mapping outlives the file channel and is released when the store is garbage collected.
+     * </p>
+     *
+     * @param path the snapshot file
+     * @return a store whose columns live in the mapped file
+     * @throws IOException if the file cannot be read or is not a valid snapshot
+     */
+    public static ColumnarRateStore map( final Path path ) throws IOException
+    {
+        try ( var channel = FileChannel.open( path, READ ) )
+        {
+            var header = read( channel, 0, FIXED_HEADER_BYTES, path );
+            if ( header.getInt() != MAGIC )
+            {
+                throw new IOException( "Not a rate snapshot: " + path );
+            }
+            var version = header.getInt();
+            if ( version != VERSION )
+            {
+                throw new IOException( "Unsupported rate snapshot version " + version + ": " + path );
+            }
+            var rows = header.getInt();
+            var keys = header.getInt();
+            var currencyCount = header.getInt();
+            if ( rows < 0 || keys < 0 || keys > rows || currencyCount < 0 )
+            {
+                throw new IOException( "Corrupt rate snapshot header: " + path );
+            }
+            var currencies = new String[currencyCount];
+
+            long position = FIXED_HEADER_BYTES;
+            for ( var code = 0; code < currencies.length; code++ )
+            {
+                var length = read( channel, position, 1, path ).get() & 0xFF;
+                currencies[code] = StandardCharsets.US_ASCII.decode( read( channel, position + 1, length, path ) )
+                    .toString();
+                position += 1 + length;
+            }
+
+            var mapper = new ColumnMapper( channel, align( position ), path );
+            return new ColumnarRateStore( new RateColumns( currencies,
+                mapper.ints( keys ),
+                mapper.longs( keys ),
+                mapper.shorts( keys ),
+                mapper.ints( keys + 1 ),
+                mapper.longs( rows ),
+                mapper.longs( rows ),
+                mapper.longs( rows ),
+                mapper.ints( rows ),
+                mapper.shorts( rows ),
+                mapper.longs( rows ),
+                mapper.ints( rows ) ) );
+        }
+    }
+
+    private static ByteBuffer header( final RateColumns columns )
+    {
+        var currencies = new byte[columns.currencies().length][];
+        var bytes = FIXED_HEADER_BYTES;
+        for ( var code = 0; code < currencies.length; code++ )
+        {
+            currencies[code] = columns.currencies()[code].getBytes( StandardCharsets.US_ASCII );
+            bytes += 1 + currencies[code].length;
+        }
+        var header = ByteBuffer.allocate( bytes ).order( ORDER )
+            .putInt( MAGIC )
+            .putInt( VERSION )
+            .putInt( columns.starts().capacity() )
+            .putInt( columns.keyBrandIds().capacity() )
+            .putInt( currencies.length );
+        for ( var currency : currencies )
+        {
+            header.put( ( byte ) currency.length ).put( currency );
+        }
+        return header.flip();
+    }
+
+    private static ByteBuffer read( final FileChannel channel, final long position, final int bytes,
+        final Path path ) throws IOException
+    {
+        var buffer = ByteBuffer.allocate( bytes ).order( ORDER );
+        while ( buffer.hasRemaining() )
+        {
+            if ( channel.read( buffer, position + buffer.position() ) < 0 )
+            {
+                throw new IOException( "Truncated rate snapshot: " + path );
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static long align( final long position )
+    {
+        return ( position + ALIGNMENT - 1 ) & -ALIGNMENT;
+    }
+
+    /**
+     * Copies columns into consecutive aligned regions of a file mapped read-write, forcing each region to disk once
+     * it is written.
+     */
+    private static final class ColumnWriter
+    {
+        private final FileChannel channel;
+        private long position;
+
+        private ColumnWriter( final FileChannel channel, final long position )
+        {
+            this.channel = channel;
+            this.position = position;
+        }
+
+        private void ints( final IntBuffer column ) throws IOException
+        {
+            var region = region( ( long ) column.capacity() * Integer.BYTES );
+            region.asIntBuffer().put( column.duplicate().clear() );
+            region.force();
+        }
+
+        private void longs( final LongBuffer column ) throws IOException
+        {
+            var region = region( ( long ) column.capacity() * Long.BYTES );
+            region.asLongBuffer().put( column.duplicate().clear() );
+            region.force();
+        }
+
+        private void shorts( final ShortBuffer column ) throws IOException
+        {
+            var region = region( ( long ) column.capacity() * Short.BYTES );
+            region.asShortBuffer().put( column.duplicate().clear() );
+            region.force();
+        }
+
+        private MappedByteBuffer region( final long bytes ) throws IOException
+        {
+            var region = channel.map( MapMode.READ_WRITE, position, bytes );
+            region.order( ORDER );
+            position = align( position + bytes );
+            return region;
+        }
+    }
+
+    /**
+     * Maps consecutive aligned column regions of a snapshot file read-only.
+     */
+    private static final class ColumnMapper
+    {
+        private final FileChannel channel;
+        private final long size;
+        private final Path path;
+        private long position;
+
+        private ColumnMapper( final FileChannel channel, final long position, final Path path ) throws IOException
+        {
+            this.channel = channel;
+            this.size = channel.size();
+            this.path = path;
+            this.position = position;
+        }
+
+        private IntBuffer ints( final int count ) throws IOException
+        {
+            return region( ( long ) count * Integer.BYTES ).asIntBuffer();
+        }
+
+        private LongBuffer longs( final int count ) throws IOException
+        {
+            return region( ( long ) count * Long.BYTES ).asLongBuffer();
+        }
+
+        private ShortBuffer shorts( final int count ) throws IOException
+        {
+            return region( ( long ) count * Short.BYTES ).asShortBuffer();
+        }
+
+        private ByteBuffer region( final long bytes ) throws IOException
+        {
+            if ( position + bytes > size )
+            {
+                throw new IOException( "Truncated rate snapshot: " + path );
+            }
+            var region = channel.map( MapMode.READ_ONLY, position, bytes ).order( ORDER );
+            position = align( position + bytes );
+            return region;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.mgm.inditex.adapter.outbound.persistence.memory;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+import com.mgm.inditex.core.domain.Rate;
+import com.mgm.inditex.core.domain.RateKey;
+
+/**
+ * Read-only in-memory representation of the {@code rates} table used by {@link RateInMemoryRepositoryAdapter}.
+ * <p>
+ * Implementations are immutable snapshots: start and end dates are inclusive, as in
+ * {@link Rate#appliesAt(LocalDateTime)}, and results are returned in load order so priority ties resolve as
+ * they do against the database.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+public interface RateStore
+{
+    /**
+     * Finds the rates of the given key that apply at the given date.
+     *
+     * @param key the brand, product and currency
+     * @param at the date to look up
+     * @return the applicable rates, in load order
+     */
+    List<Rate> find( RateKey key, LocalDateTime at );
+
+    /**
+     * Finds the rates of the given brand and product that apply at the given date, in any currency.
+     *
+     * @param brandId the brand ID
+     * @param productId the product ID
+     * @param at the date to look up
+     * @return the applicable rates, in load order
+     */
+    List<Rate> find( Integer brandId, Long productId, LocalDateTime at );
+
+    /**
+     * Finds the rates of the given key that apply at some moment of a date range.
+     *
+     * @param key the brand, product and currency
+     * @param from the start of the range, inclusive
+     * @param to the end of the range, inclusive
+     * @return the rates overlapping the range, in load order
+     */
+    default List<Rate> find( final RateKey key, final LocalDateTime from, final LocalDateTime to )
+    {
+        return find( key ).stream()
+            .filter( rate -> !rate.getStartDate().isAfter( to ) && !rate.getEndDate().isBefore( from ) )
+            .toList();
+    }
+
+    /**
+     * Finds every rate of the given key, whatever its dates.
+     *
+     * @param key the brand, product and currency
+     * @return the rates of the key, in load order
+     */
+    List<Rate> find( RateKey key );
+
+    /**
+     * Tells whether the given key has any rate, whatever its dates.
+     *
+     * @param key the brand, product and currency
+     * @return {@code true} if at least one rate of the key is stored
+     */
+    default boolean contains( final RateKey key )
+    {
+        return !find( key ).isEmpty();
+    }
+
+    /**
+     * Counts the rates of the given key, whatever their dates.
+     *
+     * @param key the brand, product and currency
+     * @return the number of rates of the key
+     */
+    default int count( final RateKey key )
+    {
+        return find( key ).size();
+    }
+
+    /**
+     * @return every distinct brand/product/currency key of the store
+     */
+    List<RateKey> keys();
+
+    /**
+     * Lists the keys of a brand grouped by product, so a brand can be walked without going through every key.
+     *
+     * @param brandId the brand ID
+     * @return the keys of the brand in ascending product order; the currencies of a product come in no particular
+     * order
+     */
+    default List<RateKey> keys( final Integer brandId )
+    {
+        return keys().stream()
+            .filter( key -> key.brandId().equals( brandId ) )
+            .sorted( Comparator.comparing( RateKey::productId ) )
+            .toList();
+    }
+
+    /**
+     * @return the number of stored rates
+     */
+    int size();
+
+    /**
+     * @return the number of distinct brand/product/currency keys
+     */
+    int keyCount();
+}
@@ -0,0 +1,88 @@
+package com.mgm.inditex.adapter.outbound.persistence.memory;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+import com.mgm.inditex.core.domain.Rate;
+import com.mgm.inditex.core.domain.RateKey;
+import com.mgm.inditex.core.domain.RateRecord;
+import com.mgm.inditex.core.port.outbound.RateConflictCheck;
+import com.mgm.inditex.core.port.outbound.RateRepositoryPort;
+import com.mgm.inditex.core.port.outbound.RateWritePort;
+import com.mgm.inditex.core.sync.RateChangeListener;
+
+/**
+ * Adapter that implements the {@link RateWritePort} of a store that is not written directly, such as the
+ * {@link RateInMemoryRepositoryAdapter}.
+ * <p>
+ * Writes, and the conflict checks that come with them, go to the database and, once committed, the rates of the
+ * keys they touched are read back from it and applied to the store, so this instance serves its own writes
+ * straight away.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+public class RateWriteThroughAdapter implements RateWritePort
+{
+    private final RateWritePort database;
+    private final RateRepositoryPort source;
+    private final RateChangeListener store;
+
+    /**
+     * @param database the port that persists the writes
+     * @param source reads back the committed rates of the keys written
+     * @param store receives the rates of the keys written
+     */
+    public RateWriteThroughAdapter( final RateWritePort database, final RateRepositoryPort source,
+        final RateChangeListener store )
+    {
+        this.database = Objects.requireNonNull( database, "database" );
+        this.source = Objects.requireNonNull( source, "source" );
+        this.store = Objects.requireNonNull( store, "store" );
+    }
+
+    @Override
+    public Optional<RateRecord> findRateById( final Long id )
+    {
+        return database.findRateById( id );
+    }
+
+    @Override
+    public RateRecord insertRate( final Rate rate, final RateConflictCheck check )
+    {
+        var inserted = database.insertRate( rate, check );
+        refresh( List.of( RateKey.of( rate ) ) );
+        return inserted;
+    }
+
+    @Override
+    public Optional<Rate> updateRate( final Long id, final Rate rate, final RateConflictCheck check )
+    {
+        var previous = database.updateRate( id, rate, check );
+        previous.ifPresent( old -> refresh( List.of( RateKey.of( old ), RateKey.of( rate ) ) ) );
+        return previous;
+    }
+
+    @Override
+    public Optional<Rate> deleteRate( final Long id )
+    {
+        var previous = database.deleteRate( id );
+        previous.ifPresent( old -> refresh( List.of( RateKey.of( old ) ) ) );
+        return previous;
+    }
+
+    private void refresh( final Collection<RateKey> keys )
+    {
+        var changes = new LinkedHashMap<RateKey, List<Rate>>();
+        for ( var key : new LinkedHashSet<>( keys ) )
+        {
+            changes.put( key, source.findAllRatesForBrandAndProductAndCurrency( key.brandId(), key.productId(),
+                key.currency() ) );
+        }
+        store.apply( changes );
+    }
+}
@@ -0,0 +1,208 @@
+package com.mgm.inditex.adapter.outbound.persistence.shard;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.Supplier;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+import com.mgm.inditex.adapter.outbound.persistence.memory.RateInMemoryRepositoryAdapter;
+import com.mgm.inditex.core.domain.Rate;
+import com.mgm.inditex.core.domain.RateKey;
+import com.mgm.inditex.core.port.outbound.RateRepositoryPort;
+import com.mgm.inditex.core.sync.RateChangeListener;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Adapter that implements the {@link RateRepositoryPort} for one instance of a brand-sharded deployment.
+ * <p>
+ * Only the rates of the brands this instance owns are held in memory, in a {@link RateInMemoryRepositoryAdapter};
+ * lookups of any other brand go to the database. Routing sends each brand to its owner (see
+ * {@code ShardRoutingPriceDelegate}), so the database is only hit for brands whose owner is unreachable or while
+ * ownership moves, and every instance answers every brand correctly.
+ * </p>
+ * <p>
+ * {@link #rebalance(IntPredicate)} loads the brands a new ring assigns to this instance. Brands it loses stop
+ * being served from memory before the load starts, and brands it gains only once they are loaded, so no lookup
+ * ever reads a brand the store does not hold. The brand-wide key listing, which feeds the key filter, always comes
+ * from the database, so that the filter does not rule out the brands of the other instances.
+ * </p>
+ * <p>
+ * Writes go to the database through a {@code RateWriteThroughAdapter}, and the keys they touch are patched in
+ * memory when their brand is held, as are the changes applied by change capture.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+@Slf4j
+public class ShardedRateRepositoryAdapter implements RateRepositoryPort, RateChangeListener
+{
+    private final RateRepositoryPort database;
+    private final Supplier<List<Integer>> brandLoader;
+    private final RateInMemoryRepositoryAdapter local;
+    private volatile Set<Integer> loadingBrands = Set.of();
+    private volatile Set<Integer> servedBrands = Set.of();
+
+    /**
+     * @param database the repository that answers the brands this instance does not hold
+     * @param brandLoader lists every brand with rates
+     * @param rateLoader loads every rate of some brands, in insertion order
+     */
+    public ShardedRateRepositoryAdapter( final RateRepositoryPort database, final Supplier<List<Integer>> brandLoader,
+        final Function<Collection<Integer>, List<Rate>> rateLoader )
+    {
+        this.database = Objects.requireNonNull( database, "database" );
+        this.brandLoader = Objects.requireNonNull( brandLoader, "brandLoader" );
+        Objects.requireNonNull( rateLoader, "rateLoader" );
+        this.local = new RateInMemoryRepositoryAdapter( () -> loadingBrands.isEmpty() ? List.of()
+            : rateLoader.apply( loadingBrands ) );
+    }
+
+    /**
+     * @param patchedKeys the number of patched keys above which the in-memory store folds its patches into a new
+     * store (see {@link RateInMemoryRepositoryAdapter#setCompactionThreshold(int)})
+     */
+    public void setCompactionThreshold( final int patchedKeys )
+    {
+        local.setCompactionThreshold( patchedKeys );
+    }
+
+    /**
+     * Replaces the brands held in memory.
+     *
+     * @param owns tells whether this instance owns a brand
+     */
+    public synchronized void rebalance( final IntPredicate owns )
+    {
+        var brands = Set.copyOf( brandLoader.get().stream().filter( owns::test ).toList() );
+        var kept = new HashSet<>( servedBrands );
+        kept.retainAll( brands );
+
+        servedBrands = Set.copyOf( kept );
+        loadingBrands = brands;
+        local.reload();
+        servedBrands = brands;
+
+        log.info( "Shard brands loaded. {} {}",
+            kv( "brands", brands.size() ),
+            kv( "keptBrands", kept.size() ) );
+    }
+
+    /**
+     * @return the brands currently answered from memory
+     */
+    public Set<Integer> servedBrands()
+    {
+        return servedBrands;
+    }
+
+    /**
+     * @return when the in-memory store started loading, or {@code null} before the first rebalance
+     */
+    public Instant loadedAt()
+    {
+        return local.loadedAt();
+    }
+
+    @Override
+    public synchronized void apply( final Map<RateKey, List<Rate>> changes )
+    {
+        var served = servedBrands;
+        var held = new LinkedHashMap<RateKey, List<Rate>>();
+        changes.forEach( ( key, rates ) ->
+        {
+            if ( served.contains( key.brandId() ) )
+            {
+                held.put( key, rates );
+            }
+        } );
+        local.apply( held );
+    }
+
+    @Override
+    public List<Rate> findRatesForBrandAndProductAndCurrency( final Integer brandId, final Long productId,
+        final String currency, final Instant date )
+    {
+        return repositoryOf( brandId ).findRatesForBrandAndProductAndCurrency( brandId, productId, currency, date );
+    }
+
+    @Override
+    public Optional<Rate> findApplicableRate( final Integer brandId, final Long productId, final String currency,
+        final Instant date )
+    {
+        return repositoryOf( brandId ).findApplicableRate( brandId, productId, currency, date );
+    }
+
+    @Override
+    public List<Rate> findRatesForBrandAndProduct( final Integer brandId, final Long productId, final Instant date )
+    {
+        return repositoryOf( brandId ).findRatesForBrandAndProduct( brandId, productId, date );
+    }
+
+    @Override
+    public List<Rate> findAllRatesForBrandAndProductAndCurrency( final Integer brandId, final Long productId,
+        final String currency )
+    {
+        return repositoryOf( brandId ).findAllRatesForBrandAndProductAndCurrency( brandId, productId, currency );
+    }
+
+    @Override
+    public boolean hasRatesForBrandAndProductAndCurrency( final Integer brandId, final Long productId,
+        final String currency )
+    {
+        return repositoryOf( brandId ).hasRatesForBrandAndProductAndCurrency( brandId, productId, currency );
+    }
+
+    @Override
+    public List<Rate> findRatesForKeys( final Collection<RateKey> keys, final Instant from, final Instant to )
+    {
+        var served = servedBrands;
+        var held = new ArrayList<RateKey>();
+        var others = new ArrayList<RateKey>();
+        for ( var key : new LinkedHashSet<>( keys ) )
+        {
+            ( served.contains( key.brandId() ) ? held : others ).add( key );
+        }
+        if ( others.isEmpty() )
+        {
+            return local.findRatesForKeys( held, from, to );
+        }
+        if ( held.isEmpty() )
+        {
+            return database.findRatesForKeys( others, from, to );
+        }
+        var rates = new ArrayList<>( local.findRatesForKeys( held, from, to ) );
+        rates.addAll( database.findRatesForKeys( others, from, to ) );
+        return rates;
+    }
+
+    @Override
+    public void forEachRateForBrand( final Integer brandId, final Instant date, final Consumer<Rate> action )
+    {
+        repositoryOf( brandId ).forEachRateForBrand( brandId, date, action );
+    }
+
+    @Override
+    public List<RateKey> findAllRateKeys()
+    {
+        return database.findAllRateKeys();
+    }
+
+    private RateRepositoryPort repositoryOf( final Integer brandId )
+    {
+        return brandId != null && servedBrands.contains( brandId ) ? local : database;
+    }
+}
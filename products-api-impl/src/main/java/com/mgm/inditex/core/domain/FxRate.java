@@ -0,0 +1,28 @@
+package com.mgm.inditex.core.domain;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * Exchange rate between two currencies: one unit of {@code baseCurrency} is worth {@code rate} units of
+ * {@code quoteCurrency}.
+ *
+ * @param baseCurrency The ISO 4217 code of the currency converted from.
+ * @param quoteCurrency The ISO 4217 code of the currency converted to.
+ * @param rate The units of the quote currency per unit of the base currency.
+ *
+ * @author Miguel Maquieira
+ */
+public record FxRate( String baseCurrency, String quoteCurrency, BigDecimal rate )
+{
+    public FxRate
+    {
+        Objects.requireNonNull( baseCurrency, "baseCurrency" );
+        Objects.requireNonNull( quoteCurrency, "quoteCurrency" );
+        Objects.requireNonNull( rate, "rate" );
+        if ( rate.signum() <= 0 )
+        {
+            throw new IllegalArgumentException( "rate must be > 0" );
+        }
+    }
+}
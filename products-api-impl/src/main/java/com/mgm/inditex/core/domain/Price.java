@@ -0,0 +1,93 @@
+package com.mgm.inditex.core.domain;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Objects;
+
+/**
+ * Fixed-point amount of a rate, kept as a {@code long} number of ten-thousandths of the currency unit: the scale
+ * of the {@code DECIMAL(10,4)} price column.
+ * <p>
+ * Rounding to the two decimals served by the API is done in integer arithmetic with the same half-up rule as
+ * {@link BigDecimal#setScale(int, RoundingMode)}, so the results are identical to rounding the decimal value while
+ * no {@link BigDecimal} is built unless a caller asks for one.
+ * </p>
+ *
+ * @param tenThousandths The amount in ten-thousandths of the currency unit.
+ *
+ * @author Miguel Maquieira
+ */
+public record Price( long tenThousandths )
+{
+    public static final int SCALE = 4;
+    public static final int CENTS_SCALE = 2;
+
+    private static final long TEN_THOUSANDTHS_PER_CENT = 100;
+
+    /**
+     * Builds a price from a decimal value, rounded half up to four decimals.
+     *
+     * @param value the decimal value
+     * @return the price
+     * @throws ArithmeticException if the value does not fit in a {@code long} of ten-thousandths
+     */
+    public static Price of( final BigDecimal value )
+    {
+        Objects.requireNonNull( value, "price" );
+        // setScale returns the same instance when the value already has the column's scale
+        return new Price( value.setScale( SCALE, RoundingMode.HALF_UP ).unscaledValue().longValueExact() );
+    }
+
+    /**
+     * Builds a price from an amount already expressed in ten-thousandths, for instance a primitive column.
+     *
+     * @param tenThousandths the amount in ten-thousandths of the currency unit
+     * @return the price
+     */
+    public static Price ofTenThousandths( final long tenThousandths )
+    {
+        return new Price( tenThousandths );
+    }
+
+    /**
+     * Returns the amount rounded half up to hundredths of the currency unit.
+     *
+     * @return the amount in cents
+     */
+    public long cents()
+    {
+        var cents = Math.abs( tenThousandths ) / TEN_THOUSANDTHS_PER_CENT;
+        if ( Math.abs( tenThousandths ) % TEN_THOUSANDTHS_PER_CENT >= TEN_THOUSANDTHS_PER_CENT / 2 )
+        {
+            cents++;
+        }
+        return tenThousandths < 0 ? -cents : cents;
+    }
+
+    public int signum()
+    {
+        return Long.signum( tenThousandths );
+    }
+
+    /**
+     * @return the amount as a decimal with four decimals
+     */
+    public BigDecimal toBigDecimal()
+    {
+        return BigDecimal.valueOf( tenThousandths, SCALE );
+    }
+
+    /**
+     * @return the amount rounded half up to two decimals
+     */
+    public BigDecimal toCentsBigDecimal()
+    {
+        return BigDecimal.valueOf( cents(), CENTS_SCALE );
+    }
+
+    @Override
+    public String toString()
+    {
+        return toBigDecimal().toPlainString();
+    }
+}
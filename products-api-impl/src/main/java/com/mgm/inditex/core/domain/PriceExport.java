@@ -0,0 +1,20 @@
+package com.mgm.inditex.core.domain;
+
+import java.util.function.Consumer;
+
+/**
+ * A lazily evaluated sequence of applicable prices: nothing is read until {@link #forEach(Consumer)} runs, and each
+ * price is handed over as soon as it is resolved instead of being collected first.
+ *
+ * @author Miguel Maquieira
+ */
+@FunctionalInterface
+public interface PriceExport
+{
+    /**
+     * Resolves the prices and hands each one over, in order.
+     *
+     * @param action receives each applicable rate
+     */
+    void forEach( Consumer<Rate> action );
+}
@@ -1,9 +1,10 @@
 package com.mgm.inditex.core.domain;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.Objects;
+import java.util.function.BinaryOperator;
 
 /**
  * Domain representation of a product rate (price) within the system.
@@ -11,22 +12,33 @@ import java.util.Objects;
  * A {@code Rate} defines the applicable price for a product under a brand
  * during a specific validity period. It is immutable and framework-agnostic.
  * </p>
+ * <p>
+ * The price is held as a fixed-point {@link Price}; {@link #getPrice()} only builds a {@link BigDecimal} for
+ * callers that need one.
+ * </p>
  *
  * @author Miguel Maquieira
  */
 public final class Rate
 {
+    /**
+     * Keeps the rate with the higher priority of two competing ones, or the first one when they tie, so reducing
+     * rates in insertion order picks the same winner as the database.
+     */
+    public static final BinaryOperator<Rate> HIGHER_PRIORITY =
+        BinaryOperator.maxBy( Comparator.comparingInt( Rate::getPriority ) );
+
     private final Integer brandId;
     private final Long productId;
     private final Integer priceListId;
     private final LocalDateTime startDate;
     private final LocalDateTime endDate;
     private final Short priority;
-    private final BigDecimal price;
+    private final Price price;
     private final String currency;
 
     private Rate( final Integer brandId, final Long productId, final Integer priceListId, final LocalDateTime startDate,
-        final LocalDateTime endDate, final Short priority, final BigDecimal price, final String currency )
+        final LocalDateTime endDate, final Short priority, final Price price, final String currency )
     {
         this.brandId = Objects.requireNonNull( brandId, "brandId" );
         this.productId = Objects.requireNonNull( productId, "productId" );
@@ -34,7 +46,7 @@ public final class Rate
         this.startDate = Objects.requireNonNull( startDate, "startDate" );
         this.endDate = Objects.requireNonNull( endDate, "endDate" );
         this.priority = requireNonNegative( priority );
-        this.price = requireNonNegative( requireScale( price, 4 ) );
+        this.price = requireNonNegative( price );
         this.currency = requireIsoCurrency( currency );
 
         if ( !startDate.isBefore( endDate ) )
@@ -46,6 +58,13 @@ public final class Rate
     public static Rate of( final Integer brandId, final Long productId, final Integer priceList,
         final LocalDateTime startDate, final LocalDateTime endDate, final Short priority, final BigDecimal price,
         final String currency )
+    {
+        return new Rate( brandId, productId, priceList, startDate, endDate, priority, Price.of( price ), currency );
+    }
+
+    public static Rate of( final Integer brandId, final Long productId, final Integer priceList,
+        final LocalDateTime startDate, final LocalDateTime endDate, final Short priority, final Price price,
+        final String currency )
     {
         return new Rate( brandId, productId, priceList, startDate, endDate, priority, price, currency );
     }
@@ -88,6 +107,11 @@ public final class Rate
     }
 
     public BigDecimal getPrice()
+    {
+        return price.toBigDecimal();
+    }
+
+    public Price getPriceAmount()
     {
         return price;
     }
@@ -130,14 +154,9 @@ public final class Rate
 
     // --- Helpers ---
 
-    private static BigDecimal requireScale( final BigDecimal value, final int scale )
+    private static Price requireNonNegative( final Price value )
     {
         Objects.requireNonNull( value, "price" );
-        return value.setScale( scale, RoundingMode.HALF_UP );
-    }
-
-    private static BigDecimal requireNonNegative( final BigDecimal value )
-    {
         if ( value.signum() < 0 )
         {
             throw new IllegalArgumentException( "price must be >= 0" );
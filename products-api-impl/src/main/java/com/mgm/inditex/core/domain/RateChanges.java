@@ -0,0 +1,37 @@
+package com.mgm.inditex.core.domain;
+
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * Keys whose rates changed after a given version of the {@code rates} table.
+ *
+ * @param version the latest version covered, to ask for the next changes from
+ * @param keys the brand/product/currency keys with inserted, updated or deleted rates
+ * @param oldestChangeAt when the earliest of these changes was made, or {@code null} if there are none
+ * @param versions the versions of these changes, so that versions skipped below {@code version} can be told apart
+ *
+ * @author Miguel Maquieira
+ */
+public record RateChanges( long version, Set<RateKey> keys, Instant oldestChangeAt, Set<Long> versions )
+{
+    public RateChanges
+    {
+        keys = Set.copyOf( keys );
+        versions = Set.copyOf( versions );
+    }
+
+    /**
+     * @param version the version the caller is at
+     * @return no changes after {@code version}
+     */
+    public static RateChanges none( final long version )
+    {
+        return new RateChanges( version, Set.of(), null, Set.of() );
+    }
+
+    public boolean isEmpty()
+    {
+        return keys.isEmpty();
+    }
+}
@@ -0,0 +1,40 @@
+package com.mgm.inditex.core.domain;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * The fields of a rate to create or update, as received and before they are validated.
+ *
+ * @param brandId The brand ID.
+ * @param productId The product ID.
+ * @param priceListId The price list ID.
+ * @param startDate The first instant the rate applies, inclusive.
+ * @param endDate The last instant the rate applies, inclusive.
+ * @param priority The priority that breaks ties with overlapping rates; higher wins. It is stored as a
+ * {@code short}.
+ * @param price The price.
+ * @param currency The ISO 4217 currency code.
+ *
+ * @author Miguel Maquieira
+ */
+public record RateDraft( Integer brandId, Long productId, Integer priceListId, LocalDateTime startDate,
+    LocalDateTime endDate, Integer priority, BigDecimal price, String currency )
+{
+    /**
+     * Builds the rate, enforcing the invariants of {@link Rate#of}.
+     *
+     * @return the rate
+     * @throws IllegalArgumentException if a field breaks an invariant of {@link Rate} or the priority does not fit
+     * in a {@code short}
+     */
+    public Rate toRate()
+    {
+        if ( priority != null && ( priority < Short.MIN_VALUE || priority > Short.MAX_VALUE ) )
+        {
+            throw new IllegalArgumentException( "priority must fit in a short" );
+        }
+        return Rate.of( brandId, productId, priceListId, startDate, endDate,
+            priority == null ? null : priority.shortValue(), price, currency );
+    }
+}
@@ -0,0 +1,34 @@
+package com.mgm.inditex.core.domain;
+
+import java.util.Objects;
+
+/**
+ * Identifies the set of rates that compete with each other when resolving a price:
+ * the same product of the same brand expressed in the same currency.
+ *
+ * @param brandId The brand ID.
+ * @param productId The product ID.
+ * @param currency The ISO 4217 currency code.
+ *
+ * @author Miguel Maquieira
+ */
+public record RateKey( Integer brandId, Long productId, String currency )
+{
+    public RateKey
+    {
+        Objects.requireNonNull( brandId, "brandId" );
+        Objects.requireNonNull( productId, "productId" );
+        Objects.requireNonNull( currency, "currency" );
+    }
+
+    /**
+     * Builds the key a given rate belongs to.
+     *
+     * @param rate the rate
+     * @return the key of the rate
+     */
+    public static RateKey of( final Rate rate )
+    {
+        return new RateKey( rate.getBrandId(), rate.getProductId(), rate.getCurrency() );
+    }
+}
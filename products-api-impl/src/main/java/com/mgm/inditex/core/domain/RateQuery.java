@@ -0,0 +1,26 @@
+package com.mgm.inditex.core.domain;
+
+import java.time.LocalDateTime;
+
+/**
+ * A single price lookup: the product of a brand, in a currency, at a given moment.
+ *
+ * @param brandId The brand ID.
+ * @param productId The product ID.
+ * @param currency The ISO 4217 currency code.
+ * @param date The date and time at which the price should be applicable.
+ *
+ * @author Miguel Maquieira
+ */
+public record RateQuery( Integer brandId, Long productId, String currency, LocalDateTime date )
+{
+    /**
+     * Returns the key of the rates that compete to answer this query.
+     *
+     * @return the key of the query
+     */
+    public RateKey key()
+    {
+        return new RateKey( brandId, productId, currency );
+    }
+}
@@ -0,0 +1,20 @@
+package com.mgm.inditex.core.domain;
+
+import java.util.Objects;
+
+/**
+ * A stored rate together with the identifier it is updated and deleted by.
+ *
+ * @param id The identifier assigned by the repository.
+ * @param rate The rate.
+ *
+ * @author Miguel Maquieira
+ */
+public record RateRecord( Long id, Rate rate )
+{
+    public RateRecord
+    {
+        Objects.requireNonNull( id, "id" );
+        Objects.requireNonNull( rate, "rate" );
+    }
+}
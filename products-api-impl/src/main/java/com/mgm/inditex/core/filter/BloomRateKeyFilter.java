@@ -0,0 +1,150 @@
+package com.mgm.inditex.core.filter;
+
+import java.util.Collection;
+
+import com.mgm.inditex.core.domain.RateKey;
+
+/**
+ * Immutable Bloom filter over {@link RateKey}s.
+ * <p>
+ * The bit array is sized for the requested false-positive rate, {@code m = -n ln p / (ln 2)^2} bits and
+ * {@code k = m / n ln 2} hash functions, unless that would exceed the byte budget; in that case the filter is
+ * capped and {@link #expectedFalsePositiveRate()} reports the rate actually reached. The {@code k} bit positions
+ * are derived from one 64-bit hash of the key by double hashing.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+public final class BloomRateKeyFilter implements RateKeyFilter
+{
+    private static final double LN2 = Math.log( 2 );
+    private static final int MAX_HASHES = 30;
+
+    private final long[] bits;
+    private final long bitCount;
+    private final int hashCount;
+    private final int keyCount;
+
+    private BloomRateKeyFilter( final long bitCount, final int hashCount, final int keyCount )
+    {
+        this.bits = new long[( int ) ( bitCount / Long.SIZE )];
+        this.bitCount = bitCount;
+        this.hashCount = hashCount;
+        this.keyCount = keyCount;
+    }
+
+    /**
+     * Builds a filter holding the given keys.
+     *
+     * @param keys the keys that have rates
+     * @param falsePositiveRate the target probability of answering {@code true} for an unknown key, in (0, 1)
+     * @param maximumBytes upper bound of the bit array
+     * @return the filter
+     */
+    public static BloomRateKeyFilter of( final Collection<RateKey> keys, final double falsePositiveRate,
+        final long maximumBytes )
+    {
+        if ( !( falsePositiveRate > 0 && falsePositiveRate < 1 ) )
+        {
+            throw new IllegalArgumentException( "falsePositiveRate must be in (0, 1): " + falsePositiveRate );
+        }
+        var n = Math.max( keys.size(), 1 );
+        var optimalBits = Math.ceil( -n * Math.log( falsePositiveRate ) / ( LN2 * LN2 ) );
+        var maximumBits = Math.max( Long.SIZE, Math.min( maximumBytes * Byte.SIZE, ( long ) Integer.MAX_VALUE
+            * Long.SIZE ) );
+        var bitCount = roundUpToWord( ( long ) Math.min( optimalBits, maximumBits ), maximumBits );
+        var hashCount = ( int ) Math.max( 1, Math.min( MAX_HASHES, Math.round( ( double ) bitCount / n * LN2 ) ) );
+
+        var filter = new BloomRateKeyFilter( bitCount, hashCount, keys.size() );
+        keys.forEach( filter::put );
+        return filter;
+    }
+
+    @Override
+    public boolean mightContain( final RateKey key )
+    {
+        var hash = hash( key );
+        var h1 = hash;
+        var h2 = mix( hash ) | 1;
+        for ( var i = 0; i < hashCount; i++ )
+        {
+            var bit = Long.remainderUnsigned( h1 + i * h2, bitCount );
+            if ( ( bits[( int ) ( bit >>> 6 )] & ( 1L << bit ) ) == 0 )
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the probability of a false positive for the number of keys held, {@code (1 - e^(-kn/m))^k}
+     */
+    public double expectedFalsePositiveRate()
+    {
+        return Math.pow( 1 - Math.exp( -( double ) hashCount * keyCount / bitCount ), hashCount );
+    }
+
+    /**
+     * @return the size of the bit array, in bytes
+     */
+    public long sizeBytes()
+    {
+        return bitCount / Byte.SIZE;
+    }
+
+    /**
+     * @return the number of keys the filter was built from
+     */
+    public int keyCount()
+    {
+        return keyCount;
+    }
+
+    /**
+     * @return the number of hash functions
+     */
+    public int hashCount()
+    {
+        return hashCount;
+    }
+
+    private void put( final RateKey key )
+    {
+        var hash = hash( key );
+        var h1 = hash;
+        var h2 = mix( hash ) | 1;
+        for ( var i = 0; i < hashCount; i++ )
+        {
+            var bit = Long.remainderUnsigned( h1 + i * h2, bitCount );
+            bits[( int ) ( bit >>> 6 )] |= 1L << bit;
+        }
+    }
+
+    private static long hash( final RateKey key )
+    {
+        var hash = mix( key.brandId() );
+        hash = mix( hash ^ key.productId() );
+        return mix( hash ^ key.currency().hashCode() );
+    }
+
+    /**
+     * MurmurHash3 64-bit finaliser.
+     */
+    private static long mix( final long value )
+    {
+        var h = value;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static long roundUpToWord( final long bits, final long maximumBits )
+    {
+        var rounded = ( bits + Long.SIZE - 1 ) / Long.SIZE * Long.SIZE;
+        return rounded > maximumBits ? maximumBits / Long.SIZE * Long.SIZE : Math.max( rounded, Long.SIZE );
+    }
+}
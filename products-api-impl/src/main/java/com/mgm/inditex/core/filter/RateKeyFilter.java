@@ -0,0 +1,27 @@
+package com.mgm.inditex.core.filter;
+
+import com.mgm.inditex.core.domain.RateKey;
+
+/**
+ * Membership test over the brand/product/currency combinations that have rates.
+ * <p>
+ * A filter may answer {@code true} for keys without rates (false positives) but never {@code false} for a key
+ * that has them, so a negative answer lets the price lookup return "not found" without querying the repository.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+@FunctionalInterface
+public interface RateKeyFilter
+{
+    /**
+     * Filter that lets every key through, used when filtering is disabled.
+     */
+    RateKeyFilter ALLOW_ALL = key -> true;
+
+    /**
+     * @param key the brand, product and currency
+     * @return {@code false} if the key definitely has no rates, {@code true} if it might have some
+     */
+    boolean mightContain( RateKey key );
+}
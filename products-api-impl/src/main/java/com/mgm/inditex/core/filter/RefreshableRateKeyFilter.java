@@ -0,0 +1,125 @@
+package com.mgm.inditex.core.filter;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+import com.mgm.inditex.core.domain.RateKey;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link RateKeyFilter} backed by a {@link BloomRateKeyFilter} that is rebuilt from the current keys on
+ * {@link #refresh()}.
+ * <p>
+ * The filter answers {@code false} for every key until the first refresh, so it must be refreshed before it
+ * serves traffic (see {@code RateKeyFilterConfig}). A refresh builds a new filter and swaps it atomically.
+ * </p>
+ * <p>
+ * Keys created between refreshes can be let through with {@link #add(Collection)}; they are kept in a small exact
+ * set next to the Bloom filter until a refresh covers them. Removed keys simply stay in the filter, which only
+ * costs a repository lookup, until the next refresh.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+@Slf4j
+public class RefreshableRateKeyFilter implements RateKeyFilter
+{
+    private final Supplier<List<RateKey>> keyLoader;
+    private final double falsePositiveRate;
+    private final long maximumBytes;
+    private final LongAdder rejections = new LongAdder();
+    private volatile BloomRateKeyFilter filter;
+    private volatile Set<RateKey> added = Set.of();
+
+    public RefreshableRateKeyFilter( final Supplier<List<RateKey>> keyLoader, final double falsePositiveRate,
+        final long maximumBytes )
+    {
+        this.keyLoader = Objects.requireNonNull( keyLoader, "keyLoader" );
+        this.falsePositiveRate = falsePositiveRate;
+        this.maximumBytes = maximumBytes;
+        this.filter = BloomRateKeyFilter.of( List.of(), falsePositiveRate, maximumBytes );
+    }
+
+    /**
+     * Reads every key through the loader and replaces the current filter.
+     */
+    public void refresh()
+    {
+        var start = System.nanoTime();
+        var newFilter = BloomRateKeyFilter.of( keyLoader.get(), falsePositiveRate, maximumBytes );
+        synchronized ( this )
+        {
+            filter = newFilter;
+            // keys added while the filter was built may be missing from it
+            added = Set.copyOf( added.stream().filter( key -> !newFilter.mightContain( key ) ).toList() );
+        }
+
+        log.info( "Rate key filter refreshed. {} {} {} {} {} {}",
+            kv( "keys", newFilter.keyCount() ),
+            kv( "bytes", newFilter.sizeBytes() ),
+            kv( "hashes", newFilter.hashCount() ),
+            kv( "targetFalsePositiveRate", falsePositiveRate ),
+            kv( "expectedFalsePositiveRate", newFilter.expectedFalsePositiveRate() ),
+            kv( "elapsedMs", ( System.nanoTime() - start ) / 1_000_000 ) );
+    }
+
+    /**
+     * Lets the given keys through until the next refresh includes them.
+     *
+     * @param keys keys that have rates now
+     */
+    public synchronized void add( final Collection<RateKey> keys )
+    {
+        var current = filter;
+        var missing = keys.stream().filter( key -> !current.mightContain( key ) && !added.contains( key ) ).toList();
+        if ( !missing.isEmpty() )
+        {
+            var newAdded = new HashSet<>( added );
+            newAdded.addAll( missing );
+            added = Set.copyOf( newAdded );
+        }
+    }
+
+    @Override
+    public boolean mightContain( final RateKey key )
+    {
+        if ( filter.mightContain( key ) || added.contains( key ) )
+        {
+            return true;
+        }
+        rejections.increment();
+        return false;
+    }
+
+    /**
+     * @return the filter currently in use
+     */
+    public BloomRateKeyFilter current()
+    {
+        return filter;
+    }
+
+    /**
+     * @return the number of keys let through by {@link #add(Collection)} that the filter does not cover yet
+     */
+    public int addedKeyCount()
+    {
+        return added.size();
+    }
+
+    /**
+     * @return the number of lookups answered as definite misses since startup
+     */
+    public long rejections()
+    {
+        return rejections.sum();
+    }
+}
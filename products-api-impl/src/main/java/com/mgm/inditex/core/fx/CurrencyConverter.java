@@ -0,0 +1,143 @@
+package com.mgm.inditex.core.fx;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+import com.mgm.inditex.core.domain.Rate;
+import com.mgm.inditex.core.domain.RateKey;
+import com.mgm.inditex.core.port.outbound.FxRatePort;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Converts rates from the base currency, the one every product has rates in, to the other currencies of the
+ * current {@link FxMatrix}, built from the exchange rates of the {@link FxRatePort}.
+ * <p>
+ * The matrix is immutable and published through a volatile field, so {@link #reload()} swaps it atomically: a
+ * lookup converts all its rates with either the previous matrix or the new one, never a mix, and never waits for
+ * a reload.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+@Slf4j
+public class CurrencyConverter
+{
+    private final String baseCurrency;
+    private final FxRatePort fxRates;
+    private volatile FxMatrix matrix = FxMatrix.empty();
+
+    public CurrencyConverter( final String baseCurrency, final FxRatePort fxRates )
+    {
+        this.baseCurrency = Objects.requireNonNull( baseCurrency, "baseCurrency" ).toUpperCase( Locale.ROOT );
+        this.fxRates = Objects.requireNonNull( fxRates, "fxRates" );
+    }
+
+    /**
+     * Reads the exchange rates and publishes their matrix.
+     *
+     * @return {@code true} if the matrix changed
+     */
+    public boolean reload()
+    {
+        return replace( FxMatrix.of( fxRates.findAllFxRates() ) );
+    }
+
+    /**
+     * Publishes a new matrix.
+     *
+     * @param newMatrix the matrix later conversions use
+     * @return {@code true} if it differs from the current one
+     */
+    public boolean replace( final FxMatrix newMatrix )
+    {
+        Objects.requireNonNull( newMatrix, "matrix" );
+        var changed = !newMatrix.equals( matrix );
+        matrix = newMatrix;
+        if ( changed )
+        {
+            log.info( "Exchange rates replaced. {} {}",
+                kv( "currencies", newMatrix.currencies().size() ),
+                kv( "rates", newMatrix.size() ) );
+        }
+        return changed;
+    }
+
+    /**
+     * @return the currency rates are converted from
+     */
+    public String baseCurrency()
+    {
+        return baseCurrency;
+    }
+
+    /**
+     * @return the current matrix
+     */
+    public FxMatrix matrix()
+    {
+        return matrix;
+    }
+
+    /**
+     * Tells whether a lookup without rates in a currency can be answered from the base currency.
+     *
+     * @param currency the requested currency
+     * @return {@code true} if the currency is not the base one and the current matrix converts to it
+     */
+    public boolean converts( final String currency )
+    {
+        return currency != null && !baseCurrency.equalsIgnoreCase( currency ) &&
+            matrix.converts( baseCurrency, currency );
+    }
+
+    /**
+     * @param key a key in any currency
+     * @return the same brand and product in the base currency
+     */
+    public RateKey baseKeyOf( final RateKey key )
+    {
+        return new RateKey( key.brandId(), key.productId(), baseCurrency );
+    }
+
+    /**
+     * Converts a rate of the base currency, keeping everything but its price and currency.
+     *
+     * @param rate a rate in the base currency
+     * @param currency the currency to convert to
+     * @return the converted rate, or empty if the current matrix does not convert to the currency
+     */
+    public Optional<Rate> convert( final Rate rate, final String currency )
+    {
+        return Optional.ofNullable( convert( matrix, rate, currency ) );
+    }
+
+    /**
+     * Converts rates of the base currency with a single matrix, so they stay consistent with each other.
+     *
+     * @param rates rates in the base currency
+     * @param currency the currency to convert to
+     * @return the converted rates, in the same order, or an empty list if the current matrix does not convert to
+     * the currency
+     */
+    public List<Rate> convertAll( final List<Rate> rates, final String currency )
+    {
+        var current = matrix;
+        if ( !current.converts( baseCurrency, currency ) )
+        {
+            return List.of();
+        }
+        return rates.stream().map( rate -> convert( current, rate, currency ) ).filter( Objects::nonNull ).toList();
+    }
+
+    private static Rate convert( final FxMatrix matrix, final Rate rate, final String currency )
+    {
+        var price = matrix.convert( rate.getPriceAmount(), rate.getCurrency(), currency );
+        return price == null ? null : Rate.of( rate.getBrandId(), rate.getProductId(), rate.getPriceListId(),
+            rate.getStartDate(), rate.getEndDate(), rate.getPriority(), price, currency );
+    }
+}
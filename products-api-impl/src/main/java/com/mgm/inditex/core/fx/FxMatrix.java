@@ -0,0 +1,207 @@
+package com.mgm.inditex.core.fx;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import com.mgm.inditex.core.domain.FxRate;
+import com.mgm.inditex.core.domain.Price;
+
+/**
+ * Immutable conversion matrix between the currencies of a set of {@link FxRate exchange rates}.
+ * <p>
+ * Rates are held as fixed-point {@code long} values with {@value #RATE_SCALE} decimals, the scale of the
+ * {@code fx_rates} column, in a flat square array indexed by currency. A pair given in one direction only is
+ * also available inverted, rounded half up to the same scale; a pair given in both directions keeps both as they
+ * are. Conversions multiply and round in integer arithmetic, so converting a {@link Price} allocates nothing but
+ * the result.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+public final class FxMatrix
+{
+    public static final int RATE_SCALE = 8;
+
+    private static final long RATE_UNIT = 100_000_000L;
+    private static final FxMatrix EMPTY = new FxMatrix( Map.of(), new long[0] );
+
+    private final Map<String, Integer> indexes;
+    private final long[] rates;
+
+    private FxMatrix( final Map<String, Integer> indexes, final long[] rates )
+    {
+        this.indexes = indexes;
+        this.rates = rates;
+    }
+
+    /**
+     * @return a matrix without currencies, which converts nothing
+     */
+    public static FxMatrix empty()
+    {
+        return EMPTY;
+    }
+
+    /**
+     * Builds the matrix of some exchange rates.
+     *
+     * @param fxRates the exchange rates
+     * @return the matrix
+     * @throws ArithmeticException if a rate does not fit the fixed-point representation
+     */
+    public static FxMatrix of( final Collection<FxRate> fxRates )
+    {
+        var currencies = new TreeSet<String>();
+        fxRates.forEach( fx ->
+        {
+            currencies.add( normalize( fx.baseCurrency() ) );
+            currencies.add( normalize( fx.quoteCurrency() ) );
+        } );
+        if ( currencies.isEmpty() )
+        {
+            return EMPTY;
+        }
+
+        var indexes = new HashMap<String, Integer>();
+        currencies.forEach( currency -> indexes.put( currency, indexes.size() ) );
+        var size = indexes.size();
+        var rates = new long[size * size];
+        for ( var i = 0; i < size; i++ )
+        {
+            rates[i * size + i] = RATE_UNIT;
+        }
+        // inverses first, so that a pair given in both directions keeps the rates it was given
+        for ( var fx : fxRates )
+        {
+            var from = indexes.get( normalize( fx.baseCurrency() ) );
+            var to = indexes.get( normalize( fx.quoteCurrency() ) );
+            if ( !from.equals( to ) )
+            {
+                // an inverse that rounds to zero is left out rather than converting everything to zero
+                rates[to * size + from] = BigDecimal.ONE.divide( fx.rate(), RATE_SCALE, RoundingMode.HALF_UP )
+                    .unscaledValue().longValueExact();
+            }
+        }
+        for ( var fx : fxRates )
+        {
+            var from = indexes.get( normalize( fx.baseCurrency() ) );
+            var to = indexes.get( normalize( fx.quoteCurrency() ) );
+            if ( !from.equals( to ) )
+            {
+                rates[from * size + to] = scaled( fx.rate() );
+            }
+        }
+        return new FxMatrix( Map.copyOf( indexes ), rates );
+    }
+
+    /**
+     * Converts an amount between two currencies of the matrix.
+     *
+     * @param price the amount in {@code from}
+     * @param from the ISO 4217 code of the currency of the amount
+     * @param to the ISO 4217 code of the currency to convert to
+     * @return the amount in {@code to}, rounded half up to the four decimals of a {@link Price}, or {@code null}
+     * if the matrix has no rate between the currencies
+     * @throws ArithmeticException if the converted amount does not fit a {@link Price}
+     */
+    public Price convert( final Price price, final String from, final String to )
+    {
+        var rate = rate( from, to );
+        return rate == 0 ? null : Price.ofTenThousandths( multiply( price.tenThousandths(), rate ) );
+    }
+
+    /**
+     * @param from the ISO 4217 code of the currency converted from
+     * @param to the ISO 4217 code of the currency converted to
+     * @return {@code true} if the matrix has a rate between the currencies
+     */
+    public boolean converts( final String from, final String to )
+    {
+        return rate( from, to ) != 0;
+    }
+
+    /**
+     * @return the ISO 4217 codes of the currencies of the matrix
+     */
+    public Set<String> currencies()
+    {
+        return indexes.keySet();
+    }
+
+    /**
+     * @return the number of rates of the matrix, inverses included and identities excluded
+     */
+    public int size()
+    {
+        return ( int ) Arrays.stream( rates ).filter( rate -> rate != 0 ).count() - indexes.size();
+    }
+
+    private long rate( final String from, final String to )
+    {
+        if ( from == null || to == null )
+        {
+            return 0;
+        }
+        var fromIndex = indexes.get( normalize( from ) );
+        var toIndex = indexes.get( normalize( to ) );
+        return fromIndex == null || toIndex == null ? 0 : rates[fromIndex * indexes.size() + toIndex];
+    }
+
+    /**
+     * Multiplies an amount by a rate with {@value #RATE_SCALE} decimals, rounding half up away from zero. Both
+     * operands are split at the rate unit, so the partial products do not overflow unless the result does.
+     */
+    static long multiply( final long amount, final long rate )
+    {
+        var magnitude = Math.abs( amount );
+        var amountUnits = magnitude / RATE_UNIT;
+        var amountFraction = magnitude % RATE_UNIT;
+        var rateUnits = rate / RATE_UNIT;
+        var rateFraction = rate % RATE_UNIT;
+
+        // amountFraction * rateFraction < RATE_UNIT^2 = 10^16, well within a long
+        var fraction = amountFraction * rateFraction;
+        var product = Math.addExact( Math.addExact( Math.multiplyExact( amountUnits, rate ),
+            Math.multiplyExact( amountFraction, rateUnits ) ), fraction / RATE_UNIT );
+        if ( fraction % RATE_UNIT >= RATE_UNIT / 2 )
+        {
+            product = Math.incrementExact( product );
+        }
+        return amount < 0 ? -product : product;
+    }
+
+    private static long scaled( final BigDecimal rate )
+    {
+        var scaled = rate.setScale( RATE_SCALE, RoundingMode.HALF_UP ).unscaledValue().longValueExact();
+        if ( scaled <= 0 )
+        {
+            throw new ArithmeticException( "Exchange rate " + rate + " rounds to zero" );
+        }
+        return scaled;
+    }
+
+    private static String normalize( final String currency )
+    {
+        return currency.toUpperCase( Locale.ROOT );
+    }
+
+    @Override
+    public boolean equals( final Object o )
+    {
+        return this == o || o instanceof final FxMatrix that && indexes.equals( that.indexes ) &&
+            Arrays.equals( rates, that.rates );
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return 31 * indexes.hashCode() + Arrays.hashCode( rates );
+    }
+}
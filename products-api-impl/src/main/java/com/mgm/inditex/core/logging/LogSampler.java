@@ -0,0 +1,67 @@
+package com.mgm.inditex.core.logging;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides which events of a frequent log statement are written, keeping one in {@code every} of them at random.
+ * <p>
+ * Callers check {@link #sample()} together with the level of the logger before building the arguments of the
+ * statement, so a dropped event costs a random draw and allocates nothing.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+public final class LogSampler
+{
+    /**
+     * Sampler that keeps every event.
+     */
+    public static final LogSampler ALL = new LogSampler( 1 );
+
+    /**
+     * Sampler that drops every event.
+     */
+    public static final LogSampler NONE = new LogSampler( 0 );
+
+    private final int every;
+
+    private LogSampler( final int every )
+    {
+        this.every = every;
+    }
+
+    /**
+     * @param every keep one event in {@code every}; {@code 1} keeps all of them and {@code 0} none
+     * @return the sampler
+     * @throws IllegalArgumentException if {@code every} is negative
+     */
+    public static LogSampler oneIn( final int every )
+    {
+        if ( every < 0 )
+        {
+            throw new IllegalArgumentException( "every must not be negative" );
+        }
+        return switch ( every )
+        {
+            case 0 -> NONE;
+            case 1 -> ALL;
+            default -> new LogSampler( every );
+        };
+    }
+
+    /**
+     * @return {@code true} if the current event should be written
+     */
+    public boolean sample()
+    {
+        return every == 1 || every > 1 && ThreadLocalRandom.current().nextInt( every ) == 0;
+    }
+
+    /**
+     * @return the number of events each written one stands for, {@code 0} if none is written
+     */
+    public int every()
+    {
+        return every;
+    }
+}
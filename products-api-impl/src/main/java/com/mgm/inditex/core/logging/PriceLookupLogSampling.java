@@ -0,0 +1,27 @@
+package com.mgm.inditex.core.logging;
+
+import java.util.Objects;
+
+/**
+ * Sampling of the log lines of price lookups, per outcome of single lookups and for batches.
+ *
+ * @param found sampler of the lookups that found a price, logged at INFO
+ * @param notFound sampler of the lookups that found none, logged at WARN
+ * @param batch sampler of the batch lookups, logged at INFO
+ * @author Miguel Maquieira
+ */
+public record PriceLookupLogSampling( LogSampler found, LogSampler notFound, LogSampler batch )
+{
+    /**
+     * Sampling that logs every lookup.
+     */
+    public static final PriceLookupLogSampling ALL = new PriceLookupLogSampling( LogSampler.ALL, LogSampler.ALL,
+        LogSampler.ALL );
+
+    public PriceLookupLogSampling
+    {
+        Objects.requireNonNull( found, "found" );
+        Objects.requireNonNull( notFound, "notFound" );
+        Objects.requireNonNull( batch, "batch" );
+    }
+}
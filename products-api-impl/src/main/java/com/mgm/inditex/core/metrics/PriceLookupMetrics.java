@@ -0,0 +1,57 @@
+package com.mgm.inditex.core.metrics;
+
+/**
+ * Recorder of the timings, outcomes and candidate rates of price lookups.
+ * <p>
+ * Every measurement carries the brand of the lookup, so implementations can tell brands apart; it is
+ * {@code null} when the brand is unknown, e.g. missing from the request. Implementations are called on the
+ * request path and must not block.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+public interface PriceLookupMetrics
+{
+    /**
+     * Recorder that drops every measurement, used when the metrics are disabled.
+     */
+    PriceLookupMetrics NONE = new PriceLookupMetrics()
+    {
+        @Override
+        public void recordStage( final PriceLookupStage stage, final Integer brandId, final long nanos )
+        {
+            // disabled
+        }
+
+        @Override
+        public void recordOutcome( final PriceLookupOutcome outcome, final Integer brandId )
+        {
+            // disabled
+        }
+
+        @Override
+        public void recordCandidates( final Integer brandId, final int candidates )
+        {
+            // disabled
+        }
+    };
+
+    /**
+     * @param stage the stage of the lookup
+     * @param brandId the brand of the lookup, or {@code null}
+     * @param nanos how long the stage took, in nanoseconds
+     */
+    void recordStage( PriceLookupStage stage, Integer brandId, long nanos );
+
+    /**
+     * @param outcome how the lookup was answered
+     * @param brandId the brand of the lookup, or {@code null}
+     */
+    void recordOutcome( PriceLookupOutcome outcome, Integer brandId );
+
+    /**
+     * @param brandId the brand of the lookup, or {@code null}
+     * @param candidates the number of rates the winner of the lookup was chosen from
+     */
+    void recordCandidates( Integer brandId, int candidates );
+}
@@ -0,0 +1,28 @@
+package com.mgm.inditex.core.metrics;
+
+/**
+ * Outcomes of a single price lookup, named after the HTTP status they are answered with.
+ *
+ * @author Miguel Maquieira
+ */
+public enum PriceLookupOutcome
+{
+    FOUND( 200 ),
+    NOT_FOUND( 404 ),
+    INVALID( 400 );
+
+    private final int status;
+
+    PriceLookupOutcome( final int status )
+    {
+        this.status = status;
+    }
+
+    /**
+     * @return the HTTP status the outcome is answered with
+     */
+    public int status()
+    {
+        return status;
+    }
+}
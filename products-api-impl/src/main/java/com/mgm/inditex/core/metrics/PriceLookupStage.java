@@ -0,0 +1,49 @@
+package com.mgm.inditex.core.metrics;
+
+/**
+ * Stages of a single price lookup whose duration is recorded by the {@link PriceLookupMetrics}.
+ *
+ * @author Miguel Maquieira
+ */
+public enum PriceLookupStage
+{
+    /**
+     * Resolution of the bearer token of the request, when it carries one.
+     */
+    AUTHENTICATION( "authentication" ),
+
+    /**
+     * The whole controller call, from the use case to the mapped or cached response.
+     */
+    CONTROLLER( "controller" ),
+
+    /**
+     * The whole use case call, including the stages below.
+     */
+    USE_CASE( "use-case" ),
+
+    /**
+     * Validation of the parameters of the lookup.
+     */
+    VALIDATION( "validation" ),
+
+    /**
+     * Each repository read of the lookup, so a lookup converted from the base currency records two of them.
+     */
+    REPOSITORY( "repository" );
+
+    private final String tag;
+
+    PriceLookupStage( final String tag )
+    {
+        this.tag = tag;
+    }
+
+    /**
+     * @return the value of the {@code stage} tag of the stage
+     */
+    public String tag()
+    {
+        return tag;
+    }
+}
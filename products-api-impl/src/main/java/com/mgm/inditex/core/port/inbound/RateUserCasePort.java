@@ -1,10 +1,15 @@
 package com.mgm.inditex.core.port.inbound;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import com.mgm.inditex.adapter.outbound.persistence.jpa.entity.RateJpaEntity;
+import com.mgm.inditex.core.domain.PriceExport;
 import com.mgm.inditex.core.domain.Rate;
+import com.mgm.inditex.core.domain.RateQuery;
+import com.mgm.inditex.core.timeline.RateSegment;
+import com.mgm.inditex.core.timeline.RateTimeline;
 
 /**
  * Port interface that defines the operations for managing and retrieving product prices.
@@ -35,4 +40,53 @@ public interface RateUserCasePort
      * @return The applicable {@link Rate} for the given parameters, or {@code null} if no applicable price is found.
      */
     Optional<Rate> getPrice( Integer brandId, Long productId, String currency, LocalDateTime date );
+
+    /**
+     * Retrieves the priority-resolved timeline of a product, brand, and currency: the applicable rate for every
+     * period of time, computed from all of its rates.
+     *
+     * @param brandId The unique identifier of the brand to which the product belongs.
+     * @param productId The unique identifier of the product.
+     * @param currency The currency in which the prices are expressed (e.g., "EUR", "USD").
+     * @return The {@link RateTimeline} of the product, empty if it has no rates.
+     */
+    RateTimeline getTimeline( Integer brandId, Long productId, String currency );
+
+    /**
+     * Retrieves the effective price segments of a product, brand, and currency over a date range: the periods
+     * during which a single rate applies, each with the rate that wins it.
+     *
+     * @param brandId The unique identifier of the brand to which the product belongs.
+     * @param productId The unique identifier of the product.
+     * @param currency The currency in which the prices are expressed (e.g., "EUR", "USD").
+     * @param from The first instant of the range, inclusive.
+     * @param to The last instant of the range, inclusive.
+     * @return The {@link RateSegment}s overlapping the range, cut at its bounds, sorted by start and never
+     * overlapping; empty if no price applies within the range.
+     */
+    List<RateSegment> getPriceSegments( Integer brandId, Long productId, String currency, LocalDateTime from,
+        LocalDateTime to );
+
+    /**
+     * Retrieves the applicable price of several products at once, resolving each query exactly as
+     * {@link #getPrice} would.
+     *
+     * @param queries The price lookups, each with its brand, product, currency, and date.
+     * @return One entry per query, in the same order: the applicable {@link Rate}, or empty if no price matches.
+     */
+    List<Optional<Rate>> getPrices( List<RateQuery> queries );
+
+    /**
+     * Prepares the export of the applicable price of every product and currency of a brand at a given date.
+     * <p>
+     * The request is validated straight away, but no rate is read until the returned {@link PriceExport} runs;
+     * it then hands the prices over one at a time, ordered by product and currency, without holding the whole
+     * catalogue in memory.
+     * </p>
+     *
+     * @param brandId The unique identifier of the brand.
+     * @param date The date and time at which the prices should be applicable.
+     * @return The {@link PriceExport} of the brand, empty if it has no price on that date.
+     */
+    PriceExport exportPricesOfBrand( Integer brandId, LocalDateTime date );
 }
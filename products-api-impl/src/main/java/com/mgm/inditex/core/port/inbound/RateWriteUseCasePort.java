@@ -0,0 +1,56 @@
+package com.mgm.inditex.core.port.inbound;
+
+import com.mgm.inditex.core.domain.RateDraft;
+import com.mgm.inditex.core.domain.RateRecord;
+
+/**
+ * Port interface that defines the operations for creating, updating and deleting rates.
+ * <p>
+ * Writes are rejected when the resulting rate would overlap another rate of the same brand, product and currency
+ * with the same priority, since the price of the overlapping period would then be ambiguous, or when it would
+ * duplicate the validity period of another rate of the same brand, product and currency.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+public interface RateWriteUseCasePort
+{
+    /**
+     * Retrieves a stored rate.
+     *
+     * @param id The identifier of the rate.
+     * @return The rate with its identifier.
+     * @throws com.mgm.inditex.core.validation.ApiNotFoundException if there is no rate with that identifier.
+     */
+    RateRecord getRate( Long id );
+
+    /**
+     * Creates a rate.
+     *
+     * @param draft The fields of the new rate.
+     * @return The stored rate with its new identifier.
+     * @throws com.mgm.inditex.core.validation.ApiValidationException if a field is missing or invalid.
+     * @throws com.mgm.inditex.core.validation.ApiConflictException if the rate conflicts with a stored one.
+     */
+    RateRecord createRate( RateDraft draft );
+
+    /**
+     * Replaces every field of a stored rate.
+     *
+     * @param id The identifier of the rate.
+     * @param draft The new fields of the rate.
+     * @return The updated rate.
+     * @throws com.mgm.inditex.core.validation.ApiValidationException if a field is missing or invalid.
+     * @throws com.mgm.inditex.core.validation.ApiNotFoundException if there is no rate with that identifier.
+     * @throws com.mgm.inditex.core.validation.ApiConflictException if the rate conflicts with another stored one.
+     */
+    RateRecord updateRate( Long id, RateDraft draft );
+
+    /**
+     * Deletes a stored rate.
+     *
+     * @param id The identifier of the rate.
+     * @throws com.mgm.inditex.core.validation.ApiNotFoundException if there is no rate with that identifier.
+     */
+    void deleteRate( Long id );
+}
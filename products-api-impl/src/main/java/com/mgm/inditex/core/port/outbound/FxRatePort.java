@@ -0,0 +1,20 @@
+package com.mgm.inditex.core.port.outbound;
+
+import java.util.List;
+
+import com.mgm.inditex.core.domain.FxRate;
+
+/**
+ * Port to the exchange rates the prices are converted with.
+ *
+ * @author Miguel Maquieira
+ */
+public interface FxRatePort
+{
+    /**
+     * Reads every exchange rate.
+     *
+     * @return the exchange rates, in no particular order
+     */
+    List<FxRate> findAllFxRates();
+}
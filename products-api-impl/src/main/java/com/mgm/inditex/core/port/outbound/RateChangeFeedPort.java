@@ -0,0 +1,44 @@
+package com.mgm.inditex.core.port.outbound;
+
+import java.time.Instant;
+import java.util.Collection;
+
+import com.mgm.inditex.core.domain.RateChanges;
+
+/**
+ * Port to the changes made to the rates behind {@link RateRepositoryPort}.
+ * <p>
+ * Every change carries a version that only grows, so a reader remembers the last version it applied and asks
+ * for the changes after it. Versions are taken when a change is written, not when it is committed, so a change
+ * may show up after later versions; a reader asks again for the versions it saw skipped.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+public interface RateChangeFeedPort
+{
+    /**
+     * Finds the latest version of the changes made before a given time.
+     *
+     * @param time the time, as recorded by the store
+     * @return the latest version recorded before {@code time}, or {@code 0} if there is none
+     */
+    long versionBefore( Instant time );
+
+    /**
+     * Finds the keys changed after a given version.
+     *
+     * @param version the last version applied by the caller
+     * @param limit the maximum number of changes read
+     * @return the changed keys and the version to continue from
+     */
+    RateChanges changesSince( long version, int limit );
+
+    /**
+     * Finds the keys changed at the given versions, among those committed so far.
+     *
+     * @param versions the versions to look up
+     * @return the changed keys, covering the versions found
+     */
+    RateChanges changesAt( Collection<Long> versions );
+}
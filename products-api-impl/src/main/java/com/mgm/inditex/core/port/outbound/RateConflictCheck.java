@@ -0,0 +1,32 @@
+package com.mgm.inditex.core.port.outbound;
+
+import java.util.List;
+
+import com.mgm.inditex.core.domain.Rate;
+
+/**
+ * Decides whether a rate can be written next to the stored rates of its key that overlap it.
+ * <p>
+ * A {@link RateWritePort} runs it inside the write transaction, with the key locked against other writers, so the
+ * rates it is given are still the stored ones when the write commits. Throwing rejects the write, which is rolled
+ * back.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+@FunctionalInterface
+public interface RateConflictCheck
+{
+    /**
+     * Accepts every write.
+     */
+    RateConflictCheck NONE = overlapping ->
+    {
+    };
+
+    /**
+     * @param overlapping the stored rates of the written key whose validity period overlaps the written one, in
+     * insertion order, leaving out the rate being replaced
+     */
+    void check( List<Rate> overlapping );
+}
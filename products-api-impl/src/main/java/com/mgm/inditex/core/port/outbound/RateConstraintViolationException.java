@@ -0,0 +1,21 @@
+package com.mgm.inditex.core.port.outbound;
+
+/**
+ * Thrown by a {@link RateWritePort} when the store rejects a write that breaks one of its constraints, such as
+ * the uniqueness of the brand, product, currency and dates of a rate. The write has been rolled back.
+ *
+ * @author Miguel Maquieira
+ */
+public class RateConstraintViolationException extends RuntimeException
+{
+    private static final long serialVersionUID = -2871359460127734816L;
+
+    /**
+     * @param message the reason given by the store
+     * @param cause the exception raised by the store
+     */
+    public RateConstraintViolationException( final String message, final Throwable cause )
+    {
+        super( message, cause );
+    }
+}
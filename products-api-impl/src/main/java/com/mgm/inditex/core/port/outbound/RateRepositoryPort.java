@@ -1,12 +1,19 @@
 package com.mgm.inditex.core.port.outbound;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 import com.mgm.inditex.core.domain.Rate;
+import com.mgm.inditex.core.domain.RateKey;
 
 /**
  * Interface to define repository operations for managing rate data for products.
+ * <p>
+ * Lookups only; stores that can be written also implement {@link RateWritePort}.
+ * </p>
  *
  * @author Miguel Maquieira
  */
@@ -24,6 +31,27 @@ public interface RateRepositoryPort
     List<Rate> findRatesForBrandAndProductAndCurrency( Integer brandId, Long productId, String currency,
         Instant date );
 
+    /**
+     * Find the rate that applies to a given product, price list, and currency at a specified date: the one with the
+     * highest priority, or the first in insertion order among those sharing it.
+     * <p>
+     * By default the winner is picked from {@link #findRatesForBrandAndProductAndCurrency}; implementations that
+     * can rank the candidates at the source should do so instead of materializing all of them.
+     * </p>
+     *
+     * @param brandId The brand ID.
+     * @param productId The product ID.
+     * @param currency The currency in which the rate is expressed.
+     * @param date The date for which the rate is valid.
+     * @return The applicable rate, or empty if no rate is valid on the given date.
+     */
+    default Optional<Rate> findApplicableRate( final Integer brandId, final Long productId, final String currency,
+        final Instant date )
+    {
+        return findRatesForBrandAndProductAndCurrency( brandId, productId, currency, date ).stream()
+            .reduce( Rate.HIGHER_PRIORITY );
+    }
+
     /**
      * Find all rates for a given product and price list at a specified date.
      *
@@ -33,4 +61,63 @@ public interface RateRepositoryPort
      * @return A list of rates for the product and price list on the given date.
      */
     List<Rate> findRatesForBrandAndProduct( Integer brandId, Long productId, Instant date );
+
+    /**
+     * Find every rate for a given product, price list, and currency, whatever its dates.
+     *
+     * @param brandId The brand ID.
+     * @param productId The product ID.
+     * @param currency The currency in which the rate is expressed.
+     * @return A list of all rates for the product, price and currency list, in insertion order.
+     */
+    List<Rate> findAllRatesForBrandAndProductAndCurrency( Integer brandId, Long productId, String currency );
+
+    /**
+     * Tell whether a given product, price list, and currency has at least one rate, whatever its dates.
+     * <p>
+     * By default the answer comes from {@link #findAllRatesForBrandAndProductAndCurrency}; implementations that
+     * can stop at the first matching rate should do so instead of materializing all of them.
+     * </p>
+     *
+     * @param brandId The brand ID.
+     * @param productId The product ID.
+     * @param currency The currency in which the rate is expressed.
+     * @return {@code true} if any rate is stored for the product, price and currency list.
+     */
+    default boolean hasRatesForBrandAndProductAndCurrency( final Integer brandId, final Long productId,
+        final String currency )
+    {
+        return !findAllRatesForBrandAndProductAndCurrency( brandId, productId, currency ).isEmpty();
+    }
+
+    /**
+     * Find, in a single lookup, the rates of several products, price lists, and currencies that are valid at some
+     * moment of a date range.
+     *
+     * @param keys The brand, product, and currency combinations to look up.
+     * @param from The start of the date range, inclusive.
+     * @param to The end of the date range, inclusive.
+     * @return A list of the rates of the given keys overlapping the date range, in insertion order within each key.
+     */
+    List<Rate> findRatesForKeys( Collection<RateKey> keys, Instant from, Instant to );
+
+    /**
+     * Visit every rate of a brand at a specified date, one at a time, without holding them all in memory.
+     * <p>
+     * Rates are handed over grouped by product, then currency, and in insertion order within each group, so that
+     * the rates competing for a price always arrive one after the other.
+     * </p>
+     *
+     * @param brandId The brand ID.
+     * @param date The date for which the rates are valid.
+     * @param action Receives each rate of the brand on the given date.
+     */
+    void forEachRateForBrand( Integer brandId, Instant date, Consumer<Rate> action );
+
+    /**
+     * Find the distinct brand, product, and currency combinations that have at least one rate.
+     *
+     * @return The keys of every stored rate, without duplicates.
+     */
+    List<RateKey> findAllRateKeys();
 }
@@ -0,0 +1,89 @@
+package com.mgm.inditex.core.port.outbound;
+
+import java.util.Optional;
+
+import com.mgm.inditex.core.domain.Rate;
+import com.mgm.inditex.core.domain.RateRecord;
+
+/**
+ * Port to the stored rates that can be created, replaced and deleted.
+ * <p>
+ * Only writable stores implement it; the lookups are served through {@link RateRepositoryPort}. Every write is
+ * atomic and appends the keys it touches to the change log read by {@link RateChangeFeedPort} in the same
+ * transaction, so a failed write leaves neither the rate nor its change behind.
+ * </p>
+ * <p>
+ * Inserts and updates lock the key of the written rate for the length of their transaction and hand the stored
+ * rates of that key overlapping it to a {@link RateConflictCheck} before writing, so two writers of the same key,
+ * on this instance or another one, cannot both pass the check.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+public interface RateWritePort
+{
+    /**
+     * Find a stored rate by its identifier.
+     *
+     * @param id The rate identifier.
+     * @return The rate, or empty if there is none with that identifier.
+     */
+    Optional<RateRecord> findRateById( Long id );
+
+    /**
+     * Store a new rate without checking it against the other rates of its key.
+     *
+     * @param rate The rate to store.
+     * @return The stored rate with its new identifier.
+     * @throws RateConstraintViolationException if the rate breaks a constraint of the store, such as the uniqueness
+     * of its brand, product, currency and dates.
+     */
+    default RateRecord insertRate( final Rate rate )
+    {
+        return insertRate( rate, RateConflictCheck.NONE );
+    }
+
+    /**
+     * Store a new rate once the stored rates of its key that overlap it pass the given check.
+     *
+     * @param rate The rate to store.
+     * @param check Runs in the write transaction, with the key of the rate locked; throwing rejects the write.
+     * @return The stored rate with its new identifier.
+     * @throws RateConstraintViolationException if the rate breaks a constraint of the store, such as the uniqueness
+     * of its brand, product, currency and dates.
+     */
+    RateRecord insertRate( Rate rate, RateConflictCheck check );
+
+    /**
+     * Replace a stored rate without checking it against the other rates of its key.
+     *
+     * @param id The identifier of the rate to replace.
+     * @param rate The new values of the rate.
+     * @return The rate that was replaced, or empty if there is none with that identifier.
+     * @throws RateConstraintViolationException if the new values break a constraint of the store.
+     */
+    default Optional<Rate> updateRate( final Long id, final Rate rate )
+    {
+        return updateRate( id, rate, RateConflictCheck.NONE );
+    }
+
+    /**
+     * Replace a stored rate once the other stored rates of its new key that overlap it pass the given check.
+     *
+     * @param id The identifier of the rate to replace.
+     * @param rate The new values of the rate.
+     * @param check Runs in the write transaction, with the new key of the rate locked, and is not given the rate
+     * being replaced; throwing rejects the write.
+     * @return The rate that was replaced, or empty if there is none with that identifier.
+     * @throws RateConstraintViolationException if the new values break a constraint of the store.
+     */
+    Optional<Rate> updateRate( Long id, Rate rate, RateConflictCheck check );
+
+    /**
+     * Delete a stored rate.
+     *
+     * @param id The identifier of the rate to delete.
+     * @return The deleted rate, or empty if there is none with that identifier.
+     */
+    Optional<Rate> deleteRate( Long id );
+}
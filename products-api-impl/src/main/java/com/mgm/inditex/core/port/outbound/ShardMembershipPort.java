@@ -0,0 +1,39 @@
+package com.mgm.inditex.core.port.outbound;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Port to the registry of the instances of a sharded deployment.
+ * <p>
+ * Every instance announces itself with a periodic heartbeat; the live members are those that sent one recently.
+ * All instances share the registry, so they all see the same members.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+public interface ShardMembershipPort
+{
+    /**
+     * Records that a member is alive, registering it if it is new.
+     *
+     * @param member the identifier of the member
+     * @param at the time of the heartbeat
+     */
+    void heartbeat( String member, Instant at );
+
+    /**
+     * Finds the members that sent a heartbeat at or after a given time.
+     *
+     * @param since the oldest heartbeat of a live member
+     * @return the identifiers of the live members, in no particular order
+     */
+    List<String> liveMembers( Instant since );
+
+    /**
+     * Removes a member, so the others take over its brands without waiting for its heartbeat to expire.
+     *
+     * @param member the identifier of the member
+     */
+    void leave( String member );
+}
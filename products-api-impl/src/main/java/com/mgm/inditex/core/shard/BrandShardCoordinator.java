@@ -0,0 +1,143 @@
+package com.mgm.inditex.core.shard;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+import com.mgm.inditex.core.port.outbound.ShardMembershipPort;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps this instance's view of a sharded deployment: who the members are and which of them owns each brand.
+ * <p>
+ * Each {@link #refresh()} sends this instance's heartbeat to the {@link ShardMembershipPort} and reads the live
+ * members back. When they changed, a new {@link BrandShardRing} is built and handed to the rebalance listeners
+ * in registration order, so the local store can load the brands it gained and drop the ones it lost; only then is
+ * the ring published to {@link #ownerOf(int)}, so this instance does not claim brands it has not loaded yet. If a
+ * listener fails, the ring is not published and the next refresh tries again.
+ * </p>
+ * <p>
+ * This instance is always a member of its own ring, even before its first heartbeat is visible, so it can always
+ * answer on its own.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+@Slf4j
+public class BrandShardCoordinator
+{
+    private final String self;
+    private final ShardMembershipPort membership;
+    private final int virtualNodes;
+    private final Duration memberTtl;
+    private final Clock clock;
+    private final List<Consumer<BrandShardRing>> rebalanceListeners = new CopyOnWriteArrayList<>();
+    private volatile BrandShardRing ring = BrandShardRing.empty();
+
+    public BrandShardCoordinator( final String self, final ShardMembershipPort membership, final int virtualNodes,
+        final Duration memberTtl, final Clock clock )
+    {
+        if ( virtualNodes < 1 || memberTtl.isNegative() || memberTtl.isZero() )
+        {
+            throw new IllegalArgumentException( "virtualNodes and memberTtl must be positive" );
+        }
+        this.self = Objects.requireNonNull( self, "self" );
+        this.membership = Objects.requireNonNull( membership, "membership" );
+        this.virtualNodes = virtualNodes;
+        this.memberTtl = memberTtl;
+        this.clock = Objects.requireNonNull( clock, "clock" );
+    }
+
+    /**
+     * Registers an action that moves this instance's data to a new ring. Listeners are applied in registration
+     * order.
+     *
+     * @param listener receives each new ring before it is published
+     */
+    public void onRebalance( final Consumer<BrandShardRing> listener )
+    {
+        rebalanceListeners.add( Objects.requireNonNull( listener, "listener" ) );
+    }
+
+    /**
+     * Sends the heartbeat of this instance and rebalances if the live members changed.
+     *
+     * @return {@code true} if a new ring was published
+     */
+    public synchronized boolean refresh()
+    {
+        var now = clock.instant();
+        membership.heartbeat( self, now );
+        var members = new HashSet<>( membership.liveMembers( now.minus( memberTtl ) ) );
+        members.add( self );
+        if ( members.equals( ring.members() ) )
+        {
+            return false;
+        }
+
+        var start = System.nanoTime();
+        var newRing = BrandShardRing.of( members, virtualNodes );
+        rebalanceListeners.forEach( listener -> listener.accept( newRing ) );
+        var previous = ring;
+        ring = newRing;
+
+        log.info( "Shard ring rebalanced. {} {} {} {}",
+            kv( "self", self ),
+            kv( "members", newRing.members() ),
+            kv( "previousMembers", previous.members() ),
+            kv( "elapsedMs", ( System.nanoTime() - start ) / 1_000_000 ) );
+        return true;
+    }
+
+    /**
+     * Leaves the deployment, so the other members take over this instance's brands on their next refresh.
+     */
+    public void leave()
+    {
+        membership.leave( self );
+        log.info( "Shard member left. {}", kv( "self", self ) );
+    }
+
+    /**
+     * @param brandId the brand
+     * @return the member that owns the brand under the published ring, this instance before the first
+     * {@link #refresh()}
+     */
+    public String ownerOf( final int brandId )
+    {
+        var owner = ring.ownerOf( brandId );
+        return owner != null ? owner : self;
+    }
+
+    /**
+     * @param brandId the brand
+     * @return {@code true} if this instance owns the brand under the published ring
+     */
+    public boolean isLocal( final int brandId )
+    {
+        return self.equals( ownerOf( brandId ) );
+    }
+
+    /**
+     * @return the identifier of this instance
+     */
+    public String self()
+    {
+        return self;
+    }
+
+    /**
+     * @return the published ring
+     */
+    public BrandShardRing ring()
+    {
+        return ring;
+    }
+}
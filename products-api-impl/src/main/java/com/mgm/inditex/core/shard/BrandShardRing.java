@@ -0,0 +1,165 @@
+package com.mgm.inditex.core.shard;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Consistent-hash ring that assigns every brand to one member of a sharded deployment.
+ * <p>
+ * Each member is placed on a 64-bit ring at {@code virtualNodes} points hashed from its identifier, and a brand
+ * belongs to the member of the first point at or after the hash of its id, wrapping around. Adding or removing a
+ * member therefore only moves the brands of the arcs it gains or loses, about {@code 1/n} of them, and the many
+ * points per member keep the share of each one close to even. The assignment only depends on the set of members,
+ * so every instance that sees the same members routes every brand to the same owner.
+ * </p>
+ * <p>
+ * Rings are immutable; a membership change builds a new one. Lookups are a binary search over a sorted array.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+public final class BrandShardRing
+{
+    private static final BrandShardRing EMPTY = new BrandShardRing( Set.of(), new long[0], new String[0] );
+
+    private final Set<String> members;
+    private final long[] points;
+    private final String[] owners;
+
+    private BrandShardRing( final Set<String> members, final long[] points, final String[] owners )
+    {
+        this.members = members;
+        this.points = points;
+        this.owners = owners;
+    }
+
+    /**
+     * @return a ring without members, which owns no brand
+     */
+    public static BrandShardRing empty()
+    {
+        return EMPTY;
+    }
+
+    /**
+     * Builds the ring of a set of members.
+     *
+     * @param members the identifiers of the members, such as their base URLs
+     * @param virtualNodes the points of each member on the ring
+     * @return the ring
+     * @throws IllegalArgumentException if {@code virtualNodes} is not positive
+     */
+    public static BrandShardRing of( final Collection<String> members, final int virtualNodes )
+    {
+        if ( virtualNodes < 1 )
+        {
+            throw new IllegalArgumentException( "virtualNodes must be positive" );
+        }
+        if ( members.isEmpty() )
+        {
+            return EMPTY;
+        }
+
+        var sorted = new TreeSet<>( members );
+        var nodes = new Node[sorted.size() * virtualNodes];
+        var i = 0;
+        for ( var member : sorted )
+        {
+            for ( var replica = 0; replica < virtualNodes; replica++ )
+            {
+                nodes[i++] = new Node( hash( member + '#' + replica ), member );
+            }
+        }
+        // ties between members are broken by identifier, so every instance builds the same ring
+        Arrays.sort( nodes, Comparator.comparingLong( Node::point ).thenComparing( Node::member ) );
+
+        var points = new long[nodes.length];
+        var owners = new String[nodes.length];
+        for ( var n = 0; n < nodes.length; n++ )
+        {
+            points[n] = nodes[n].point();
+            owners[n] = nodes[n].member();
+        }
+        return new BrandShardRing( Set.copyOf( sorted ), points, owners );
+    }
+
+    /**
+     * @param brandId the brand
+     * @return the member that owns the brand, or {@code null} if the ring has no members
+     */
+    public String ownerOf( final int brandId )
+    {
+        if ( points.length == 0 )
+        {
+            return null;
+        }
+        var index = Arrays.binarySearch( points, mix( brandId ) );
+        if ( index < 0 )
+        {
+            index = -index - 1;
+        }
+        // the first point at or after the hash, or the first point of the ring past its end
+        while ( index > 0 && index < points.length && points[index - 1] == points[index] )
+        {
+            index--;
+        }
+        return owners[index == points.length ? 0 : index];
+    }
+
+    /**
+     * @param member the member
+     * @param brandId the brand
+     * @return {@code true} if the member owns the brand
+     */
+    public boolean owns( final String member, final int brandId )
+    {
+        return member.equals( ownerOf( brandId ) );
+    }
+
+    /**
+     * @return the members of the ring
+     */
+    public Set<String> members()
+    {
+        return members;
+    }
+
+    /**
+     * @return {@code true} if the ring has no members
+     */
+    public boolean isEmpty()
+    {
+        return members.isEmpty();
+    }
+
+    // FNV-1a over the UTF-8 bytes, finished with the MurmurHash3 mixer to spread nearby identifiers
+    private static long hash( final String value )
+    {
+        var hash = 0xcbf29ce484222325L;
+        for ( var b : value.getBytes( StandardCharsets.UTF_8 ) )
+        {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return mix( hash );
+    }
+
+    private static long mix( final long value )
+    {
+        var h = value;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private record Node( long point, String member )
+    {
+    }
+}
@@ -0,0 +1,27 @@
+package com.mgm.inditex.core.sync;
+
+import java.util.List;
+import java.util.Map;
+
+import com.mgm.inditex.core.domain.Rate;
+import com.mgm.inditex.core.domain.RateKey;
+
+/**
+ * In-process view of the rates that is kept fresh by {@link RateChangeSynchronizer}.
+ *
+ * @author Miguel Maquieira
+ */
+@FunctionalInterface
+public interface RateChangeListener
+{
+    /**
+     * Applies the current rates of the keys that changed since the previous call.
+     * <p>
+     * The same keys may be applied again after a failure or a restart, so applying them must be idempotent.
+     * </p>
+     *
+     * @param changes every current rate of each changed key, in insertion order; an empty list means the key has
+     * no rates anymore
+     */
+    void apply( Map<RateKey, List<Rate>> changes );
+}
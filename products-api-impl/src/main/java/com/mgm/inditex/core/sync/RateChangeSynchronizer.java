@@ -0,0 +1,222 @@
+package com.mgm.inditex.core.sync;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+import com.mgm.inditex.core.domain.Rate;
+import com.mgm.inditex.core.domain.RateChanges;
+import com.mgm.inditex.core.domain.RateKey;
+import com.mgm.inditex.core.port.outbound.RateChangeFeedPort;
+import com.mgm.inditex.core.port.outbound.RateRepositoryPort;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps in-process views of the rates fresh by applying only the keys that changed since the last sync.
+ * <p>
+ * Each {@link #sync()} reads the keys recorded in the {@link RateChangeFeedPort} after the last applied version,
+ * reloads every rate of those keys from the source repository in one query per batch and hands them to the
+ * {@link RateChangeListener}s in registration order, so a store is patched before the caches in front of it are
+ * invalidated. The version only moves forward once every listener has applied a batch, so a failed sync is
+ * retried from the same changes. Since whole keys are reloaded from the source, applying a change twice, or after
+ * a full reload that already saw it, is harmless.
+ * </p>
+ * <p>
+ * Versions are taken when a change is written, so a transaction that commits after a later one leaves its version
+ * behind the last applied one. Versions skipped by a batch are remembered and asked for again on every sync until
+ * they show up, or until the replay margin has passed, after which they are taken as rolled back.
+ * </p>
+ * <p>
+ * Freshness is reported to the lag listener as the time between the oldest change of each batch and the moment it
+ * was applied; {@link #lastSyncAt()} tells how long ago the feed was last read successfully.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+@Slf4j
+public class RateChangeSynchronizer
+{
+    // bounds of findRatesForKeys wide enough to reload every rate of a key
+    private static final Instant EARLIEST = Instant.parse( "0001-01-01T00:00:00Z" );
+    private static final Instant LATEST = Instant.parse( "9999-12-31T23:59:59Z" );
+
+    private final RateChangeFeedPort feed;
+    private final RateRepositoryPort source;
+    private final int batchSize;
+    private final Duration replayMargin;
+    private final Clock clock;
+    private final List<RateChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private final List<Consumer<Duration>> lagListeners = new CopyOnWriteArrayList<>();
+    private final Map<Long, Instant> skipped = new TreeMap<>();
+    private volatile long version = -1;
+    private volatile Instant lastSyncAt;
+
+    /**
+     * @param feed the changes to apply
+     * @param source the repository the rates of the changed keys are reloaded from
+     * @param batchSize the most changes read, and keys reloaded, at once
+     * @param replayMargin how long a skipped version is awaited; it must cover the longest write transaction
+     * @param clock the clock lags and skipped versions are measured with
+     */
+    public RateChangeSynchronizer( final RateChangeFeedPort feed, final RateRepositoryPort source,
+        final int batchSize, final Duration replayMargin, final Clock clock )
+    {
+        if ( batchSize < 1 )
+        {
+            throw new IllegalArgumentException( "batchSize must be positive" );
+        }
+        this.feed = Objects.requireNonNull( feed, "feed" );
+        this.source = Objects.requireNonNull( source, "source" );
+        this.batchSize = batchSize;
+        this.replayMargin = Objects.requireNonNull( replayMargin, "replayMargin" );
+        this.clock = Objects.requireNonNull( clock, "clock" );
+    }
+
+    /**
+     * Registers a view to keep fresh. Listeners are applied in registration order.
+     *
+     * @param listener the view
+     */
+    public void addListener( final RateChangeListener listener )
+    {
+        listeners.add( Objects.requireNonNull( listener, "listener" ) );
+    }
+
+    /**
+     * Registers an action that receives the freshness lag of each applied batch.
+     *
+     * @param listener receives the time between the oldest change of a batch and its application
+     */
+    public void onLag( final Consumer<Duration> listener )
+    {
+        lagListeners.add( Objects.requireNonNull( listener, "listener" ) );
+    }
+
+    /**
+     * Positions the synchronizer on the changes made after a given time, which must not be later than the moment
+     * the views started loading their current data.
+     *
+     * @param since the time from which changes are applied
+     */
+    public synchronized void start( final Instant since )
+    {
+        version = feed.versionBefore( since );
+        skipped.clear();
+        lastSyncAt = clock.instant();
+        log.info( "Rate change capture started. {} {}", kv( "since", since ), kv( "version", version ) );
+    }
+
+    /**
+     * Applies every change recorded since the previous sync, and those skipped before that have been committed
+     * since.
+     *
+     * @return the number of changed keys applied
+     * @throws IllegalStateException if {@link #start(Instant)} was not called
+     */
+    public synchronized int sync()
+    {
+        if ( version < 0 )
+        {
+            throw new IllegalStateException( "Rate change capture is not started" );
+        }
+        var applied = applySkipped();
+        RateChanges changes;
+        do
+        {
+            changes = feed.changesSince( version, batchSize );
+            if ( !changes.isEmpty() )
+            {
+                apply( changes );
+                applied += changes.keys().size();
+            }
+            trackSkipped( changes );
+            version = changes.version();
+        }
+        while ( !changes.isEmpty() );
+        lastSyncAt = clock.instant();
+        return applied;
+    }
+
+    /**
+     * @return the last applied version of the change feed, or {@code -1} before {@link #start(Instant)}
+     */
+    public long version()
+    {
+        return version;
+    }
+
+    /**
+     * @return when the change feed was last read successfully, or {@code null} before {@link #start(Instant)}
+     */
+    public Instant lastSyncAt()
+    {
+        return lastSyncAt;
+    }
+
+    private int applySkipped()
+    {
+        var applied = 0;
+        var versions = List.copyOf( skipped.keySet() );
+        for ( var from = 0; from < versions.size(); from += batchSize )
+        {
+            var changes = feed.changesAt( versions.subList( from, Math.min( from + batchSize, versions.size() ) ) );
+            if ( !changes.isEmpty() )
+            {
+                apply( changes );
+                applied += changes.keys().size();
+                skipped.keySet().removeAll( changes.versions() );
+            }
+        }
+
+        var expired = clock.instant().minus( replayMargin );
+        var awaited = skipped.size();
+        skipped.values().removeIf( since -> since.isBefore( expired ) );
+        if ( skipped.size() < awaited )
+        {
+            log.debug( "Skipped rate change versions no longer awaited. {}",
+                kv( "versions", awaited - skipped.size() ) );
+        }
+        return applied;
+    }
+
+    private void trackSkipped( final RateChanges changes )
+    {
+        var now = clock.instant();
+        for ( var skippedVersion = version + 1; skippedVersion < changes.version(); skippedVersion++ )
+        {
+            if ( !changes.versions().contains( skippedVersion ) )
+            {
+                skipped.put( skippedVersion, now );
+            }
+        }
+    }
+
+    private void apply( final RateChanges changes )
+    {
+        var rates = new LinkedHashMap<RateKey, List<Rate>>();
+        changes.keys().forEach( key -> rates.put( key, new ArrayList<>() ) );
+        source.findRatesForKeys( changes.keys(), EARLIEST, LATEST )
+            .forEach( rate -> rates.get( RateKey.of( rate ) ).add( rate ) );
+        var current = Collections.unmodifiableMap( rates );
+        listeners.forEach( listener -> listener.apply( current ) );
+
+        var lag = Duration.between( changes.oldestChangeAt(), clock.instant() );
+        lagListeners.forEach( listener -> listener.accept( lag ) );
+        log.debug( "Rate changes applied. {} {} {}",
+            kv( "version", changes.version() ),
+            kv( "keys", changes.keys().size() ),
+            kv( "lagMs", lag.toMillis() ) );
+    }
+}
@@ -0,0 +1,51 @@
+package com.mgm.inditex.core.timeline;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import com.mgm.inditex.core.domain.Rate;
+
+/**
+ * A stretch of time during which a single rate is the applicable price of a product.
+ * <p>
+ * Segments are half-open: {@code start} is included and {@code endExclusive} is the first instant that is
+ * no longer covered. Because {@link Rate} end dates are inclusive, a segment that ends together with its
+ * rate has {@code endExclusive} one nanosecond after {@link Rate#getEndDate()}.
+ * </p>
+ *
+ * @param start first instant covered by the segment
+ * @param endExclusive first instant after the segment
+ * @param rate the winning rate during the segment
+ *
+ * @author Miguel Maquieira
+ */
+public record RateSegment( LocalDateTime start, LocalDateTime endExclusive, Rate rate )
+{
+    public RateSegment
+    {
+        Objects.requireNonNull( start, "start" );
+        Objects.requireNonNull( endExclusive, "endExclusive" );
+        Objects.requireNonNull( rate, "rate" );
+        if ( !start.isBefore( endExclusive ) )
+        {
+            throw new IllegalArgumentException( "start must be strictly before endExclusive" );
+        }
+    }
+
+    /**
+     * @param at the instant to check
+     * @return {@code true} if the instant falls inside this segment
+     */
+    public boolean contains( final LocalDateTime at )
+    {
+        return !at.isBefore( start ) && at.isBefore( endExclusive );
+    }
+
+    /**
+     * @return the last instant covered by the segment, for inclusive-end representations
+     */
+    public LocalDateTime endInclusive()
+    {
+        return endExclusive.minusNanos( 1 );
+    }
+}
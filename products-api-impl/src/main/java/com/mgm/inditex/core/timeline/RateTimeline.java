@@ -0,0 +1,204 @@
+package com.mgm.inditex.core.timeline;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.TreeSet;
+
+import com.mgm.inditex.core.domain.Rate;
+
+/**
+ * Priority-resolved price history of one brand/product/currency.
+ * <p>
+ * The overlapping rates are flattened into sorted, non-overlapping {@link RateSegment}s where the winner is
+ * already decided, so looking up the price at an instant is a single binary search over segment starts.
+ * </p>
+ * <p>
+ * Resolution follows {@code RateUseCase} exactly: among the rates that apply at an instant (start and end
+ * both inclusive) the highest priority wins and, on equal priorities, the rate that comes first in the
+ * input list wins.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+public final class RateTimeline
+{
+    private static final RateTimeline EMPTY = new RateTimeline( List.of() );
+
+    private final List<RateSegment> segments;
+    private final LocalDateTime[] starts;
+
+    private RateTimeline( final List<RateSegment> segments )
+    {
+        this.segments = Collections.unmodifiableList( segments );
+        this.starts = segments.stream().map( RateSegment::start ).toArray( LocalDateTime[]::new );
+    }
+
+    /**
+     * @return a timeline without segments
+     */
+    public static RateTimeline empty()
+    {
+        return EMPTY;
+    }
+
+    /**
+     * Builds the timeline of a set of competing rates with a sweep over their start and end events.
+     *
+     * @param rates rates of a single brand/product/currency, in tie-breaking order
+     * @return the resolved timeline
+     */
+    public static RateTimeline of( final List<Rate> rates )
+    {
+        if ( rates.isEmpty() )
+        {
+            return EMPTY;
+        }
+
+        var boundaries = new TreeSet<LocalDateTime>();
+        var byStart = new ArrayList<Candidate>( rates.size() );
+        for ( var i = 0; i < rates.size(); i++ )
+        {
+            var candidate = new Candidate( rates.get( i ), i );
+            byStart.add( candidate );
+            boundaries.add( candidate.rate().getStartDate() );
+            boundaries.add( candidate.endExclusive() );
+        }
+        byStart.sort( ( a, b ) -> a.rate().getStartDate().compareTo( b.rate().getStartDate() ) );
+
+        var active = new PriorityQueue<Candidate>( ( a, b ) -> a.rate().getPriority().equals( b.rate().getPriority() )
+            ? Integer.compare( a.ordinal(), b.ordinal() )
+            : Short.compare( b.rate().getPriority(), a.rate().getPriority() ) );
+        var segments = new ArrayList<RateSegment>();
+        var next = 0;
+        LocalDateTime segmentStart = null;
+        Rate winner = null;
+
+        for ( var boundary : boundaries )
+        {
+            while ( next < byStart.size() && !byStart.get( next ).rate().getStartDate().isAfter( boundary ) )
+            {
+                active.add( byStart.get( next++ ) );
+            }
+            while ( !active.isEmpty() && !active.peek().endExclusive().isAfter( boundary ) )
+            {
+                active.poll();
+            }
+
+            var current = active.isEmpty() ? null : active.peek().rate();
+            if ( current != winner )
+            {
+                if ( winner != null )
+                {
+                    segments.add( new RateSegment( segmentStart, boundary, winner ) );
+                }
+                segmentStart = boundary;
+                winner = current;
+            }
+        }
+        return new RateTimeline( segments );
+    }
+
+    /**
+     * Finds the segment that covers the given instant.
+     *
+     * @param at the instant to look up
+     * @return the covering segment, or empty if no rate applies
+     */
+    public Optional<RateSegment> segmentAt( final LocalDateTime at )
+    {
+        var index = floorIndex( at );
+        if ( index < 0 )
+        {
+            return Optional.empty();
+        }
+        var segment = segments.get( index );
+        return segment.contains( at ) ? Optional.of( segment ) : Optional.empty();
+    }
+
+    /**
+     * Clips the timeline to a date range: the segments that overlap it, with the first and last ones cut at the
+     * range bounds.
+     *
+     * @param from the first instant of the range, inclusive
+     * @param to the last instant of the range, inclusive
+     * @return the segments overlapping the range sorted by start, empty if the range is reversed
+     */
+    public List<RateSegment> between( final LocalDateTime from, final LocalDateTime to )
+    {
+        if ( to.isBefore( from ) )
+        {
+            return List.of();
+        }
+        var endExclusive = to.plusNanos( 1 );
+        var clipped = new ArrayList<RateSegment>();
+        for ( var i = Math.max( 0, floorIndex( from ) ); i < segments.size(); i++ )
+        {
+            var segment = segments.get( i );
+            if ( !segment.start().isBefore( endExclusive ) )
+            {
+                break;
+            }
+            if ( !segment.endExclusive().isAfter( from ) )
+            {
+                continue;
+            }
+            var start = segment.start().isBefore( from ) ? from : segment.start();
+            var end = segment.endExclusive().isAfter( endExclusive ) ? endExclusive : segment.endExclusive();
+            clipped.add( start.equals( segment.start() ) && end.equals( segment.endExclusive() )
+                ? segment
+                : new RateSegment( start, end, segment.rate() ) );
+        }
+        return clipped;
+    }
+
+    /**
+     * Finds the winning rate at the given instant.
+     *
+     * @param at the instant to look up
+     * @return the applicable rate, or empty if no rate applies
+     */
+    public Optional<Rate> rateAt( final LocalDateTime at )
+    {
+        return segmentAt( at ).map( RateSegment::rate );
+    }
+
+    /**
+     * @return the resolved segments sorted by start, never overlapping
+     */
+    public List<RateSegment> segments()
+    {
+        return segments;
+    }
+
+    // index of the last segment starting at or before the instant, -1 if none does
+    private int floorIndex( final LocalDateTime at )
+    {
+        var low = 0;
+        var high = starts.length - 1;
+        while ( low <= high )
+        {
+            var mid = ( low + high ) >>> 1;
+            if ( starts[mid].isAfter( at ) )
+            {
+                high = mid - 1;
+            }
+            else
+            {
+                low = mid + 1;
+            }
+        }
+        return high;
+    }
+
+    private record Candidate( Rate rate, int ordinal )
+    {
+        LocalDateTime endExclusive()
+        {
+            return rate.getEndDate().plusNanos( 1 );
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package com.mgm.inditex.core.usecase;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.mgm.inditex.core.domain.PriceExport;
+import com.mgm.inditex.core.domain.Rate;
+import com.mgm.inditex.core.domain.RateKey;
+import com.mgm.inditex.core.domain.RateQuery;
+import com.mgm.inditex.core.fx.CurrencyConverter;
+import com.mgm.inditex.core.logging.PriceLookupLogSampling;
+import com.mgm.inditex.core.metrics.PriceLookupMetrics;
+import com.mgm.inditex.core.metrics.PriceLookupStage;
+import com.mgm.inditex.core.port.inbound.RateUserCasePort;
+import com.mgm.inditex.core.timeline.RateSegment;
+import com.mgm.inditex.core.timeline.RateTimeline;
+import com.mgm.inditex.core.validation.RateValidator;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Decorator of a {@link RateUserCasePort} that caches the resolved {@link RateTimeline} of each
+ * brand/product/currency.
+ * <p>
+ * Caching the timeline instead of individual answers means a single miss serves every later lookup of the same
+ * key, whatever its date: any timestamp that falls inside an already resolved segment reuses that segment's
+ * winning {@link Rate}, and timestamps outside every segment are answered as not found without another query.
+ * Requests are validated before touching the cache, so invalid input fails exactly as it does in
+ * {@link RateUseCase}.
+ * </p>
+ * <p>
+ * Batches are answered from the timelines already cached; the remaining queries go to the delegate in one call
+ * so that they still cost a single repository query, and do not populate the cache. Brand-wide exports touch
+ * every key once and go straight to the delegate.
+ * </p>
+ * <p>
+ * Bounds and expiry belong to the {@link Cache} handed in (see {@code RateCacheConfig}).
+ * </p>
+ * <p>
+ * Timelines converted from the base currency by a {@link CurrencyConverter} are cached under the key of the
+ * requested currency, so when one is set, invalidating a key of the base currency also drops the same product in
+ * every currency the converter knows.
+ * </p>
+ * <p>
+ * Single lookups are instrumented as in {@link RateUseCase}, which they no longer reach once a timeline is cached:
+ * the {@link PriceLookupMetrics} record the whole call, the validation and, as the repository stage, the load of a
+ * missing timeline, and the outcome is logged as sampled by the {@link PriceLookupLogSampling}.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+@Slf4j
+public class CachingRateUseCase implements RateUserCasePort
+{
+    private final RateUserCasePort delegate;
+    private final RateValidator rateValidator;
+    private final Cache<RateKey, RateTimeline> timelines;
+    private final List<Runnable> invalidationListeners = new CopyOnWriteArrayList<>();
+    private volatile CurrencyConverter currencyConverter;
+    private PriceLookupMetrics priceLookupMetrics = PriceLookupMetrics.NONE;
+    private PriceLookupLogSampling logSampling = PriceLookupLogSampling.ALL;
+
+    public CachingRateUseCase( final RateUserCasePort delegate, final RateValidator rateValidator,
+        final Cache<RateKey, RateTimeline> timelines )
+    {
+        this.delegate = Objects.requireNonNull( delegate, "delegate" );
+        this.rateValidator = Objects.requireNonNull( rateValidator, "rateValidator" );
+        this.timelines = Objects.requireNonNull( timelines, "timelines" );
+    }
+
+    @Override
+    public Optional<Rate> getPrice( final Integer brandId, final Long productId, final String currency,
+        final LocalDateTime date )
+    {
+        var start = System.nanoTime();
+        try
+        {
+            return lookUpPrice( brandId, productId, currency, date );
+        }
+        finally
+        {
+            priceLookupMetrics.recordStage( PriceLookupStage.USE_CASE, brandId, System.nanoTime() - start );
+        }
+    }
+
+    @Override
+    public RateTimeline getTimeline( final Integer brandId, final Long productId, final String currency )
+    {
+        rateValidator.validateGetTimelineRequest( brandId, productId, currency );
+
+        return timeline( new RateKey( brandId, productId, currency ) );
+    }
+
+    @Override
+    public List<RateSegment> getPriceSegments( final Integer brandId, final Long productId, final String currency,
+        final LocalDateTime from, final LocalDateTime to )
+    {
+        rateValidator.validateGetPriceSegmentsRequest( brandId, productId, currency, from, to );
+
+        return timeline( new RateKey( brandId, productId, currency ) ).between( from, to );
+    }
+
+    @Override
+    public List<Optional<Rate>> getPrices( final List<RateQuery> queries )
+    {
+        rateValidator.validateGetPricesRequest( queries );
+
+        var prices = new ArrayList<Optional<Rate>>( queries.size() );
+        var missed = new ArrayList<Integer>();
+        for ( var query : queries )
+        {
+            var timeline = timelines.getIfPresent( query.key() );
+            if ( timeline == null )
+            {
+                missed.add( prices.size() );
+                prices.add( Optional.empty() );
+            }
+            else
+            {
+                prices.add( timeline.rateAt( query.date() ) );
+            }
+        }
+
+        if ( !missed.isEmpty() )
+        {
+            var loaded = delegate.getPrices( missed.stream().map( queries::get ).toList() );
+            for ( var i = 0; i < missed.size(); i++ )
+            {
+                prices.set( missed.get( i ), loaded.get( i ) );
+            }
+        }
+
+        log.debug( "Prices for batch from cached timelines. {} {}",
+            kv( "queries", queries.size() ),
+            kv( "missed", missed.size() ) );
+        return prices;
+    }
+
+    @Override
+    public PriceExport exportPricesOfBrand( final Integer brandId, final LocalDateTime date )
+    {
+        return delegate.exportPricesOfBrand( brandId, date );
+    }
+
+    /**
+     * Drops every cached timeline, so the next lookups see the current rates, and then notifies the listeners
+     * registered with {@link #onInvalidateAll(Runnable)}.
+     */
+    public void invalidateAll()
+    {
+        timelines.invalidateAll();
+        invalidationListeners.forEach( Runnable::run );
+    }
+
+    /**
+     * Drops the cached timelines of the given keys, so the next lookups of those keys see their current rates.
+     * <p>
+     * Cached response bodies are keyed by the resolved {@link Rate} itself, so they cannot go stale and are left
+     * alone.
+     * </p>
+     *
+     * @param keys the keys whose rates changed
+     */
+    public void invalidate( final Collection<RateKey> keys )
+    {
+        timelines.invalidateAll( keys );
+
+        var converter = currencyConverter;
+        if ( converter != null )
+        {
+            var currencies = converter.matrix().currencies();
+            timelines.invalidateAll( keys.stream()
+                .filter( key -> converter.baseCurrency().equals( key.currency() ) )
+                .flatMap( key -> currencies.stream()
+                    .map( currency -> new RateKey( key.brandId(), key.productId(), currency ) ) )
+                .toList() );
+        }
+    }
+
+    /**
+     * Sets the converter the delegate answers other currencies with, so that {@link #invalidate(Collection)} also
+     * drops the timelines converted from the invalidated keys.
+     *
+     * @param currencyConverter the converter of the delegate
+     */
+    public void setCurrencyConverter( final CurrencyConverter currencyConverter )
+    {
+        this.currencyConverter = currencyConverter;
+    }
+
+    /**
+     * Sets the recorder of the stages of single lookups.
+     *
+     * @param priceLookupMetrics the recorder
+     */
+    public void setPriceLookupMetrics( final PriceLookupMetrics priceLookupMetrics )
+    {
+        this.priceLookupMetrics = priceLookupMetrics;
+    }
+
+    /**
+     * Sets the sampling of the outcome lines of single lookups.
+     *
+     * @param logSampling the sampling
+     */
+    public void setLogSampling( final PriceLookupLogSampling logSampling )
+    {
+        this.logSampling = logSampling;
+    }
+
+    /**
+     * Registers an action to run whenever the cached timelines are dropped, so that caches derived from the
+     * resolved rates are invalidated together with them.
+     *
+     * @param listener the action to run after {@link #invalidateAll()}
+     */
+    public void onInvalidateAll( final Runnable listener )
+    {
+        invalidationListeners.add( Objects.requireNonNull( listener, "listener" ) );
+    }
+
+    private Optional<Rate> lookUpPrice( final Integer brandId, final Long productId, final String currency,
+        final LocalDateTime date )
+    {
+        var start = System.nanoTime();
+        try
+        {
+            rateValidator.validateGetPriceRequest( brandId, productId, currency, date );
+        }
+        finally
+        {
+            priceLookupMetrics.recordStage( PriceLookupStage.VALIDATION, brandId, System.nanoTime() - start );
+        }
+
+        var rate = timelines.get( new RateKey( brandId, productId, currency ), this::loadRecorded ).rateAt( date );
+
+        PriceLookupLog.logOutcome( log, logSampling, brandId, productId, currency, date, rate );
+        return rate;
+    }
+
+    private RateTimeline timeline( final RateKey key )
+    {
+        return timelines.get( key, this::load );
+    }
+
+    private RateTimeline loadRecorded( final RateKey key )
+    {
+        var start = System.nanoTime();
+        try
+        {
+            return load( key );
+        }
+        finally
+        {
+            priceLookupMetrics.recordStage( PriceLookupStage.REPOSITORY, key.brandId(), System.nanoTime() - start );
+        }
+    }
+
+    private RateTimeline load( final RateKey key )
+    {
+        return delegate.getTimeline( key.brandId(), key.productId(), key.currency() );
+    }
+}
@@ -0,0 +1,62 @@
+package com.mgm.inditex.core.usecase;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+import org.slf4j.Logger;
+
+import com.mgm.inditex.core.domain.Rate;
+import com.mgm.inditex.core.logging.PriceLookupLogSampling;
+
+/**
+ * Outcome lines of price lookups, shared by the use cases that answer them so that the lines read the same
+ * whichever answered. The arguments of a line are only built once the line is known to be written.
+ *
+ * @author Miguel Maquieira
+ */
+final class PriceLookupLog
+{
+    private PriceLookupLog()
+    {
+    }
+
+    static void logOutcome( final Logger log, final PriceLookupLogSampling sampling, final Integer brandId,
+        final Long productId, final String currency, final LocalDateTime date, final Optional<Rate> rate )
+    {
+        if ( rate.isPresent() )
+        {
+            if ( log.isInfoEnabled() && sampling.found().sample() )
+            {
+                log.info( "Price for query. {} {} {} {} {}",
+                    kv( "brandId", brandId ),
+                    kv( "productId", productId ),
+                    kv( "date", date ),
+                    kv( "currency", currency ),
+                    kv( "price", rate.get().getPrice() ) );
+            }
+        }
+        else if ( log.isWarnEnabled() && sampling.notFound().sample() )
+        {
+            log.warn( "No price found for product. {} {} {} {}",
+                kv( "brandId", brandId ),
+                kv( "productId", productId ),
+                kv( "date", date ),
+                kv( "currency", currency ) );
+        }
+    }
+
+    static void logBatch( final Logger log, final PriceLookupLogSampling sampling, final List<Optional<Rate>> prices,
+        final int converted )
+    {
+        if ( log.isInfoEnabled() && sampling.batch().sample() )
+        {
+            log.info( "Prices for batch. {} {} {}",
+                kv( "queries", prices.size() ),
+                kv( "found", prices.stream().filter( Optional::isPresent ).count() ),
+                kv( "converted", converted ) );
+        }
+    }
+}
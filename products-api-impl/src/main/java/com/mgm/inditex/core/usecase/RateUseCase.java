@@ -1,17 +1,37 @@
 package com.mgm.inditex.core.usecase;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import static net.logstash.logback.argument.StructuredArguments.kv;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import com.mgm.inditex.core.domain.PriceExport;
 import com.mgm.inditex.core.domain.Rate;
+import com.mgm.inditex.core.domain.RateKey;
+import com.mgm.inditex.core.domain.RateQuery;
+import com.mgm.inditex.core.filter.RateKeyFilter;
+import com.mgm.inditex.core.fx.CurrencyConverter;
+import com.mgm.inditex.core.logging.PriceLookupLogSampling;
+import com.mgm.inditex.core.metrics.PriceLookupMetrics;
+import com.mgm.inditex.core.metrics.PriceLookupStage;
 import com.mgm.inditex.core.port.inbound.RateUserCasePort;
 import com.mgm.inditex.core.port.outbound.RateRepositoryPort;
+import com.mgm.inditex.core.timeline.RateSegment;
+import com.mgm.inditex.core.timeline.RateTimeline;
 import com.mgm.inditex.core.validation.RateValidator;
 
 import lombok.RequiredArgsConstructor;
@@ -23,8 +43,33 @@ import lombok.extern.slf4j.Slf4j;
  * based on the given product ID, brand ID, and date.
  * <p>
  * The price retrieval process considers the brand, product, and the date to determine the most
- * relevant price based on certain business rules such as priority and date range.
- *
+ * relevant price based on certain business rules such as priority and date range. Single lookups leave the
+ * choice of the winner to the repository, which may resolve it without reading the losing rates.
+ * <p>
+ * Lookups for brand/product/currency combinations that the {@link RateKeyFilter} rules out are answered as not
+ * found without querying the repository.
+ * <p>
+ * Price segments over a date range are swept from the rates that overlap the range only, read with a single
+ * repository query, instead of resolving every instant separately.
+ * <p>
+ * Batches of lookups are answered with a single repository query covering every key and the whole date range
+ * of the batch; each query then picks its winner in memory with the same priority rules.
+ * <p>
+ * Brand-wide exports consume the rates of the brand as the repository streams them, grouped by product and
+ * currency, and only keep the current group's winner in memory.
+ * <p>
+ * When a {@link CurrencyConverter} is configured, single lookups, timelines, segments and batches of a
+ * brand/product without rates in the requested currency fall back to its rates in the base currency, converted
+ * with the current exchange rates. Rates in the requested currency always win, so a product can still be priced
+ * natively in some currencies; a product with any rate in the requested currency is never converted, even at the
+ * dates none of them applies, which keeps the answers equal to those of its timeline. Exports only list the rates
+ * as stored.
+ * <p>
+ * When {@link PriceLookupMetrics} are configured, single lookups record the duration of the whole call, of the
+ * validation and of each repository read, and batches the number of candidate rates of each query.
+ * <p>
+ * The outcome of single lookups is logged as sampled by the {@link PriceLookupLogSampling}; the arguments of a
+ * line are only built once the line is known to be written.
  *
  * @author Miguel Maquieira
  */
@@ -33,44 +78,350 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class RateUseCase implements RateUserCasePort
 {
+    // bounds of findRatesForKeys wide enough to find any rate of a key
+    private static final Instant EARLIEST = Instant.parse( "0001-01-01T00:00:00Z" );
+    private static final Instant LATEST = Instant.parse( "9999-12-31T23:59:59Z" );
+
     private final RateRepositoryPort rateRepository;
     private final RateValidator rateValidator;
+    private final RateKeyFilter rateKeyFilter;
+    private CurrencyConverter currencyConverter;
+    private PriceLookupMetrics priceLookupMetrics = PriceLookupMetrics.NONE;
+    private PriceLookupLogSampling logSampling = PriceLookupLogSampling.ALL;
+
+    @Autowired( required = false )
+    void setCurrencyConverter( final CurrencyConverter currencyConverter )
+    {
+        this.currencyConverter = currencyConverter;
+    }
+
+    @Autowired( required = false )
+    void setPriceLookupMetrics( final PriceLookupMetrics priceLookupMetrics )
+    {
+        this.priceLookupMetrics = priceLookupMetrics;
+    }
+
+    @Autowired( required = false )
+    void setLogSampling( final PriceLookupLogSampling logSampling )
+    {
+        this.logSampling = logSampling;
+    }
 
     @Override
     public Optional<Rate> getPrice( final Integer brandId, final Long productId, final String currency,
         final LocalDateTime date )
     {
-        rateValidator.validateGetPriceRequest( brandId, productId, currency, date );
+        var start = System.nanoTime();
+        try
+        {
+            return lookUpPrice( brandId, productId, currency, date );
+        }
+        finally
+        {
+            priceLookupMetrics.recordStage( PriceLookupStage.USE_CASE, brandId, System.nanoTime() - start );
+        }
+    }
+
+    @Override
+    public RateTimeline getTimeline( final Integer brandId, final Long productId, final String currency )
+    {
+        rateValidator.validateGetTimelineRequest( brandId, productId, currency );
 
-        log.debug( "Getting price for product. {] {} {} {}",
+        log.debug( "Getting rate timeline for product. {} {} {}",
             kv( "brandId", brandId ),
             kv( "productId", productId ),
-            kv( "date", date ),
             kv( "currency", currency ) );
 
-        var rates = rateRepository.findRatesForBrandAndProductAndCurrency( brandId, productId, currency,
-            date.toInstant( ZoneOffset.UTC) );
+        var key = new RateKey( brandId, productId, currency );
+        var rates = findAllRates( key );
+        if ( rates.isEmpty() && converts( currency ) )
+        {
+            rates = currencyConverter.convertAll( findAllRates( currencyConverter.baseKeyOf( key ) ), currency );
+        }
+        return RateTimeline.of( rates );
+    }
 
-        return rates.stream()
-            .max( Comparator.comparingInt( Rate::getPriority ) )
-            .map( r ->
+    @Override
+    public List<RateSegment> getPriceSegments( final Integer brandId, final Long productId, final String currency,
+        final LocalDateTime from, final LocalDateTime to )
+    {
+        rateValidator.validateGetPriceSegmentsRequest( brandId, productId, currency, from, to );
+
+        log.debug( "Getting price segments for product. {} {} {} {} {}",
+            kv( "brandId", brandId ),
+            kv( "productId", productId ),
+            kv( "currency", currency ),
+            kv( "from", from ),
+            kv( "to", to ) );
+
+        var key = new RateKey( brandId, productId, currency );
+        var rates = findRates( key, from, to );
+        if ( rates.isEmpty() && converts( currency ) && !containsRates( key ) )
+        {
+            rates = currencyConverter.convertAll( findRates( currencyConverter.baseKeyOf( key ), from, to ),
+                currency );
+        }
+        return RateTimeline.of( rates ).between( from, to );
+    }
+
+    @Override
+    public List<Optional<Rate>> getPrices( final List<RateQuery> queries )
+    {
+        rateValidator.validateGetPricesRequest( queries );
+
+        var prices = new ArrayList<>( resolve( queries ) );
+        var converted = convertMissing( queries, prices );
+
+        PriceLookupLog.logBatch( log, logSampling, prices, converted );
+        return prices;
+    }
+
+    @Override
+    public PriceExport exportPricesOfBrand( final Integer brandId, final LocalDateTime date )
+    {
+        rateValidator.validateGetBrandPricesRequest( brandId, date );
+
+        return action ->
+        {
+            log.debug( "Getting prices for brand. {} {}",
+                kv( "brandId", brandId ),
+                kv( "date", date ) );
+
+            var winners = new GroupWinners( action );
+            rateRepository.forEachRateForBrand( brandId, date.toInstant( ZoneOffset.UTC ), winners );
+            winners.flush();
+
+            log.info( "Prices for brand. {} {} {}",
+                kv( "brandId", brandId ),
+                kv( "date", date ),
+                kv( "prices", winners.emitted ) );
+        };
+    }
+
+    private Optional<Rate> lookUpPrice( final Integer brandId, final Long productId, final String currency,
+        final LocalDateTime date )
+    {
+        var start = System.nanoTime();
+        try
+        {
+            rateValidator.validateGetPriceRequest( brandId, productId, currency, date );
+        }
+        finally
+        {
+            priceLookupMetrics.recordStage( PriceLookupStage.VALIDATION, brandId, System.nanoTime() - start );
+        }
+
+        if ( log.isDebugEnabled() )
+        {
+            log.debug( "Getting price for product. {} {} {} {}",
+                kv( "brandId", brandId ),
+                kv( "productId", productId ),
+                kv( "date", date ),
+                kv( "currency", currency ) );
+        }
+
+        var key = new RateKey( brandId, productId, currency );
+        var rate = findApplicableRate( key, date );
+        if ( rate.isEmpty() && converts( currency ) && !hasRates( key ) )
+        {
+            rate = findApplicableRate( new RateKey( brandId, productId, currencyConverter.baseCurrency() ), date )
+                .flatMap( base -> currencyConverter.convert( base, currency ) );
+        }
+
+        PriceLookupLog.logOutcome( log, logSampling, brandId, productId, currency, date, rate );
+        return rate;
+    }
+
+    private Optional<Rate> findApplicableRate( final RateKey key, final LocalDateTime date )
+    {
+        if ( !rateKeyFilter.mightContain( key ) )
+        {
+            return Optional.empty();
+        }
+
+        var start = System.nanoTime();
+        try
+        {
+            return rateRepository.findApplicableRate( key.brandId(), key.productId(), key.currency(),
+                date.toInstant( ZoneOffset.UTC ) );
+        }
+        finally
+        {
+            priceLookupMetrics.recordStage( PriceLookupStage.REPOSITORY, key.brandId(), System.nanoTime() - start );
+        }
+    }
+
+    private boolean hasRates( final RateKey key )
+    {
+        var start = System.nanoTime();
+        try
+        {
+            return containsRates( key );
+        }
+        finally
+        {
+            priceLookupMetrics.recordStage( PriceLookupStage.REPOSITORY, key.brandId(), System.nanoTime() - start );
+        }
+    }
+
+    private List<Rate> findAllRates( final RateKey key )
+    {
+        return rateKeyFilter.mightContain( key )
+            ? rateRepository.findAllRatesForBrandAndProductAndCurrency( key.brandId(), key.productId(),
+                key.currency() )
+            : List.of();
+    }
+
+    private boolean containsRates( final RateKey key )
+    {
+        return rateKeyFilter.mightContain( key )
+            && rateRepository.hasRatesForBrandAndProductAndCurrency( key.brandId(), key.productId(), key.currency() );
+    }
+
+    private List<Rate> findRates( final RateKey key, final LocalDateTime from, final LocalDateTime to )
+    {
+        return rateKeyFilter.mightContain( key )
+            ? rateRepository.findRatesForKeys( List.of( key ), from.toInstant( ZoneOffset.UTC ),
+                to.toInstant( ZoneOffset.UTC ) )
+            : List.of();
+    }
+
+    private boolean converts( final String currency )
+    {
+        return currencyConverter != null && currencyConverter.converts( currency );
+    }
+
+    private List<Optional<Rate>> resolve( final List<RateQuery> queries )
+    {
+        var keys = queries.stream()
+            .map( RateQuery::key )
+            .distinct()
+            .filter( rateKeyFilter::mightContain )
+            .toList();
+        var candidates = keys.isEmpty() ? Map.<RateKey, List<Rate>>of() : findRatesByKey( keys, queries );
+
+        return queries.stream()
+            .map( query ->
             {
-                log.info( "Price for query. {} {} {} {} {}",
-                    kv( "brandId", brandId ),
-                    kv( "productId", productId ),
-                    kv( "date", date ),
-                    kv( "currency", currency ),
-                    kv( "price", r.getPrice() ) );
-                return r;
+                var applicable = candidates.getOrDefault( query.key(), List.<Rate>of() ).stream()
+                    .filter( rate -> rate.appliesAt( query.date() ) )
+                    .toList();
+                priceLookupMetrics.recordCandidates( query.brandId(), applicable.size() );
+                return highestPriority( applicable );
             } )
-            .or( () ->
+            .toList();
+    }
+
+    /**
+     * Answers the queries left without a price whose key has no rates at all from the base currency, with one
+     * repository query to tell those keys apart and one more for the base currency rates of all of them.
+     *
+     * @return the number of prices converted
+     */
+    private int convertMissing( final List<RateQuery> queries, final List<Optional<Rate>> prices )
+    {
+        var missing = new ArrayList<Integer>();
+        for ( var i = 0; i < queries.size(); i++ )
+        {
+            if ( prices.get( i ).isEmpty() && converts( queries.get( i ).currency() ) )
+            {
+                missing.add( i );
+            }
+        }
+        var priced = keysWithRates( missing.stream()
+            .map( i -> queries.get( i ).key() )
+            .distinct()
+            .filter( rateKeyFilter::mightContain )
+            .toList() );
+        missing.removeIf( i -> priced.contains( queries.get( i ).key() ) );
+        if ( missing.isEmpty() )
+        {
+            return 0;
+        }
+
+        var baseCurrency = currencyConverter.baseCurrency();
+        var base = resolve( missing.stream()
+            .map( queries::get )
+            .map( query -> new RateQuery( query.brandId(), query.productId(), baseCurrency, query.date() ) )
+            .toList() );
+        var converted = 0;
+        for ( var i = 0; i < missing.size(); i++ )
+        {
+            var currency = queries.get( missing.get( i ) ).currency();
+            var price = base.get( i ).flatMap( rate -> currencyConverter.convert( rate, currency ) );
+            if ( price.isPresent() )
+            {
+                prices.set( missing.get( i ), price );
+                converted++;
+            }
+        }
+        return converted;
+    }
+
+    private Set<RateKey> keysWithRates( final List<RateKey> keys )
+    {
+        var priced = new HashSet<RateKey>();
+        if ( !keys.isEmpty() )
+        {
+            rateRepository.findRatesForKeys( keys, EARLIEST, LATEST )
+                .forEach( rate -> priced.add( RateKey.of( rate ) ) );
+        }
+        return priced;
+    }
+
+    private Map<RateKey, List<Rate>> findRatesByKey( final List<RateKey> keys, final List<RateQuery> queries )
+    {
+        var from = queries.stream().map( RateQuery::date ).min( Comparator.naturalOrder() ).orElseThrow();
+        var to = queries.stream().map( RateQuery::date ).max( Comparator.naturalOrder() ).orElseThrow();
+
+        var rates = rateRepository.findRatesForKeys( keys, from.toInstant( ZoneOffset.UTC ),
+            to.toInstant( ZoneOffset.UTC ) );
+        return rates.stream()
+            .collect( Collectors.groupingBy( RateKey::of, HashMap::new, Collectors.toList() ) );
+    }
+
+    private static Optional<Rate> highestPriority( final List<Rate> rates )
+    {
+        // first in insertion order wins a priority tie, as the repositories return rates in that order
+        return rates.stream().reduce( Rate.HIGHER_PRIORITY );
+    }
+
+    /**
+     * Resolves the winner of each run of consecutive rates sharing a {@link RateKey} and hands it over as soon as
+     * the run ends.
+     */
+    private static final class GroupWinners implements Consumer<Rate>
+    {
+        private final Consumer<Rate> action;
+        private RateKey key;
+        private Rate winner;
+        private long emitted;
+
+        private GroupWinners( final Consumer<Rate> action )
+        {
+            this.action = action;
+        }
+
+        @Override
+        public void accept( final Rate rate )
+        {
+            var rateKey = RateKey.of( rate );
+            if ( !rateKey.equals( key ) )
+            {
+                flush();
+                key = rateKey;
+            }
+            winner = winner == null ? rate : Rate.HIGHER_PRIORITY.apply( winner, rate );
+        }
+
+        private void flush()
+        {
+            if ( winner != null )
             {
-                log.warn( "No price found for product. {} {} {} {}",
-                    kv( "brandId", brandId ),
-                    kv( "productId", productId ),
-                    kv( "date", date ),
-                    kv( "currency", currency ) );
-                return Optional.empty();
-            } );
+                action.accept( winner );
+                emitted++;
+                winner = null;
+            }
+        }
     }
 }
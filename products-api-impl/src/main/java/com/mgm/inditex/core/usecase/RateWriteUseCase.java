@@ -0,0 +1,208 @@
+package com.mgm.inditex.core.usecase;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.mgm.inditex.core.domain.Rate;
+import com.mgm.inditex.core.domain.RateDraft;
+import com.mgm.inditex.core.domain.RateKey;
+import com.mgm.inditex.core.domain.RateRecord;
+import com.mgm.inditex.core.filter.RefreshableRateKeyFilter;
+import com.mgm.inditex.core.port.inbound.RateWriteUseCasePort;
+import com.mgm.inditex.core.port.outbound.RateConflictCheck;
+import com.mgm.inditex.core.port.outbound.RateConstraintViolationException;
+import com.mgm.inditex.core.port.outbound.RateWritePort;
+import com.mgm.inditex.core.validation.ApiConflictException;
+import com.mgm.inditex.core.validation.ApiNotFoundException;
+import com.mgm.inditex.core.validation.ApiValidationException;
+import com.mgm.inditex.core.validation.RateValidator;
+import com.mgm.inditex.shared.exception.model.ApiError;
+import com.mgm.inditex.shared.exception.model.ApiErrorType;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service class that handles the creation, update and deletion of rates.
+ * <p>
+ * Rates are written through the {@link RateWritePort}, which runs the conflict check of each insert and update in
+ * the write transaction: it locks the key of the written rate in the database and hands this service the stored
+ * rates of that key overlapping the new validity period, read with a range query on the rate key index. A second
+ * writer of the same key, on this instance or another one, waits for the first to commit and is then checked
+ * against its rate, so two writers cannot both pass the check and store conflicting rates.
+ * </p>
+ * <p>
+ * Once a write has committed, the cached timelines of the keys it touched are dropped and new keys are added to
+ * the key filter, so this instance serves its own writes straight away.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+@Slf4j
+@Service
+public class RateWriteUseCase implements RateWriteUseCasePort
+{
+    private static final String CONFLICT_ERROR_CODE = "rate.conflict";
+    private static final String NOT_FOUND_ERROR_CODE = "rate.not-found";
+
+    private final RateWritePort rateWriter;
+    private final RateValidator rateValidator;
+
+    private CachingRateUseCase cachingRateUseCase;
+    private RefreshableRateKeyFilter rateKeyFilter;
+
+    public RateWriteUseCase( final RateWritePort rateWriter, final RateValidator rateValidator )
+    {
+        this.rateWriter = rateWriter;
+        this.rateValidator = rateValidator;
+    }
+
+    @Autowired( required = false )
+    public void setCachingRateUseCase( final CachingRateUseCase cachingRateUseCase )
+    {
+        this.cachingRateUseCase = cachingRateUseCase;
+    }
+
+    @Autowired( required = false )
+    public void setRateKeyFilter( final RefreshableRateKeyFilter rateKeyFilter )
+    {
+        this.rateKeyFilter = rateKeyFilter;
+    }
+
+    @Override
+    public RateRecord getRate( final Long id )
+    {
+        return rateWriter.findRateById( id ).orElseThrow( () -> notFound( id ) );
+    }
+
+    @Override
+    public RateRecord createRate( final RateDraft draft )
+    {
+        var rate = toRate( draft );
+        var created = persist( () -> rateWriter.insertRate( rate, noConflictWith( rate ) ) );
+        committed( List.of( RateKey.of( rate ) ) );
+
+        log.debug( "Rate created. {} {}", kv( "id", created.id() ), kv( "rate", rate ) );
+        return created;
+    }
+
+    @Override
+    public RateRecord updateRate( final Long id, final RateDraft draft )
+    {
+        var rate = toRate( draft );
+        var previous = persist( () -> rateWriter.updateRate( id, rate, noConflictWith( rate ) ) )
+            .orElseThrow( () -> notFound( id ) );
+        committed( List.of( RateKey.of( previous ), RateKey.of( rate ) ) );
+
+        log.debug( "Rate updated. {} {}", kv( "id", id ), kv( "rate", rate ) );
+        return new RateRecord( id, rate );
+    }
+
+    @Override
+    public void deleteRate( final Long id )
+    {
+        var deleted = rateWriter.deleteRate( id ).orElseThrow( () -> notFound( id ) );
+        committed( List.of( RateKey.of( deleted ) ) );
+
+        log.debug( "Rate deleted. {} {}", kv( "id", id ), kv( "rate", deleted ) );
+    }
+
+    private Rate toRate( final RateDraft draft )
+    {
+        rateValidator.validateWriteRateRequest( draft );
+        try
+        {
+            return draft.toRate();
+        }
+        catch ( IllegalArgumentException e )
+        {
+            throw ApiValidationException.fromError( ApiError.builder()
+                .key( "rate" )
+                .message( e.getMessage() )
+                .errorCode( "validation.invalid" )
+                .build(), ApiErrorType.VALIDATION );
+        }
+    }
+
+    /**
+     * Rejects a rate that overlaps another rate of its key with the same priority, or that has the same validity
+     * period as another rate of its key.
+     *
+     * @param rate the rate to store
+     * @return the check the write port runs over the stored rates of its key that overlap it
+     */
+    private static RateConflictCheck noConflictWith( final Rate rate )
+    {
+        return overlapping ->
+        {
+            var conflict = overlapping.stream()
+                .filter( other -> other.getPriority().equals( rate.getPriority() ) || hasSamePeriod( other, rate ) )
+                .findFirst();
+            if ( conflict.isPresent() )
+            {
+                throw conflict( conflict.get() );
+            }
+        };
+    }
+
+    private static boolean hasSamePeriod( final Rate other, final Rate rate )
+    {
+        return other.getStartDate().equals( rate.getStartDate() ) && other.getEndDate().equals( rate.getEndDate() );
+    }
+
+    private static <T> T persist( final Supplier<T> write )
+    {
+        try
+        {
+            return write.get();
+        }
+        catch ( RateConstraintViolationException e )
+        {
+            throw ApiConflictException.fromError( ApiError.builder()
+                .key( "rate" )
+                .message( "The rate duplicates the validity period of a stored rate of the same product and "
+                    + "currency." )
+                .errorCode( CONFLICT_ERROR_CODE )
+                .debugMessage( e.getMessage() )
+                .build() );
+        }
+    }
+
+    private void committed( final Collection<RateKey> keys )
+    {
+        if ( cachingRateUseCase != null )
+        {
+            cachingRateUseCase.invalidate( keys );
+        }
+        if ( rateKeyFilter != null )
+        {
+            rateKeyFilter.add( keys );
+        }
+    }
+
+    private static ApiConflictException conflict( final Rate other )
+    {
+        return ApiConflictException.fromError( ApiError.builder()
+            .key( "rate" )
+            .value( String.valueOf( other ) )
+            .message( "The rate overlaps a stored rate of the same product and currency with the same priority, "
+                + "or has the same validity period." )
+            .errorCode( CONFLICT_ERROR_CODE )
+            .build() );
+    }
+
+    private static ApiNotFoundException notFound( final Long id )
+    {
+        return ApiNotFoundException.fromError( ApiError.builder()
+            .key( "rateId" )
+            .value( String.valueOf( id ) )
+            .message( "There is no rate with id " + id + "." )
+            .errorCode( NOT_FOUND_ERROR_CODE )
+            .build() );
+    }
+}
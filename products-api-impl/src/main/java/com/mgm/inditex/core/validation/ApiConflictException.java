@@ -0,0 +1,36 @@
+package com.mgm.inditex.core.validation;
+
+import java.io.Serial;
+import java.util.List;
+
+import com.mgm.inditex.shared.exception.ApiException;
+import com.mgm.inditex.shared.exception.model.ApiError;
+import com.mgm.inditex.shared.exception.model.ApiErrorType;
+
+/**
+ * Exception representing a 409 Conflict scenario.
+ *
+ * <p>
+ * Thrown when a valid request cannot be applied because of the data already stored, such as a rate that
+ * overlaps another one of the same product, currency and priority.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+public class ApiConflictException extends ApiException
+{
+
+    @Serial
+    private static final long serialVersionUID = 3305154921402987147L;
+
+    public ApiConflictException( final List<ApiError> errors )
+    {
+        super( errors, ApiErrorType.DUPLICATED );
+    }
+
+    public static ApiConflictException fromError( final ApiError error )
+    {
+        return ApiException.fromError( error, ApiErrorType.DUPLICATED,
+            ( errors, errorType ) -> new ApiConflictException( errors ) );
+    }
+}
@@ -0,0 +1,35 @@
+package com.mgm.inditex.core.validation;
+
+import java.io.Serial;
+import java.util.List;
+
+import com.mgm.inditex.shared.exception.ApiException;
+import com.mgm.inditex.shared.exception.model.ApiError;
+import com.mgm.inditex.shared.exception.model.ApiErrorType;
+
+/**
+ * Exception representing a 404 Not Found scenario.
+ *
+ * <p>
+ * Thrown when a request targets a resource, such as a rate identifier, that does not exist.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+public class ApiNotFoundException extends ApiException
+{
+
+    @Serial
+    private static final long serialVersionUID = -4127738206478405519L;
+
+    public ApiNotFoundException( final List<ApiError> errors )
+    {
+        super( errors, ApiErrorType.NOT_FOUND );
+    }
+
+    public static ApiNotFoundException fromError( final ApiError error )
+    {
+        return ApiException.fromError( error, ApiErrorType.NOT_FOUND,
+            ( errors, errorType ) -> new ApiNotFoundException( errors ) );
+    }
+}
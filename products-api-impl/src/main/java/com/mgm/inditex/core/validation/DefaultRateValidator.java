@@ -7,6 +7,8 @@ import java.util.Objects;
 
 import org.springframework.stereotype.Component;
 
+import com.mgm.inditex.core.domain.RateDraft;
+import com.mgm.inditex.core.domain.RateQuery;
 import com.mgm.inditex.shared.exception.model.ApiError;
 
 /**
@@ -22,6 +24,11 @@ import com.mgm.inditex.shared.exception.model.ApiError;
 public class DefaultRateValidator implements RateValidator
 {
     private static final String VALIDATION_REQUIRED_ERROR_CODE = "validation.required";
+    private static final String VALIDATION_SIZE_ERROR_CODE = "validation.size";
+    private static final String VALIDATION_RANGE_ERROR_CODE = "validation.range";
+    private static final String VALIDATION_FORMAT_ERROR_CODE = "validation.format";
+    private static final int MAX_BATCH_SIZE = 500;
+    private static final int CURRENCY_CODE_LENGTH = 3;
 
     @Override
     public void validateGetPriceRequest( final Integer brandId, final Long productId, final String currency,
@@ -41,10 +48,171 @@ public class DefaultRateValidator implements RateValidator
         }
     }
 
+    @Override
+    public void validateGetTimelineRequest( final Integer brandId, final Long productId, final String currency )
+    {
+        var errors = new ArrayList<ApiError>();
+
+        validatePositiveNumber( "brandId", brandId, errors );
+        validatePositiveNumber( "productId", productId, errors );
+        validateNotNullOrEmpty( "currency", currency, errors );
+
+        if ( !errors.isEmpty() )
+        {
+            throw new ApiValidationException( errors );
+        }
+    }
+
+    @Override
+    public void validateGetPriceSegmentsRequest( final Integer brandId, final Long productId, final String currency,
+        final LocalDateTime from, final LocalDateTime to )
+    {
+        var errors = new ArrayList<ApiError>();
+
+        validatePositiveNumber( "brandId", brandId, errors );
+        validatePositiveNumber( "productId", productId, errors );
+        validateNotNullOrEmpty( "currency", currency, errors );
+        validateNotNull( "from", from, errors );
+        validateNotNull( "to", to, errors );
+
+        if ( from != null && to != null && to.isBefore( from ) )
+        {
+            errors.add( ApiError.builder()
+                .key( "to" )
+                .value( String.valueOf( to ) )
+                .message( "'to' field can not be before 'from'." )
+                .errorCode( VALIDATION_RANGE_ERROR_CODE )
+                .build() );
+        }
+
+        if ( !errors.isEmpty() )
+        {
+            throw new ApiValidationException( errors );
+        }
+    }
+
+    @Override
+    public void validateGetBrandPricesRequest( final Integer brandId, final LocalDateTime date )
+    {
+        var errors = new ArrayList<ApiError>();
+
+        validatePositiveNumber( "brandId", brandId, errors );
+        validateNotNull( "date", date, errors );
+
+        if ( !errors.isEmpty() )
+        {
+            throw new ApiValidationException( errors );
+        }
+    }
+
+    @Override
+    public void validateGetPricesRequest( final List<RateQuery> queries )
+    {
+        var errors = new ArrayList<ApiError>();
+
+        if ( queries == null || queries.isEmpty() )
+        {
+            errors.add( ApiError.builder()
+                .key( "items" )
+                .value( String.valueOf( queries ) )
+                .message( "'items' field can not be null or empty." )
+                .errorCode( VALIDATION_REQUIRED_ERROR_CODE )
+                .build() );
+        }
+        else if ( queries.size() > MAX_BATCH_SIZE )
+        {
+            errors.add( ApiError.builder()
+                .key( "items" )
+                .value( String.valueOf( queries.size() ) )
+                .message( "'items' field can not hold more than " + MAX_BATCH_SIZE + " queries." )
+                .errorCode( VALIDATION_SIZE_ERROR_CODE )
+                .build() );
+        }
+        else
+        {
+            for ( var i = 0; i < queries.size(); i++ )
+            {
+                var query = queries.get( i );
+                var prefix = "items[" + i + "].";
+                if ( query == null )
+                {
+                    validateNotNull( "items[" + i + "]", null, errors );
+                    continue;
+                }
+                validatePositiveNumber( prefix + "brandId", query.brandId(), errors );
+                validatePositiveNumber( prefix + "productId", query.productId(), errors );
+                validateNotNull( prefix + "date", query.date(), errors );
+                validateNotNullOrEmpty( prefix + "currency", query.currency(), errors );
+            }
+        }
+
+        if ( !errors.isEmpty() )
+        {
+            throw new ApiValidationException( errors );
+        }
+    }
+
+    @Override
+    public void validateWriteRateRequest( final RateDraft draft )
+    {
+        var errors = new ArrayList<ApiError>();
+
+        if ( draft == null )
+        {
+            validateNotNull( "rate", null, errors );
+            throw new ApiValidationException( errors );
+        }
+
+        validatePositiveNumber( "brandId", draft.brandId(), errors );
+        validatePositiveNumber( "productId", draft.productId(), errors );
+        validatePositiveNumber( "priceList", draft.priceListId(), errors );
+        validateNotNull( "startDate", draft.startDate(), errors );
+        validateNotNull( "endDate", draft.endDate(), errors );
+        validatePositiveNumber( "priority", draft.priority(), errors );
+        validatePositiveNumber( "price", draft.price(), errors );
+        validateNotNullOrEmpty( "currency", draft.currency(), errors );
+
+        if ( draft.startDate() != null && draft.endDate() != null && !draft.startDate().isBefore( draft.endDate() ) )
+        {
+            errors.add( ApiError.builder()
+                .key( "endDate" )
+                .value( String.valueOf( draft.endDate() ) )
+                .message( "'endDate' field must be after 'startDate'." )
+                .errorCode( VALIDATION_RANGE_ERROR_CODE )
+                .build() );
+        }
+        validateWholeSecond( "startDate", draft.startDate(), errors );
+        validateWholeSecond( "endDate", draft.endDate(), errors );
+        if ( draft.priority() != null && draft.priority() > Short.MAX_VALUE )
+        {
+            errors.add( ApiError.builder()
+                .key( "priority" )
+                .value( String.valueOf( draft.priority() ) )
+                .message( "'priority' field can not be greater than " + Short.MAX_VALUE + "." )
+                .errorCode( VALIDATION_RANGE_ERROR_CODE )
+                .build() );
+        }
+        if ( draft.currency() != null && !draft.currency().isBlank()
+            && draft.currency().length() != CURRENCY_CODE_LENGTH )
+        {
+            errors.add( ApiError.builder()
+                .key( "currency" )
+                .value( draft.currency() )
+                .message( "'currency' field must be a 3-letter ISO 4217 code." )
+                .errorCode( VALIDATION_FORMAT_ERROR_CODE )
+                .build() );
+        }
+
+        if ( !errors.isEmpty() )
+        {
+            throw new ApiValidationException( errors );
+        }
+    }
+
     private <T extends Number> void validatePositiveNumber( final String field, final T value,
         final List<ApiError> errors )
     {
-        if ( Objects.isNull( value ) || value.longValue() < 0 )
+        if ( Objects.isNull( value ) || value.doubleValue() < 0 )
         {
             errors.add( ApiError.builder()
                 .key( field )
@@ -68,6 +236,20 @@ public class DefaultRateValidator implements RateValidator
         }
     }
 
+    private void validateWholeSecond( final String field, final LocalDateTime value, final List<ApiError> errors )
+    {
+        // the rate stores keep boundaries as epoch seconds and the rates table refuses anything finer
+        if ( value != null && value.getNano() != 0 )
+        {
+            errors.add( ApiError.builder()
+                .key( field )
+                .value( String.valueOf( value ) )
+                .message( "'" + field + "' field must be a whole second." )
+                .errorCode( VALIDATION_FORMAT_ERROR_CODE )
+                .build() );
+        }
+    }
+
     private void validateNotNullOrEmpty( final String field, final String value, final List<ApiError> errors )
     {
         if ( value == null || value.trim().isEmpty() )
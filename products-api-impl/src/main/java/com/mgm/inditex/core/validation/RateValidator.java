@@ -1,6 +1,10 @@
 package com.mgm.inditex.core.validation;
 
 import java.time.LocalDateTime;
+import java.util.List;
+
+import com.mgm.inditex.core.domain.RateDraft;
+import com.mgm.inditex.core.domain.RateQuery;
 
 /**
  * Defines the contract for validating inbound requests to the core domain services.
@@ -22,4 +26,58 @@ public interface RateValidator
      * @throws ApiValidationException if any of the parameters are invalid.
      */
     void validateGetPriceRequest( Integer brandId, Long productId, String currency, LocalDateTime date );
+
+    /**
+     * Validates the parameters for a request to retrieve the rate timeline of a product.
+     *
+     * @param brandId The unique identifier of the brand.
+     * @param productId The unique identifier of the product.
+     * @param currency The currency of the prices.
+     * @throws ApiValidationException if any of the parameters are invalid.
+     */
+    void validateGetTimelineRequest( Integer brandId, Long productId, String currency );
+
+    /**
+     * Validates the parameters for a request to retrieve the effective price segments of a product over a date
+     * range.
+     *
+     * @param brandId The unique identifier of the brand.
+     * @param productId The unique identifier of the product.
+     * @param currency The currency of the prices.
+     * @param from The first instant of the range, inclusive.
+     * @param to The last instant of the range, inclusive.
+     * @throws ApiValidationException if any of the parameters are invalid or the range is reversed.
+     */
+    void validateGetPriceSegmentsRequest( Integer brandId, Long productId, String currency, LocalDateTime from,
+        LocalDateTime to );
+
+    /**
+     * Validates the parameters for a request to retrieve the prices of every product of a brand.
+     *
+     * @param brandId The unique identifier of the brand.
+     * @param date The date and time for which the prices are valid.
+     * @throws ApiValidationException if any of the parameters are invalid.
+     */
+    void validateGetBrandPricesRequest( Integer brandId, LocalDateTime date );
+
+    /**
+     * Validates the queries of a request to retrieve several product prices at once.
+     * <p>
+     * Every query is checked as in {@link #validateGetPriceRequest}; errors are reported for the whole batch,
+     * keyed by the position of the offending query.
+     * </p>
+     *
+     * @param queries The price lookups of the batch.
+     * @throws ApiValidationException if the batch is empty, holds more than 500 queries, or any of the queries is
+     * invalid.
+     */
+    void validateGetPricesRequest( List<RateQuery> queries );
+
+    /**
+     * Validates the fields of a rate to create or update.
+     *
+     * @param draft The fields of the rate.
+     * @throws ApiValidationException if a field is missing or invalid, or the date range is not strictly increasing.
+     */
+    void validateWriteRateRequest( RateDraft draft );
 }
@@ -0,0 +1,63 @@
+package com.mgm.inditex.infrastructure.cache;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mgm.inditex.adapter.inbound.web.controller.rate.CachedPriceResponse;
+import com.mgm.inditex.adapter.inbound.web.controller.rate.CachedPriceResponseConverter;
+import com.mgm.inditex.adapter.inbound.web.controller.rate.PriceResponseBytesCache;
+import com.mgm.inditex.adapter.inbound.web.controller.rate.mapper.RateWebMapper;
+import com.mgm.inditex.controller.model.PriceResponse;
+import com.mgm.inditex.core.domain.Rate;
+import com.mgm.inditex.core.usecase.CachingRateUseCase;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Spring configuration for the cache of serialized {@link PriceResponse} bodies used by {@code RateController}.
+ * <p>
+ * Enabled with {@code app.cache.price-responses.enabled}, independently of the rate timeline cache. Bodies are
+ * serialized with the application {@link ObjectMapper}, so they are byte for byte what the message converters
+ * would write, and {@link CachedPriceResponseConverter} is declared as a bean so that Spring Boot puts it in front
+ * of the Jackson converter. When the timeline cache is enabled as well, dropping its timelines drops the bodies
+ * too. Hit, miss and eviction counters are published as the {@code cache.*} metrics tagged
+ * {@code cache=price-responses}.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+@Configuration
+@ConditionalOnProperty( prefix = "app.cache.price-responses", name = "enabled", havingValue = "true" )
+public class PriceResponseCacheConfig
+{
+    private static final String CACHE_NAME = "price-responses";
+
+    @Bean
+    PriceResponseBytesCache priceResponseBytesCache( final RateWebMapper rateWebMapper, final ObjectMapper objectMapper,
+        final PriceResponseCacheConfigProps props, final MeterRegistry meterRegistry,
+        final ObjectProvider<CachingRateUseCase> cachingRateUseCase )
+    {
+        var responses = Caffeine.newBuilder()
+            .maximumSize( props.getMaximumSize() )
+            .expireAfterWrite( props.getExpireAfterWrite() )
+            .recordStats()
+            .<Rate, CachedPriceResponse>build();
+        CaffeineCacheMetrics.monitor( meterRegistry, responses, CACHE_NAME );
+
+        var cache = new PriceResponseBytesCache( responses, rateWebMapper,
+            objectMapper.writerFor( PriceResponse.class ) );
+        cachingRateUseCase.ifAvailable( rates -> rates.onInvalidateAll( cache::invalidateAll ) );
+        return cache;
+    }
+
+    @Bean
+    CachedPriceResponseConverter cachedPriceResponseConverter()
+    {
+        return new CachedPriceResponseConverter();
+    }
+}
@@ -0,0 +1,34 @@
+package com.mgm.inditex.infrastructure.cache;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * Price response cache config bean.
+ *
+ * @author Miguel Maquieira
+ */
+@Component
+@ConfigurationProperties( prefix = "app.cache.price-responses" )
+@Data
+public class PriceResponseCacheConfigProps
+{
+    /**
+     * Whether single prices are written from their cached JSON bytes.
+     */
+    private boolean enabled;
+
+    /**
+     * Upper bound of cached response bodies, one per resolved rate.
+     */
+    private long maximumSize = 100_000;
+
+    /**
+     * How long a body is kept before it is serialized again.
+     */
+    private Duration expireAfterWrite = Duration.ofMinutes( 5 );
+}
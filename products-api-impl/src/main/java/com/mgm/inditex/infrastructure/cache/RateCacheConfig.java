@@ -0,0 +1,65 @@
+package com.mgm.inditex.infrastructure.cache;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mgm.inditex.core.domain.RateKey;
+import com.mgm.inditex.core.fx.CurrencyConverter;
+import com.mgm.inditex.core.logging.PriceLookupLogSampling;
+import com.mgm.inditex.core.metrics.PriceLookupMetrics;
+import com.mgm.inditex.core.timeline.RateTimeline;
+import com.mgm.inditex.core.usecase.CachingRateUseCase;
+import com.mgm.inditex.core.usecase.RateUseCase;
+import com.mgm.inditex.core.validation.RateValidator;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Spring configuration for the rate timeline cache in front of {@link RateUseCase}.
+ * <p>
+ * Enabled with {@code app.cache.rates.enabled}. The cache is bounded by the total number of timeline segments
+ * it holds, so products with long price histories weigh more than single-rate ones, and entries expire after
+ * {@code app.cache.rates.expire-after-write}. Hit, miss and eviction counters are published as the
+ * {@code cache.*} metrics tagged {@code cache=rates} (see {@code /actuator/metrics/cache.gets}).
+ * </p>
+ * <p>
+ * The price lookup metrics and log sampling of {@link RateUseCase}, when configured, are handed to the cache too,
+ * since it answers most single lookups without reaching the use case.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+@Configuration
+@ConditionalOnProperty( prefix = "app.cache.rates", name = "enabled", havingValue = "true" )
+public class RateCacheConfig
+{
+    private static final String CACHE_NAME = "rates";
+
+    @Bean
+    @Primary
+    CachingRateUseCase cachingRateUseCase( final RateUseCase rateUseCase, final RateValidator rateValidator,
+        final RateCacheConfigProps props, final MeterRegistry meterRegistry,
+        final ObjectProvider<CurrencyConverter> currencyConverter,
+        final ObjectProvider<PriceLookupMetrics> priceLookupMetrics,
+        final ObjectProvider<PriceLookupLogSampling> logSampling )
+    {
+        var timelines = Caffeine.newBuilder()
+            .maximumWeight( props.getMaximumSegments() )
+            .weigher( ( RateKey key, RateTimeline timeline ) -> Math.max( 1, timeline.segments().size() ) )
+            .expireAfterWrite( props.getExpireAfterWrite() )
+            .recordStats()
+            .<RateKey, RateTimeline>build();
+        CaffeineCacheMetrics.monitor( meterRegistry, timelines, CACHE_NAME );
+
+        var cachingRateUseCase = new CachingRateUseCase( rateUseCase, rateValidator, timelines );
+        currencyConverter.ifAvailable( cachingRateUseCase::setCurrencyConverter );
+        priceLookupMetrics.ifAvailable( cachingRateUseCase::setPriceLookupMetrics );
+        logSampling.ifAvailable( cachingRateUseCase::setLogSampling );
+        return cachingRateUseCase;
+    }
+}
@@ -0,0 +1,34 @@
+package com.mgm.inditex.infrastructure.cache;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * Rate cache config bean.
+ *
+ * @author Miguel Maquieira
+ */
+@Component
+@ConfigurationProperties( prefix = "app.cache.rates" )
+@Data
+public class RateCacheConfigProps
+{
+    /**
+     * Whether price lookups go through the timeline cache.
+     */
+    private boolean enabled;
+
+    /**
+     * Upper bound of cached timeline segments; an empty timeline counts as one.
+     */
+    private long maximumSegments = 100_000;
+
+    /**
+     * How long a timeline is served before it is read again from the repository.
+     */
+    private Duration expireAfterWrite = Duration.ofMinutes( 5 );
+}
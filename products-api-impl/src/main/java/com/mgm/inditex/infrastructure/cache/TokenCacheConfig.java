@@ -0,0 +1,48 @@
+package com.mgm.inditex.infrastructure.cache;
+
+import java.nio.ByteBuffer;
+import java.time.Clock;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mgm.inditex.infrastructure.security.jwt.JwtService;
+import com.mgm.inditex.infrastructure.security.jwt.VerifiedToken;
+import com.mgm.inditex.infrastructure.security.jwt.VerifiedTokenCache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Spring configuration for the cache of verified JWTs used by {@code JwtAuthenticationFilter}.
+ * <p>
+ * Enabled with {@code app.cache.tokens.enabled}. The cache holds up to {@code app.cache.tokens.maximum-size}
+ * tokens, each until its own expiry. Hit, miss and eviction counters are published as the {@code cache.*}
+ * metrics tagged {@code cache=tokens}.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+@Configuration
+@ConditionalOnProperty( prefix = "app.cache.tokens", name = "enabled", havingValue = "true" )
+public class TokenCacheConfig
+{
+    private static final String CACHE_NAME = "tokens";
+
+    @Bean
+    VerifiedTokenCache verifiedTokenCache( final JwtService jwtService, final TokenCacheConfigProps props,
+        final MeterRegistry meterRegistry )
+    {
+        var clock = Clock.systemUTC();
+        var tokens = Caffeine.newBuilder()
+            .maximumSize( props.getMaximumSize() )
+            .expireAfter( VerifiedTokenCache.untilTokenExpiry( clock ) )
+            .recordStats()
+            .<ByteBuffer, VerifiedToken>build();
+        CaffeineCacheMetrics.monitor( meterRegistry, tokens, CACHE_NAME );
+
+        return new VerifiedTokenCache( tokens, jwtService, clock );
+    }
+}
@@ -0,0 +1,27 @@
+package com.mgm.inditex.infrastructure.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * Token cache config bean.
+ *
+ * @author Miguel Maquieira
+ */
+@Component
+@ConfigurationProperties( prefix = "app.cache.tokens" )
+@Data
+public class TokenCacheConfigProps
+{
+    /**
+     * Whether verified JWTs are cached by the authentication filter.
+     */
+    private boolean enabled;
+
+    /**
+     * Upper bound of cached tokens.
+     */
+    private long maximumSize = 10_000;
+}
@@ -0,0 +1,30 @@
+package com.mgm.inditex.infrastructure.diagnostics;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Spring configuration for the diagnostics of the virtual-thread execution mode.
+ * <p>
+ * Enabled with {@code app.diagnostics.virtual-threads.enabled}, which the {@code virtual-threads} profile turns on
+ * together with {@code spring.threads.virtual.enabled}. Request handling, and with it every JDBC call made by the
+ * repository adapters, then runs on virtual threads, and the {@link VirtualThreadPinningMonitor} reports the
+ * sections that still block their carrier thread.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+@Configuration
+@ConditionalOnProperty( prefix = "app.diagnostics.virtual-threads", name = "enabled", havingValue = "true" )
+public class VirtualThreadDiagnosticsConfig
+{
+    @Bean( initMethod = "start", destroyMethod = "close" )
+    VirtualThreadPinningMonitor virtualThreadPinningMonitor( final VirtualThreadDiagnosticsConfigProps props,
+        final MeterRegistry meterRegistry )
+    {
+        return new VirtualThreadPinningMonitor( props.getPinnedThreshold(), props.getStackDepth(), meterRegistry );
+    }
+}
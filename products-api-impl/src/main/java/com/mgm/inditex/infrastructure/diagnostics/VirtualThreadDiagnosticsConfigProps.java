@@ -0,0 +1,34 @@
+package com.mgm.inditex.infrastructure.diagnostics;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * Virtual thread diagnostics config bean.
+ *
+ * @author Miguel Maquieira
+ */
+@Component
+@ConfigurationProperties( prefix = "app.diagnostics.virtual-threads" )
+@Data
+public class VirtualThreadDiagnosticsConfigProps
+{
+    /**
+     * Whether pinned virtual threads are reported.
+     */
+    private boolean enabled;
+
+    /**
+     * Shortest pinned block that is reported.
+     */
+    private Duration pinnedThreshold = Duration.ofMillis( 20 );
+
+    /**
+     * Number of frames that identify a pinning site in the log.
+     */
+    private int stackDepth = 8;
+}
@@ -0,0 +1,111 @@
+package com.mgm.inditex.infrastructure.diagnostics;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reports virtual threads that pin their carrier thread, typically by blocking inside a {@code synchronized}
+ * section of the JDBC driver, the connection pool or Hibernate.
+ * <p>
+ * It listens in process to the {@code jdk.VirtualThreadPinned} JFR event, which the JVM raises when a virtual
+ * thread blocks for longer than the threshold without being able to unmount. Every event is recorded in the
+ * {@code jvm.threads.virtual.pinned} timer; the stack of each distinct pinning site is logged once as a warning
+ * and later occurrences at debug level, so a hot {@code synchronized} block does not flood the log. This is the
+ * same information {@code -Djdk.tracePinnedThreads} prints to the console, without restarting the JVM.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+@Slf4j
+public class VirtualThreadPinningMonitor implements AutoCloseable
+{
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private final Duration threshold;
+    private final int stackDepth;
+    private final Timer pinned;
+    private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor( final Duration threshold, final int stackDepth,
+        final MeterRegistry meterRegistry )
+    {
+        this.threshold = Objects.requireNonNull( threshold, "threshold" );
+        this.stackDepth = stackDepth;
+        this.pinned = Timer.builder( "jvm.threads.virtual.pinned" )
+            .description( "Time virtual threads spent blocked while pinned to their carrier thread" )
+            .register( meterRegistry );
+    }
+
+    /**
+     * Starts listening to pinning events in the background.
+     */
+    public synchronized void start()
+    {
+        if ( stream != null )
+        {
+            return;
+        }
+        stream = new RecordingStream();
+        stream.enable( PINNED_EVENT ).withThreshold( threshold ).withStackTrace();
+        stream.onEvent( PINNED_EVENT, this::record );
+        stream.startAsync();
+        log.info( "Virtual thread pinning monitor started. {}", kv( "threshold", threshold ) );
+    }
+
+    @Override
+    public synchronized void close()
+    {
+        if ( stream != null )
+        {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    private void record( final RecordedEvent event )
+    {
+        pinned.record( event.getDuration() );
+
+        var site = site( event );
+        if ( reportedSites.add( site ) )
+        {
+            log.warn( "Virtual thread pinned its carrier thread. {} {} {}",
+                kv( "durationMs", event.getDuration().toMillis() ),
+                kv( "thread", event.getThread() == null ? null : event.getThread().getJavaName() ),
+                kv( "stack", site ) );
+        }
+        else
+        {
+            log.debug( "Virtual thread pinned its carrier thread. {} {}",
+                kv( "durationMs", event.getDuration().toMillis() ),
+                kv( "stack", site ) );
+        }
+    }
+
+    private String site( final RecordedEvent event )
+    {
+        if ( event.getStackTrace() == null )
+        {
+            return "unknown";
+        }
+        return event.getStackTrace().getFrames().stream()
+            .filter( RecordedFrame::isJavaFrame )
+            .limit( stackDepth )
+            .map( frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" +
+                frame.getLineNumber() )
+            .collect( Collectors.joining( " <- " ) );
+    }
+}
@@ -0,0 +1,77 @@
+package com.mgm.inditex.infrastructure.filter;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import com.mgm.inditex.core.filter.RateKeyFilter;
+import com.mgm.inditex.core.filter.RefreshableRateKeyFilter;
+import com.mgm.inditex.core.port.outbound.RateRepositoryPort;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Spring configuration for the {@link RateKeyFilter} consulted by {@code RateUseCase}.
+ * <p>
+ * With {@code app.filter.rate-keys.enabled} a Bloom filter over the keys of the {@code rates} table is built on
+ * startup and rebuilt every {@code app.filter.rate-keys.refresh-interval}; otherwise every key is let through.
+ * Its footprint and expected false-positive rate are published as the {@code rate.key.filter.*} metrics, next to
+ * the number of lookups it short-circuited.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+@Configuration
+public class RateKeyFilterConfig
+{
+    private static final String PREFIX = "app.filter.rate-keys";
+
+    @Bean( initMethod = "refresh" )
+    @ConditionalOnProperty( prefix = PREFIX, name = "enabled", havingValue = "true" )
+    RefreshableRateKeyFilter rateKeyFilter( final RateRepositoryPort rateRepository,
+        final RateKeyFilterConfigProps props, final MeterRegistry meterRegistry )
+    {
+        var filter = new RefreshableRateKeyFilter( rateRepository::findAllRateKeys, props.getFalsePositiveRate(),
+            props.getMaximumBytes() );
+
+        Gauge.builder( "rate.key.filter.size", filter, f -> f.current().sizeBytes() )
+            .baseUnit( "bytes" )
+            .description( "Size of the rate key Bloom filter" )
+            .register( meterRegistry );
+        Gauge.builder( "rate.key.filter.keys", filter, f -> f.current().keyCount() )
+            .description( "Brand/product/currency keys held by the rate key filter" )
+            .register( meterRegistry );
+        Gauge.builder( "rate.key.filter.false.positive.rate", filter, f -> f.current().expectedFalsePositiveRate() )
+            .description( "Expected false-positive rate of the rate key filter" )
+            .register( meterRegistry );
+        FunctionCounter.builder( "rate.key.filter.rejections", filter, RefreshableRateKeyFilter::rejections )
+            .description( "Price lookups answered as not found by the rate key filter" )
+            .register( meterRegistry );
+        return filter;
+    }
+
+    @Bean( destroyMethod = "shutdown" )
+    @ConditionalOnProperty( prefix = PREFIX, name = "enabled", havingValue = "true" )
+    TaskScheduler rateKeyFilterScheduler( final RefreshableRateKeyFilter filter,
+        final RateKeyFilterConfigProps props )
+    {
+        var scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setThreadNamePrefix( "rate-key-filter-" );
+        scheduler.initialize();
+        scheduler.scheduleWithFixedDelay( filter::refresh, scheduler.getClock().instant()
+            .plus( props.getRefreshInterval() ), props.getRefreshInterval() );
+        return scheduler;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean( RateKeyFilter.class )
+    RateKeyFilter allowAllRateKeyFilter()
+    {
+        return RateKeyFilter.ALLOW_ALL;
+    }
+}
@@ -0,0 +1,39 @@
+package com.mgm.inditex.infrastructure.filter;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * Rate key filter config bean.
+ *
+ * @author Miguel Maquieira
+ */
+@Component
+@ConfigurationProperties( prefix = "app.filter.rate-keys" )
+@Data
+public class RateKeyFilterConfigProps
+{
+    /**
+     * Whether price lookups of unknown brand/product/currency combinations are short-circuited.
+     */
+    private boolean enabled;
+
+    /**
+     * Target probability of letting an unknown key through to the repository.
+     */
+    private double falsePositiveRate = 0.01;
+
+    /**
+     * Upper bound of the filter's bit array; a smaller budget raises the false-positive rate.
+     */
+    private long maximumBytes = 16L * 1024 * 1024;
+
+    /**
+     * How often the filter is rebuilt to pick up rates written outside this node.
+     */
+    private Duration refreshInterval = Duration.ofMinutes( 5 );
+}
@@ -0,0 +1,74 @@
+package com.mgm.inditex.infrastructure.fx;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import com.mgm.inditex.adapter.outbound.persistence.jdbc.FxRateJdbcAdapter;
+import com.mgm.inditex.core.fx.CurrencyConverter;
+import com.mgm.inditex.core.port.outbound.FxRatePort;
+import com.mgm.inditex.core.usecase.CachingRateUseCase;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Spring configuration for the conversion of prices from the base currency.
+ * <p>
+ * Enabled with {@code app.fx.enabled}. The exchange rates of the {@code fx_rates} table are loaded on startup
+ * and reloaded every {@code app.fx.refresh-interval}; when they change, the new matrix is swapped in and the
+ * rate timeline cache, if enabled, is dropped, since it holds converted timelines. The size of the matrix is
+ * published as the {@code fx.currencies} and {@code fx.rates} gauges.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+@Configuration
+@ConditionalOnProperty( prefix = "app.fx", name = "enabled", havingValue = "true" )
+public class FxConversionConfig
+{
+    @Bean
+    FxRatePort fxRatePort( final DataSource dataSource )
+    {
+        return new FxRateJdbcAdapter( new NamedParameterJdbcTemplate( dataSource ) );
+    }
+
+    @Bean
+    CurrencyConverter currencyConverter( final FxRatePort fxRatePort, final FxConversionConfigProps props,
+        final MeterRegistry meterRegistry )
+    {
+        var converter = new CurrencyConverter( props.getBaseCurrency(), fxRatePort );
+        converter.reload();
+
+        Gauge.builder( "fx.currencies", converter, c -> c.matrix().currencies().size() )
+            .description( "Currencies of the exchange rate matrix" )
+            .register( meterRegistry );
+        Gauge.builder( "fx.rates", converter, c -> c.matrix().size() )
+            .description( "Exchange rates of the matrix, inverses included" )
+            .register( meterRegistry );
+        return converter;
+    }
+
+    @Bean( destroyMethod = "shutdown" )
+    TaskScheduler fxRateScheduler( final CurrencyConverter converter, final FxConversionConfigProps props,
+        final ObjectProvider<CachingRateUseCase> cachingRateUseCase )
+    {
+        var scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setThreadNamePrefix( "fx-rates-" );
+        scheduler.initialize();
+        scheduler.scheduleWithFixedDelay( () ->
+        {
+            if ( converter.reload() )
+            {
+                cachingRateUseCase.ifAvailable( CachingRateUseCase::invalidateAll );
+            }
+        }, scheduler.getClock().instant().plus( props.getRefreshInterval() ), props.getRefreshInterval() );
+        return scheduler;
+    }
+}
@@ -0,0 +1,34 @@
+package com.mgm.inditex.infrastructure.fx;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * FX conversion config bean.
+ *
+ * @author Miguel Maquieira
+ */
+@Component
+@ConfigurationProperties( prefix = "app.fx" )
+@Data
+public class FxConversionConfigProps
+{
+    /**
+     * Whether prices are converted from the base currency when a product has no rates in the requested one.
+     */
+    private boolean enabled;
+
+    /**
+     * Currency every product has rates in, which the other currencies are converted from.
+     */
+    private String baseCurrency = "EUR";
+
+    /**
+     * Delay between reloads of the {@code fx_rates} table.
+     */
+    private Duration refreshInterval = Duration.ofMinutes( 5 );
+}
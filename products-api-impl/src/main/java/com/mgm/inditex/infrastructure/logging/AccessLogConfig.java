@@ -0,0 +1,44 @@
+package com.mgm.inditex.infrastructure.logging;
+
+import java.time.Clock;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import com.mgm.inditex.adapter.inbound.web.controller.rate.PriceAccessLog;
+
+/**
+ * Spring configuration for the {@link PriceAccessLog} fed by {@code RateController}.
+ * <p>
+ * Enabled with {@code app.logging.access-log.enabled}. Single price lookups are aggregated per brand and status
+ * and written every {@code app.logging.access-log.interval} as JSON lines to the {@value PriceAccessLog#LOGGER_NAME}
+ * logger, which {@code logback-spring.xml} sends to its own file in the deployed profiles. The last window is
+ * written on shutdown.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+@Configuration
+@ConditionalOnProperty( prefix = "app.logging.access-log", name = "enabled", havingValue = "true" )
+public class AccessLogConfig
+{
+    @Bean( destroyMethod = "flush" )
+    PriceAccessLog priceAccessLog( final AccessLogConfigProps props )
+    {
+        return new PriceAccessLog( props.getMaximumKeys(), Clock.systemUTC() );
+    }
+
+    @Bean( destroyMethod = "shutdown" )
+    TaskScheduler accessLogScheduler( final PriceAccessLog priceAccessLog, final AccessLogConfigProps props )
+    {
+        var scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setThreadNamePrefix( "access-log-" );
+        scheduler.initialize();
+        scheduler.scheduleWithFixedDelay( priceAccessLog::flush, scheduler.getClock().instant()
+            .plus( props.getInterval() ), props.getInterval() );
+        return scheduler;
+    }
+}
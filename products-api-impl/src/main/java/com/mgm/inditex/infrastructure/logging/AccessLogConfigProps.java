@@ -0,0 +1,34 @@
+package com.mgm.inditex.infrastructure.logging;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * Price access log config bean.
+ *
+ * @author Miguel Maquieira
+ */
+@Component
+@ConfigurationProperties( prefix = "app.logging.access-log" )
+@Data
+public class AccessLogConfigProps
+{
+    /**
+     * Whether single price lookups are written to the aggregated access log.
+     */
+    private boolean enabled;
+
+    /**
+     * How often the aggregated lines are written.
+     */
+    private Duration interval = Duration.ofSeconds( 10 );
+
+    /**
+     * Brand/status pairs aggregated separately; further brands are written without a brand.
+     */
+    private int maximumKeys = 10_000;
+}
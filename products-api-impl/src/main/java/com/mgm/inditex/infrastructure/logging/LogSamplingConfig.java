@@ -0,0 +1,29 @@
+package com.mgm.inditex.infrastructure.logging;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.mgm.inditex.core.logging.LogSampler;
+import com.mgm.inditex.core.logging.PriceLookupLogSampling;
+
+/**
+ * Spring configuration for the sampling of the log lines of price lookups written by {@code RateUseCase} and
+ * {@code CachingRateUseCase}.
+ * <p>
+ * {@code app.logging.sampling.price-lookup.found-every} and {@code not-found-every} keep one line in that many for
+ * each outcome of single lookups, and {@code batch-every} for batch lookups, at random; every line is kept by
+ * default. Dropped lines build no arguments.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+@Configuration
+public class LogSamplingConfig
+{
+    @Bean
+    PriceLookupLogSampling priceLookupLogSampling( final LogSamplingConfigProps props )
+    {
+        return new PriceLookupLogSampling( LogSampler.oneIn( props.getFoundEvery() ),
+            LogSampler.oneIn( props.getNotFoundEvery() ), LogSampler.oneIn( props.getBatchEvery() ) );
+    }
+}
@@ -0,0 +1,32 @@
+package com.mgm.inditex.infrastructure.logging;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * Price lookup log sampling config bean.
+ *
+ * @author Miguel Maquieira
+ */
+@Component
+@ConfigurationProperties( prefix = "app.logging.sampling.price-lookup" )
+@Data
+public class LogSamplingConfigProps
+{
+    /**
+     * Log one in this many lookups that found a price; 0 logs none of them.
+     */
+    private int foundEvery = 1;
+
+    /**
+     * Log one in this many lookups that found no price; 0 logs none of them.
+     */
+    private int notFoundEvery = 1;
+
+    /**
+     * Log one in this many batch lookups; 0 logs none of them.
+     */
+    private int batchEvery = 1;
+}
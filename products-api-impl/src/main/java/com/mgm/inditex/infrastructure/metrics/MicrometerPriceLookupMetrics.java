@@ -0,0 +1,112 @@
+package com.mgm.inditex.infrastructure.metrics;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import com.mgm.inditex.core.metrics.PriceLookupMetrics;
+import com.mgm.inditex.core.metrics.PriceLookupOutcome;
+import com.mgm.inditex.core.metrics.PriceLookupStage;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * {@link PriceLookupMetrics} published as Micrometer meters.
+ * <p>
+ * Brands are folded into {@code brandBuckets} buckets ({@code brandId} modulo the number of buckets, or
+ * {@code none} when the brand is unknown) published as the {@code brand.bucket} tag, which bounds the number of
+ * time series whatever the number of brands. Every meter is registered upfront, so recording a measurement is an
+ * array lookup that neither allocates nor queries the registry.
+ * </p>
+ * <ul>
+ *     <li>{@code price.lookup.stage}: timer of each {@link PriceLookupStage}, tagged by {@code stage}</li>
+ *     <li>{@code price.lookup.requests}: counter of each {@link PriceLookupOutcome}, tagged by {@code status}</li>
+ *     <li>{@code price.lookup.candidates}: distribution of the number of rates a winner was chosen from</li>
+ * </ul>
+ *
+ * @author Miguel Maquieira
+ */
+public class MicrometerPriceLookupMetrics implements PriceLookupMetrics
+{
+    static final String BRAND_BUCKET_TAG = "brand.bucket";
+    static final String UNKNOWN_BRAND = "none";
+
+    // stages range from sub-microsecond validations to database reads
+    private static final Duration MINIMUM_EXPECTED_DURATION = Duration.ofNanos( 1_000 );
+    private static final Duration MAXIMUM_EXPECTED_DURATION = Duration.ofSeconds( 10 );
+    private static final double MAXIMUM_EXPECTED_CANDIDATES = 1_000;
+
+    private final int brandBuckets;
+    private final Timer[][] stages;
+    private final Counter[][] outcomes;
+    private final DistributionSummary[] candidates;
+
+    public MicrometerPriceLookupMetrics( final MeterRegistry meterRegistry, final int brandBuckets,
+        final boolean percentileHistogram )
+    {
+        if ( brandBuckets < 1 )
+        {
+            throw new IllegalArgumentException( "brandBuckets must be positive" );
+        }
+        this.brandBuckets = brandBuckets;
+        this.stages = new Timer[PriceLookupStage.values().length][brandBuckets + 1];
+        this.outcomes = new Counter[PriceLookupOutcome.values().length][brandBuckets + 1];
+        this.candidates = new DistributionSummary[brandBuckets + 1];
+
+        for ( var bucket = 0; bucket <= brandBuckets; bucket++ )
+        {
+            var bucketTag = bucket == brandBuckets ? UNKNOWN_BRAND : String.valueOf( bucket );
+            for ( var stage : PriceLookupStage.values() )
+            {
+                stages[stage.ordinal()][bucket] = Timer.builder( "price.lookup.stage" )
+                    .description( "Duration of each stage of the single price lookups" )
+                    .tag( "stage", stage.tag() )
+                    .tag( BRAND_BUCKET_TAG, bucketTag )
+                    .publishPercentileHistogram( percentileHistogram )
+                    .minimumExpectedValue( MINIMUM_EXPECTED_DURATION )
+                    .maximumExpectedValue( MAXIMUM_EXPECTED_DURATION )
+                    .register( meterRegistry );
+            }
+            for ( var outcome : PriceLookupOutcome.values() )
+            {
+                outcomes[outcome.ordinal()][bucket] = Counter.builder( "price.lookup.requests" )
+                    .description( "Single price lookups by response status" )
+                    .tag( "status", String.valueOf( outcome.status() ) )
+                    .tag( BRAND_BUCKET_TAG, bucketTag )
+                    .register( meterRegistry );
+            }
+            candidates[bucket] = DistributionSummary.builder( "price.lookup.candidates" )
+                .description( "Rates the winner of a price lookup was chosen from" )
+                .baseUnit( "rates" )
+                .tag( BRAND_BUCKET_TAG, bucketTag )
+                .publishPercentileHistogram( percentileHistogram )
+                .maximumExpectedValue( MAXIMUM_EXPECTED_CANDIDATES )
+                .register( meterRegistry );
+        }
+    }
+
+    @Override
+    public void recordStage( final PriceLookupStage stage, final Integer brandId, final long nanos )
+    {
+        stages[stage.ordinal()][bucketOf( brandId )].record( nanos, TimeUnit.NANOSECONDS );
+    }
+
+    @Override
+    public void recordOutcome( final PriceLookupOutcome outcome, final Integer brandId )
+    {
+        outcomes[outcome.ordinal()][bucketOf( brandId )].increment();
+    }
+
+    @Override
+    public void recordCandidates( final Integer brandId, final int count )
+    {
+        candidates[bucketOf( brandId )].record( count );
+    }
+
+    private int bucketOf( final Integer brandId )
+    {
+        return brandId == null ? brandBuckets : Math.floorMod( brandId, brandBuckets );
+    }
+}
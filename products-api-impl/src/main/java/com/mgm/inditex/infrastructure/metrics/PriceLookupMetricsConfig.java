@@ -0,0 +1,37 @@
+package com.mgm.inditex.infrastructure.metrics;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.mgm.inditex.core.metrics.PriceLookupMetrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Spring configuration for the {@link PriceLookupMetrics} of the price lookup.
+ * <p>
+ * Enabled with {@code app.metrics.price-lookup.enabled}. The JWT filter, the controller and the use case, or the
+ * rate timeline cache in front of it, record the duration of their stage of each single price lookup, the
+ * controller its outcome, and the use case the number of candidate rates of the lookups that read them, as the
+ * {@code price.lookup.*} metrics. Without it they record nothing.
+ * </p>
+ * <p>
+ * Each brand bucket multiplies the time series of every meter, and with percentile histograms each timer
+ * publishes several dozen of them, so {@code app.metrics.price-lookup.brand-buckets} should stay small.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+@Configuration
+@ConditionalOnProperty( prefix = "app.metrics.price-lookup", name = "enabled", havingValue = "true" )
+public class PriceLookupMetricsConfig
+{
+    @Bean
+    PriceLookupMetrics priceLookupMetrics( final PriceLookupMetricsConfigProps props,
+        final MeterRegistry meterRegistry )
+    {
+        return new MicrometerPriceLookupMetrics( meterRegistry, props.getBrandBuckets(),
+            props.isPercentileHistogram() );
+    }
+}
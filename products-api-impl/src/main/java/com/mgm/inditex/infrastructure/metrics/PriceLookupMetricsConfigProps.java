@@ -0,0 +1,32 @@
+package com.mgm.inditex.infrastructure.metrics;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * Price lookup metrics config bean.
+ *
+ * @author Miguel Maquieira
+ */
+@Component
+@ConfigurationProperties( prefix = "app.metrics.price-lookup" )
+@Data
+public class PriceLookupMetricsConfigProps
+{
+    /**
+     * Whether the stages, outcomes and candidates of price lookups are recorded.
+     */
+    private boolean enabled;
+
+    /**
+     * Number of buckets brands are folded into for the {@code brand.bucket} tag.
+     */
+    private int brandBuckets = 4;
+
+    /**
+     * Whether the timers and the candidate distribution publish percentile histograms.
+     */
+    private boolean percentileHistogram = true;
+}
@@ -4,6 +4,7 @@ import java.util.List;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
@@ -19,6 +20,11 @@ import lombok.RequiredArgsConstructor;
 
 /**
  * Security config.
+ * <p>
+ * Rate writes require the {@value #RATE_WRITE_AUTHORITY} authority, which the {@link JwtAuthenticationFilter}
+ * grants to the subjects listed in {@code app.security.rate-writers}. They are matched before the whitelisted
+ * paths, so a whitelist that opens the whole API still leaves them closed.
+ * </p>
  *
  * @author Miguel Maquieira
  */
@@ -26,6 +32,11 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class SecurityConfig
 {
+    public static final String RATE_WRITE_AUTHORITY = "RATE_WRITE";
+
+    private static final String RATES_PATH = "/inditex/api/v1/rates";
+    private static final String RATE_PATH = RATES_PATH + "/*";
+
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
     private final SecurityConfigProps securityConfigProps;
 
@@ -35,7 +46,10 @@ public class SecurityConfig
         http.csrf( AbstractHttpConfigurer::disable )
             .cors( cors -> cors.configurationSource( corsConfigurationSource() ) )
             .authorizeHttpRequests(
-                auth -> auth.requestMatchers( securityConfigProps.getWhitelistedPaths().toArray( String[]::new ) )
+                auth -> auth.requestMatchers( HttpMethod.POST, RATES_PATH ).hasAuthority( RATE_WRITE_AUTHORITY )
+                    .requestMatchers( HttpMethod.PUT, RATE_PATH ).hasAuthority( RATE_WRITE_AUTHORITY )
+                    .requestMatchers( HttpMethod.DELETE, RATE_PATH ).hasAuthority( RATE_WRITE_AUTHORITY )
+                    .requestMatchers( securityConfigProps.getWhitelistedPaths().toArray( String[]::new ) )
                     .permitAll()
                     .anyRequest()
                     .authenticated() )
@@ -19,4 +19,6 @@ public class SecurityConfigProps
 {
     private List<String> allowedOrigins;
     private List<String> whitelistedPaths;
+    // subjects whose tokens may create, replace and delete rates
+    private List<String> rateWriters = List.of();
 }
@@ -1,13 +1,25 @@
 package com.mgm.inditex.infrastructure.security.jwt;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.Set;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.mgm.inditex.core.metrics.PriceLookupMetrics;
+import com.mgm.inditex.core.metrics.PriceLookupStage;
+import com.mgm.inditex.infrastructure.security.SecurityConfig;
+import com.mgm.inditex.infrastructure.security.SecurityConfigProps;
+
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -19,7 +31,19 @@ import lombok.RequiredArgsConstructor;
  * <p>
  * This filter extracts the JWT token from the {@code Authorization} header,
  * validates it, and populates the Spring Security {@link SecurityContextHolder}
- * with an authenticated {@link UsernamePasswordAuthenticationToken} if valid.
+ * with an authenticated {@link UsernamePasswordAuthenticationToken} if valid. Subjects listed in
+ * {@code app.security.rate-writers} are granted the {@value SecurityConfig#RATE_WRITE_AUTHORITY} authority;
+ * every other subject is granted none.
+ * </p>
+ * <p>
+ * When a {@link VerifiedTokenCache} is configured, tokens already verified are resolved from it instead of
+ * checking their signature again.
+ * </p>
+ * <p>
+ * When {@link PriceLookupMetrics} are configured, the resolution of the bearer token of a single price lookup is
+ * recorded as the authentication stage of the lookup, with the brand of the {@code brandId} parameter when the
+ * request has one. Tokens of other requests are not recorded, so the stage only describes the lookups it is
+ * published next to.
  * </p>
  *
  * @author Miguel Maquieira
@@ -28,8 +52,48 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter
 {
+    private static final RequestMatcher PRICE_LOOKUP = new AntPathRequestMatcher( "/inditex/api/v1/prices",
+        HttpMethod.GET.name() );
+
     private final JwtService jwtService;
 
+    private VerifiedTokenCache verifiedTokens;
+    private Set<String> rateWriters = Set.of();
+    private PriceLookupMetrics priceLookupMetrics = PriceLookupMetrics.NONE;
+
+    /**
+     * Resolves tokens through the given cache instead of verifying each of them.
+     *
+     * @param verifiedTokens the cache of verified tokens
+     */
+    @Autowired( required = false )
+    public void setVerifiedTokens( final VerifiedTokenCache verifiedTokens )
+    {
+        this.verifiedTokens = verifiedTokens;
+    }
+
+    /**
+     * Grants the rate write authority to the subjects listed in the security properties.
+     *
+     * @param securityConfigProps the security properties
+     */
+    @Autowired( required = false )
+    public void setSecurityConfigProps( final SecurityConfigProps securityConfigProps )
+    {
+        this.rateWriters = Set.copyOf( securityConfigProps.getRateWriters() );
+    }
+
+    /**
+     * Records how long resolving each token takes.
+     *
+     * @param priceLookupMetrics the recorder of the price lookup stages
+     */
+    @Autowired( required = false )
+    public void setPriceLookupMetrics( final PriceLookupMetrics priceLookupMetrics )
+    {
+        this.priceLookupMetrics = priceLookupMetrics;
+    }
+
     @Override
     protected void doFilterInternal( final HttpServletRequest request, final HttpServletResponse response,
         final FilterChain filterChain ) throws ServletException, IOException
@@ -41,24 +105,56 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter
         if ( authHeader != null && authHeader.startsWith( "Bearer " ) )
         {
             String token = authHeader.substring( 7 );
+            var recorded = PRICE_LOOKUP.matches( request );
+            var start = recorded ? System.nanoTime() : 0L;
             try
             {
-                username = jwtService.validateAndGetSubject( token );
+                username = verifiedTokens != null
+                    ? verifiedTokens.subjectOf( token )
+                    : jwtService.validateAndGetSubject( token );
             }
             catch ( Exception e )
             {
                 response.setStatus( HttpServletResponse.SC_UNAUTHORIZED );
                 return;
             }
+            finally
+            {
+                if ( recorded )
+                {
+                    priceLookupMetrics.recordStage( PriceLookupStage.AUTHENTICATION, brandIdOf( request ),
+                        System.nanoTime() - start );
+                }
+            }
         }
 
         if ( username != null && SecurityContextHolder.getContext().getAuthentication() == null )
         {
+            var authorities = rateWriters.contains( username )
+                ? List.of( new SimpleGrantedAuthority( SecurityConfig.RATE_WRITE_AUTHORITY ) )
+                : List.<SimpleGrantedAuthority>of();
             UsernamePasswordAuthenticationToken authentication =
-                new UsernamePasswordAuthenticationToken( username, null, null );
+                new UsernamePasswordAuthenticationToken( username, null, authorities );
             authentication.setDetails( new WebAuthenticationDetailsSource().buildDetails( request ) );
             SecurityContextHolder.getContext().setAuthentication( authentication );
         }
         filterChain.doFilter( request, response );
     }
+
+    private static Integer brandIdOf( final HttpServletRequest request )
+    {
+        var brandId = request.getParameter( "brandId" );
+        if ( brandId == null )
+        {
+            return null;
+        }
+        try
+        {
+            return Integer.valueOf( brandId );
+        }
+        catch ( NumberFormatException e )
+        {
+            return null;
+        }
+    }
 }
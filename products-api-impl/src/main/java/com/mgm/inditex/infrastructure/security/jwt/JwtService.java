@@ -1,11 +1,17 @@
 package com.mgm.inditex.infrastructure.security.jwt;
 
 import java.nio.charset.StandardCharsets;
+import java.time.Clock;
 import java.util.Date;
+import java.util.Optional;
 
+import javax.crypto.SecretKey;
+
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
@@ -17,6 +23,10 @@ import lombok.extern.slf4j.Slf4j;
  * Provides methods for issuing signed tokens and extracting the subject (e.g. username/email)
  * from an incoming token.
  * </p>
+ * <p>
+ * The signing key and the parser are built once and shared by every request; both are immutable and thread-safe.
+ * Issuing and validating read the time from the same {@link Clock}.
+ * </p>
  *
  * @author Miguel Maquieira
  */
@@ -24,16 +34,29 @@ import lombok.extern.slf4j.Slf4j;
 @Service
 public class JwtService
 {
-    private final byte[] keyBytes;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
     private final long expirationMs;
+    private final Clock clock;
 
+    @Autowired
     public JwtService(
         @Value( "${security.jwt.secret}" ) final String secret,
         @Value( "${security.jwt.expiration-ms:3600000}" ) final long expirationMs
     )
     {
-        this.keyBytes = secret.getBytes( StandardCharsets.UTF_8);
+        this( secret, expirationMs, Clock.systemUTC() );
+    }
+
+    public JwtService( final String secret, final long expirationMs, final Clock clock )
+    {
+        this.signingKey = Keys.hmacShaKeyFor( secret.getBytes( StandardCharsets.UTF_8 ) );
         this.expirationMs = expirationMs;
+        this.clock = clock;
+        this.parser = Jwts.parserBuilder()
+            .setSigningKey( signingKey )
+            .setClock( () -> new Date( clock.millis() ) )
+            .build();
     }
 
     /**
@@ -44,12 +67,12 @@ public class JwtService
      */
     public String generateToken( final String subject )
     {
-        long now = System.currentTimeMillis();
+        long now = clock.millis();
         return Jwts.builder()
             .setSubject( subject )
             .setIssuedAt( new Date( now ) )
             .setExpiration( new Date( now + expirationMs ) )
-            .signWith( Keys.hmacShaKeyFor( keyBytes ) )
+            .signWith( signingKey )
             .compact();
     }
 
@@ -60,19 +83,28 @@ public class JwtService
      * @return the subject (e.g. username/email) if valid, or {@code null} if invalid/expired
      */
     public String validateAndGetSubject( final String token )
+    {
+        return verify( token ).map( VerifiedToken::subject ).orElse( null );
+    }
+
+    /**
+     * Validates the token and returns its subject and expiry if valid.
+     *
+     * @param token the JWT string
+     * @return the verified subject and expiry, or empty if the token is invalid/expired
+     */
+    public Optional<VerifiedToken> verify( final String token )
     {
         try
         {
-            return Jwts.parserBuilder()
-                .setSigningKey( Keys.hmacShaKeyFor( keyBytes ) )
-                .build()
-                .parseClaimsJws( token )
-                .getBody()
-                .getSubject();
+            var claims = parser.parseClaimsJws( token ).getBody();
+            var expiration = claims.getExpiration();
+            return Optional.of( new VerifiedToken( claims.getSubject(),
+                expiration == null ? null : expiration.toInstant() ) );
         }
         catch (  Exception e )
         {
-            return null;
+            return Optional.empty();
         }
     }
 
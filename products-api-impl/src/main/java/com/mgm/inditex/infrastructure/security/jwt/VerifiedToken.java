@@ -0,0 +1,25 @@
+package com.mgm.inditex.infrastructure.security.jwt;
+
+import java.time.Instant;
+
+/**
+ * Subject and expiry of a JWT whose signature has been verified.
+ *
+ * @param subject the subject of the token (e.g. username/email)
+ * @param expiresAt the {@code exp} claim of the token, or {@code null} if it never expires
+ * @author Miguel Maquieira
+ */
+public record VerifiedToken( String subject, Instant expiresAt )
+{
+    /**
+     * Applies the same rule as the JWT parser, which rejects a token once the current time is after its
+     * {@code exp} claim.
+     *
+     * @param now the current time
+     * @return {@code true} if the token is no longer valid at {@code now}
+     */
+    public boolean isExpiredAt( final Instant now )
+    {
+        return expiresAt != null && now.isAfter( expiresAt );
+    }
+}
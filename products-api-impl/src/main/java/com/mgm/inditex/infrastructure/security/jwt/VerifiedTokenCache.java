@@ -0,0 +1,120 @@
+package com.mgm.inditex.infrastructure.security.jwt;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Objects;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+/**
+ * Cache of recently verified JWTs in front of {@link JwtService#verify(String)}.
+ * <p>
+ * A client presents the same bearer token on every request until it expires, so its signature only has to be
+ * checked once. Entries are keyed by the SHA-256 digest of the token, so the cache neither holds the bearer
+ * credentials themselves nor keys of arbitrary size, and they keep the subject until the token's own expiry.
+ * A cached token is checked against its {@code exp} claim on every hit with the same rule and {@link Clock} as
+ * {@link JwtService}, so it is rejected at exactly the same instant as without the cache. Invalid tokens are not
+ * cached, so forged tokens cannot fill the cache.
+ * </p>
+ * <p>
+ * The bound of the {@link Cache} handed in belongs to its configuration (see {@code TokenCacheConfig}); it must
+ * expire entries with {@link #untilTokenExpiry(Clock)} so expired tokens release their memory.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+public class VerifiedTokenCache
+{
+    private final Cache<ByteBuffer, VerifiedToken> tokens;
+    private final JwtService jwtService;
+    private final Clock clock;
+
+    public VerifiedTokenCache( final Cache<ByteBuffer, VerifiedToken> tokens, final JwtService jwtService,
+        final Clock clock )
+    {
+        this.tokens = Objects.requireNonNull( tokens, "tokens" );
+        this.jwtService = Objects.requireNonNull( jwtService, "jwtService" );
+        this.clock = Objects.requireNonNull( clock, "clock" );
+    }
+
+    /**
+     * Returns the subject of a valid token, verifying its signature only if it is not cached.
+     *
+     * @param token the JWT string
+     * @return the subject (e.g. username/email) if valid, or {@code null} if invalid/expired
+     */
+    public String subjectOf( final String token )
+    {
+        var digest = digest( token );
+        var cached = tokens.getIfPresent( digest );
+        if ( cached != null )
+        {
+            if ( !cached.isExpiredAt( clock.instant() ) )
+            {
+                return cached.subject();
+            }
+            tokens.invalidate( digest );
+            return null;
+        }
+
+        var verified = jwtService.verify( token );
+        verified.filter( result -> result.subject() != null ).ifPresent( result -> tokens.put( digest, result ) );
+        return verified.map( VerifiedToken::subject ).orElse( null );
+    }
+
+    /**
+     * Expires each entry when its token expires; tokens without an {@code exp} claim are only evicted by size.
+     *
+     * @param clock the clock the tokens are validated with
+     * @return the expiry policy of the cache handed to the constructor
+     */
+    public static Expiry<ByteBuffer, VerifiedToken> untilTokenExpiry( final Clock clock )
+    {
+        return new Expiry<>()
+        {
+            @Override
+            public long expireAfterCreate( final ByteBuffer key, final VerifiedToken token, final long currentTime )
+            {
+                if ( token.expiresAt() == null )
+                {
+                    return Long.MAX_VALUE;
+                }
+                // the token is still valid during the millisecond of its expiry
+                var remaining = Duration.between( clock.instant(), token.expiresAt() ).plusMillis( 1 );
+                return remaining.isNegative() ? 0 : remaining.toNanos();
+            }
+
+            @Override
+            public long expireAfterUpdate( final ByteBuffer key, final VerifiedToken token, final long currentTime,
+                final long currentDuration )
+            {
+                return expireAfterCreate( key, token, currentTime );
+            }
+
+            @Override
+            public long expireAfterRead( final ByteBuffer key, final VerifiedToken token, final long currentTime,
+                final long currentDuration )
+            {
+                return currentDuration;
+            }
+        };
+    }
+
+    private static ByteBuffer digest( final String token )
+    {
+        try
+        {
+            return ByteBuffer.wrap( MessageDigest.getInstance( "SHA-256" )
+                .digest( token.getBytes( StandardCharsets.UTF_8 ) ) );
+        }
+        catch ( NoSuchAlgorithmException e )
+        {
+            throw new IllegalStateException( "SHA-256 is not available", e );
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.mgm.inditex.infrastructure.shard;
+
+import java.net.http.HttpClient;
+import java.time.Clock;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.util.StringUtils;
+import org.springframework.web.client.RestClient;
+
+import com.mgm.inditex.adapter.inbound.web.controller.rate.RateController;
+import com.mgm.inditex.adapter.inbound.web.controller.rate.ShardRoutingPriceDelegate;
+import com.mgm.inditex.adapter.inbound.web.controller.rate.ShardRoutingPriceDelegate.Outcome;
+import com.mgm.inditex.adapter.inbound.web.controller.rate.mapper.RateWebMapper;
+import com.mgm.inditex.adapter.outbound.persistence.jdbc.ShardMemberJdbcAdapter;
+import com.mgm.inditex.adapter.outbound.persistence.shard.ShardedRateRepositoryAdapter;
+import com.mgm.inditex.core.port.outbound.ShardMembershipPort;
+import com.mgm.inditex.core.shard.BrandShardCoordinator;
+import com.mgm.inditex.core.validation.RateValidator;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Spring configuration for a brand-sharded deployment.
+ * <p>
+ * Enabled with {@code app.persistence.rate-repository=sharded}. The instances share the database and find each
+ * other through the heartbeats they write to {@code shard_members} every {@code app.sharding.heartbeat-interval};
+ * a member whose last heartbeat is older than {@code app.sharding.member-ttl} leaves the ring. Each change of
+ * members rebalances the brands: the {@link ShardedRateRepositoryAdapter} loads the ones this instance now owns
+ * before the {@link ShardRoutingPriceDelegate} starts routing their lookups here.
+ * </p>
+ * <p>
+ * Routing is published as the {@code shard.requests} counter tagged with its {@code outcome} ({@code local},
+ * {@code forwarded} or {@code fallback}), and the ring as the {@code shard.members} and
+ * {@code shard.brands.loaded} gauges.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+@Configuration
+@ConditionalOnProperty( prefix = "app.persistence", name = "rate-repository", havingValue = "sharded" )
+public class ShardingConfig
+{
+    @Bean
+    ShardMembershipPort shardMembershipPort( final DataSource dataSource )
+    {
+        return new ShardMemberJdbcAdapter( new NamedParameterJdbcTemplate( dataSource ) );
+    }
+
+    @Bean( destroyMethod = "leave" )
+    BrandShardCoordinator brandShardCoordinator( final ShardMembershipPort membership,
+        final ShardedRateRepositoryAdapter repository, final ShardingConfigProps props,
+        final MeterRegistry meterRegistry )
+    {
+        if ( !StringUtils.hasText( props.getAdvertisedUrl() ) )
+        {
+            throw new IllegalStateException( "app.sharding.advertised-url is required by the sharded repository" );
+        }
+        var self = props.getAdvertisedUrl();
+        var coordinator = new BrandShardCoordinator( self, membership, props.getVirtualNodes(),
+            props.getMemberTtl(), Clock.systemUTC() );
+        coordinator.onRebalance( ring -> repository.rebalance( brandId -> ring.owns( self, brandId ) ) );
+
+        Gauge.builder( "shard.members", coordinator, c -> c.ring().members().size() )
+            .description( "Members of the shard ring" )
+            .register( meterRegistry );
+        Gauge.builder( "shard.brands.loaded", repository, r -> r.servedBrands().size() )
+            .description( "Brands held in memory by this instance" )
+            .register( meterRegistry );
+
+        // the owned brands are loaded before the application takes traffic
+        coordinator.refresh();
+        return coordinator;
+    }
+
+    @Bean( destroyMethod = "shutdown" )
+    TaskScheduler shardHeartbeatScheduler( final BrandShardCoordinator coordinator,
+        final ShardingConfigProps props )
+    {
+        var scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setThreadNamePrefix( "shard-heartbeat-" );
+        scheduler.initialize();
+        scheduler.scheduleWithFixedDelay( coordinator::refresh, scheduler.getClock().instant()
+            .plus( props.getHeartbeatInterval() ), props.getHeartbeatInterval() );
+        return scheduler;
+    }
+
+    @Bean( destroyMethod = "close" )
+    ExecutorService shardForwarders()
+    {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @Bean
+    @Primary
+    ShardRoutingPriceDelegate shardRoutingPriceDelegate( final RateController rateController,
+        final BrandShardCoordinator coordinator, final ExecutorService shardForwarders,
+        final RateValidator rateValidator, final RateWebMapper rateWebMapper, final ShardingConfigProps props,
+        final MeterRegistry meterRegistry )
+    {
+        var requestFactory = new JdkClientHttpRequestFactory( HttpClient.newBuilder()
+            .connectTimeout( props.getForwardTimeout() )
+            .executor( shardForwarders )
+            .build() );
+        requestFactory.setReadTimeout( props.getForwardTimeout() );
+        var client = RestClient.builder().requestFactory( requestFactory ).build();
+
+        var counters = new EnumMap<Outcome, Counter>( Outcome.class );
+        for ( var outcome : Outcome.values() )
+        {
+            counters.put( outcome, Counter.builder( "shard.requests" )
+                .description( "Price requests and sub-batches by how the shard routing answered them" )
+                .tag( "outcome", outcome.name().toLowerCase( Locale.ROOT ) )
+                .register( meterRegistry ) );
+        }
+        return new ShardRoutingPriceDelegate( rateController, coordinator, client, shardForwarders, rateValidator,
+            rateWebMapper, outcome -> counters.get( outcome ).increment() );
+    }
+}
@@ -0,0 +1,46 @@
+package com.mgm.inditex.infrastructure.shard;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * Sharding config bean.
+ *
+ * @author Miguel Maquieira
+ */
+@Component
+@ConfigurationProperties( prefix = "app.sharding" )
+@Data
+public class ShardingConfigProps
+{
+    /**
+     * Base URL the other instances reach this one at, such as {@code http://localhost:8081}; it also identifies
+     * this instance in the ring, so it must be unique and the same across restarts.
+     */
+    private String advertisedUrl;
+
+    /**
+     * Points of each member on the hash ring; more points spread the brands more evenly.
+     */
+    private int virtualNodes = 128;
+
+    /**
+     * Delay between heartbeats, which is also how often membership changes are looked for.
+     */
+    private Duration heartbeatInterval = Duration.ofSeconds( 2 );
+
+    /**
+     * How long a member is kept in the ring after its last heartbeat.
+     */
+    private Duration memberTtl = Duration.ofSeconds( 10 );
+
+    /**
+     * Connect and read timeout of requests forwarded to the owner of a brand, after which they are answered
+     * locally.
+     */
+    private Duration forwardTimeout = Duration.ofSeconds( 2 );
+}
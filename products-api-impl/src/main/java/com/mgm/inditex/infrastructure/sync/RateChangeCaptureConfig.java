@@ -0,0 +1,115 @@
+package com.mgm.inditex.infrastructure.sync;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import com.mgm.inditex.adapter.outbound.persistence.jdbc.RateChangeJdbcAdapter;
+import com.mgm.inditex.adapter.outbound.persistence.jdbc.RateJdbcRepositoryAdapter;
+import com.mgm.inditex.adapter.outbound.persistence.memory.RateInMemoryRepositoryAdapter;
+import com.mgm.inditex.adapter.outbound.persistence.shard.ShardedRateRepositoryAdapter;
+import com.mgm.inditex.core.filter.RefreshableRateKeyFilter;
+import com.mgm.inditex.core.port.outbound.RateChangeFeedPort;
+import com.mgm.inditex.core.sync.RateChangeSynchronizer;
+import com.mgm.inditex.core.usecase.CachingRateUseCase;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Spring configuration for the capture of rate changes from the {@code rate_changes} log.
+ * <p>
+ * Enabled with {@code app.change-capture.enabled}. Every {@code app.change-capture.interval} the keys changed
+ * since the last sync are reloaded from the database and applied, in this order, to the in-memory rate store
+ * (with the {@code memory}, {@code columnar} and {@code snapshot} repositories, or to the brands this instance
+ * holds with the {@code sharded} one), to the rate key filter and to the rate timeline cache, whichever of them
+ * are enabled. Freshness is published as the
+ * {@code rate.change.capture.lag} timer, from the change to its application, and the
+ * {@code rate.change.capture.staleness} gauge, the seconds since the log was last read successfully.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+@Configuration
+@ConditionalOnProperty( prefix = "app.change-capture", name = "enabled", havingValue = "true" )
+public class RateChangeCaptureConfig
+{
+    @Bean
+    RateChangeFeedPort rateChangeFeedPort( final DataSource dataSource )
+    {
+        return new RateChangeJdbcAdapter( new NamedParameterJdbcTemplate( dataSource ) );
+    }
+
+    @Bean
+    RateChangeSynchronizer rateChangeSynchronizer( final RateChangeFeedPort feed, final DataSource dataSource,
+        final RateChangeCaptureConfigProps props, final MeterRegistry meterRegistry,
+        final ObjectProvider<RateInMemoryRepositoryAdapter> store,
+        final ObjectProvider<ShardedRateRepositoryAdapter> shardedStore,
+        final ObjectProvider<RefreshableRateKeyFilter> rateKeyFilter,
+        final ObjectProvider<CachingRateUseCase> cachingRateUseCase )
+    {
+        var clock = Clock.systemUTC();
+        // the keys are reloaded from the database whatever repository serves the lookups
+        var source = new RateJdbcRepositoryAdapter( new NamedParameterJdbcTemplate( dataSource ) );
+        var synchronizer = new RateChangeSynchronizer( feed, source, props.getBatchSize(),
+            props.getReplayMargin(), clock );
+
+        store.ifAvailable( synchronizer::addListener );
+        shardedStore.ifAvailable( synchronizer::addListener );
+        rateKeyFilter.ifAvailable( filter -> synchronizer.addListener( changes -> filter.add(
+            changes.entrySet().stream().filter( change -> !change.getValue().isEmpty() )
+                .map( Map.Entry::getKey ).toList() ) ) );
+        cachingRateUseCase.ifAvailable( cache -> synchronizer.addListener( changes ->
+            cache.invalidate( changes.keySet() ) ) );
+
+        var lag = Timer.builder( "rate.change.capture.lag" )
+            .description( "Time from a rate change to its application to the in-memory views" )
+            .publishPercentileHistogram()
+            .register( meterRegistry );
+        synchronizer.onLag( lag::record );
+        Gauge.builder( "rate.change.capture.staleness", synchronizer,
+                s -> Duration.between( s.lastSyncAt(), clock.instant() ).toMillis() / 1000.0 )
+            .baseUnit( "seconds" )
+            .description( "Time since the rate change log was last read successfully" )
+            .register( meterRegistry );
+        Gauge.builder( "rate.change.capture.version", synchronizer, RateChangeSynchronizer::version )
+            .description( "Last applied version of the rate change log" )
+            .register( meterRegistry );
+
+        // changes committed while the store loaded may be missing from it, so they are replayed
+        var loaded = store.getIfAvailable();
+        var sharded = shardedStore.getIfAvailable();
+        var loadedAt = loaded != null && loaded.loadedAt() != null ? loaded.loadedAt()
+            : sharded != null && sharded.loadedAt() != null ? sharded.loadedAt() : clock.instant();
+        synchronizer.start( loadedAt.minus( props.getReplayMargin() ) );
+        return synchronizer;
+    }
+
+    @Bean( destroyMethod = "shutdown" )
+    TaskScheduler rateChangeCaptureScheduler( final RateChangeSynchronizer synchronizer,
+        final RateChangeCaptureConfigProps props, final MeterRegistry meterRegistry )
+    {
+        var applied = Counter.builder( "rate.change.capture.keys" )
+            .description( "Changed brand/product/currency keys applied to the in-memory views" )
+            .register( meterRegistry );
+
+        var scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setThreadNamePrefix( "rate-change-capture-" );
+        scheduler.initialize();
+        scheduler.scheduleWithFixedDelay( () -> applied.increment( synchronizer.sync() ), scheduler.getClock()
+            .instant().plus( props.getInterval() ), props.getInterval() );
+        return scheduler;
+    }
+}
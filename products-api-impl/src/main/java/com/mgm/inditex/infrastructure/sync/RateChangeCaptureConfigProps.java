@@ -0,0 +1,42 @@
+package com.mgm.inditex.infrastructure.sync;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * Rate change capture config bean.
+ *
+ * @author Miguel Maquieira
+ */
+@Component
+@ConfigurationProperties( prefix = "app.change-capture" )
+@Data
+public class RateChangeCaptureConfigProps
+{
+    /**
+     * Whether in-memory stores, the rate key filter and the rate timeline cache follow the rate change log.
+     */
+    private boolean enabled;
+
+    /**
+     * Delay between the end of a sync and the start of the next one.
+     */
+    private Duration interval = Duration.ofSeconds( 1 );
+
+    /**
+     * Changes read per round trip, which is also the most keys reloaded per query.
+     */
+    private int batchSize = 500;
+
+    /**
+     * How far before the load of the in-memory store changes are replayed on startup; it must cover the clock skew
+     * with the database and, for the {@code snapshot} repository, the age of the snapshot file. It is also how long
+     * a version skipped by the change log, as written by a transaction that was still open, is awaited, so it must
+     * cover the longest write transaction too.
+     */
+    private Duration replayMargin = Duration.ofMinutes( 1 );
+}
@@ -0,0 +1,10 @@
+-- Change log of the rates table: every write appends the brand/product/currency keys it touched, in the same
+-- transaction, so in-process views can reload only those keys (see RateChangeSynchronizer)
+CREATE TABLE rate_changes
+(
+    version    BIGINT AUTO_INCREMENT PRIMARY KEY,
+    brand_id   INT                      NOT NULL,
+    product_id BIGINT                   NOT NULL,
+    currency   VARCHAR(3)               NOT NULL,
+    changed_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP NOT NULL
+);
@@ -0,0 +1,7 @@
+-- Registry of the instances of a sharded deployment: each one refreshes its heartbeat periodically and the live
+-- members are those with a recent one (see BrandShardCoordinator)
+CREATE TABLE shard_members
+(
+    member_id    VARCHAR(255)             NOT NULL PRIMARY KEY,
+    heartbeat_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
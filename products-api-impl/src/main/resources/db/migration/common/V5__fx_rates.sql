@@ -0,0 +1,10 @@
+-- Exchange rates used to serve prices in currencies without rates of their own: one unit of base_currency is
+-- worth rate units of quote_currency (see CurrencyConverter)
+CREATE TABLE fx_rates
+(
+    base_currency  VARCHAR(3)     NOT NULL,
+    quote_currency VARCHAR(3)     NOT NULL,
+    rate           DECIMAL(18, 8) NOT NULL,
+    CONSTRAINT pk_fx_rates PRIMARY KEY (base_currency, quote_currency),
+    CONSTRAINT chk_fx_rate CHECK (rate > 0)
+);
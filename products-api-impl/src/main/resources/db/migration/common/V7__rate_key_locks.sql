@@ -0,0 +1,10 @@
+-- One row per brand/product/currency key that has been written: writers upsert the row of their key in the write
+-- transaction and keep it locked until commit, so the conflict check and the write of a key never interleave
+-- with another writer of the same key, whichever instance it runs on (see RateKeyLocks)
+CREATE TABLE rate_key_locks
+(
+    brand_id   INT        NOT NULL,
+    product_id BIGINT     NOT NULL,
+    currency   VARCHAR(3) NOT NULL,
+    PRIMARY KEY (brand_id, product_id, currency)
+);
@@ -0,0 +1,5 @@
+-- Rate boundaries are whole seconds: the columnar stores and snapshot files keep them as epoch seconds, and the
+-- API, the validator and the bulk importer already refuse anything finer
+ALTER TABLE rates
+    ADD CONSTRAINT chk_whole_second_dates CHECK (start_date = DATE_TRUNC(SECOND, start_date)
+        AND end_date = DATE_TRUNC(SECOND, end_date));
@@ -0,0 +1,6 @@
+-- Exchange rates from EUR, the currency of every rate of the dev dataset
+INSERT INTO fx_rates (base_currency, quote_currency, rate)
+VALUES ('EUR', 'USD', 1.08500000),
+       ('EUR', 'GBP', 0.85500000),
+       ('EUR', 'CHF', 0.96500000),
+       ('EUR', 'JPY', 162.50000000);
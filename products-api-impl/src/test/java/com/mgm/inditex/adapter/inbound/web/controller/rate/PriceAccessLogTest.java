@@ -0,0 +1,97 @@
+package com.mgm.inditex.adapter.inbound.web.controller.rate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.slf4j.Logger;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.mgm.inditex.core.metrics.PriceLookupOutcome;
+
+// CSOFF: Javadoc
+class PriceAccessLogTest
+{
+    private static final Instant NOW = Instant.parse( "2020-06-14T10:00:00Z" );
+
+    private Logger logger;
+    private PriceAccessLog cut;
+
+    @BeforeEach
+    void setUp()
+    {
+        logger = mock( Logger.class );
+        cut = new PriceAccessLog( 2, Clock.fixed( NOW, ZoneOffset.UTC ), logger );
+    }
+
+    @Test
+    void flushShouldWriteOneJsonLinePerBrandAndStatusInASingleEvent()
+    {
+        // given
+        cut.record( PriceLookupOutcome.FOUND, 1, 1_000_000L );
+        cut.record( PriceLookupOutcome.FOUND, 1, 3_000_000L );
+        cut.record( PriceLookupOutcome.NOT_FOUND, 1, 500_000L );
+
+        // when
+        var written = cut.flush();
+
+        // then
+        var lines = ArgumentCaptor.forClass( Object.class );
+        verify( logger ).info( eq( "{}" ), lines.capture() );
+        assertEquals( 2, written );
+        var text = lines.getValue().toString();
+        assertEquals( 2, text.lines().count() );
+        assertTrue( text.contains( "{\"from\":\"2020-06-14T10:00:00Z\",\"to\":\"2020-06-14T10:00:00Z\"," +
+            "\"brandId\":1,\"status\":200,\"requests\":2,\"meanMicros\":2000,\"maxMicros\":3000}" ), text );
+        assertTrue( text.contains( "\"brandId\":1,\"status\":404,\"requests\":1,\"meanMicros\":500," +
+            "\"maxMicros\":500}" ), text );
+    }
+
+    @Test
+    void flushShouldStartANewWindow()
+    {
+        // given
+        cut.record( PriceLookupOutcome.FOUND, 1, 1_000L );
+        cut.flush();
+
+        // when
+        var written = cut.flush();
+
+        // then
+        assertEquals( 0, written );
+        verify( logger ).info( eq( "{}" ), any( Object.class ) );
+    }
+
+    @Test
+    void recordWhenKeysAreExhaustedShouldFoldBrandsIntoNull()
+    {
+        // given
+        cut.record( PriceLookupOutcome.FOUND, 1, 1_000L );
+        cut.record( PriceLookupOutcome.FOUND, 2, 1_000L );
+
+        // when
+        cut.record( PriceLookupOutcome.FOUND, 3, 1_000L );
+        cut.record( PriceLookupOutcome.FOUND, 4, 1_000L );
+
+        // then
+        var lines = ArgumentCaptor.forClass( Object.class );
+        assertEquals( 3, cut.flush() );
+        verify( logger ).info( eq( "{}" ), lines.capture() );
+        assertTrue( lines.getValue().toString().contains( "\"brandId\":null,\"status\":200,\"requests\":2" ) );
+    }
+
+    @Test
+    void flushWhenNothingRecordedShouldWriteNothing()
+    {
+        assertEquals( 0, cut.flush() );
+        verify( logger, never() ).info( any( String.class ), any( Object.class ) );
+    }
+}
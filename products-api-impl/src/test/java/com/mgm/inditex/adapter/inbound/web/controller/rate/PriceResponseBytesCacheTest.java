@@ -0,0 +1,130 @@
+package com.mgm.inditex.adapter.inbound.web.controller.rate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static com.mgm.inditex.fixtures.RateFixture.rate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mgm.inditex.adapter.inbound.web.controller.rate.mapper.RateWebMapper;
+import com.mgm.inditex.controller.model.PriceResponse;
+import com.mgm.inditex.fixtures.RateFixture;
+
+// CSOFF: Javadoc
+@ExtendWith( MockitoExtension.class )
+class PriceResponseBytesCacheTest
+{
+    private static final LocalDateTime DATE = LocalDateTime.of( 2020, 6, 14, 10, 0 );
+    private static final RateFixture RATE = rate().valid( DATE.minusDays( 5 ), DATE.plusDays( 5 ) );
+
+    private final ObjectWriter priceWriter = new ObjectMapper().registerModule( new JavaTimeModule() )
+        .writerFor( PriceResponse.class );
+
+    @Spy
+    private RateWebMapper rateWebMapper = Mappers.getMapper( RateWebMapper.class );
+
+    private PriceResponseBytesCache cut;
+
+    @BeforeEach
+    void setUp()
+    {
+        cut = new PriceResponseBytesCache( Caffeine.newBuilder().executor( Runnable::run ).build(), rateWebMapper,
+            priceWriter );
+    }
+
+    @Test
+    void bodyOfShouldSerializeEachRateOnce() throws Exception
+    {
+        // given
+        var rate = RATE.price( "35.5000" ).toRate();
+
+        // when
+        var first = cut.bodyOf( rate );
+        var second = cut.bodyOf( RATE.price( "35.5000" ).toRate() );
+
+        // then
+        verify( rateWebMapper, times( 1 ) ).domainToApi( rate );
+        assertSame( first, second );
+        assertArrayEquals( priceWriter.writeValueAsBytes( Mappers.getMapper( RateWebMapper.class )
+            .domainToApi( rate ) ), first );
+    }
+
+    @Test
+    void bodyOfWhenRateChangesShouldSerializeNewBody()
+    {
+        // when
+        var before = cut.bodyOf( RATE.price( "35.5000" ).toRate() );
+        var after = cut.bodyOf( RATE.price( "30.5000" ).toRate() );
+
+        // then
+        assertNotEquals( new String( before, StandardCharsets.UTF_8 ), new String( after, StandardCharsets.UTF_8 ) );
+        assertTrue( new String( after, StandardCharsets.UTF_8 ).contains( "\"price\":30.50" ) );
+    }
+
+    @Test
+    void invalidateAllShouldSerializeAgain()
+    {
+        // given
+        var rate = RATE.price( "35.5000" ).toRate();
+        var first = cut.bodyOf( rate );
+
+        // when
+        cut.invalidateAll();
+        var second = cut.bodyOf( rate );
+
+        // then
+        assertArrayEquals( first, second );
+        assertNotSame( first, second );
+    }
+
+    @Test
+    void responseOfShouldCarryMappedFieldsAndSerializedBody() throws Exception
+    {
+        // given
+        var rate = RATE.price( "35.5000" ).toRate();
+        var mapped = Mappers.getMapper( RateWebMapper.class ).domainToApi( rate );
+
+        // when
+        var response = cut.responseOf( rate );
+
+        // then
+        assertSame( response, cut.responseOf( rate ) );
+        assertEquals( mapped.getPrice(), response.getPrice() );
+        assertEquals( mapped.getStartDate(), response.getStartDate() );
+        assertArrayEquals( priceWriter.writeValueAsBytes( mapped ), response.body() );
+    }
+
+    @Test
+    void converterShouldWriteCachedBodyAsJson() throws Exception
+    {
+        // given
+        var converter = new CachedPriceResponseConverter();
+        var response = cut.responseOf( RATE.price( "35.5000" ).toRate() );
+        var output = new MockHttpOutputMessage();
+
+        // when
+        converter.write( response, MediaType.APPLICATION_JSON, output );
+
+        // then
+        assertTrue( converter.canWrite( CachedPriceResponse.class, MediaType.APPLICATION_JSON ) );
+        assertFalse( converter.canWrite( PriceResponse.class, MediaType.APPLICATION_JSON ) );
+        assertFalse( converter.canRead( CachedPriceResponse.class, MediaType.APPLICATION_JSON ) );
+        assertEquals( MediaType.APPLICATION_JSON, output.getHeaders().getContentType() );
+        assertEquals( response.body().length, output.getHeaders().getContentLength() );
+        assertArrayEquals( response.body(), output.getBodyAsBytes() );
+    }
+}
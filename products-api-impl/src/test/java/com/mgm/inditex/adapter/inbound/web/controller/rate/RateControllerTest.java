@@ -5,6 +5,7 @@ import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 import org.junit.jupiter.api.Test;
@@ -16,6 +17,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -23,10 +25,19 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.mgm.inditex.adapter.inbound.web.controller.rate.mapper.RateWebMapper;
+import com.mgm.inditex.controller.model.PriceBatchItem;
+import com.mgm.inditex.controller.model.PriceBatchRequest;
+import com.mgm.inditex.controller.model.PriceQuery;
 import com.mgm.inditex.controller.model.PriceResponse;
+import com.mgm.inditex.controller.model.PriceSegment;
 import com.mgm.inditex.core.domain.Rate;
+import com.mgm.inditex.core.domain.RateQuery;
+import com.mgm.inditex.core.metrics.PriceLookupMetrics;
+import com.mgm.inditex.core.metrics.PriceLookupOutcome;
+import com.mgm.inditex.core.metrics.PriceLookupStage;
+import com.mgm.inditex.core.port.inbound.RateUserCasePort;
+import com.mgm.inditex.core.timeline.RateSegment;
 import com.mgm.inditex.core.validation.ApiValidationException;
-import com.mgm.inditex.core.usecase.RateUseCase;
 
 // CSOFF: Javadoc
 @ExtendWith( MockitoExtension.class)
@@ -41,7 +52,7 @@ class RateControllerTest
     private static final Short PRIORITY = 1;
 
     @Mock
-    private RateUseCase rateUsecase; // Mock the service port (RateService is the implementation)
+    private RateUserCasePort rateUsecase; // Mock the service port (RateUseCase is the implementation)
 
     @Mock
     private RateWebMapper rateWebMapper;
@@ -79,6 +90,27 @@ class RateControllerTest
         verify( rateWebMapper, times( 1 ) ).domainToApi( eq( rate ) );
     }
 
+    @Test
+    void getPriceWhenBytesCacheConfiguredShouldReturnCachedResponseWithoutMapping()
+    {
+        // Arrange
+        var rate = buildRate();
+        var cached = new CachedPriceResponse( buildPriceResponse(), new byte[] { '{', '}' } );
+        var priceResponseBytes = Mockito.mock( PriceResponseBytesCache.class );
+        rateController.setPriceResponseBytes( priceResponseBytes );
+        when( rateUsecase.getPrice( BRAND_ID, PRODUCT_ID, CURRENCY, SERVICE_DATE_TIME ) )
+            .thenReturn( Optional.of( rate ) );
+        when( priceResponseBytes.responseOf( rate ) ).thenReturn( cached );
+
+        // Act
+        var response = rateController.getPrice( BRAND_ID, PRODUCT_ID, REQUEST_DATE_TIME, CURRENCY );
+
+        // Assert
+        assertEquals( HttpStatus.OK, response.getStatusCode() );
+        assertSame( cached, response.getBody() );
+        verify( rateWebMapper, never() ).domainToApi( any( Rate.class ) );
+    }
+
     @Test
     void getPrice_henPriceNotFoundShouldReturnNotFound()
     {
@@ -129,6 +161,112 @@ class RateControllerTest
         verify( rateWebMapper, never() ).domainToApi( any( Rate.class ) );
     }
 
+    @Test
+    void getPriceWhenMetricsConfiguredShouldRecordControllerStageAndOutcome()
+    {
+        // Arrange
+        var metrics = Mockito.mock( PriceLookupMetrics.class );
+        rateController.setPriceLookupMetrics( metrics );
+        when( rateUsecase.getPrice( eq( BRAND_ID ), eq( PRODUCT_ID ), eq( CURRENCY ), eq( SERVICE_DATE_TIME ) ) )
+            .thenReturn( Optional.empty() );
+
+        // Act
+        rateController.getPrice( BRAND_ID, PRODUCT_ID, REQUEST_DATE_TIME, CURRENCY );
+
+        // Assert
+        verify( metrics ).recordStage( eq( PriceLookupStage.CONTROLLER ), eq( BRAND_ID ), anyLong() );
+        verify( metrics ).recordOutcome( PriceLookupOutcome.NOT_FOUND, BRAND_ID );
+    }
+
+    @Test
+    void getPriceWhenRequestIsInvalidShouldRecordInvalidOutcome()
+    {
+        // Arrange
+        var metrics = Mockito.mock( PriceLookupMetrics.class );
+        rateController.setPriceLookupMetrics( metrics );
+        Mockito.doThrow( new ApiValidationException( Collections.emptyList() ) )
+            .when( rateUsecase )
+            .getPrice( eq( BRAND_ID ), eq( PRODUCT_ID ), eq( CURRENCY ), eq( SERVICE_DATE_TIME ) );
+
+        // Act
+        assertThrows( ApiValidationException.class,
+            () -> rateController.getPrice( BRAND_ID, PRODUCT_ID, REQUEST_DATE_TIME, CURRENCY ) );
+
+        // Assert
+        verify( metrics ).recordStage( eq( PriceLookupStage.CONTROLLER ), eq( BRAND_ID ), anyLong() );
+        verify( metrics ).recordOutcome( PriceLookupOutcome.INVALID, BRAND_ID );
+        verify( metrics, never() ).recordOutcome( PriceLookupOutcome.NOT_FOUND, BRAND_ID );
+    }
+
+    @Test
+    void getPriceWhenAccessLogConfiguredShouldRecordOutcome()
+    {
+        // Arrange
+        var accessLog = Mockito.mock( PriceAccessLog.class );
+        rateController.setPriceAccessLog( accessLog );
+        when( rateUsecase.getPrice( eq( BRAND_ID ), eq( PRODUCT_ID ), eq( CURRENCY ), eq( SERVICE_DATE_TIME ) ) )
+            .thenReturn( Optional.empty() );
+
+        // Act
+        rateController.getPrice( BRAND_ID, PRODUCT_ID, REQUEST_DATE_TIME, CURRENCY );
+
+        // Assert
+        verify( accessLog ).record( eq( PriceLookupOutcome.NOT_FOUND ), eq( BRAND_ID ), anyLong() );
+    }
+
+    @Test
+    void getPricesBatchShouldReturnOneItemPerQueryInRequestOrder()
+    {
+        // Arrange
+        var rate = buildRate();
+        var priceResponse = buildPriceResponse();
+        var found = new PriceQuery( BRAND_ID, PRODUCT_ID, REQUEST_DATE_TIME );
+        var missing = new PriceQuery( BRAND_ID, PRODUCT_ID + 1, REQUEST_DATE_TIME );
+        var foundQuery = new RateQuery( BRAND_ID, PRODUCT_ID, CURRENCY, SERVICE_DATE_TIME );
+        var missingQuery = new RateQuery( BRAND_ID, PRODUCT_ID + 1, CURRENCY, SERVICE_DATE_TIME );
+        when( rateWebMapper.apiToDomain( missing ) ).thenReturn( missingQuery );
+        when( rateWebMapper.apiToDomain( found ) ).thenReturn( foundQuery );
+        when( rateUsecase.getPrices( List.of( missingQuery, foundQuery ) ) )
+            .thenReturn( List.of( Optional.empty(), Optional.of( rate ) ) );
+        when( rateWebMapper.domainToApi( eq( rate ) ) ).thenReturn( priceResponse );
+
+        // Act
+        var response = rateController.getPricesBatch( new PriceBatchRequest( List.of( missing, found ) ) );
+
+        // Assert
+        assertEquals( HttpStatus.OK, response.getStatusCode() );
+        assertNotNull( response.getBody() );
+        assertEquals( List.of(
+                new PriceBatchItem( PriceBatchItem.StatusEnum.NOT_FOUND ),
+                new PriceBatchItem( PriceBatchItem.StatusEnum.FOUND ).price( priceResponse ) ),
+            response.getBody().getItems() );
+        verify( rateUsecase, times( 1 ) ).getPrices( any() );
+    }
+
+    @Test
+    void getPriceTimelineShouldReturnMappedSegments()
+    {
+        // Arrange
+        var rate = buildRate();
+        var segment = new RateSegment( SERVICE_DATE_TIME, SERVICE_DATE_TIME.plusDays( 1 ), rate );
+        var priceSegment = new PriceSegment().priceList( PRICE_LIST_ID );
+        when( rateUsecase.getPriceSegments( BRAND_ID, PRODUCT_ID, CURRENCY, SERVICE_DATE_TIME,
+            SERVICE_DATE_TIME.plusDays( 1 ) ) ).thenReturn( List.of( segment ) );
+        when( rateWebMapper.segmentToApi( segment ) ).thenReturn( priceSegment );
+
+        // Act
+        var response = rateController.getPriceTimeline( BRAND_ID, PRODUCT_ID, REQUEST_DATE_TIME,
+            REQUEST_DATE_TIME.plusDays( 1 ), CURRENCY );
+
+        // Assert
+        assertEquals( HttpStatus.OK, response.getStatusCode() );
+        assertNotNull( response.getBody() );
+        assertEquals( BRAND_ID, response.getBody().getBrandId() );
+        assertEquals( PRODUCT_ID, response.getBody().getProductId() );
+        assertEquals( CURRENCY, response.getBody().getCurrency() );
+        assertEquals( List.of( priceSegment ), response.getBody().getSegments() );
+    }
+
     private Rate buildRate()
     {
         return Rate.of(
@@ -0,0 +1,116 @@
+package com.mgm.inditex.adapter.inbound.web.controller.rate;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collections;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+import static com.mgm.inditex.fixtures.RateFixture.rate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mgm.inditex.adapter.inbound.web.controller.rate.mapper.RateWebMapper;
+import com.mgm.inditex.core.port.inbound.RateUserCasePort;
+import com.mgm.inditex.core.validation.ApiValidationException;
+import com.mgm.inditex.fixtures.RateFixture;
+
+// CSOFF: Javadoc
+@ExtendWith( MockitoExtension.class )
+class RateExportControllerTest
+{
+    private static final Integer BRAND_ID = 1;
+    private static final OffsetDateTime REQUEST_DATE_TIME = OffsetDateTime.of( 2020, 6, 14, 10, 0, 0, 0,
+        ZoneOffset.UTC );
+    private static final LocalDateTime SERVICE_DATE_TIME = REQUEST_DATE_TIME.toLocalDateTime();
+    private static final RateFixture RATE = rate()
+        .valid( SERVICE_DATE_TIME.minusDays( 5 ), SERVICE_DATE_TIME.plusDays( 5 ) );
+
+    @Mock
+    private RateUserCasePort rateUsecase;
+
+    private RateExportController cut;
+
+    @BeforeEach
+    void setUp()
+    {
+        cut = new RateExportController( rateUsecase, Mappers.getMapper( RateWebMapper.class ),
+            new ObjectMapper().registerModule( new JavaTimeModule() ) );
+    }
+
+    @Test
+    void exportPricesShouldWriteOneJsonDocumentPerPrice() throws Exception
+    {
+        // given
+        when( rateUsecase.exportPricesOfBrand( BRAND_ID, SERVICE_DATE_TIME ) ).thenReturn( action ->
+        {
+            action.accept( RATE.product( 35455L ).price( "35.5000" ).toRate() );
+            action.accept( RATE.product( 35456L ).price( "10.0500" ).toRate() );
+        } );
+
+        // when
+        var response = cut.exportPrices( BRAND_ID, REQUEST_DATE_TIME );
+        var out = new ByteArrayOutputStream();
+        response.getBody().writeTo( out );
+
+        // then
+        assertEquals( HttpStatus.OK, response.getStatusCode() );
+        assertEquals( MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType() );
+        var lines = out.toString( StandardCharsets.UTF_8 ).split( "\n" );
+        assertEquals( 2, lines.length );
+        assertTrue( lines[0].contains( "\"productId\":35455" ) );
+        assertTrue( lines[0].contains( "\"price\":35.50" ) );
+        assertTrue( lines[1].contains( "\"productId\":35456" ) );
+    }
+
+    @Test
+    void exportPricesShouldNotResolvePricesBeforeBodyIsWritten()
+    {
+        // given
+        var runs = new int[1];
+        when( rateUsecase.exportPricesOfBrand( BRAND_ID, SERVICE_DATE_TIME ) ).thenReturn( action -> runs[0]++ );
+
+        // when
+        var response = cut.exportPrices( BRAND_ID, REQUEST_DATE_TIME );
+
+        // then
+        assertNotNull( response.getBody() );
+        assertEquals( 0, runs[0] );
+    }
+
+    @Test
+    void exportPricesWhenRequestIsInvalidShouldThrowBeforeStreaming()
+    {
+        // given
+        when( rateUsecase.exportPricesOfBrand( -1, SERVICE_DATE_TIME ) )
+            .thenThrow( new ApiValidationException( Collections.emptyList() ) );
+
+        // when / then
+        assertThrows( ApiValidationException.class, () -> cut.exportPrices( -1, REQUEST_DATE_TIME ) );
+    }
+
+    @Test
+    void exportPricesWhenBrandHasNoPricesShouldWriteEmptyBody() throws Exception
+    {
+        // given
+        when( rateUsecase.exportPricesOfBrand( BRAND_ID, SERVICE_DATE_TIME ) ).thenReturn( action -> { } );
+
+        // when
+        var out = new ByteArrayOutputStream();
+        cut.exportPrices( BRAND_ID, REQUEST_DATE_TIME ).getBody().writeTo( out );
+
+        // then
+        assertEquals( 0, out.size() );
+    }
+}
@@ -2,13 +2,17 @@ package com.mgm.inditex.adapter.inbound.web.controller.rate.mapper;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 
 import org.junit.jupiter.api.Test;
 import org.mapstruct.factory.Mappers;
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.mgm.inditex.controller.model.PriceQuery;
 import com.mgm.inditex.core.domain.Rate;
+import com.mgm.inditex.core.domain.RateQuery;
+import com.mgm.inditex.core.timeline.RateSegment;
 
 // CSOFF: Javadoc
 class RateWebMapperTest
@@ -43,4 +47,35 @@ class RateWebMapperTest
         assertEquals( rate.getStartDate().atOffset( ZoneOffset.UTC ), rateResponse.getStartDate() );
         assertEquals( rate.getEndDate().atOffset( ZoneOffset.UTC ), rateResponse.getEndDate() );
     }
-}
\ No newline at end of file
+
+    @Test
+    void apiToDomain()
+    {
+        // Given: a price query without currency
+        var query = new PriceQuery( BRAND_ID, PRODUCT_ID, OffsetDateTime.of( START_DATE, ZoneOffset.UTC ) );
+
+        // When: converting the query to the domain
+        var result = cut.apiToDomain( query );
+
+        // Then: the default currency and the local date are kept
+        assertEquals( new RateQuery( BRAND_ID, PRODUCT_ID, CURR, START_DATE ), result );
+    }
+
+    @Test
+    void segmentToApi()
+    {
+        // Given: a segment of a rate
+        var rate = Rate.of( BRAND_ID, PRODUCT_ID, PRICE_LIST_ID, START_DATE, END_DATE, PRIORITY,
+            new BigDecimal( "35.5000" ), CURR );
+        var segment = new RateSegment( START_DATE.plusDays( 1 ), END_DATE.plusNanos( 1 ), rate );
+
+        // When: converting the segment to the API
+        var result = cut.segmentToApi( segment );
+
+        // Then: the end is inclusive and the price rounded
+        assertEquals( PRICE_LIST_ID, result.getPriceList() );
+        assertEquals( START_DATE.plusDays( 1 ).atOffset( ZoneOffset.UTC ), result.getStartDate() );
+        assertEquals( END_DATE.atOffset( ZoneOffset.UTC ), result.getEndDate() );
+        assertEquals( new BigDecimal( "35.50" ), result.getPrice() );
+    }
+}
@@ -4,7 +4,10 @@ import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,9 +16,11 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -25,7 +30,11 @@ import static org.mockito.Mockito.when;
 import com.mgm.inditex.adapter.outbound.persistence.jpa.RateJpaRepository;
 import com.mgm.inditex.adapter.outbound.persistence.jpa.entity.RateJpaEntity;
 import com.mgm.inditex.adapter.outbound.persistence.jpa.mapper.RateJpaMapper;
+import com.mgm.inditex.adapter.outbound.persistence.jpa.projection.RateProjection;
 import com.mgm.inditex.core.domain.Rate;
+import com.mgm.inditex.core.domain.RateKey;
+
+import jakarta.persistence.EntityManager;
 
 // CSOFF: Javadoc
 @ExtendWith( MockitoExtension.class )
@@ -44,6 +53,9 @@ class RateJpaRepositoryAdapterTest
     @Mock
     private RateJpaMapper mapper;
 
+    @Mock
+    private EntityManager entityManager;
+
     @InjectMocks
     private RateJpaRepositoryAdapter cut;
 
@@ -107,6 +119,39 @@ class RateJpaRepositoryAdapterTest
         verifyNoInteractions( mapper );
     }
 
+    @Test
+    void findApplicableRateShouldMapTheSingleRowRankedFirstByTheDatabase()
+    {
+        // given
+        var projection = mock( RateProjection.class );
+        when( jpaRepository.findRatesByPriorityForBrandAndProductAndCurrency( BRAND_ID, PRODUCT_ID, CURRENCY, DATE,
+            Limit.of( 1 ) ) ).thenReturn( List.of( projection ) );
+        when( mapper.rateProjectionToRate( projection ) ).thenReturn( rate2 );
+
+        // when
+        var result = cut.findApplicableRate( BRAND_ID, PRODUCT_ID, CURRENCY, DATE );
+
+        // then
+        assertEquals( rate2, result.orElseThrow() );
+        verify( jpaRepository, never() ).findRatesForBrandAndProductAndCurrency( any(), any(), any(), any() );
+        verifyNoInteractions( entityManager );
+    }
+
+    @Test
+    void findApplicableRateWhenNoRowShouldReturnEmpty()
+    {
+        // given
+        when( jpaRepository.findRatesByPriorityForBrandAndProductAndCurrency( BRAND_ID, PRODUCT_ID, CURRENCY, DATE,
+            Limit.of( 1 ) ) ).thenReturn( List.of() );
+
+        // when
+        var result = cut.findApplicableRate( BRAND_ID, PRODUCT_ID, CURRENCY, DATE );
+
+        // then
+        assertTrue( result.isEmpty() );
+        verifyNoInteractions( mapper );
+    }
+
     @Test
     void findRatesForBrandAndProductWhenResultsShouldReturnMappedRates()
     {
@@ -155,4 +200,85 @@ class RateJpaRepositoryAdapterTest
 
         verifyNoInteractions( mapper );
     }
-}
\ No newline at end of file
+
+    @Test
+    void findAllRatesForBrandAndProductAndCurrencyWhenResultsShouldReturnMappedRates()
+    {
+        // given
+        var e1 = mock( RateJpaEntity.class );
+        var e2 = mock( RateJpaEntity.class );
+
+        when( jpaRepository.findAllRatesForBrandAndProductAndCurrency( BRAND_ID, PRODUCT_ID, CURRENCY ) ).thenReturn(
+            List.of( e1, e2 ) );
+        when( mapper.rateJpaEntityToRate( e1 ) ).thenReturn( rate1 );
+        when( mapper.rateJpaEntityToRate( e2 ) ).thenReturn( rate2 );
+
+        // when
+        var result = cut.findAllRatesForBrandAndProductAndCurrency( BRAND_ID, PRODUCT_ID, CURRENCY );
+
+        // then
+        assertEquals( List.of( rate1, rate2 ), result );
+        verify( jpaRepository ).findAllRatesForBrandAndProductAndCurrency( BRAND_ID, PRODUCT_ID, CURRENCY );
+        verifyNoMoreInteractions( jpaRepository, mapper );
+    }
+
+    @Test
+    void findRatesForKeysShouldQueryOnceAndKeepOnlyRequestedKeys()
+    {
+        // given: the cross product of the key values also matches a USD rate that was not asked for
+        var e1 = mock( RateJpaEntity.class );
+        var e2 = mock( RateJpaEntity.class );
+        var e3 = mock( RateJpaEntity.class );
+        var dollars = Rate.of( BRAND_ID, PRODUCT_ID, PRICE_LIST_ID, SERVICE_DATE_TIME, SERVICE_DATE_TIME.plusDays( 1 ),
+            ( short ) 0, new BigDecimal( "12.00" ), "USD" );
+        var other = Rate.of( BRAND_ID, PRODUCT_ID + 1, PRICE_LIST_ID, SERVICE_DATE_TIME,
+            SERVICE_DATE_TIME.plusDays( 1 ), ( short ) 0, new BigDecimal( "13.00" ), "USD" );
+        var keys = List.of( new RateKey( BRAND_ID, PRODUCT_ID, CURRENCY ), RateKey.of( other ) );
+
+        when( jpaRepository.findRatesForBrandsAndProductsAndCurrencies( Set.of( BRAND_ID ),
+            Set.of( PRODUCT_ID, PRODUCT_ID + 1 ), Set.of( CURRENCY, "USD" ), DATE, DATE.plusSeconds( 60 ) ) )
+            .thenReturn( List.of( e1, e2, e3 ) );
+        when( mapper.rateJpaEntityToRate( e1 ) ).thenReturn( rate1 );
+        when( mapper.rateJpaEntityToRate( e2 ) ).thenReturn( dollars );
+        when( mapper.rateJpaEntityToRate( e3 ) ).thenReturn( other );
+
+        // when
+        var result = cut.findRatesForKeys( keys, DATE, DATE.plusSeconds( 60 ) );
+
+        // then
+        assertEquals( List.of( rate1, other ), result );
+        verify( jpaRepository ).findRatesForBrandsAndProductsAndCurrencies( Set.of( BRAND_ID ),
+            Set.of( PRODUCT_ID, PRODUCT_ID + 1 ), Set.of( CURRENCY, "USD" ), DATE, DATE.plusSeconds( 60 ) );
+        verifyNoMoreInteractions( jpaRepository );
+    }
+
+    @Test
+    void findRatesForKeysWhenNoKeysShouldNotQuery()
+    {
+        assertEquals( List.of(), cut.findRatesForKeys( List.of(), DATE, DATE ) );
+        verifyNoInteractions( jpaRepository, mapper );
+    }
+
+    @Test
+    void forEachRateForBrandShouldDetachEveryEntityAndCloseStream()
+    {
+        // given
+        var e1 = mock( RateJpaEntity.class );
+        var e2 = mock( RateJpaEntity.class );
+        var closed = new boolean[1];
+        when( jpaRepository.streamRatesForBrand( BRAND_ID, DATE ) )
+            .thenReturn( Stream.of( e1, e2 ).onClose( () -> closed[0] = true ) );
+        when( mapper.rateJpaEntityToRate( e1 ) ).thenReturn( rate1 );
+        when( mapper.rateJpaEntityToRate( e2 ) ).thenReturn( rate2 );
+        var result = new ArrayList<Rate>();
+
+        // when
+        cut.forEachRateForBrand( BRAND_ID, DATE, result::add );
+
+        // then
+        assertEquals( List.of( rate1, rate2 ), result );
+        assertTrue( closed[0] );
+        verify( entityManager ).detach( e1 );
+        verify( entityManager ).detach( e2 );
+    }
+}
@@ -0,0 +1,152 @@
+package com.mgm.inditex.adapter.outbound.persistence.ingest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.mgm.inditex.adapter.outbound.persistence.jdbc.RateChangeJdbcAdapter;
+import com.mgm.inditex.adapter.outbound.persistence.jdbc.RateJdbcRepositoryAdapter;
+import com.mgm.inditex.core.domain.Rate;
+
+// CSOFF: Javadoc
+class RateBulkImporterTest
+{
+    private static final String HEADER = "brandId,productId,priceList,startDate,endDate,priority,price,currency";
+
+    @TempDir
+    private Path directory;
+
+    private EmbeddedDatabase database;
+
+    private RateJdbcRepositoryAdapter repository;
+
+    private RateChangeJdbcAdapter changes;
+
+    @BeforeEach
+    void setUp()
+    {
+        database = new EmbeddedDatabaseBuilder()
+            .setType( EmbeddedDatabaseType.H2 )
+            .generateUniqueName( true )
+            .addScript( "db/migration/common/V1__initial_schema.sql" )
+            .addScript( "db/migration/common/V3__rate_changes.sql" )
+            .addScript( "db/migration/common/V8__whole_second_rate_dates.sql" )
+            .build();
+        repository = new RateJdbcRepositoryAdapter( new NamedParameterJdbcTemplate( database ) );
+        changes = new RateChangeJdbcAdapter( new NamedParameterJdbcTemplate( database ) );
+    }
+
+    @AfterEach
+    void tearDown()
+    {
+        database.shutdown();
+    }
+
+    @Test
+    void importFileShouldWriteEveryValidRowInBatchesAndTransactions() throws Exception
+    {
+        // given: 25 products with 2 rates each, written in batches of 4 and committed every 10 rows
+        var lines = new StringBuilder( HEADER ).append( '\n' );
+        for ( var product = 1; product <= 25; product++ )
+        {
+            lines.append( "1,%d,1,2020-06-14T00:00:00Z,2020-12-31T23:59:59Z,0,35.50,EUR%n".formatted( product ) );
+            lines.append( "1,%d,2,2020-06-14T15:00:00Z,2020-06-14T18:30:00Z,1,25.45,EUR%n".formatted( product ) );
+        }
+        var cut = new RateBulkImporter( database, 4, 10, 2 );
+
+        // when
+        var report = cut.importFile( write( "rates.csv", lines.toString() ) );
+
+        // then
+        assertEquals( 50, report.rowsRead() );
+        assertEquals( 50, report.rowsImported() );
+        assertEquals( 0, report.rowsRejected() );
+        assertTrue( report.rowsPerSecond() > 0 );
+        assertEquals( 25, repository.findAllRateKeys().size() );
+        assertEquals( Set.copyOf( repository.findAllRateKeys() ), changes.changesSince( 0, 100 ).keys() );
+        assertEquals( List.of( 1, 2 ), repository.findAllRatesForBrandAndProductAndCurrency( 1, 7L, "EUR" ).stream()
+            .map( Rate::getPriceListId ).toList() );
+        assertEquals( 2, repository.findApplicableRate( 1, 7L, "EUR", Instant.parse( "2020-06-14T16:00:00Z" ) )
+            .orElseThrow().getPriceListId() );
+    }
+
+    @Test
+    void importFileShouldRejectInvalidAndDuplicateRowsWithoutAbortingTheLoad() throws Exception
+    {
+        // given: line 2 breaks an invariant, line 3 duplicates the key of line 1 and line 5 is malformed
+        var cut = new RateBulkImporter( database, 3, 100, 2 );
+        var file = write( "rates.ndjson", String.join( "\n",
+            json( 1, "35.50", 14 ),
+            json( 2, "25.45", 14 ).replace( "2020-12-31T23:59:59Z", "2020-06-13T00:00:00Z" ),
+            json( 1, "99.99", 14 ),
+            json( 3, "30.50", 15 ),
+            "{\"brandId\":1,",
+            json( 4, "38.95", 16 ) ) );
+
+        // when
+        var report = cut.importFile( file );
+
+        // then
+        assertEquals( 6, report.rowsRead() );
+        assertEquals( 3, report.rowsImported() );
+        assertEquals( 3, report.rowsRejected() );
+        assertEquals( List.of( 2L, 3L, 5L ), report.rejections().stream().map( RateImportReport.Rejection::line )
+            .sorted().toList() );
+        assertTrue( report.rejections().stream().anyMatch( rejection -> rejection.line() == 3 &&
+            rejection.reason().contains( "unique_rate" ) ) );
+        assertEquals( List.of( 1, 3, 4 ), repository.findAllRatesForBrandAndProductAndCurrency( 1, 35455L, "EUR" )
+            .stream().map( Rate::getPriceListId ).toList() );
+    }
+
+    @Test
+    void importFileShouldRejectRowsWithSubSecondDates() throws Exception
+    {
+        // given
+        var cut = new RateBulkImporter( database, 10, 10, 1 );
+        var file = write( "rates.ndjson", String.join( "\n",
+            json( 1, "35.50", 14 ).replace( "23:59:59Z", "23:59:59.500Z" ),
+            json( 2, "25.45", 15 ) ) );
+
+        // when
+        var report = cut.importFile( file );
+
+        // then
+        assertEquals( 1, report.rowsImported() );
+        assertEquals( 1L, report.rejections().getFirst().line() );
+        assertTrue( report.rejections().getFirst().reason().contains( "whole second" ) );
+    }
+
+    @Test
+    void importFileWhenFormatIsUnknownShouldThrowException() throws Exception
+    {
+        var file = write( "rates.txt", HEADER );
+        var cut = new RateBulkImporter( database, 10, 10, 1 );
+
+        assertThrows( IllegalArgumentException.class, () -> cut.importFile( file ) );
+    }
+
+    private Path write( final String name, final String content ) throws IOException
+    {
+        return Files.writeString( directory.resolve( name ), content );
+    }
+
+    private static String json( final int priceList, final String price, final int startDay )
+    {
+        return ( "{\"brandId\":1,\"productId\":35455,\"priceList\":%d,\"startDate\":\"2020-06-%dT00:00:00Z\"," +
+            "\"endDate\":\"2020-12-31T23:59:59Z\",\"priority\":0,\"price\":%s,\"currency\":\"EUR\"}" )
+            .formatted( priceList, startDay, price );
+    }
+}
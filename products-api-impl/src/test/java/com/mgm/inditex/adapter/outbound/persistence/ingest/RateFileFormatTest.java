@@ -0,0 +1,95 @@
+package com.mgm.inditex.adapter.outbound.persistence.ingest;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.mgm.inditex.core.domain.Rate;
+
+// CSOFF: Javadoc
+class RateFileFormatTest
+{
+    private static final Rate RATE = Rate.of( 1, 35455L, 2, LocalDateTime.of( 2020, 6, 14, 15, 0 ),
+        LocalDateTime.of( 2020, 6, 14, 18, 30 ), ( short ) 1, new BigDecimal( "25.45" ), "EUR" );
+
+    @Test
+    void ofShouldPickFormatFromExtension()
+    {
+        assertEquals( RateFileFormat.CSV, RateFileFormat.of( Path.of( "rates.CSV" ) ) );
+        assertEquals( RateFileFormat.NDJSON, RateFileFormat.of( Path.of( "rates.ndjson" ) ) );
+        assertEquals( RateFileFormat.NDJSON, RateFileFormat.of( Path.of( "rates.jsonl" ) ) );
+        assertThrows( IllegalArgumentException.class, () -> RateFileFormat.of( Path.of( "rates.xml" ) ) );
+    }
+
+    @Test
+    void csvParserShouldReadColumnsInHeaderOrder()
+    {
+        // given
+        var parser = RateFileFormat.CSV.parser(
+            "currency,price,priority,endDate,startDate,priceList,productId,brandId" );
+
+        // when
+        var rate = parser.apply( "eur,25.45,1,2020-06-14T18:30:00,2020-06-14T15:00:00Z,2,35455,1" );
+
+        // then
+        assertEquals( RATE, rate );
+    }
+
+    @Test
+    void csvParserWhenHeaderMissesColumnsShouldThrowException()
+    {
+        assertThrows( IllegalArgumentException.class, () -> RateFileFormat.CSV.parser( "brandId,productId" ) );
+        assertThrows( IllegalArgumentException.class, () -> RateFileFormat.CSV.parser( null ) );
+    }
+
+    @Test
+    void ndjsonParserShouldReadFieldsByName()
+    {
+        // given
+        var parser = RateFileFormat.NDJSON.parser( null );
+
+        // when
+        var rate = parser.apply( "{\"brandId\":1,\"productId\":35455,\"priceList\":2,\"priority\":1," +
+            "\"startDate\":\"2020-06-14T17:00:00+02:00\",\"endDate\":\"2020-06-14T18:30:00Z\",\"price\":25.45," +
+            "\"currency\":\"EUR\"}" );
+
+        // then
+        assertEquals( RATE, rate );
+    }
+
+    @Test
+    void parserWhenRowBreaksRateInvariantsShouldThrowException()
+    {
+        // given
+        var parser = RateFileFormat.CSV.parser( "brandId,productId,priceList,startDate,endDate,priority,price," +
+            "currency" );
+
+        // when / then
+        assertThrows( IllegalArgumentException.class,
+            () -> parser.apply( "1,35455,2,2020-06-14T18:30:00,2020-06-14T15:00:00,1,25.45,EUR" ) );
+        assertThrows( IllegalArgumentException.class,
+            () -> parser.apply( "1,35455,2,2020-06-14T15:00:00,2020-06-14T18:30:00,1,-1,EUR" ) );
+        assertThrows( IllegalArgumentException.class,
+            () -> parser.apply( "1,35455,2,2020-06-14T15:00:00,2020-06-14T18:30:00,1,25.45," ) );
+        assertThrows( IllegalArgumentException.class, () -> parser.apply( "1,35455,2" ) );
+        assertThrows( RuntimeException.class, () -> RateFileFormat.NDJSON.parser( null ).apply( "{\"brandId\":" ) );
+    }
+
+    @Test
+    void parserWhenDateIsNotWholeSecondShouldThrowException()
+    {
+        // given
+        var parser = RateFileFormat.CSV.parser( "brandId,productId,priceList,startDate,endDate,priority,price," +
+            "currency" );
+
+        // when
+        var exception = assertThrows( IllegalArgumentException.class,
+            () -> parser.apply( "1,35455,2,2020-06-14T15:00:00.250,2020-06-14T18:30:00Z,1,25.45,EUR" ) );
+
+        // then
+        assertEquals( "startDate must be a whole second", exception.getMessage() );
+    }
+}
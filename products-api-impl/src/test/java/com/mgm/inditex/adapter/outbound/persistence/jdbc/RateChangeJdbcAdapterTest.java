@@ -0,0 +1,103 @@
+package com.mgm.inditex.adapter.outbound.persistence.jdbc;
+
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.mgm.inditex.core.domain.RateKey;
+
+// CSOFF: Javadoc
+@DataJpaTest
+class RateChangeJdbcAdapterTest
+{
+    private static final RateKey EUR_KEY = new RateKey( 1, 35455L, "EUR" );
+    private static final RateKey USD_KEY = new RateKey( 1, 35455L, "USD" );
+    private static final RateKey OTHER_KEY = new RateKey( 2, 1L, "EUR" );
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private RateChangeJdbcAdapter cut;
+
+    @BeforeEach
+    void setUp()
+    {
+        cut = new RateChangeJdbcAdapter( jdbcTemplate );
+    }
+
+    @Test
+    void changesSinceShouldReturnKeysRecordedAfterVersionInBatches() throws SQLException
+    {
+        // given
+        var start = cut.versionBefore( Instant.now().plusSeconds( 60 ) );
+        record( List.of( EUR_KEY, EUR_KEY ) );
+        record( List.of( USD_KEY ) );
+        record( List.of( OTHER_KEY ) );
+
+        // when
+        var first = cut.changesSince( start, 2 );
+        var second = cut.changesSince( first.version(), 2 );
+        var none = cut.changesSince( second.version(), 2 );
+
+        // then
+        assertEquals( Set.of( EUR_KEY, USD_KEY ), first.keys() );
+        assertTrue( first.version() > start );
+        assertNotNull( first.oldestChangeAt() );
+        assertEquals( Set.of( OTHER_KEY ), second.keys() );
+        assertTrue( second.version() > first.version() );
+        assertTrue( none.isEmpty() );
+        assertEquals( second.version(), none.version() );
+    }
+
+    @Test
+    void changesAtShouldReturnKeysRecordedAtGivenVersions() throws SQLException
+    {
+        // given
+        var start = cut.versionBefore( Instant.now().plusSeconds( 60 ) );
+        record( List.of( EUR_KEY ) );
+        record( List.of( USD_KEY ) );
+        record( List.of( OTHER_KEY ) );
+        var recorded = new TreeSet<>( cut.changesSince( start, 10 ).versions() );
+
+        // when
+        var changes = cut.changesAt( List.of( recorded.first(), recorded.last(), recorded.last() + 1 ) );
+
+        // then
+        assertEquals( 3, recorded.size() );
+        assertEquals( Set.of( EUR_KEY, OTHER_KEY ), changes.keys() );
+        assertEquals( Set.of( recorded.first(), recorded.last() ), changes.versions() );
+        assertEquals( recorded.last(), changes.version() );
+        assertTrue( cut.changesAt( List.of() ).isEmpty() );
+    }
+
+    @Test
+    void versionBeforeShouldIgnoreLaterChanges() throws SQLException
+    {
+        var before = cut.versionBefore( Instant.now().minusSeconds( 60 ) );
+        record( List.of( EUR_KEY ) );
+
+        assertEquals( before, cut.versionBefore( Instant.now().minusSeconds( 60 ) ) );
+        assertTrue( cut.versionBefore( Instant.now().plusSeconds( 60 ) ) > before );
+    }
+
+    private void record( final List<RateKey> keys ) throws SQLException
+    {
+        // the test transaction's connection, so the changes are rolled back with it
+        RateChangeJdbcAdapter.record( DataSourceUtils.getConnection( dataSource ), keys );
+    }
+}
@@ -0,0 +1,443 @@
+package com.mgm.inditex.adapter.outbound.persistence.jdbc;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import static org.junit.jupiter.api.Assertions.*;
+import static com.mgm.inditex.fixtures.RateFixture.rate;
+
+import com.mgm.inditex.adapter.outbound.persistence.RateJpaRepositoryAdapter;
+import com.mgm.inditex.adapter.outbound.persistence.jpa.RateJpaRepository;
+import com.mgm.inditex.adapter.outbound.persistence.jpa.mapper.RateJpaMapper;
+import com.mgm.inditex.core.domain.Rate;
+import com.mgm.inditex.core.domain.RateKey;
+import com.mgm.inditex.core.port.outbound.RateConstraintViolationException;
+
+import jakarta.persistence.EntityManager;
+
+// CSOFF: Javadoc
+@DataJpaTest
+@Sql( scripts = { "/sql/test-data.sql" } )
+class RateJdbcRepositoryAdapterTest
+{
+    private static final int BRAND_ID = 1;
+    private static final long PRODUCT_ID = 35455L;
+    private static final String CURR = "EUR";
+    private static final List<Instant> DATES = List.of(
+        Instant.parse( "2020-06-13T23:59:59Z" ),
+        Instant.parse( "2020-06-14T00:00:00Z" ),
+        Instant.parse( "2020-06-14T16:00:00Z" ),
+        Instant.parse( "2020-06-14T18:30:00Z" ),
+        Instant.parse( "2020-06-15T19:00:00Z" ),
+        Instant.parse( "2020-12-31T23:59:59Z" ),
+        Instant.parse( "2025-06-14T16:00:00Z" ) );
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RateJpaRepository jpaRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private RateJdbcRepositoryAdapter cut;
+
+    private RateJpaRepositoryAdapter jpa;
+
+    @BeforeEach
+    void setUp()
+    {
+        cut = new RateJdbcRepositoryAdapter( jdbcTemplate, new TransactionTemplate( transactionManager ) );
+        jpa = new RateJpaRepositoryAdapter( jpaRepository, Mappers.getMapper( RateJpaMapper.class ), entityManager );
+    }
+
+    @Test
+    void findRatesForBrandAndProductAndCurrencyShouldMatchJpaAdapterInInsertionOrder()
+    {
+        for ( var date : DATES )
+        {
+            assertEquals( jpa.findRatesForBrandAndProductAndCurrency( BRAND_ID, PRODUCT_ID, CURR, date ),
+                cut.findRatesForBrandAndProductAndCurrency( BRAND_ID, PRODUCT_ID, CURR, date ), date::toString );
+        }
+        assertEquals( List.of( 1, 3, 4, 5 ), cut.findRatesForBrandAndProductAndCurrency( BRAND_ID, PRODUCT_ID, CURR,
+            Instant.parse( "2020-06-15T19:00:00Z" ) ).stream().map( Rate::getPriceListId ).toList() );
+    }
+
+    @Test
+    void findApplicableRateShouldMatchJpaAdapter()
+    {
+        for ( var date : DATES )
+        {
+            assertEquals( jpa.findApplicableRate( BRAND_ID, PRODUCT_ID, CURR, date ),
+                cut.findApplicableRate( BRAND_ID, PRODUCT_ID, CURR, date ), date::toString );
+        }
+        assertEquals( 3, cut.findApplicableRate( BRAND_ID, PRODUCT_ID, CURR, Instant.parse( "2020-06-15T19:00:00Z" ) )
+            .orElseThrow().getPriceListId() );
+    }
+
+    @Test
+    void findRatesForBrandAndProductShouldMatchJpaAdapter()
+    {
+        for ( var date : DATES )
+        {
+            assertEquals( new HashSet<>( jpa.findRatesForBrandAndProduct( BRAND_ID, PRODUCT_ID, date ) ),
+                new HashSet<>( cut.findRatesForBrandAndProduct( BRAND_ID, PRODUCT_ID, date ) ), date::toString );
+        }
+    }
+
+    @Test
+    void findAllRatesForBrandAndProductAndCurrencyShouldMatchJpaAdapter()
+    {
+        assertEquals( jpa.findAllRatesForBrandAndProductAndCurrency( BRAND_ID, PRODUCT_ID, CURR ),
+            cut.findAllRatesForBrandAndProductAndCurrency( BRAND_ID, PRODUCT_ID, CURR ) );
+        assertTrue( cut.findAllRatesForBrandAndProductAndCurrency( BRAND_ID, PRODUCT_ID, "GBP" ).isEmpty() );
+    }
+
+    @Test
+    void hasRatesForBrandAndProductAndCurrencyShouldMatchJpaAdapter()
+    {
+        assertTrue( jpa.hasRatesForBrandAndProductAndCurrency( BRAND_ID, PRODUCT_ID, CURR ) );
+        assertTrue( cut.hasRatesForBrandAndProductAndCurrency( BRAND_ID, PRODUCT_ID, CURR ) );
+        assertFalse( jpa.hasRatesForBrandAndProductAndCurrency( BRAND_ID, PRODUCT_ID, "GBP" ) );
+        assertFalse( cut.hasRatesForBrandAndProductAndCurrency( BRAND_ID, PRODUCT_ID, "GBP" ) );
+    }
+
+    @Test
+    void findRatesForKeysShouldMatchJpaAdapter()
+    {
+        var keys = List.of( new RateKey( BRAND_ID, PRODUCT_ID, CURR ), new RateKey( 2, PRODUCT_ID, "USD" ) );
+        var from = Instant.parse( "2020-06-14T19:00:00Z" );
+        var to = Instant.parse( "2020-06-15T16:00:00Z" );
+
+        assertEquals( jpa.findRatesForKeys( keys, from, to ), cut.findRatesForKeys( keys, from, to ) );
+        assertEquals( List.of( 1, 3, 4 ),
+            cut.findRatesForKeys( keys, from, to ).stream().map( Rate::getPriceListId ).toList() );
+        assertTrue( cut.findRatesForKeys( List.of(), from, to ).isEmpty() );
+    }
+
+    @Test
+    void forEachRateForBrandShouldMatchJpaAdapter()
+    {
+        var date = Instant.parse( "2020-06-14T16:00:00Z" );
+        var expected = new ArrayList<Rate>();
+        var result = new ArrayList<Rate>();
+
+        jpa.forEachRateForBrand( BRAND_ID, date, expected::add );
+        cut.forEachRateForBrand( BRAND_ID, date, result::add );
+
+        assertEquals( 3, result.size() );
+        assertEquals( expected, result );
+    }
+
+    @Test
+    void findAllRateKeysShouldMatchJpaAdapter()
+    {
+        assertEquals( new HashSet<>( jpa.findAllRateKeys() ), new HashSet<>( cut.findAllRateKeys() ) );
+    }
+
+    @Test
+    void insertRateShouldStoreRateAndRecordItsKey()
+    {
+        // given
+        var rate = rate().priceList( 6 )
+            .valid( LocalDateTime.parse( "2021-01-01T00:00:00" ), LocalDateTime.parse( "2021-06-30T23:59:59" ) )
+            .price( "42.00" ).toRate();
+        var changes = changeCount();
+
+        // when
+        var inserted = cut.insertRate( rate );
+
+        // then
+        assertEquals( rate, inserted.rate() );
+        assertEquals( inserted, cut.findRateById( inserted.id() ).orElseThrow() );
+        assertEquals( rate, jpa.findRateById( inserted.id() ).orElseThrow().rate() );
+        assertEquals( changes + 1, changeCount() );
+    }
+
+    @Test
+    void insertRateWhenItDuplicatesPeriodShouldThrowConstraintViolation()
+    {
+        // given: same key and period as price list 1
+        var rate = rate().priceList( 6 )
+            .valid( LocalDateTime.parse( "2020-06-14T00:00:00" ), LocalDateTime.parse( "2020-12-31T23:59:59" ) )
+            .priority( 3 ).price( "42.00" ).toRate();
+
+        // when / then
+        assertThrows( RateConstraintViolationException.class, () -> cut.insertRate( rate ) );
+    }
+
+    @Test
+    void insertRateWhenDatesAreNotWholeSecondsShouldThrowConstraintViolation()
+    {
+        // given
+        var rate = rate().priceList( 6 )
+            .valid( LocalDateTime.parse( "2021-01-01T00:00:00.5" ), LocalDateTime.parse( "2021-06-30T23:59:59" ) )
+            .price( "42.00" ).toRate();
+
+        // when / then
+        assertThrows( RateConstraintViolationException.class, () -> cut.insertRate( rate ) );
+    }
+
+    @Test
+    void insertRateShouldCheckOverlappingRatesOfKeyAndRollBackWhenCheckRejectsThem()
+    {
+        // given: a rate overlapping price lists 1 to 3
+        var rate = rate().priceList( 6 )
+            .valid( LocalDateTime.parse( "2020-06-14T10:00:00" ), LocalDateTime.parse( "2020-06-15T12:00:00" ) )
+            .priority( 3 ).price( "42.00" ).toRate();
+        var expected = jpa.findRatesForKeys( List.of( RateKey.of( rate ) ), Instant.parse( "2020-06-14T10:00:00Z" ),
+            Instant.parse( "2020-06-15T12:00:00Z" ) );
+        var checked = new ArrayList<Rate>();
+        var changes = changeCount();
+
+        // when
+        assertThrows( IllegalStateException.class, () -> cut.insertRate( rate, overlapping ->
+        {
+            checked.addAll( overlapping );
+            throw new IllegalStateException( "conflict" );
+        } ) );
+
+        // then
+        assertEquals( 3, expected.size() );
+        assertEquals( expected, checked );
+        assertEquals( changes, changeCount() );
+        assertEquals( expected, cut.findRatesForKeys( List.of( RateKey.of( rate ) ),
+            Instant.parse( "2020-06-14T10:00:00Z" ), Instant.parse( "2020-06-15T12:00:00Z" ) ) );
+    }
+
+    @Test
+    void updateRateShouldLeaveReplacedRateOutOfCheck()
+    {
+        // given
+        var rate = rate().priceList( 6 )
+            .valid( LocalDateTime.parse( "2021-01-01T00:00:00" ), LocalDateTime.parse( "2021-06-30T23:59:59" ) )
+            .price( "42.00" ).toRate();
+        var inserted = cut.insertRate( rate );
+        var checked = new ArrayList<List<Rate>>();
+
+        // when
+        cut.updateRate( inserted.id(), rate().priceList( 7 ).valid( rate.getStartDate(), rate.getEndDate() )
+            .price( "43.00" ).toRate(), checked::add );
+        jpa.updateRate( inserted.id(), rate, checked::add );
+
+        // then
+        assertEquals( List.of( List.of(), List.of() ), checked );
+    }
+
+    @Test
+    void insertRateShouldWaitForConcurrentWriterOfSameKeyAndCheckItsRate() throws Exception
+    {
+        // given: an adapter outside the test transaction, so each write commits on a connection of its own
+        var database = database( "db/migration/common/V1__initial_schema.sql",
+            "db/migration/common/V3__rate_changes.sql", "db/migration/common/V7__rate_key_locks.sql" );
+        try ( var executor = Executors.newFixedThreadPool( 2 ) )
+        {
+            var writer = new RateJdbcRepositoryAdapter( new NamedParameterJdbcTemplate( database ) );
+            var first = rate().priceList( 6 )
+                .valid( LocalDateTime.parse( "2021-01-01T00:00:00" ), LocalDateTime.parse( "2021-06-30T23:59:59" ) )
+                .price( "42.00" ).toRate();
+            var second = rate().priceList( 7 )
+                .valid( LocalDateTime.parse( "2021-03-01T00:00:00" ), LocalDateTime.parse( "2021-09-30T23:59:59" ) )
+                .price( "43.00" ).toRate();
+            var firstChecked = new CountDownLatch( 1 );
+            var firstReleased = new CountDownLatch( 1 );
+            var seenBySecond = new AtomicReference<List<Rate>>();
+
+            // when: the second writer starts while the first one holds the key
+            var firstWrite = executor.submit( () -> writer.insertRate( first, overlapping ->
+            {
+                firstChecked.countDown();
+                await( firstReleased );
+            } ) );
+            assertTrue( firstChecked.await( 5, TimeUnit.SECONDS ) );
+            var secondWrite = executor.submit( () -> writer.insertRate( second, seenBySecond::set ) );
+            Thread.sleep( 200 );
+            var checkedWhileLocked = seenBySecond.get();
+            firstReleased.countDown();
+            firstWrite.get( 5, TimeUnit.SECONDS );
+            secondWrite.get( 5, TimeUnit.SECONDS );
+
+            // then
+            assertNull( checkedWhileLocked );
+            assertEquals( List.of( first ), seenBySecond.get() );
+        }
+        finally
+        {
+            database.shutdown();
+        }
+    }
+
+    @Test
+    void insertRateWhenChangeCannotBeRecordedShouldRollBackRate()
+    {
+        // given: an adapter built outside Spring, on a database without the rate_changes log
+        var database = databaseWithoutChangeLog();
+        try
+        {
+            var writer = new RateJdbcRepositoryAdapter( new NamedParameterJdbcTemplate( database ) );
+            var rate = rate().priceList( 6 )
+                .valid( LocalDateTime.parse( "2021-01-01T00:00:00" ), LocalDateTime.parse( "2021-06-30T23:59:59" ) )
+                .price( "42.00" ).toRate();
+
+            // when / then: the rate row was inserted before the change log write failed
+            assertThrows( DataAccessException.class, () -> writer.insertRate( rate ) );
+            assertTrue( writer.findAllRateKeys().isEmpty() );
+        }
+        finally
+        {
+            database.shutdown();
+        }
+    }
+
+    @Test
+    void deleteRateWhenChangeCannotBeRecordedShouldRollBackDeletion()
+    {
+        // given
+        var database = databaseWithoutChangeLog();
+        try
+        {
+            var jdbc = new NamedParameterJdbcTemplate( database );
+            jdbc.getJdbcTemplate().update( "INSERT INTO rates (brand_id, start_date, end_date, price_list_id, "
+                + "product_id, priority, price, currency) VALUES (1, '2021-01-01T00:00:00Z', "
+                + "'2021-06-30T23:59:59Z', 6, 35455, 0, 42.00, 'EUR')" );
+            var writer = new RateJdbcRepositoryAdapter( jdbc );
+            var id = jdbc.getJdbcTemplate().queryForObject( "SELECT id FROM rates", Long.class );
+
+            // when / then
+            assertThrows( DataAccessException.class, () -> writer.deleteRate( id ) );
+            assertTrue( writer.findRateById( id ).isPresent() );
+        }
+        finally
+        {
+            database.shutdown();
+        }
+    }
+
+    @Test
+    void updateRateShouldReplaceRateAndReturnPreviousOne()
+    {
+        // given
+        var inserted = cut.insertRate( rate().priceList( 6 )
+            .valid( LocalDateTime.parse( "2021-01-01T00:00:00" ), LocalDateTime.parse( "2021-06-30T23:59:59" ) )
+            .price( "42.00" ).toRate() );
+        var replacement = rate().priceList( 7 )
+            .valid( LocalDateTime.parse( "2021-02-01T00:00:00" ), LocalDateTime.parse( "2021-03-31T23:59:59" ) )
+            .priority( 2 ).price( "42.00" ).toRate();
+        var changes = changeCount();
+
+        // when
+        var previous = cut.updateRate( inserted.id(), replacement );
+        var missing = cut.updateRate( -1L, replacement );
+
+        // then
+        assertEquals( inserted.rate(), previous.orElseThrow() );
+        assertTrue( missing.isEmpty() );
+        var stored = cut.findRateById( inserted.id() ).orElseThrow().rate();
+        assertEquals( replacement, stored );
+        assertEquals( (short) 2, stored.getPriority() );
+        assertEquals( changes + 1, changeCount() );
+    }
+
+    @Test
+    void deleteRateShouldRemoveRateAndReturnIt()
+    {
+        // given
+        var inserted = cut.insertRate( rate().priceList( 6 )
+            .valid( LocalDateTime.parse( "2021-01-01T00:00:00" ), LocalDateTime.parse( "2021-06-30T23:59:59" ) )
+            .price( "42.00" ).toRate() );
+
+        // when
+        var deleted = cut.deleteRate( inserted.id() );
+        var missing = cut.deleteRate( inserted.id() );
+
+        // then
+        assertEquals( inserted.rate(), deleted.orElseThrow() );
+        assertTrue( missing.isEmpty() );
+        assertTrue( cut.findRateById( inserted.id() ).isEmpty() );
+    }
+
+    @Test
+    void writesShouldMatchJpaAdapter()
+    {
+        // given
+        var rate = rate().priceList( 6 )
+            .valid( LocalDateTime.parse( "2021-01-01T00:00:00" ), LocalDateTime.parse( "2021-06-30T23:59:59" ) )
+            .price( "42.00" ).toRate();
+        var replacement = rate().priceList( 7 )
+            .valid( LocalDateTime.parse( "2021-02-01T00:00:00" ), LocalDateTime.parse( "2021-03-31T23:59:59" ) )
+            .priority( 2 ).price( "42.00" ).toRate();
+
+        // when
+        var inserted = jpa.insertRate( rate );
+        entityManager.clear();
+        var readByJdbc = cut.findRateById( inserted.id() );
+        var previous = jpa.updateRate( inserted.id(), replacement );
+        entityManager.clear();
+        var updatedByJpa = cut.findRateById( inserted.id() );
+        var deleted = jpa.deleteRate( inserted.id() );
+
+        // then
+        assertEquals( inserted, readByJdbc.orElseThrow() );
+        assertEquals( rate, previous.orElseThrow() );
+        assertEquals( replacement, updatedByJpa.orElseThrow().rate() );
+        assertEquals( replacement, deleted.orElseThrow() );
+        assertTrue( cut.findRateById( inserted.id() ).isEmpty() );
+    }
+
+    private static EmbeddedDatabase databaseWithoutChangeLog()
+    {
+        return database( "db/migration/common/V1__initial_schema.sql", "db/migration/common/V7__rate_key_locks.sql" );
+    }
+
+    private static EmbeddedDatabase database( final String... scripts )
+    {
+        return new EmbeddedDatabaseBuilder()
+            .setType( EmbeddedDatabaseType.H2 )
+            .generateUniqueName( true )
+            .addScripts( scripts )
+            .build();
+    }
+
+    private static void await( final CountDownLatch latch )
+    {
+        try
+        {
+            assertTrue( latch.await( 5, TimeUnit.SECONDS ) );
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException( e );
+        }
+    }
+
+    private long changeCount()
+    {
+        return jdbcTemplate.queryForObject( "SELECT COUNT(*) FROM rate_changes", Map.of(), Long.class );
+    }
+}
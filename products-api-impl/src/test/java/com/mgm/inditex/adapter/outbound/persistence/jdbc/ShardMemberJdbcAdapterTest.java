@@ -0,0 +1,75 @@
+package com.mgm.inditex.adapter.outbound.persistence.jdbc;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import static org.junit.jupiter.api.Assertions.*;
+
+// CSOFF: Javadoc
+@DataJpaTest
+class ShardMemberJdbcAdapterTest
+{
+    private static final String FIRST = "http://localhost:8081";
+    private static final String SECOND = "http://localhost:8082";
+    private static final Instant NOW = Instant.parse( "2020-06-14T10:00:00Z" );
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    private ShardMemberJdbcAdapter cut;
+
+    @BeforeEach
+    void setUp()
+    {
+        cut = new ShardMemberJdbcAdapter( jdbcTemplate );
+    }
+
+    @Test
+    void liveMembersShouldReturnMembersWithHeartbeatSinceInstant()
+    {
+        // given
+        cut.heartbeat( FIRST, NOW );
+        cut.heartbeat( SECOND, NOW.minusSeconds( 30 ) );
+
+        // when
+        var live = cut.liveMembers( NOW.minusSeconds( 10 ) );
+        var all = cut.liveMembers( NOW.minusSeconds( 60 ) );
+
+        // then
+        assertEquals( List.of( FIRST ), live );
+        assertEquals( 2, all.size() );
+    }
+
+    @Test
+    void heartbeatShouldRefreshExistingMember()
+    {
+        // given
+        cut.heartbeat( FIRST, NOW.minusSeconds( 30 ) );
+
+        // when
+        cut.heartbeat( FIRST, NOW );
+
+        // then
+        assertEquals( List.of( FIRST ), cut.liveMembers( NOW.minusSeconds( 10 ) ) );
+        assertEquals( List.of( FIRST ), cut.liveMembers( NOW.minusSeconds( 60 ) ) );
+    }
+
+    @Test
+    void leaveShouldRemoveMember()
+    {
+        // given
+        cut.heartbeat( FIRST, NOW );
+        cut.heartbeat( SECOND, NOW );
+
+        // when
+        cut.leave( FIRST );
+
+        // then
+        assertEquals( List.of( SECOND ), cut.liveMembers( NOW.minusSeconds( 10 ) ) );
+    }
+}
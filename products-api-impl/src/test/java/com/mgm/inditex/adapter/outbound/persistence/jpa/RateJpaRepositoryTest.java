@@ -5,6 +5,8 @@ import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.Month;
 import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
 
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Test;
@@ -12,11 +14,14 @@ import org.junit.jupiter.api.TestMethodOrder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.jdbc.Sql;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import com.mgm.inditex.adapter.outbound.persistence.jpa.entity.RateJpaEntity;
+import com.mgm.inditex.adapter.outbound.persistence.jpa.projection.RateProjection;
+import com.mgm.inditex.core.domain.RateKey;
 
 // CSOFF: Javadoc
 @DataJpaTest
@@ -198,4 +203,76 @@ class RateJpaRepositoryTest
         assertFalse( result.isEmpty() );
         assertEquals( 3, result.size() );
     }
-}
\ No newline at end of file
+
+    @Test
+    @Sql( scripts = { "/sql/test-data.sql" } )
+    void findAllRatesForBrandAndProductAndCurrencyShouldReturnEveryDateInInsertionOrder()
+    {
+        var result = cut.findAllRatesForBrandAndProductAndCurrency( BRAND_ID, PRODUCT_ID, CURR );
+
+        assertEquals( 5, result.size() );
+        assertEquals( List.of( 1, 2, 3, 4, 5 ),
+            result.stream().map( RateJpaEntity::getPriceListId ).toList() );
+        assertTrue( cut.findAllRatesForBrandAndProductAndCurrency( BRAND_ID, PRODUCT_ID, "GBP" ).isEmpty() );
+    }
+
+    @Test
+    @Sql( scripts = { "/sql/test-data.sql" } )
+    void findAllRateKeysShouldReturnDistinctKeys()
+    {
+        var result = cut.findAllRateKeys();
+
+        assertEquals( 2, result.size() );
+        assertTrue( result.contains( new RateKey( BRAND_ID, PRODUCT_ID, CURR ) ) );
+        assertTrue( result.contains( new RateKey( BRAND_ID, PRODUCT_ID, "USD" ) ) );
+    }
+
+    @Test
+    @Sql( scripts = { "/sql/test-data.sql" } )
+    void findRatesForBrandsAndProductsAndCurrenciesShouldReturnRatesOverlappingRangeInInsertionOrder()
+    {
+        var result = cut.findRatesForBrandsAndProductsAndCurrencies( Set.of( BRAND_ID, 2 ), Set.of( PRODUCT_ID ),
+            Set.of( CURR, "USD" ), Instant.parse( "2020-06-14T19:00:00Z" ), Instant.parse( "2020-06-15T16:00:00Z" ) );
+
+        assertEquals( List.of( 1, 3, 4 ), result.stream().map( RateJpaEntity::getPriceListId ).toList() );
+        assertTrue( cut.findRatesForBrandsAndProductsAndCurrencies( Set.of( BRAND_ID ), Set.of( PRODUCT_ID ),
+            Set.of( "GBP" ), Instant.parse( "2020-06-14T19:00:00Z" ), Instant.parse( "2020-06-15T16:00:00Z" ) )
+            .isEmpty() );
+    }
+
+    @Test
+    @Sql( scripts = { "/sql/test-data.sql" } )
+    void streamRatesForBrandShouldReturnRatesAtDateGroupedByProductAndCurrency()
+    {
+        try ( var result = cut.streamRatesForBrand( BRAND_ID, Instant.parse( "2020-06-14T16:00:00Z" ) ) )
+        {
+            assertEquals( List.of( "EUR/1", "EUR/2", "USD/2" ),
+                result.map( rate -> rate.getCurrency() + "/" + rate.getPriceListId() ).toList() );
+        }
+        try ( var result = cut.streamRatesForBrand( 2, Instant.parse( "2020-06-14T16:00:00Z" ) ) )
+        {
+            assertEquals( 0, result.count() );
+        }
+    }
+
+    @Test
+    @Sql( scripts = { "/sql/test-data.sql" } )
+    void findRatesByPriorityForBrandAndProductAndCurrencyShouldRankByPriorityThenInsertionOrder()
+    {
+        var DATE = Instant.parse( "2020-06-15T19:00:00Z" );
+        var result = cut.findRatesByPriorityForBrandAndProductAndCurrency( BRAND_ID, PRODUCT_ID, CURR, DATE,
+            Limit.unlimited() );
+
+        assertEquals( List.of( 3, 4, 5, 1 ), result.stream().map( RateProjection::priceListId ).toList() );
+
+        result = cut.findRatesByPriorityForBrandAndProductAndCurrency( BRAND_ID, PRODUCT_ID, CURR, DATE,
+            Limit.of( 1 ) );
+
+        assertEquals( 1, result.size() );
+        assertEquals( new RateProjection( BRAND_ID, PRODUCT_ID, 3, Instant.parse( "2020-06-15T00:00:00Z" ),
+            Instant.parse( "2020-06-15T20:00:00Z" ), ( short ) 1, new BigDecimal( "30.5000" ), CURR ),
+            result.getFirst() );
+        assertTrue( cut.findRatesByPriorityForBrandAndProductAndCurrency( BRAND_ID, PRODUCT_ID, CURR,
+            Instant.parse( "2025-06-14T16:00:00Z" ), Limit.of( 1 ) ).isEmpty() );
+    }
+}
@@ -10,6 +10,7 @@ import org.mapstruct.factory.Mappers;
 import static org.junit.jupiter.api.Assertions.*;
 
 import com.mgm.inditex.adapter.outbound.persistence.jpa.entity.RateJpaEntity;
+import com.mgm.inditex.adapter.outbound.persistence.jpa.projection.RateProjection;
 
 // CSOFF: Javadoc
 class RateJpaMapperTest
@@ -51,4 +52,26 @@ class RateJpaMapperTest
         assertEquals( LocalDateTime.ofInstant( rateJpaEntity.getEndDate(), ZoneOffset.UTC ), rateDto.getEndDate() );
         assertEquals( rateJpaEntity.getCurrency(), rateDto.getCurrency() );
     }
-}
\ No newline at end of file
+
+    @Test
+    void rateProjectionToRate()
+    {
+        // Given: a read-only projection of a rate row
+        var projection = new RateProjection( BRAND_ID, PRODUCT_ID, PRICE_LIST, START_DATE, END_DATE, PRIORITY,
+            new BigDecimal( "35.5" ), CURR );
+
+        // When: converting it to the domain
+        var rate = cut.rateProjectionToRate( projection );
+
+        // Then: the rate carries the same values
+        assertEquals( PRODUCT_ID, rate.getProductId() );
+        assertEquals( BRAND_ID, rate.getBrandId() );
+        assertEquals( PRICE_LIST, rate.getPriceListId() );
+        assertEquals( PRIORITY, rate.getPriority() );
+        assertEquals( new BigDecimal( "35.5000" ), rate.getPrice() );
+        assertEquals( LocalDateTime.ofInstant( START_DATE, ZoneOffset.UTC ), rate.getStartDate() );
+        assertEquals( LocalDateTime.ofInstant( END_DATE, ZoneOffset.UTC ), rate.getEndDate() );
+        assertEquals( CURR, rate.getCurrency() );
+        assertNull( cut.rateProjectionToRate( null ) );
+    }
+}
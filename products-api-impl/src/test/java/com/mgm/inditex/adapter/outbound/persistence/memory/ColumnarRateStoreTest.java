@@ -0,0 +1,168 @@
+package com.mgm.inditex.adapter.outbound.persistence.memory;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import static org.junit.jupiter.api.Assertions.*;
+import static com.mgm.inditex.fixtures.RateFixture.rate;
+
+import com.mgm.inditex.core.domain.Rate;
+import com.mgm.inditex.core.domain.RateKey;
+import com.mgm.inditex.fixtures.RateDatasets;
+
+// CSOFF: Javadoc
+class ColumnarRateStoreTest
+{
+    private static final Integer BRAND_ID = 1;
+    private static final Long PRODUCT_ID = 35455L;
+    private static final RateKey EUR_KEY = new RateKey( BRAND_ID, PRODUCT_ID, "EUR" );
+    private static final LocalDateTime JUNE_14 = LocalDateTime.of( 2020, 6, 14, 0, 0 );
+    private static final LocalDateTime AFTERNOON_END = JUNE_14.withHour( 18 ).withMinute( 30 );
+
+    private final Rate wide = rate().priceList( 1 ).priority( 1 )
+        .valid( JUNE_14, LocalDateTime.of( 2020, 12, 31, 23, 59, 59 ) ).price( "35.50" ).toRate();
+    private final Rate afternoon = rate().priceList( 2 ).priority( 2 ).valid( JUNE_14.withHour( 15 ), AFTERNOON_END )
+        .price( "25.45" ).toRate();
+    private final Rate dollars = rate().priceList( 3 ).priority( 3 ).valid( JUNE_14.withHour( 15 ), AFTERNOON_END )
+        .currency( "USD" ).price( "28.4512" ).toRate();
+
+    private final ColumnarRateStore cut = ColumnarRateStore.of( List.of( wide, afternoon, dollars ) );
+
+    @Test
+    void findShouldMaterialiseEqualRatesInLoadOrder()
+    {
+        var result = cut.find( EUR_KEY, JUNE_14.withHour( 16 ) );
+
+        assertEquals( List.of( wide, afternoon ), result );
+        assertEquals( afternoon.getPriority(), result.get( 1 ).getPriority() );
+        assertEquals( new BigDecimal( "25.4500" ), result.get( 1 ).getPrice() );
+    }
+
+    @Test
+    void findWhenQueryHasSubSecondPrecisionShouldKeepInclusiveBoundariesExact()
+    {
+        assertEquals( List.of( wide, afternoon ), cut.find( EUR_KEY, AFTERNOON_END ) );
+        assertEquals( List.of( wide ), cut.find( EUR_KEY, AFTERNOON_END.plusNanos( 1 ) ) );
+        assertEquals( List.of( wide, afternoon ), cut.find( EUR_KEY, AFTERNOON_END.minusNanos( 1 ) ) );
+        assertEquals( List.of(), cut.find( EUR_KEY, JUNE_14.minusNanos( 1 ) ) );
+    }
+
+    @Test
+    void findForBrandAndProductShouldReturnEveryCurrency()
+    {
+        assertEquals( List.of( wide, afternoon, dollars ), cut.find( BRAND_ID, PRODUCT_ID, JUNE_14.withHour( 16 ) ) );
+        assertEquals( List.of(), cut.find( BRAND_ID, 1L, JUNE_14.withHour( 16 ) ) );
+    }
+
+    @Test
+    void findWhenCurrencyOrKeyIsUnknownShouldReturnEmptyList()
+    {
+        assertTrue( cut.find( new RateKey( BRAND_ID, PRODUCT_ID, "GBP" ), JUNE_14.withHour( 16 ) ).isEmpty() );
+        assertTrue( cut.find( new RateKey( 2, PRODUCT_ID, "EUR" ), JUNE_14.withHour( 16 ) ).isEmpty() );
+    }
+
+    @Test
+    void keysOfBrandShouldReturnOnlyKeysOfThatBrandInProductOrder()
+    {
+        // given
+        var other = rate().brand( 2 ).product( 9L ).toRate();
+        var first = rate().brand( 2 ).product( 3L ).currency( "USD" ).toRate();
+        var last = rate().brand( Integer.MAX_VALUE ).toRate();
+        var store = ColumnarRateStore.of( List.of( wide, other, dollars, first, last ) );
+
+        // when / then
+        assertEquals( List.of( new RateKey( 2, 3L, "USD" ), new RateKey( 2, 9L, "EUR" ) ), store.keys( 2 ) );
+        assertEquals( Set.of( EUR_KEY, new RateKey( BRAND_ID, PRODUCT_ID, "USD" ) ), Set.copyOf( store.keys( 1 ) ) );
+        assertEquals( List.of( RateKey.of( last ) ), store.keys( Integer.MAX_VALUE ) );
+        assertEquals( List.of(), store.keys( 3 ) );
+    }
+
+    @Test
+    void containsShouldTellWhetherKeyHasAnyRate()
+    {
+        assertTrue( cut.contains( EUR_KEY ) );
+        assertFalse( cut.contains( new RateKey( BRAND_ID, PRODUCT_ID, "GBP" ) ) );
+        assertFalse( cut.contains( new RateKey( 2, PRODUCT_ID, "EUR" ) ) );
+    }
+
+    @Test
+    void ofWhenBoundaryHasFractionalSecondsShouldThrowException()
+    {
+        var fractional = rate().priceList( 4 ).priority( 4 ).valid( JUNE_14.plusNanos( 500 ), AFTERNOON_END )
+            .price( "1" ).toRate();
+
+        assertThrows( IllegalArgumentException.class, () -> ColumnarRateStore.of( List.of( fractional ) ) );
+    }
+
+    @Test
+    void estimatedBytesShouldStayWellBelowObjectGraph()
+    {
+        assertEquals( 3, cut.size() );
+        assertEquals( 2, cut.keyCount() );
+        assertTrue( cut.estimatedBytes() < 3 * 100 + 11 * 16 + 2 * 30 );
+    }
+
+    @Test
+    void findShouldMatchFullScanWhenManyRatesOfKeyNestAndOverlap()
+    {
+        // given: rates of every length, so the ones open at an instant are spread all over the start order
+        var random = new Random( 7 );
+        var rates = new ArrayList<Rate>();
+        for ( var i = 0; i < 500; i++ )
+        {
+            var start = JUNE_14.plusHours( random.nextInt( 2_000 ) );
+            var hours = 1 + random.nextInt( 1 << random.nextInt( 12 ) );
+            rates.add( rate().priceList( i ).valid( start, start.plusHours( hours ) ).toRate() );
+        }
+        var store = ColumnarRateStore.of( rates );
+
+        for ( var hour = -1; hour < 2_100; hour += 7 )
+        {
+            // when
+            var at = JUNE_14.plusHours( hour );
+
+            // then
+            assertEquals( rates.stream().filter( rate -> rate.appliesAt( at ) ).toList(), store.find( EUR_KEY, at ) );
+            assertEquals( rates.stream().filter( rate -> rate.appliesAt( at.plusNanos( 1 ) ) ).toList(),
+                store.find( EUR_KEY, at.plusNanos( 1 ) ) );
+        }
+    }
+
+    static Stream<String> datasets()
+    {
+        return Stream.of( RateDatasets.DEV, RateDatasets.STAGING, RateDatasets.PERFORMANCE );
+    }
+
+    @ParameterizedTest
+    @MethodSource( "datasets" )
+    void findShouldMatchIntervalIndexOnDataset( final String dataset )
+    {
+        var rates = RateDatasets.load( dataset );
+        var columnar = ColumnarRateStore.of( rates );
+        var index = RateIntervalIndex.of( rates );
+
+        for ( var rate : rates )
+        {
+            var key = RateKey.of( rate );
+            assertEquals( index.find( key ), columnar.find( key ) );
+            for ( var at : List.of( rate.getStartDate().minusSeconds( 1 ), rate.getStartDate(),
+                rate.getEndDate(), rate.getEndDate().plusNanos( 1 ) ) )
+            {
+                assertEquals( index.find( key, at ), columnar.find( key, at ) );
+                assertEquals( index.find( rate.getBrandId(), rate.getProductId(), at ),
+                    columnar.find( rate.getBrandId(), rate.getProductId(), at ) );
+            }
+        }
+        assertEquals( Set.copyOf( index.keys() ), Set.copyOf( columnar.keys() ) );
+        assertEquals( index.size(), columnar.size() );
+        assertEquals( index.keyCount(), columnar.keyCount() );
+    }
+}
@@ -0,0 +1,124 @@
+package com.mgm.inditex.adapter.outbound.persistence.memory;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import static com.mgm.inditex.fixtures.RateFixture.rate;
+
+import com.mgm.inditex.core.domain.Rate;
+import com.mgm.inditex.core.domain.RateKey;
+import com.mgm.inditex.fixtures.RateFixture;
+
+// CSOFF: Javadoc
+class PatchedRateStoreTest
+{
+    private static final Integer BRAND_ID = 1;
+    private static final Long PRODUCT_ID = 35455L;
+    private static final LocalDateTime DATE = LocalDateTime.of( 2020, 6, 14, 10, 0 );
+    private static final RateKey EUR_KEY = new RateKey( BRAND_ID, PRODUCT_ID, "EUR" );
+    private static final RateKey USD_KEY = new RateKey( BRAND_ID, PRODUCT_ID, "USD" );
+    private static final RateKey GBP_KEY = new RateKey( BRAND_ID, PRODUCT_ID, "GBP" );
+    private static final RateFixture RATE = rate().priority( 1 ).price( "10.05" );
+
+    private final Rate euros = RATE.priceList( 1 ).valid( DATE.minusDays( 1 ), DATE.plusDays( 5 ) ).toRate();
+    private final Rate dollars = RATE.priceList( 2 ).currency( "USD" ).valid( DATE.minusDays( 1 ), DATE.plusDays( 5 ) )
+        .toRate();
+    private final RateStore base = RateIntervalIndex.of( List.of( euros, dollars ) );
+
+    @Test
+    void patchShouldOverrideChangedKeysAndKeepTheOthers()
+    {
+        // given
+        var lateEuros = RATE.priceList( 3 ).valid( DATE.plusDays( 1 ), DATE.plusDays( 5 ) ).toRate();
+        var pounds = RATE.priceList( 4 ).currency( "GBP" ).valid( DATE.minusDays( 1 ), DATE.plusDays( 5 ) ).toRate();
+
+        // when
+        var cut = PatchedRateStore.patch( base, Map.of( EUR_KEY, List.of( lateEuros ), GBP_KEY, List.of( pounds ) ) );
+
+        // then
+        assertTrue( cut.find( EUR_KEY, DATE ).isEmpty() );
+        assertEquals( List.of( lateEuros ), cut.find( EUR_KEY ) );
+        assertEquals( List.of( dollars ), cut.find( USD_KEY, DATE ) );
+        assertEquals( List.of( pounds ), cut.find( GBP_KEY, DATE ) );
+        assertEquals( Set.of( dollars, pounds ), Set.copyOf( cut.find( BRAND_ID, PRODUCT_ID, DATE ) ) );
+        assertEquals( Set.of( EUR_KEY, USD_KEY, GBP_KEY ), Set.copyOf( cut.keys() ) );
+        assertEquals( 3, cut.size() );
+        assertEquals( 3, cut.keyCount() );
+    }
+
+    @Test
+    void patchWhenRatesAreEmptyShouldRemoveKey()
+    {
+        var cut = PatchedRateStore.patch( base, Map.of( USD_KEY, List.of() ) );
+
+        assertTrue( cut.find( USD_KEY, DATE ).isEmpty() );
+        assertEquals( List.of( euros ), cut.find( BRAND_ID, PRODUCT_ID, DATE ) );
+        assertEquals( List.of( EUR_KEY ), cut.keys() );
+        assertFalse( cut.contains( USD_KEY ) );
+        assertTrue( cut.contains( EUR_KEY ) );
+        assertEquals( 1, cut.size() );
+        assertEquals( 1, cut.keyCount() );
+    }
+
+    @Test
+    void keysOfBrandShouldMergePatchedKeysInProductOrder()
+    {
+        // given
+        var earlier = RATE.product( 1L ).toRate();
+        var later = RATE.product( 99999L ).toRate();
+        var otherBrand = RATE.brand( 2 ).toRate();
+        var changes = Map.of( RateKey.of( earlier ), List.of( earlier ), RateKey.of( later ), List.of( later ),
+            RateKey.of( otherBrand ), List.of( otherBrand ), USD_KEY, List.<Rate>of() );
+
+        // when
+        var cut = PatchedRateStore.patch( base, changes );
+
+        // then
+        assertEquals( List.of( RateKey.of( earlier ), EUR_KEY, RateKey.of( later ) ), cut.keys( BRAND_ID ) );
+        assertEquals( List.of( RateKey.of( otherBrand ) ), cut.keys( 2 ) );
+    }
+
+    @Test
+    void patchWhenStoreIsPatchedShouldMergeOverTheSameBase()
+    {
+        // given
+        var first = PatchedRateStore.patch( base, Map.of( USD_KEY, List.of() ) );
+        var restored = RATE.priceList( 5 ).currency( "USD" ).valid( DATE.minusDays( 2 ), DATE.plusDays( 5 ) ).toRate();
+
+        // when
+        var cut = PatchedRateStore.patch( first, Map.of( USD_KEY, List.of( restored ), EUR_KEY, List.of() ) );
+
+        // then
+        assertEquals( List.of( restored ), cut.find( USD_KEY, DATE ) );
+        assertTrue( cut.find( EUR_KEY, DATE ).isEmpty() );
+        assertEquals( 2, cut.patchedKeyCount() );
+        assertEquals( 1, cut.size() );
+        assertEquals( 1, cut.keyCount() );
+    }
+
+    @Test
+    void patchShouldCarrySizeAndKeyCountOverFromPatchedStore()
+    {
+        // given: the patched store answers the count of a patched key from its patch, not from the base
+        var first = PatchedRateStore.patch( base, Map.of( USD_KEY, List.of() ) );
+        var moreEuros = RATE.priceList( 6 ).valid( DATE.plusDays( 6 ), DATE.plusDays( 9 ) ).toRate();
+
+        // when
+        var second = PatchedRateStore.patch( first, Map.of( USD_KEY, List.of( dollars, dollars ) ) );
+        var cut = PatchedRateStore.patch( second, Map.of( EUR_KEY, List.of( euros, moreEuros ), USD_KEY,
+            List.of() ) );
+
+        // then
+        assertEquals( 0, first.count( USD_KEY ) );
+        assertEquals( 2, second.count( USD_KEY ) );
+        assertEquals( 3, second.size() );
+        assertEquals( 2, second.keyCount() );
+        assertEquals( 2, cut.size() );
+        assertEquals( 1, cut.keyCount() );
+        assertEquals( 2, cut.count( EUR_KEY ) );
+    }
+}
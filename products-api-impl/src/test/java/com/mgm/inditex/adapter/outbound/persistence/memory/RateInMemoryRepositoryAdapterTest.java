@@ -0,0 +1,172 @@
+package com.mgm.inditex.adapter.outbound.persistence.memory;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import static com.mgm.inditex.fixtures.RateFixture.rate;
+
+import com.mgm.inditex.core.domain.Rate;
+import com.mgm.inditex.core.domain.RateKey;
+import com.mgm.inditex.fixtures.RateFixture;
+
+// CSOFF: Javadoc
+class RateInMemoryRepositoryAdapterTest
+{
+    private static final Integer BRAND_ID = 1;
+    private static final Long PRODUCT_ID = 35455L;
+    private static final String CURRENCY = "EUR";
+    private static final LocalDateTime SERVICE_DATE_TIME = LocalDateTime.of( 2020, 6, 14, 10, 0 );
+    private static final Instant DATE = SERVICE_DATE_TIME.toInstant( ZoneOffset.UTC );
+    private static final RateFixture RATE = rate()
+        .valid( SERVICE_DATE_TIME.minusDays( 5 ), SERVICE_DATE_TIME.plusDays( 5 ) ).priority( 1 ).price( "10.05" );
+
+    private final List<Rate> table = new ArrayList<>();
+    private final RateInMemoryRepositoryAdapter cut = new RateInMemoryRepositoryAdapter( () -> List.copyOf( table ) );
+
+    @Test
+    void findRatesForBrandAndProductAndCurrencyWhenNotReloadedShouldReturnEmptyList()
+    {
+        table.add( RATE.priceList( 1 ).currency( CURRENCY ).toRate() );
+
+        assertTrue( cut.findRatesForBrandAndProductAndCurrency( BRAND_ID, PRODUCT_ID, CURRENCY, DATE ).isEmpty() );
+    }
+
+    @Test
+    void findRatesForBrandAndProductAndCurrencyWhenReloadedShouldReturnLoadedRates()
+    {
+        var rate1 = RATE.priceList( 1 ).currency( CURRENCY ).toRate();
+        var rate2 = RATE.priceList( 2 ).currency( CURRENCY ).toRate();
+        table.addAll( List.of( rate1, rate2, RATE.priceList( 3 ).currency( "USD" ).toRate() ) );
+
+        cut.reload();
+        var result = cut.findRatesForBrandAndProductAndCurrency( BRAND_ID, PRODUCT_ID, CURRENCY, DATE );
+
+        assertEquals( List.of( rate1, rate2 ), result );
+    }
+
+    @Test
+    void findRatesForBrandAndProductWhenReloadedShouldReturnEveryCurrency()
+    {
+        table.addAll( List.of( RATE.priceList( 1 ).currency( CURRENCY ).toRate(),
+            RATE.priceList( 2 ).currency( "USD" ).toRate() ) );
+
+        cut.reload();
+        var result = cut.findRatesForBrandAndProduct( BRAND_ID, PRODUCT_ID, DATE );
+
+        assertEquals( 2, result.size() );
+        assertTrue( cut.findRatesForBrandAndProduct( BRAND_ID, 1L, DATE ).isEmpty() );
+    }
+
+    @Test
+    void reloadShouldReplacePreviousSnapshot()
+    {
+        table.add( RATE.priceList( 1 ).currency( CURRENCY ).toRate() );
+        cut.reload();
+
+        table.clear();
+        cut.reload();
+
+        assertTrue( cut.findRatesForBrandAndProductAndCurrency( BRAND_ID, PRODUCT_ID, CURRENCY, DATE ).isEmpty() );
+    }
+
+    @Test
+    void applyShouldReplaceRatesOfChangedKeysOnly()
+    {
+        var euros = RATE.priceList( 1 ).currency( CURRENCY ).toRate();
+        var dollars = RATE.priceList( 2 ).currency( "USD" ).toRate();
+        table.addAll( List.of( euros, dollars ) );
+        cut.reload();
+
+        var newEuros = RATE.priceList( 3 ).currency( CURRENCY ).toRate();
+        cut.apply( Map.of( RateKey.of( euros ), List.of( newEuros ), RateKey.of( dollars ), List.of() ) );
+
+        assertEquals( List.of( newEuros ),
+            cut.findRatesForBrandAndProductAndCurrency( BRAND_ID, PRODUCT_ID, CURRENCY, DATE ) );
+        assertTrue( cut.findRatesForBrandAndProductAndCurrency( BRAND_ID, PRODUCT_ID, "USD", DATE ).isEmpty() );
+        assertEquals( List.of( RateKey.of( euros ) ), cut.findAllRateKeys() );
+        assertNotNull( cut.loadedAt() );
+    }
+
+    @Test
+    void fromStoreWhenReloadedShouldServeOpenedStore()
+    {
+        var rate1 = RATE.priceList( 1 ).currency( CURRENCY ).toRate();
+        var fromStore = RateInMemoryRepositoryAdapter.fromStore( () -> ColumnarRateStore.of( List.of( rate1 ) ),
+            ColumnarRateStore::of );
+
+        fromStore.reload();
+
+        assertEquals( List.of( rate1 ),
+            fromStore.findRatesForBrandAndProductAndCurrency( BRAND_ID, PRODUCT_ID, CURRENCY, DATE ) );
+    }
+
+    @Test
+    void applyWhenMoreKeysThanThresholdArePatchedShouldFoldPatchesIntoNewStore()
+    {
+        // given
+        var euros = RATE.priceList( 1 ).currency( CURRENCY ).toRate();
+        var dollars = RATE.priceList( 2 ).currency( "USD" ).toRate();
+        var pounds = RATE.priceList( 3 ).currency( "GBP" ).toRate();
+        table.addAll( List.of( euros, dollars ) );
+        var columnar = new RateInMemoryRepositoryAdapter( () -> List.copyOf( table ), ColumnarRateStore::of );
+        columnar.setCompactionThreshold( 1 );
+        columnar.reload();
+
+        // when
+        columnar.apply( Map.of( RateKey.of( pounds ), List.of( pounds ) ) );
+        var patched = columnar.store();
+        columnar.apply( Map.of( RateKey.of( dollars ), List.of() ) );
+
+        // then
+        assertInstanceOf( PatchedRateStore.class, patched );
+        assertInstanceOf( ColumnarRateStore.class, columnar.store() );
+        assertEquals( 2, columnar.store().size() );
+        assertEquals( List.of( euros, pounds ),
+            columnar.findRatesForBrandAndProduct( BRAND_ID, PRODUCT_ID, DATE ).stream()
+                .sorted( Comparator.comparing( Rate::getPriceListId ) ).toList() );
+        assertFalse( columnar.hasRatesForBrandAndProductAndCurrency( BRAND_ID, PRODUCT_ID, "USD" ) );
+    }
+
+    @Test
+    void findRatesForKeysShouldReturnRatesOfEveryKeyOverlappingRange()
+    {
+        var rate1 = RATE.priceList( 1 ).currency( CURRENCY ).toRate();
+        var dollars = RATE.priceList( 2 ).currency( "USD" ).toRate();
+        var later = Rate.of( BRAND_ID, PRODUCT_ID, 3, SERVICE_DATE_TIME.plusDays( 10 ),
+            SERVICE_DATE_TIME.plusDays( 20 ), ( short ) 1, new BigDecimal( "9.99" ), CURRENCY );
+        table.addAll( List.of( rate1, dollars, later, RATE.priceList( 4 ).currency( "GBP" ).toRate() ) );
+        cut.reload();
+
+        var result = cut.findRatesForKeys( List.of( new RateKey( BRAND_ID, PRODUCT_ID, CURRENCY ),
+            new RateKey( BRAND_ID, PRODUCT_ID, "USD" ), new RateKey( BRAND_ID, 1L, CURRENCY ) ), DATE,
+            DATE.plusSeconds( 3600 ) );
+
+        assertEquals( List.of( rate1, dollars ), result );
+    }
+
+    @Test
+    void forEachRateForBrandShouldVisitRatesGroupedByProductAndCurrency()
+    {
+        var euros = RATE.priceList( 1 ).currency( CURRENCY ).toRate();
+        var dollars = RATE.priceList( 2 ).currency( "USD" ).toRate();
+        var otherProduct = Rate.of( BRAND_ID, PRODUCT_ID - 1, 3, SERVICE_DATE_TIME.minusDays( 1 ),
+            SERVICE_DATE_TIME.plusDays( 1 ), ( short ) 0, new BigDecimal( "9.99" ), CURRENCY );
+        var otherBrand = Rate.of( BRAND_ID + 1, PRODUCT_ID, 4, SERVICE_DATE_TIME.minusDays( 1 ),
+            SERVICE_DATE_TIME.plusDays( 1 ), ( short ) 0, new BigDecimal( "9.99" ), CURRENCY );
+        table.addAll( List.of( dollars, euros, otherProduct, otherBrand ) );
+        cut.reload();
+        var visited = new ArrayList<Rate>();
+
+        cut.forEachRateForBrand( BRAND_ID, DATE, visited::add );
+
+        assertEquals( List.of( otherProduct, euros, dollars ), visited );
+    }
+}
@@ -0,0 +1,151 @@
+package com.mgm.inditex.adapter.outbound.persistence.memory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import static com.mgm.inditex.fixtures.RateFixture.rate;
+
+import com.mgm.inditex.core.domain.Rate;
+import com.mgm.inditex.core.domain.RateKey;
+
+// CSOFF: Javadoc
+class RateIntervalIndexTest
+{
+    private static final Integer BRAND_ID = 1;
+    private static final Long PRODUCT_ID = 35455L;
+    private static final String EUR = "EUR";
+    private static final String USD = "USD";
+    private static final RateKey EUR_KEY = new RateKey( BRAND_ID, PRODUCT_ID, EUR );
+    private static final LocalDateTime JUNE_14 = LocalDateTime.of( 2020, 6, 14, 0, 0 );
+
+    private final Rate wide = rate().priceList( 1 ).valid( JUNE_14, LocalDateTime.of( 2020, 12, 31, 23, 59, 59 ) )
+        .currency( EUR ).toRate();
+    private final Rate afternoon = rate().priceList( 2 )
+        .valid( JUNE_14.withHour( 15 ), JUNE_14.withHour( 18 ).withMinute( 30 ) ).priority( 1 ).currency( EUR )
+        .toRate();
+    private final Rate morning = rate().priceList( 3 )
+        .valid( JUNE_14.plusDays( 1 ), JUNE_14.plusDays( 1 ).withHour( 11 ) ).priority( 1 ).currency( EUR ).toRate();
+    private final Rate dollars = rate().priceList( 4 )
+        .valid( JUNE_14.withHour( 15 ), JUNE_14.withHour( 18 ).withMinute( 30 ) ).priority( 1 ).currency( USD )
+        .toRate();
+
+    private final RateIntervalIndex cut = RateIntervalIndex.of( List.of( wide, afternoon, morning, dollars ) );
+
+    @Test
+    void findWhenSingleRateAppliesShouldReturnIt()
+    {
+        assertEquals( List.of( wide ), cut.find( EUR_KEY, JUNE_14.withHour( 10 ) ) );
+    }
+
+    @Test
+    void findWhenRatesOverlapShouldReturnAllInLoadOrder()
+    {
+        assertEquals( List.of( wide, afternoon ), cut.find( EUR_KEY, JUNE_14.withHour( 16 ) ) );
+    }
+
+    @Test
+    void findWhenLongRateStartedBeforeShortOnesShouldStillBeFound()
+    {
+        // the short "afternoon" rate ends before the query, the wide one started long before it
+        assertEquals( List.of( wide ), cut.find( EUR_KEY, JUNE_14.withHour( 21 ) ) );
+    }
+
+    @Test
+    void findWhenQueryIsOnBoundariesShouldTreatThemAsInclusive()
+    {
+        assertEquals( List.of( wide, afternoon ), cut.find( EUR_KEY, JUNE_14.withHour( 15 ) ) );
+        assertEquals( List.of( wide, afternoon ), cut.find( EUR_KEY, JUNE_14.withHour( 18 ).withMinute( 30 ) ) );
+        assertEquals( List.of( wide ), cut.find( EUR_KEY, JUNE_14.withHour( 18 ).withMinute( 30 ).plusNanos( 1 ) ) );
+        assertEquals( List.of(), cut.find( EUR_KEY, JUNE_14.minusNanos( 1 ) ) );
+    }
+
+    @Test
+    void findWhenKeyIsUnknownShouldReturnEmptyList()
+    {
+        assertTrue( cut.find( new RateKey( 2, PRODUCT_ID, EUR ), JUNE_14.withHour( 16 ) ).isEmpty() );
+        assertTrue( cut.find( new RateKey( BRAND_ID, PRODUCT_ID, "GBP" ), JUNE_14.withHour( 16 ) ).isEmpty() );
+    }
+
+    @Test
+    void findOverRangeShouldReturnEveryOverlappingRateInLoadOrder()
+    {
+        var evening = JUNE_14.withHour( 19 );
+
+        assertEquals( List.of( wide, afternoon ), cut.find( EUR_KEY, JUNE_14.withHour( 10 ), JUNE_14.withHour( 15 ) ) );
+        assertEquals( List.of( wide, morning ), cut.find( EUR_KEY, evening, JUNE_14.plusDays( 1 ).withHour( 1 ) ) );
+        assertEquals( List.of( wide, afternoon, morning ), cut.find( EUR_KEY, JUNE_14, JUNE_14.plusDays( 2 ) ) );
+        assertEquals( List.of(), cut.find( EUR_KEY, JUNE_14.minusDays( 2 ), JUNE_14.minusNanos( 1 ) ) );
+        assertEquals( List.of(), cut.find( new RateKey( 2, PRODUCT_ID, EUR ), JUNE_14, evening ) );
+    }
+
+    @Test
+    void findForBrandAndProductShouldReturnEveryCurrencyInLoadOrder()
+    {
+        assertEquals( List.of( wide, afternoon, dollars ), cut.find( BRAND_ID, PRODUCT_ID, JUNE_14.withHour( 16 ) ) );
+        assertEquals( List.of( wide ), cut.find( BRAND_ID, PRODUCT_ID, JUNE_14.withHour( 10 ) ) );
+    }
+
+    @Test
+    void findWithoutDateShouldReturnEveryRateOfKeyInLoadOrder()
+    {
+        assertEquals( List.of( wide, afternoon, morning ), cut.find( EUR_KEY ) );
+        assertEquals( List.of(), cut.find( new RateKey( BRAND_ID, PRODUCT_ID, "GBP" ) ) );
+    }
+
+    @Test
+    void keysShouldReturnEveryDistinctKey()
+    {
+        assertEquals( Set.of( EUR_KEY, new RateKey( BRAND_ID, PRODUCT_ID, USD ) ), Set.copyOf( cut.keys() ) );
+        assertEquals( 2, cut.keys().size() );
+    }
+
+    @Test
+    void keysOfBrandShouldReturnOnlyKeysOfThatBrandInProductOrder()
+    {
+        var index = RateIntervalIndex.of( List.of( rate().brand( 2 ).product( 9L ).toRate(),
+            rate().brand( 1 ).toRate(), rate().brand( 2 ).product( 3L ).toRate() ) );
+
+        assertEquals( List.of( new RateKey( 2, 3L, "EUR" ), new RateKey( 2, 9L, "EUR" ) ), index.keys( 2 ) );
+        assertEquals( List.of(), index.keys( 3 ) );
+    }
+
+    @Test
+    void findShouldMatchFullScanWhenManyRatesOfKeyNestAndOverlap()
+    {
+        // given: rates of every length, so the ones open at an instant are spread all over the start order
+        var random = new Random( 42 );
+        var rates = new ArrayList<Rate>();
+        for ( var i = 0; i < 500; i++ )
+        {
+            var start = JUNE_14.plusHours( random.nextInt( 2_000 ) );
+            var hours = 1 + random.nextInt( 1 << random.nextInt( 12 ) );
+            rates.add( rate().priceList( i ).valid( start, start.plusHours( hours ) ).toRate() );
+        }
+        var index = RateIntervalIndex.of( rates );
+
+        for ( var hour = -1; hour < 2_100; hour += 7 )
+        {
+            // when
+            var at = JUNE_14.plusHours( hour );
+            var until = at.plusHours( hour % 50 );
+
+            // then
+            assertEquals( rates.stream().filter( rate -> rate.appliesAt( at ) ).toList(), index.find( EUR_KEY, at ) );
+            assertEquals( rates.stream().filter( rate -> !rate.getStartDate().isAfter( until )
+                && !rate.getEndDate().isBefore( at ) ).toList(), index.find( EUR_KEY, at, until ) );
+        }
+    }
+
+    @Test
+    void sizeAndKeyCountShouldDescribeIndexedRates()
+    {
+        assertEquals( 4, cut.size() );
+        assertEquals( 2, cut.keyCount() );
+        assertEquals( 0, RateIntervalIndex.empty().size() );
+    }
+}
@@ -0,0 +1,135 @@
+package com.mgm.inditex.adapter.outbound.persistence.memory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.mgm.inditex.core.domain.RateKey;
+import com.mgm.inditex.fixtures.RateDatasets;
+
+// CSOFF: Javadoc
+class RateSnapshotFileTest
+{
+    @TempDir
+    private Path directory;
+
+    static Stream<String> datasets()
+    {
+        return Stream.of( RateDatasets.DEV, RateDatasets.STAGING, RateDatasets.PERFORMANCE );
+    }
+
+    @ParameterizedTest
+    @MethodSource( "datasets" )
+    void mapShouldAnswerLikeWrittenStore( final String dataset ) throws IOException
+    {
+        var rates = RateDatasets.load( dataset );
+        var written = ColumnarRateStore.of( rates );
+        var file = directory.resolve( "rates.snapshot" );
+
+        RateSnapshotFile.write( written, file );
+        var cut = RateSnapshotFile.map( file );
+
+        assertEquals( written.size(), cut.size() );
+        assertEquals( written.keyCount(), cut.keyCount() );
+        assertEquals( written.estimatedBytes(), cut.estimatedBytes() );
+        for ( var rate : rates )
+        {
+            var key = RateKey.of( rate );
+            for ( var at : List.of( rate.getStartDate().minusSeconds( 1 ), rate.getStartDate(), rate.getEndDate(),
+                rate.getEndDate().plusNanos( 1 ) ) )
+            {
+                assertEquals( written.find( key, at ), cut.find( key, at ) );
+                assertEquals( written.find( rate.getBrandId(), rate.getProductId(), at ),
+                    cut.find( rate.getBrandId(), rate.getProductId(), at ) );
+            }
+        }
+    }
+
+    @Test
+    void writeShouldReplaceExistingSnapshot() throws IOException
+    {
+        var file = directory.resolve( "rates.snapshot" );
+        RateSnapshotFile.write( ColumnarRateStore.of( RateDatasets.load( RateDatasets.STAGING ) ), file );
+
+        RateSnapshotFile.write( ColumnarRateStore.of( RateDatasets.load( RateDatasets.DEV ) ), file );
+
+        assertEquals( 4, RateSnapshotFile.map( file ).size() );
+        assertFalse( Files.exists( directory.resolve( "rates.snapshot.tmp" ) ) );
+    }
+
+    @Test
+    void writeWhenRenameFailsShouldDeleteTemporaryFile() throws IOException
+    {
+        // Given: a non-empty directory where the snapshot should go, so the final rename cannot replace it
+        var file = directory.resolve( "rates.snapshot" );
+        Files.createDirectories( file );
+        Files.writeString( file.resolve( "occupied" ), "x" );
+        var store = ColumnarRateStore.of( RateDatasets.load( RateDatasets.DEV ) );
+
+        // When / Then
+        assertThrows( IOException.class, () -> RateSnapshotFile.write( store, file ) );
+        assertFalse( Files.exists( directory.resolve( "rates.snapshot.tmp" ) ) );
+        assertTrue( Files.isDirectory( file ) );
+    }
+
+    @Test
+    void writeWhenStoreIsEmptyShouldMapEmptyStore() throws IOException
+    {
+        var file = directory.resolve( "empty.snapshot" );
+
+        RateSnapshotFile.write( ColumnarRateStore.of( List.of() ), file );
+        var cut = RateSnapshotFile.map( file );
+
+        assertEquals( 0, cut.size() );
+        assertEquals( 0, cut.keyCount() );
+    }
+
+    @Test
+    void mapWhenMagicDoesNotMatchShouldThrowException() throws IOException
+    {
+        var file = Files.write( directory.resolve( "rates.csv" ), "brand_id,product_id,...".getBytes() );
+
+        var exception = assertThrows( IOException.class, () -> RateSnapshotFile.map( file ) );
+
+        assertTrue( exception.getMessage().startsWith( "Not a rate snapshot" ) );
+    }
+
+    @Test
+    void mapWhenFileIsTruncatedShouldThrowException() throws IOException
+    {
+        var file = directory.resolve( "rates.snapshot" );
+        RateSnapshotFile.write( ColumnarRateStore.of( RateDatasets.load( RateDatasets.DEV ) ), file );
+        try ( var channel = FileChannel.open( file, StandardOpenOption.WRITE ) )
+        {
+            channel.truncate( channel.size() - Long.BYTES );
+        }
+
+        var exception = assertThrows( IOException.class, () -> RateSnapshotFile.map( file ) );
+
+        assertTrue( exception.getMessage().startsWith( "Truncated rate snapshot" ) );
+    }
+
+    @Test
+    void mapWhenVersionIsUnknownShouldThrowException() throws IOException
+    {
+        var header = ByteBuffer.allocate( Integer.BYTES * 5 ).order( ByteOrder.LITTLE_ENDIAN )
+            .putInt( RateSnapshotFile.MAGIC ).putInt( RateSnapshotFile.VERSION + 1 ).array();
+        var file = Files.write( directory.resolve( "rates.snapshot" ), header );
+
+        var exception = assertThrows( IOException.class, () -> RateSnapshotFile.map( file ) );
+
+        assertTrue( exception.getMessage().startsWith( "Unsupported rate snapshot version" ) );
+    }
+}
@@ -0,0 +1,102 @@
+package com.mgm.inditex.adapter.outbound.persistence.memory;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static com.mgm.inditex.fixtures.RateFixture.rate;
+
+import com.mgm.inditex.core.domain.Rate;
+import com.mgm.inditex.core.domain.RateRecord;
+import com.mgm.inditex.core.port.outbound.RateConflictCheck;
+import com.mgm.inditex.core.port.outbound.RateConstraintViolationException;
+import com.mgm.inditex.core.port.outbound.RateRepositoryPort;
+import com.mgm.inditex.core.port.outbound.RateWritePort;
+import com.mgm.inditex.core.sync.RateChangeListener;
+import com.mgm.inditex.fixtures.RateFixture;
+
+// CSOFF: Javadoc
+class RateWriteThroughAdapterTest
+{
+    private static final Integer BRAND_ID = 1;
+    private static final Long PRODUCT_ID = 35455L;
+    private static final String CURRENCY = "EUR";
+    private static final LocalDateTime SERVICE_DATE_TIME = LocalDateTime.of( 2020, 6, 14, 10, 0 );
+    private static final Instant DATE = SERVICE_DATE_TIME.toInstant( ZoneOffset.UTC );
+    private static final RateFixture RATE = rate()
+        .valid( SERVICE_DATE_TIME.minusDays( 5 ), SERVICE_DATE_TIME.plusDays( 5 ) ).priority( 1 ).price( "10.05" );
+
+    private final List<Rate> table = new ArrayList<>();
+    private final RateInMemoryRepositoryAdapter store = new RateInMemoryRepositoryAdapter( () -> List.copyOf( table ) );
+    private final RateWritePort database = mock( RateWritePort.class );
+    private final RateRepositoryPort source = mock( RateRepositoryPort.class );
+
+    private RateWriteThroughAdapter cut;
+
+    @BeforeEach
+    void setUp()
+    {
+        cut = new RateWriteThroughAdapter( database, source, store );
+    }
+
+    @Test
+    void writesShouldGoToDatabaseAndPatchKeysTheyTouched()
+    {
+        var euros = RATE.priceList( 1 ).currency( CURRENCY ).toRate();
+        var dollars = RATE.priceList( 2 ).currency( "USD" ).toRate();
+        table.add( euros );
+        store.reload();
+        RateConflictCheck check = overlapping ->
+        {
+        };
+        when( database.insertRate( dollars, check ) ).thenReturn( new RateRecord( 2L, dollars ) );
+        when( source.findAllRatesForBrandAndProductAndCurrency( BRAND_ID, PRODUCT_ID, "USD" ) )
+            .thenReturn( List.of( dollars ) );
+        when( database.deleteRate( 1L ) ).thenReturn( Optional.of( euros ) );
+        when( source.findAllRatesForBrandAndProductAndCurrency( BRAND_ID, PRODUCT_ID, CURRENCY ) )
+            .thenReturn( List.of() );
+
+        var inserted = cut.insertRate( dollars, check );
+        var deleted = cut.deleteRate( 1L );
+
+        assertEquals( new RateRecord( 2L, dollars ), inserted );
+        assertEquals( Optional.of( euros ), deleted );
+        assertEquals( List.of( dollars ), store.findRatesForBrandAndProductAndCurrency( BRAND_ID, PRODUCT_ID, "USD",
+            DATE ) );
+        assertTrue( store.findRatesForBrandAndProductAndCurrency( BRAND_ID, PRODUCT_ID, CURRENCY, DATE ).isEmpty() );
+    }
+
+    @Test
+    void writeRejectedByDatabaseShouldLeaveStoreUntouched()
+    {
+        var listener = mock( RateChangeListener.class );
+        cut = new RateWriteThroughAdapter( database, source, listener );
+        when( database.insertRate( any(), any() ) )
+            .thenThrow( new RateConstraintViolationException( "unique_rate", null ) );
+
+        var euros = RATE.priceList( 1 ).currency( CURRENCY ).toRate();
+        assertThrows( RateConstraintViolationException.class, () -> cut.insertRate( euros ) );
+        verify( listener, never() ).apply( any() );
+    }
+
+    @Test
+    void updateOfUnknownRateShouldNotReadBack()
+    {
+        var euros = RATE.priceList( 1 ).currency( CURRENCY ).toRate();
+        when( database.updateRate( 7L, euros, RateConflictCheck.NONE ) ).thenReturn( Optional.empty() );
+
+        assertTrue( cut.updateRate( 7L, euros, RateConflictCheck.NONE ).isEmpty() );
+        verify( source, never() ).findAllRatesForBrandAndProductAndCurrency( any(), any(), any() );
+    }
+}
@@ -0,0 +1,133 @@
+package com.mgm.inditex.adapter.outbound.persistence.shard;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static com.mgm.inditex.fixtures.RateFixture.rate;
+
+import com.mgm.inditex.core.domain.Rate;
+import com.mgm.inditex.core.domain.RateKey;
+import com.mgm.inditex.fixtures.ListRateRepository;
+import com.mgm.inditex.fixtures.RateFixture;
+
+// CSOFF: Javadoc
+class ShardedRateRepositoryAdapterTest
+{
+    private static final Long PRODUCT_ID = 35455L;
+    private static final String CURRENCY = "EUR";
+    private static final LocalDateTime SERVICE_DATE_TIME = LocalDateTime.of( 2020, 6, 14, 10, 0 );
+    private static final Instant DATE = SERVICE_DATE_TIME.toInstant( ZoneOffset.UTC );
+    private static final RateFixture RATE = rate()
+        .valid( SERVICE_DATE_TIME.minusDays( 1 ), SERVICE_DATE_TIME.plusDays( 1 ) );
+
+    private final List<Rate> table = List.of( RATE.brand( 1 ).price( "35.50" ).toRate(),
+        RATE.brand( 2 ).price( "40.00" ).toRate(), RATE.brand( 3 ).price( "45.00" ).toRate() );
+    private final List<List<Integer>> loadedBrands = new ArrayList<>();
+
+    private ListRateRepository database;
+    private ShardedRateRepositoryAdapter cut;
+
+    @BeforeEach
+    void setUp()
+    {
+        database = spy( new ListRateRepository( table ) );
+        cut = new ShardedRateRepositoryAdapter( database, () -> List.of( 1, 2, 3 ), brands ->
+        {
+            loadedBrands.add( brands.stream().sorted().toList() );
+            return table.stream().filter( rate -> brands.contains( rate.getBrandId() ) ).toList();
+        } );
+    }
+
+    @Test
+    void rebalanceShouldLoadOnlyOwnedBrands()
+    {
+        // when
+        cut.rebalance( brandId -> brandId != 2 );
+
+        // then
+        assertEquals( Set.of( 1, 3 ), cut.servedBrands() );
+        assertEquals( List.of( List.of( 1, 3 ) ), loadedBrands );
+        assertNotNull( cut.loadedAt() );
+    }
+
+    @Test
+    void findApplicableRateShouldReadOwnedBrandsFromMemoryAndOthersFromDatabase()
+    {
+        // given
+        cut.rebalance( brandId -> brandId == 1 );
+
+        // when
+        var owned = cut.findApplicableRate( 1, PRODUCT_ID, CURRENCY, DATE );
+        var other = cut.findApplicableRate( 2, PRODUCT_ID, CURRENCY, DATE );
+
+        // then
+        assertEquals( table.get( 0 ), owned.orElseThrow() );
+        assertEquals( table.get( 1 ), other.orElseThrow() );
+        verify( database, never() ).findApplicableRate( eq( 1 ), anyLong(), anyString(), any() );
+        verify( database ).findApplicableRate( 2, PRODUCT_ID, CURRENCY, DATE );
+    }
+
+    @Test
+    void findRatesForKeysShouldSplitKeysBetweenMemoryAndDatabase()
+    {
+        // given
+        cut.rebalance( brandId -> brandId == 1 );
+        var owned = new RateKey( 1, PRODUCT_ID, CURRENCY );
+        var other = new RateKey( 3, PRODUCT_ID, CURRENCY );
+
+        // when
+        var rates = cut.findRatesForKeys( List.of( owned, other ), DATE, DATE );
+
+        // then
+        assertEquals( List.of( table.get( 0 ), table.get( 2 ) ), rates );
+        verify( database ).findRatesForKeys( List.of( other ), DATE, DATE );
+    }
+
+    @Test
+    void rebalanceShouldDropBrandsNoLongerOwned()
+    {
+        // given
+        cut.rebalance( brandId -> brandId == 1 );
+
+        // when
+        cut.rebalance( brandId -> brandId == 2 );
+        cut.findApplicableRate( 1, PRODUCT_ID, CURRENCY, DATE );
+
+        // then
+        assertEquals( Set.of( 2 ), cut.servedBrands() );
+        verify( database ).findApplicableRate( 1, PRODUCT_ID, CURRENCY, DATE );
+    }
+
+    @Test
+    void applyShouldOnlyPatchServedBrands()
+    {
+        // given
+        cut.rebalance( brandId -> brandId == 1 );
+        var patched = RATE.brand( 1 ).price( "20.00" ).toRate();
+
+        // when
+        cut.apply( Map.of(
+            new RateKey( 1, PRODUCT_ID, CURRENCY ), List.of( patched ),
+            new RateKey( 2, PRODUCT_ID, CURRENCY ), List.of( RATE.brand( 2 ).price( "99.00" ).toRate() ) ) );
+
+        // then
+        assertEquals( patched, cut.findApplicableRate( 1, PRODUCT_ID, CURRENCY, DATE ).orElseThrow() );
+        assertEquals( table.get( 1 ), cut.findApplicableRate( 2, PRODUCT_ID, CURRENCY, DATE ).orElseThrow() );
+        assertEquals( Set.of( 1 ), cut.servedBrands() );
+    }
+}
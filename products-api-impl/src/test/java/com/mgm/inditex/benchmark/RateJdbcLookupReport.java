@@ -0,0 +1,131 @@
+package com.mgm.inditex.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.function.LongFunction;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.mapstruct.factory.Mappers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.mgm.inditex.adapter.outbound.persistence.RateJpaRepositoryAdapter;
+import com.mgm.inditex.adapter.outbound.persistence.jdbc.RateJdbcRepositoryAdapter;
+import com.mgm.inditex.adapter.outbound.persistence.jpa.RateJpaRepository;
+import com.mgm.inditex.adapter.outbound.persistence.jpa.mapper.RateJpaMapper;
+import com.mgm.inditex.core.port.outbound.RateRepositoryPort;
+
+import jakarta.persistence.EntityManager;
+
+// CSOFF: Javadoc
+/**
+ * Throughput and heap allocated per single price lookup of {@link RateJpaRepositoryAdapter} versus
+ * {@link RateJdbcRepositoryAdapter}, both for the applicable rate and for the full candidate list.
+ * <p>
+ * Run with {@code mvn test -pl products-api-impl -Dbenchmark=true -Dtest=RateJdbcLookupReport
+ * -Dbenchmark.products=10000}. {@code benchmark.lookups} sets the number of measured lookups per adapter.
+ * </p>
+ */
+@DataJpaTest
+@EnabledIfSystemProperty( named = "benchmark", matches = "true" )
+class RateJdbcLookupReport
+{
+    private static final int BRAND_ID = 1;
+    private static final long FIRST_PRODUCT = 10_000L;
+    private static final int RATES_PER_PRODUCT = 4;
+    private static final String CURRENCY = "EUR";
+    private static final Instant PROBE = Instant.parse( "2020-06-14T12:00:00Z" );
+
+    @Autowired
+    private RateJpaRepository jpaRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void reportLookupThroughputAndAllocation()
+    {
+        var products = Integer.getInteger( "benchmark.products", 10_000 );
+        var lookups = Integer.getInteger( "benchmark.lookups", 5_000 );
+        insertRates( products );
+        var jpa = new RateJpaRepositoryAdapter( jpaRepository, Mappers.getMapper( RateJpaMapper.class ),
+            entityManager );
+        var jdbc = new RateJdbcRepositoryAdapter( new NamedParameterJdbcTemplate( jdbcTemplate ) );
+        assertEquals( jpa.findApplicableRate( BRAND_ID, FIRST_PRODUCT, CURRENCY, PROBE ),
+            jdbc.findApplicableRate( BRAND_ID, FIRST_PRODUCT, CURRENCY, PROBE ) );
+
+        System.out.printf( "%nSingle price lookups over %,d products, %,d lookups%n", products, lookups );
+        report( "JPA  applicable rate", products, lookups,
+            product -> jpa.findApplicableRate( BRAND_ID, product, CURRENCY, PROBE ) );
+        report( "JDBC applicable rate", products, lookups,
+            product -> jdbc.findApplicableRate( BRAND_ID, product, CURRENCY, PROBE ) );
+        report( "JPA  candidate rates", products, lookups,
+            product -> candidates( jpa, product ) );
+        report( "JDBC candidate rates", products, lookups,
+            product -> candidates( jdbc, product ) );
+    }
+
+    private void report( final String label, final int products, final int lookups,
+        final LongFunction<Object> lookup )
+    {
+        // warm-up so the measured run does not pay for class loading or statement preparation
+        run( products, lookups / 4, lookup );
+
+        var threads = ( com.sun.management.ThreadMXBean ) ManagementFactory.getThreadMXBean();
+        var allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        var start = System.nanoTime();
+        run( products, lookups, lookup );
+        var elapsed = System.nanoTime() - start;
+        var allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+        System.out.printf( "  %-22s: %,10.0f lookups/s  %,8d bytes/lookup%n", label, lookups * 1e9 / elapsed,
+            allocated / lookups );
+    }
+
+    private void run( final int products, final int lookups, final LongFunction<Object> lookup )
+    {
+        var random = new Random( 7 );
+        for ( var i = 0; i < lookups; i++ )
+        {
+            lookup.apply( FIRST_PRODUCT + random.nextInt( products ) );
+            // every request starts with an empty persistence context
+            entityManager.clear();
+        }
+    }
+
+    private static Object candidates( final RateRepositoryPort repository, final long product )
+    {
+        return repository.findRatesForBrandAndProductAndCurrency( BRAND_ID, product, CURRENCY, PROBE );
+    }
+
+    private void insertRates( final int products )
+    {
+        var random = new Random( 42 );
+        var rows = new ArrayList<Object[]>( products * RATES_PER_PRODUCT );
+        for ( var p = 0; p < products; p++ )
+        {
+            for ( var r = 0; r < RATES_PER_PRODUCT; r++ )
+            {
+                rows.add( new Object[] {BRAND_ID, FIRST_PRODUCT + p, r, CURRENCY,
+                    Timestamp.from( PROBE.minus( r + 1L, ChronoUnit.DAYS ) ),
+                    Timestamp.from( PROBE.plus( r + 1L, ChronoUnit.DAYS ) ),
+                    ( short ) random.nextInt( 4 ), random.nextInt( 2_000_000 ) / 10_000.0} );
+            }
+        }
+        jdbcTemplate.batchUpdate( "INSERT INTO rates (brand_id, product_id, price_list_id, currency, start_date, " +
+            "end_date, priority, price) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", rows );
+        // without statistics H2 plans the lookups on the unique index and scans the whole brand
+        jdbcTemplate.execute( "ANALYZE" );
+    }
+}
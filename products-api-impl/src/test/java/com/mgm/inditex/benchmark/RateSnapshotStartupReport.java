@@ -0,0 +1,150 @@
+package com.mgm.inditex.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.mgm.inditex.ProductRateApplication;
+import com.mgm.inditex.adapter.outbound.persistence.memory.ColumnarRateStore;
+import com.mgm.inditex.adapter.outbound.persistence.memory.RateSnapshotFile;
+import com.mgm.inditex.core.port.inbound.RateUserCasePort;
+
+// CSOFF: Javadoc
+/**
+ * Time from application start to the first served price, loading the rates through Flyway and JPA versus mapping
+ * a {@link RateSnapshotFile}.
+ * <p>
+ * Run with {@code mvn test -pl products-api-impl -Dbenchmark=true -Dtest=RateSnapshotStartupReport
+ * -Dbenchmark.rates=10000000 -DargLine=-Xmx8g}. {@code benchmark.modes} restricts the run to some of
+ * {@code jpa}, {@code columnar} and {@code snapshot}; the Flyway runs keep the whole table in an in-memory H2
+ * database, so they need several times the heap of the snapshot run.
+ * </p>
+ */
+@EnabledIfSystemProperty( named = "benchmark", matches = "true" )
+class RateSnapshotStartupReport
+{
+    private static final int RATES_PER_PRODUCT = 10;
+    private static final int ROWS_PER_INSERT = 1000;
+    private static final String[] CURRENCIES = {"EUR", "USD", "GBP"};
+    private static final LocalDateTime BASE = LocalDateTime.of( 2020, 1, 1, 0, 0 );
+    private static final DateTimeFormatter SQL_DATE = DateTimeFormatter.ofPattern( "yyyy-MM-dd HH:mm:ss" );
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void reportStartupToFirstPrice() throws IOException
+    {
+        var count = Integer.getInteger( "benchmark.rates", 1_000_000 );
+        var modes = System.getProperty( "benchmark.modes", "jpa,columnar,snapshot" );
+        var migrations = Files.createDirectory( directory.resolve( "migration" ) );
+        var snapshot = directory.resolve( "rates.snapshot" );
+        var probe = generate( count, migrations.resolve( "V2__benchmark_data.sql" ), snapshot );
+        var flyway = "--spring.flyway.locations=classpath:db/migration/common,filesystem:" + migrations;
+        var mapped = new String[] {"--spring.flyway.enabled=false", "--spring.jpa.hibernate.ddl-auto=none",
+            "--app.persistence.rate-repository=snapshot", "--app.persistence.snapshot-path=" + snapshot};
+
+        // warm-up run so the first measured mode does not pay for class loading alone
+        startToFirstPrice( "warm-up", probe, mapped );
+
+        System.out.printf( "%nStartup to first served price for %,d rates%n", count );
+        if ( modes.contains( "jpa" ) )
+        {
+            report( "Flyway + JPA", probe, flyway, "--app.persistence.rate-repository=jpa" );
+        }
+        if ( modes.contains( "columnar" ) )
+        {
+            report( "Flyway + JPA load into columnar", probe, flyway, "--app.persistence.rate-repository=columnar" );
+        }
+        if ( modes.contains( "snapshot" ) )
+        {
+            report( "Mapped snapshot", probe, mapped );
+        }
+        assertTrue( Files.size( snapshot ) > 0 );
+    }
+
+    private static void report( final String label, final LocalDateTime probe, final String... args )
+    {
+        var timings = startToFirstPrice( label, probe, args );
+        System.out.printf( "  %-32s: context %,8d ms, first price %,6d ms, total %,8d ms%n", label,
+            timings[0], timings[1], timings[0] + timings[1] );
+    }
+
+    private static long[] startToFirstPrice( final String label, final LocalDateTime probe, final String... args )
+    {
+        var database = "--spring.datasource.url=jdbc:h2:mem:" + label.hashCode() + ";DB_CLOSE_DELAY=0";
+        var start = System.nanoTime();
+        try ( var context = new SpringApplicationBuilder( ProductRateApplication.class )
+            .run( concat( args, database, "--server.port=0", "--logging.level.root=WARN",
+                "--spring.jpa.show-sql=false" ) ) )
+        {
+            var started = System.nanoTime();
+            var price = context.getBean( RateUserCasePort.class ).getPrice( 1, 10_000L, CURRENCIES[0], probe );
+            var served = System.nanoTime();
+            assertTrue( price.isPresent(), label );
+            return new long[] {( started - start ) / 1_000_000, ( served - started ) / 1_000_000};
+        }
+    }
+
+    private static String[] concat( final String[] args, final String... more )
+    {
+        var all = new String[args.length + more.length];
+        System.arraycopy( args, 0, all, 0, args.length );
+        System.arraycopy( more, 0, all, args.length, more.length );
+        return all;
+    }
+
+    /**
+     * Writes the same rates as a Flyway data migration and as a snapshot file. Every rate of a product starts in
+     * a different month, so rows never collide on the unique constraint.
+     *
+     * @return the start of the first rate, to look its price up
+     */
+    private static LocalDateTime generate( final int count, final Path migration, final Path snapshot )
+        throws IOException
+    {
+        var random = new Random( 42 );
+        LocalDateTime probe = null;
+        var builder = ColumnarRateStore.builder( count );
+        try ( BufferedWriter sql = Files.newBufferedWriter( migration ) )
+        {
+            for ( var i = 0; i < count; i++ )
+            {
+                var start = BASE.plusDays( 30L * ( i % RATES_PER_PRODUCT ) ).plusSeconds( random.nextInt( 86_400 ) );
+                var end = start.plusHours( 1 + random.nextInt( 2000 ) );
+                var brandId = 1 + i % 5;
+                var productId = 10_000L + i / RATES_PER_PRODUCT;
+                var priority = ( short ) random.nextInt( 4 );
+                var price = random.nextInt( 2_000_000 );
+                var currency = CURRENCIES[i % CURRENCIES.length];
+                probe = i == 0 ? start : probe;
+
+                sql.write( i % ROWS_PER_INSERT == 0
+                    ? "INSERT INTO rates (brand_id, start_date, end_date, price_list_id, product_id, priority, "
+                        + "price, currency)\nVALUES\n"
+                    : ",\n" );
+                sql.write( "(%d, '%s', '%s', %d, %d, %d, %d.%04d, '%s')".formatted( brandId, SQL_DATE.format( start ),
+                    SQL_DATE.format( end ), i, productId, priority, price / 10_000, price % 10_000, currency ) );
+                if ( i % ROWS_PER_INSERT == ROWS_PER_INSERT - 1 || i == count - 1 )
+                {
+                    sql.write( ";\n" );
+                }
+                builder.add( brandId, productId, i, start.toEpochSecond( ZoneOffset.UTC ),
+                    end.toEpochSecond( ZoneOffset.UTC ), priority, price, currency );
+            }
+        }
+        RateSnapshotFile.write( builder.build(), snapshot );
+        return probe;
+    }
+}
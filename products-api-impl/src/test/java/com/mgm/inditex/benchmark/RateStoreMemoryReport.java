@@ -0,0 +1,112 @@
+package com.mgm.inditex.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.mgm.inditex.adapter.outbound.persistence.memory.ColumnarRateStore;
+import com.mgm.inditex.adapter.outbound.persistence.memory.RateIntervalIndex;
+import com.mgm.inditex.core.domain.Rate;
+
+// CSOFF: Javadoc
+/**
+ * Heap footprint per rate of the object-graph store ({@code List<Rate>} + {@link RateIntervalIndex}) versus
+ * {@link ColumnarRateStore}.
+ * <p>
+ * Run with {@code mvn test -pl products-api-impl -Dbenchmark=true -Dtest=RateStoreMemoryReport
+ * -Dbenchmark.rates=10000000 -DargLine=-Xmx8g}. {@code benchmark.stores} restricts the run to
+ * {@code graph} or {@code columnar} when the heap cannot hold both.
+ * </p>
+ */
+@EnabledIfSystemProperty( named = "benchmark", matches = "true" )
+class RateStoreMemoryReport
+{
+    private static final int RATES_PER_PRODUCT = 10;
+    private static final String[] CURRENCIES = {"EUR", "USD", "GBP"};
+
+    @Test
+    void reportBytesPerRate()
+    {
+        var count = Integer.getInteger( "benchmark.rates", 1_000_000 );
+        var stores = System.getProperty( "benchmark.stores", "graph,columnar" );
+
+        System.out.printf( "%nRate store heap footprint for %,d rates%n", count );
+        if ( stores.contains( "graph" ) )
+        {
+            var bytes = measure( () -> RateIntervalIndex.of( generate( count ) ) );
+            System.out.printf( "  List<Rate> + RateIntervalIndex : %,15d bytes  %7.1f bytes/rate%n", bytes,
+                ( double ) bytes / count );
+        }
+        if ( stores.contains( "columnar" ) )
+        {
+            var holder = new ColumnarRateStore[1];
+            var bytes = measure( () -> holder[0] = columnar( count ) );
+            System.out.printf( "  ColumnarRateStore (measured)   : %,15d bytes  %7.1f bytes/rate%n", bytes,
+                ( double ) bytes / count );
+            System.out.printf( "  ColumnarRateStore (arrays)     : %,15d bytes  %7.1f bytes/rate%n",
+                holder[0].estimatedBytes(), ( double ) holder[0].estimatedBytes() / count );
+        }
+        assertTrue( count > 0 );
+    }
+
+    private static long measure( final Supplier<Object> allocation )
+    {
+        var before = usedHeap();
+        var retained = allocation.get();
+        var after = usedHeap();
+        if ( retained == null )
+        {
+            throw new IllegalStateException();
+        }
+        return after - before;
+    }
+
+    private static long usedHeap()
+    {
+        for ( var i = 0; i < 4; i++ )
+        {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static List<Rate> generate( final int count )
+    {
+        var random = new Random( 42 );
+        var rates = new ArrayList<Rate>( count );
+        var base = LocalDateTime.of( 2020, 1, 1, 0, 0 );
+        for ( var i = 0; i < count; i++ )
+        {
+            var start = base.plusSeconds( random.nextInt( 300 * 24 * 3600 ) );
+            rates.add( Rate.of( 1 + i % 5, 10_000L + i / RATES_PER_PRODUCT, i, start,
+                start.plusHours( 1 + random.nextInt( 2000 ) ), ( short ) random.nextInt( 4 ),
+                BigDecimal.valueOf( random.nextInt( 2_000_000 ), 4 ), CURRENCIES[i % CURRENCIES.length] ) );
+        }
+        return rates;
+    }
+
+    private static ColumnarRateStore columnar( final int count )
+    {
+        // appended column by column so the measured heap never holds the object graph
+        var random = new Random( 42 );
+        var base = LocalDateTime.of( 2020, 1, 1, 0, 0 ).toEpochSecond( ZoneOffset.UTC );
+        var builder = ColumnarRateStore.builder( count );
+        for ( var i = 0; i < count; i++ )
+        {
+            var start = base + random.nextInt( 300 * 24 * 3600 );
+            builder.add( 1 + i % 5, 10_000L + i / RATES_PER_PRODUCT, i, start,
+                start + 3600L * ( 1 + random.nextInt( 2000 ) ), ( short ) random.nextInt( 4 ),
+                random.nextInt( 2_000_000 ), CURRENCIES[i % CURRENCIES.length] );
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,103 @@
+package com.mgm.inditex.benchmark;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.mapstruct.factory.Mappers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.mgm.inditex.adapter.outbound.persistence.RateJpaRepositoryAdapter;
+import com.mgm.inditex.adapter.outbound.persistence.jpa.RateJpaRepository;
+import com.mgm.inditex.adapter.outbound.persistence.jpa.mapper.RateJpaMapper;
+import com.mgm.inditex.core.domain.Rate;
+
+import jakarta.persistence.EntityManager;
+
+// CSOFF: Javadoc
+/**
+ * Latency of a single price lookup when many rates overlap the requested date, materializing every candidate as a
+ * managed entity and picking the winner in memory versus ranking them in SQL and reading one projection.
+ * <p>
+ * Run with {@code mvn test -pl products-api-impl -Dbenchmark=true -Dtest=RateWinnerQueryReport
+ * -Dbenchmark.overlapping=1000}. {@code benchmark.lookups} sets the number of measured lookups per path.
+ * </p>
+ */
+@DataJpaTest
+@EnabledIfSystemProperty( named = "benchmark", matches = "true" )
+class RateWinnerQueryReport
+{
+    private static final int BRAND_ID = 1;
+    private static final long PRODUCT_ID = 10_000L;
+    private static final String CURRENCY = "EUR";
+    private static final Instant PROBE = Instant.parse( "2020-06-14T12:00:00Z" );
+
+    @Autowired
+    private RateJpaRepository jpaRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void reportLookupLatency()
+    {
+        var overlapping = Integer.getInteger( "benchmark.overlapping", 1000 );
+        var lookups = Integer.getInteger( "benchmark.lookups", 2000 );
+        insertOverlappingRates( overlapping );
+        var cut = new RateJpaRepositoryAdapter( jpaRepository, Mappers.getMapper( RateJpaMapper.class ),
+            entityManager );
+
+        Supplier<Rate> entities = () -> cut.findRatesForBrandAndProductAndCurrency( BRAND_ID, PRODUCT_ID, CURRENCY,
+            PROBE ).stream().reduce( Rate.HIGHER_PRIORITY ).orElseThrow();
+        Supplier<Rate> projection = () -> cut.findApplicableRate( BRAND_ID, PRODUCT_ID, CURRENCY, PROBE )
+            .orElseThrow();
+        // the entity query has no ORDER BY, so on a tie it may pick another rate of the same priority
+        assertEquals( entities.get().getPriority(), projection.get().getPriority() );
+
+        // warm-up so neither path pays for class loading or query plan compilation
+        measure( entities, lookups / 4 );
+        measure( projection, lookups / 4 );
+
+        System.out.printf( "%nSingle price lookup with %,d overlapping rates, %,d lookups%n", overlapping, lookups );
+        System.out.printf( "  Entities + in-memory winner : %,10.1f us/lookup%n", measure( entities, lookups ) );
+        System.out.printf( "  SQL winner + projection     : %,10.1f us/lookup%n", measure( projection, lookups ) );
+    }
+
+    private double measure( final Supplier<Rate> lookup, final int lookups )
+    {
+        var start = System.nanoTime();
+        for ( var i = 0; i < lookups; i++ )
+        {
+            lookup.get();
+            // every request starts with an empty persistence context
+            entityManager.clear();
+        }
+        return ( System.nanoTime() - start ) / 1_000.0 / lookups;
+    }
+
+    private void insertOverlappingRates( final int count )
+    {
+        var random = new Random( 42 );
+        var rows = new ArrayList<Object[]>( count );
+        for ( var i = 0; i < count; i++ )
+        {
+            rows.add( new Object[] {BRAND_ID, PRODUCT_ID, i, CURRENCY,
+                Timestamp.from( PROBE.minus( i + 1L, ChronoUnit.MINUTES ) ),
+                Timestamp.from( PROBE.plus( i + 1L, ChronoUnit.HOURS ) ),
+                ( short ) random.nextInt( 10 ), random.nextInt( 2_000_000 ) / 10_000.0} );
+        }
+        jdbcTemplate.batchUpdate( "INSERT INTO rates (brand_id, product_id, price_list_id, currency, start_date, " +
+            "end_date, priority, price) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", rows );
+    }
+}
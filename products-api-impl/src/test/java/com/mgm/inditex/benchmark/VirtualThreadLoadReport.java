@@ -0,0 +1,208 @@
+package com.mgm.inditex.benchmark;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.mgm.inditex.ProductRateApplication;
+import com.mgm.inditex.core.port.outbound.RateRepositoryPort;
+import com.mgm.inditex.core.port.outbound.RateWritePort;
+
+// CSOFF: Javadoc
+/**
+ * Throughput and latency of {@code GET /prices} under a slow database, serving requests from the Tomcat worker
+ * pool versus the {@code virtual-threads} profile, at increasing numbers of concurrent connections.
+ * <p>
+ * The database is slowed down by sleeping {@code benchmark.db-latency-ms} in front of every repository call, on
+ * the request thread, with a connection pool large enough not to be the bottleneck, so the worker threads are the
+ * only difference between the two modes. Both modes accept up to 10,000 connections.
+ * </p>
+ * <p>
+ * Run with {@code mvn test -pl products-api-impl -Dbenchmark=true -Dtest=VirtualThreadLoadReport
+ * -Dbenchmark.concurrency=1000,5000,10000}. {@code benchmark.seconds} sets the measured time per level. Client and
+ * server share the JVM, so 10,000 connections need about 20,000 file descriptors ({@code ulimit -n}).
+ * </p>
+ */
+@EnabledIfSystemProperty( named = "benchmark", matches = "true" )
+class VirtualThreadLoadReport
+{
+    private static final String PRICE_PATH = "/inditex/api/v1/prices?brandId=1&productId=35455&currency=EUR" +
+        "&date=2020-06-14T16:00:00Z";
+
+    @Test
+    void reportThroughputAndLatencyPerThreadingMode() throws Exception
+    {
+        var levels = Arrays.stream( System.getProperty( "benchmark.concurrency", "1000,5000,10000" ).split( "," ) )
+            .mapToInt( level -> Integer.parseInt( level.trim() ) ).toArray();
+        var seconds = Integer.getInteger( "benchmark.seconds", 10 );
+        var latency = Long.getLong( "benchmark.db-latency-ms", 50L );
+
+        System.out.printf( "%nGET /prices with %d ms of database latency, %d s per level%n", latency, seconds );
+        report( "Platform threads", latency, levels, seconds );
+        report( "Virtual threads", latency, levels, seconds, "--spring.profiles.active=virtual-threads" );
+    }
+
+    private static void report( final String label, final long latency, final int[] levels, final int seconds,
+        final String... args ) throws Exception
+    {
+        try ( var context = start( latency, args ) )
+        {
+            var port = ( ( WebServerApplicationContext ) context ).getWebServer().getPort();
+            var uri = URI.create( "http://localhost:" + port + PRICE_PATH );
+            // warm-up so the first level does not pay for class loading and JIT compilation
+            load( uri, Math.min( levels[0], 200 ), 2 );
+            for ( var level : levels )
+            {
+                var result = load( uri, level, seconds );
+                System.out.printf( "  %-16s %,6d connections: %,10.0f req/s  p50 %,7.1f ms  p99 %,7.1f ms  " +
+                    "errors %,d%n", label, level, result.throughput(), result.percentile( 0.50 ),
+                    result.percentile( 0.99 ), result.errors() );
+                assertTrue( result.completed() > 0, label );
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start( final long latency, final String... args )
+    {
+        var common = new String[] {"--server.port=0", "--logging.level.root=WARN", "--spring.jpa.show-sql=false",
+            "--spring.flyway.locations=classpath:db/migration/common,classpath:db/migration/dev",
+            "--spring.datasource.hikari.maximum-pool-size=500", "--server.tomcat.max-connections=10000",
+            "--server.tomcat.accept-count=1000"};
+        var all = Arrays.copyOf( common, common.length + args.length );
+        System.arraycopy( args, 0, all, common.length, args.length );
+
+        return new SpringApplicationBuilder( ProductRateApplication.class )
+            .initializers( context -> context.getBeanFactory().addBeanPostProcessor( slowRepository( latency ) ) )
+            .run( all );
+    }
+
+    private static BeanPostProcessor slowRepository( final long latency )
+    {
+        return new BeanPostProcessor()
+        {
+            @Override
+            public Object postProcessAfterInitialization( final Object bean, final String beanName )
+            {
+                if ( !( bean instanceof RateRepositoryPort ) )
+                {
+                    return bean;
+                }
+                // the database repositories also take the writes
+                var ports = bean instanceof RateWritePort ? new Class<?>[] {RateRepositoryPort.class,
+                    RateWritePort.class} : new Class<?>[] {RateRepositoryPort.class};
+                return Proxy.newProxyInstance( RateRepositoryPort.class.getClassLoader(), ports,
+                    ( proxy, method, methodArgs ) ->
+                    {
+                        Thread.sleep( latency );
+                        try
+                        {
+                            return method.invoke( bean, methodArgs );
+                        }
+                        catch ( InvocationTargetException e )
+                        {
+                            throw e.getCause();
+                        }
+                    } );
+            }
+        };
+    }
+
+    private static LoadResult load( final URI uri, final int connections, final int seconds ) throws Exception
+    {
+        var request = HttpRequest.newBuilder( uri ).timeout( Duration.ofSeconds( 30 ) ).GET().build();
+        var latencies = new long[connections][];
+        var counts = new int[connections];
+        var errors = new LongAdder();
+        var deadline = System.nanoTime() + Duration.ofSeconds( seconds ).toNanos();
+        var start = System.nanoTime();
+
+        // the client keeps its own executor: shutting down the one of the connections would reject its callbacks
+        try ( var client = HttpClient.newBuilder().version( HttpClient.Version.HTTP_1_1 )
+                .connectTimeout( Duration.ofSeconds( 30 ) ).build();
+            var executor = Executors.newVirtualThreadPerTaskExecutor() )
+        {
+            for ( var c = 0; c < connections; c++ )
+            {
+                var connection = c;
+                latencies[connection] = new long[1024];
+                executor.submit( () ->
+                {
+                    while ( System.nanoTime() < deadline )
+                    {
+                        var sent = System.nanoTime();
+                        try
+                        {
+                            if ( client.send( request, HttpResponse.BodyHandlers.discarding() ).statusCode() != 200 )
+                            {
+                                errors.increment();
+                                continue;
+                            }
+                        }
+                        catch ( Exception e )
+                        {
+                            errors.increment();
+                            continue;
+                        }
+                        if ( counts[connection] == latencies[connection].length )
+                        {
+                            latencies[connection] = Arrays.copyOf( latencies[connection], counts[connection] * 2 );
+                        }
+                        latencies[connection][counts[connection]++] = System.nanoTime() - sent;
+                    }
+                } );
+            }
+            executor.shutdown();
+            executor.awaitTermination( seconds + 60L, TimeUnit.SECONDS );
+        }
+        var elapsed = System.nanoTime() - start;
+
+        var all = new long[Arrays.stream( counts ).sum()];
+        var offset = 0;
+        for ( var c = 0; c < connections; c++ )
+        {
+            System.arraycopy( latencies[c], 0, all, offset, counts[c] );
+            offset += counts[c];
+        }
+        Arrays.sort( all );
+        return new LoadResult( all, elapsed, errors.sum() );
+    }
+
+    private record LoadResult( long[] sortedLatencies, long elapsedNanos, long errors )
+    {
+        long completed()
+        {
+            return sortedLatencies.length;
+        }
+
+        double throughput()
+        {
+            return sortedLatencies.length * 1e9 / elapsedNanos;
+        }
+
+        double percentile( final double quantile )
+        {
+            if ( sortedLatencies.length == 0 )
+            {
+                return Double.NaN;
+            }
+            var rank = ( int ) Math.ceil( quantile * sortedLatencies.length );
+            return sortedLatencies[Math.clamp( rank - 1, 0, sortedLatencies.length - 1 )] / 1e6;
+        }
+    }
+}
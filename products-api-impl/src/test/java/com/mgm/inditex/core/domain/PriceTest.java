@@ -0,0 +1,73 @@
+package com.mgm.inditex.core.domain;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import static org.junit.jupiter.api.Assertions.*;
+
+// CSOFF: Javadoc
+class PriceTest
+{
+    @Test
+    void ofShouldRoundHalfUpToFourDecimals()
+    {
+        assertEquals( 355_000L, Price.of( new BigDecimal( "35.5" ) ).tenThousandths() );
+        assertEquals( 12_345L, Price.of( new BigDecimal( "1.23445" ) ).tenThousandths() );
+        assertEquals( 12_344L, Price.of( new BigDecimal( "1.234449" ) ).tenThousandths() );
+        assertEquals( -12_345L, Price.of( new BigDecimal( "-1.23445" ) ).tenThousandths() );
+        assertEquals( Price.ofTenThousandths( 355_000L ), Price.of( new BigDecimal( "35.500000" ) ) );
+    }
+
+    @Test
+    void ofWhenValueDoesNotFitShouldThrowException()
+    {
+        assertThrows( ArithmeticException.class, () -> Price.of( new BigDecimal( "1e20" ) ) );
+        assertThrows( NullPointerException.class, () -> Price.of( null ) );
+    }
+
+    @ParameterizedTest
+    @ValueSource( strings = {"0", "0.0049", "0.005", "0.0050", "0.0051", "35.50", "25.4549", "25.455", "38.9999",
+        "999999.9950", "-0.005", "-0.0049", "-25.455", "1.004999", "1.00495"} )
+    void toCentsBigDecimalShouldMatchDecimalRounding( final String value )
+    {
+        var decimal = new BigDecimal( value );
+
+        assertBitForBitEqual( decimal, Price.of( decimal ) );
+    }
+
+    @Test
+    void toCentsBigDecimalShouldMatchDecimalRoundingForRandomColumnValues()
+    {
+        var random = new Random( 42 );
+        for ( var i = 0; i < 100_000; i++ )
+        {
+            var decimal = BigDecimal.valueOf( random.nextLong( -99_999_999_999L, 99_999_999_999L ), 4 );
+
+            assertBitForBitEqual( decimal, Price.of( decimal ) );
+        }
+    }
+
+    @Test
+    void toBigDecimalAndToStringShouldKeepFourDecimals()
+    {
+        var price = Price.ofTenThousandths( 355_000L );
+
+        assertEquals( new BigDecimal( "35.5000" ), price.toBigDecimal() );
+        assertEquals( "35.5000", price.toString() );
+        assertEquals( 3550L, price.cents() );
+        assertEquals( 1, price.signum() );
+    }
+
+    private static void assertBitForBitEqual( final BigDecimal decimal, final Price price )
+    {
+        // the rounding RateWebMapper used to apply to the value Rate had already rounded
+        var expected = decimal.setScale( 4, RoundingMode.HALF_UP ).setScale( 2, RoundingMode.HALF_UP );
+
+        assertEquals( expected, price.toCentsBigDecimal(), decimal::toPlainString );
+        assertEquals( expected.unscaledValue().longValueExact(), price.cents(), decimal::toPlainString );
+    }
+}
@@ -39,6 +39,19 @@ class RateTest
         assertEquals( CCY, rate.getCurrency() );
     }
 
+    @Test
+    void rateOfWhenFixedPointPriceShouldKeepIt()
+    {
+        var price = Price.ofTenThousandths( 355_000L );
+        var rate = Rate.of( BRAND_ID, PRODUCT_ID, PRICE_LIST_ID, START_DATE, END_DATE, PRIORITY, price, CCY );
+
+        assertSame( price, rate.getPriceAmount() );
+        assertEquals( new BigDecimal( "35.5000" ), rate.getPrice() );
+        assertEquals( createRate(), rate );
+        assertThrows( IllegalArgumentException.class, () -> Rate.of( BRAND_ID, PRODUCT_ID, PRICE_LIST_ID, START_DATE,
+            END_DATE, PRIORITY, Price.ofTenThousandths( -1L ), CCY ) );
+    }
+
     @Test
     void rateOfWhenPriceIsNegativeShouldThrowException()
     {
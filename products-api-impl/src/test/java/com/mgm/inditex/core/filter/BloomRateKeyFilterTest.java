@@ -0,0 +1,87 @@
+package com.mgm.inditex.core.filter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.mgm.inditex.core.domain.RateKey;
+import com.mgm.inditex.fixtures.RateDatasets;
+
+// CSOFF: Javadoc
+class BloomRateKeyFilterTest
+{
+    private static final long UNLIMITED = Long.MAX_VALUE / Byte.SIZE;
+
+    static Stream<String> datasets()
+    {
+        return Stream.of( RateDatasets.DEV, RateDatasets.STAGING, RateDatasets.PERFORMANCE );
+    }
+
+    @ParameterizedTest
+    @MethodSource( "datasets" )
+    void mightContainWhenKeyHasRatesShouldAlwaysReturnTrue( final String dataset )
+    {
+        var keys = RateDatasets.load( dataset ).stream().map( RateKey::of ).distinct().toList();
+
+        var cut = BloomRateKeyFilter.of( keys, 0.01, UNLIMITED );
+
+        assertTrue( keys.stream().allMatch( cut::mightContain ) );
+        assertEquals( keys.size(), cut.keyCount() );
+    }
+
+    @Test
+    void mightContainWhenKeyIsUnknownShouldStayNearTargetFalsePositiveRate()
+    {
+        var cut = BloomRateKeyFilter.of( keys( 0, 10_000 ), 0.01, UNLIMITED );
+
+        var falsePositives = keys( 1_000_000, 100_000 ).stream().filter( cut::mightContain ).count();
+
+        assertTrue( cut.expectedFalsePositiveRate() <= 0.011, "expected " + cut.expectedFalsePositiveRate() );
+        assertTrue( falsePositives < 100_000 * 0.02, "measured " + falsePositives / 100_000.0 );
+    }
+
+    @Test
+    void ofWhenByteBudgetIsTooSmallShouldCapSizeAndReportReachedRate()
+    {
+        var keys = keys( 0, 10_000 );
+
+        var sized = BloomRateKeyFilter.of( keys, 0.01, UNLIMITED );
+        var capped = BloomRateKeyFilter.of( keys, 0.01, 1024 );
+
+        assertTrue( sized.sizeBytes() > 1024 );
+        assertEquals( 1024, capped.sizeBytes() );
+        assertTrue( capped.expectedFalsePositiveRate() > 0.1 );
+        assertTrue( keys.stream().allMatch( capped::mightContain ) );
+    }
+
+    @Test
+    void mightContainWhenFilterIsEmptyShouldReturnFalse()
+    {
+        var cut = BloomRateKeyFilter.of( List.of(), 0.01, UNLIMITED );
+
+        assertFalse( cut.mightContain( new RateKey( 1, 35455L, "EUR" ) ) );
+        assertEquals( 0.0, cut.expectedFalsePositiveRate() );
+    }
+
+    @Test
+    void ofWhenFalsePositiveRateIsOutOfRangeShouldThrowException()
+    {
+        assertThrows( IllegalArgumentException.class, () -> BloomRateKeyFilter.of( List.of(), 0, UNLIMITED ) );
+        assertThrows( IllegalArgumentException.class, () -> BloomRateKeyFilter.of( List.of(), 1, UNLIMITED ) );
+    }
+
+    private static List<RateKey> keys( final long firstProduct, final int count )
+    {
+        var keys = new ArrayList<RateKey>( count );
+        for ( var i = 0; i < count; i++ )
+        {
+            keys.add( new RateKey( 1 + i % 5, firstProduct + i, i % 2 == 0 ? "EUR" : "USD" ) );
+        }
+        return keys;
+    }
+}
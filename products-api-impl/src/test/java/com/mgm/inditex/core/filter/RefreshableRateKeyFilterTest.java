@@ -0,0 +1,58 @@
+package com.mgm.inditex.core.filter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.mgm.inditex.core.domain.RateKey;
+
+// CSOFF: Javadoc
+class RefreshableRateKeyFilterTest
+{
+    private static final RateKey EUR_KEY = new RateKey( 1, 35455L, "EUR" );
+
+    private final List<RateKey> table = new ArrayList<>();
+    private final RefreshableRateKeyFilter cut = new RefreshableRateKeyFilter( () -> List.copyOf( table ), 0.01,
+        1024 );
+
+    @Test
+    void mightContainWhenNotRefreshedShouldRejectEveryKey()
+    {
+        table.add( EUR_KEY );
+
+        assertFalse( cut.mightContain( EUR_KEY ) );
+        assertEquals( 1, cut.rejections() );
+    }
+
+    @Test
+    void refreshShouldPickUpNewKeys()
+    {
+        cut.refresh();
+        assertFalse( cut.mightContain( EUR_KEY ) );
+
+        table.add( EUR_KEY );
+        cut.refresh();
+
+        assertTrue( cut.mightContain( EUR_KEY ) );
+        assertEquals( 1, cut.current().keyCount() );
+        assertEquals( 1, cut.rejections() );
+    }
+
+    @Test
+    void addShouldLetKeysThroughUntilRefreshCoversThem()
+    {
+        cut.refresh();
+
+        cut.add( List.of( EUR_KEY ) );
+        var afterAdd = cut.mightContain( EUR_KEY );
+        table.add( EUR_KEY );
+        cut.refresh();
+
+        assertTrue( afterAdd );
+        assertTrue( cut.mightContain( EUR_KEY ) );
+        assertEquals( 0, cut.addedKeyCount() );
+        assertEquals( 0, cut.rejections() );
+    }
+}
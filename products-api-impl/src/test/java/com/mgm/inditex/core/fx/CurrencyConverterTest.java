@@ -0,0 +1,107 @@
+package com.mgm.inditex.core.fx;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.mgm.inditex.core.domain.FxRate;
+import com.mgm.inditex.core.domain.Rate;
+import com.mgm.inditex.core.domain.RateKey;
+
+// CSOFF: Javadoc
+class CurrencyConverterTest
+{
+    private static final LocalDateTime DATE = LocalDateTime.of( 2020, 6, 14, 0, 0 );
+    private static final Rate EUR_RATE = Rate.of( 1, 35455L, 2, DATE, DATE.plusDays( 1 ), ( short ) 1,
+        new BigDecimal( "25.45" ), "EUR" );
+
+    private final List<FxRate> table = new ArrayList<>();
+
+    private CurrencyConverter cut;
+
+    @BeforeEach
+    void setUp()
+    {
+        table.add( new FxRate( "EUR", "USD", new BigDecimal( "1.10000000" ) ) );
+        cut = new CurrencyConverter( "eur", () -> List.copyOf( table ) );
+    }
+
+    @Test
+    void convertBeforeReloadShouldConvertNothing()
+    {
+        // when / then
+        assertFalse( cut.converts( "USD" ) );
+        assertTrue( cut.convert( EUR_RATE, "USD" ).isEmpty() );
+    }
+
+    @Test
+    void convertShouldKeepEverythingButPriceAndCurrency()
+    {
+        // given
+        cut.reload();
+
+        // when
+        var converted = cut.convert( EUR_RATE, "USD" ).orElseThrow();
+
+        // then
+        assertEquals( new BigDecimal( "27.9950" ), converted.getPrice() );
+        assertEquals( "USD", converted.getCurrency() );
+        assertEquals( EUR_RATE.getPriceListId(), converted.getPriceListId() );
+        assertEquals( EUR_RATE.getPriority(), converted.getPriority() );
+        assertEquals( EUR_RATE.getStartDate(), converted.getStartDate() );
+        assertEquals( EUR_RATE.getEndDate(), converted.getEndDate() );
+    }
+
+    @Test
+    void convertsShouldRejectBaseAndUnknownCurrencies()
+    {
+        // given
+        cut.reload();
+
+        // when / then
+        assertTrue( cut.converts( "usd" ) );
+        assertFalse( cut.converts( "EUR" ) );
+        assertFalse( cut.converts( "GBP" ) );
+        assertFalse( cut.converts( null ) );
+        assertEquals( new RateKey( 1, 35455L, "EUR" ), cut.baseKeyOf( new RateKey( 1, 35455L, "USD" ) ) );
+    }
+
+    @Test
+    void reloadShouldSwapMatrixAndTellWhetherItChanged()
+    {
+        // given
+        cut.reload();
+        var before = cut.matrix();
+
+        // when
+        var unchanged = cut.reload();
+        table.add( new FxRate( "EUR", "GBP", new BigDecimal( "0.85000000" ) ) );
+        var changed = cut.reload();
+
+        // then
+        assertFalse( unchanged );
+        assertTrue( changed );
+        assertNotSame( before, cut.matrix() );
+        assertTrue( cut.converts( "GBP" ) );
+    }
+
+    @Test
+    void convertAllShouldConvertEveryRateOrNone()
+    {
+        // given
+        cut.reload();
+
+        // when
+        var usd = cut.convertAll( List.of( EUR_RATE, EUR_RATE ), "USD" );
+        var gbp = cut.convertAll( List.of( EUR_RATE ), "GBP" );
+
+        // then
+        assertEquals( 2, usd.size() );
+        assertTrue( gbp.isEmpty() );
+    }
+}
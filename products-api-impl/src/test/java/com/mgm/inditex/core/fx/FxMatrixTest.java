@@ -0,0 +1,108 @@
+package com.mgm.inditex.core.fx;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.mgm.inditex.core.domain.FxRate;
+import com.mgm.inditex.core.domain.Price;
+
+// CSOFF: Javadoc
+class FxMatrixTest
+{
+    private static final FxRate EUR_USD = new FxRate( "EUR", "USD", new BigDecimal( "1.08500000" ) );
+    private static final FxRate EUR_JPY = new FxRate( "EUR", "JPY", new BigDecimal( "162.50000000" ) );
+
+    @Test
+    void convertShouldMultiplyAndRoundHalfUpToFourDecimals()
+    {
+        // given
+        var cut = FxMatrix.of( List.of( EUR_USD, EUR_JPY ) );
+
+        // when
+        var usd = cut.convert( Price.of( new BigDecimal( "35.50" ) ), "EUR", "USD" );
+        var jpy = cut.convert( Price.of( new BigDecimal( "35.50" ) ), "EUR", "JPY" );
+        var same = cut.convert( Price.of( new BigDecimal( "35.50" ) ), "EUR", "EUR" );
+
+        // then
+        assertEquals( new BigDecimal( "38.5175" ), usd.toBigDecimal() );
+        assertEquals( new BigDecimal( "5768.7500" ), jpy.toBigDecimal() );
+        assertEquals( new BigDecimal( "35.5000" ), same.toBigDecimal() );
+    }
+
+    @Test
+    void convertShouldMatchDecimalArithmetic()
+    {
+        // given
+        var random = new Random( 42 );
+        for ( var i = 0; i < 10_000; i++ )
+        {
+            var amount = BigDecimal.valueOf( random.nextLong( 100_000_000_000L ), Price.SCALE );
+            var rate = BigDecimal.valueOf( random.nextLong( 1, 100_000_000_000_000L ), FxMatrix.RATE_SCALE );
+            var cut = FxMatrix.of( List.of( new FxRate( "EUR", "XXX", rate ) ) );
+
+            // when
+            var converted = cut.convert( Price.of( amount ), "EUR", "XXX" );
+
+            // then
+            assertEquals( amount.multiply( rate ).setScale( Price.SCALE, RoundingMode.HALF_UP ),
+                converted.toBigDecimal(), () -> amount + " * " + rate );
+        }
+    }
+
+    @Test
+    void ofShouldDeriveInverseOnlyWhenPairIsGivenInOneDirection()
+    {
+        // given
+        var usdEur = new FxRate( "usd", "eur", new BigDecimal( "0.93000000" ) );
+
+        // when
+        var inverted = FxMatrix.of( List.of( EUR_USD ) );
+        var both = FxMatrix.of( List.of( EUR_USD, usdEur ) );
+
+        // then
+        var hundred = Price.of( new BigDecimal( "100" ) );
+        assertEquals( new BigDecimal( "92.1659" ), inverted.convert( hundred, "USD", "EUR" ).toBigDecimal() );
+        assertEquals( new BigDecimal( "93.0000" ), both.convert( hundred, "USD", "EUR" ).toBigDecimal() );
+        assertEquals( new BigDecimal( "108.5000" ), both.convert( hundred, "EUR", "USD" ).toBigDecimal() );
+        assertEquals( 2, inverted.size() );
+    }
+
+    @Test
+    void convertWhenPairIsUnknownShouldReturnNull()
+    {
+        // given
+        var cut = FxMatrix.of( List.of( EUR_USD, EUR_JPY ) );
+
+        // when / then
+        assertNull( cut.convert( Price.of( BigDecimal.ONE ), "USD", "JPY" ) );
+        assertNull( cut.convert( Price.of( BigDecimal.ONE ), "EUR", "GBP" ) );
+        assertFalse( cut.converts( "USD", "JPY" ) );
+        assertTrue( cut.converts( "eur", "jpy" ) );
+        assertNull( FxMatrix.empty().convert( Price.of( BigDecimal.ONE ), "EUR", "EUR" ) );
+    }
+
+    @Test
+    void convertWhenResultDoesNotFitPriceShouldThrow()
+    {
+        // given
+        var cut = FxMatrix.of( List.of( new FxRate( "EUR", "XXX", new BigDecimal( "9999999999.99999999" ) ) ) );
+
+        // when / then
+        assertThrows( ArithmeticException.class, () -> cut.convert( Price.ofTenThousandths( Long.MAX_VALUE / 1000 ),
+            "EUR", "XXX" ) );
+    }
+
+    @Test
+    void equalsShouldCompareRates()
+    {
+        // when / then
+        assertEquals( FxMatrix.of( List.of( EUR_USD, EUR_JPY ) ), FxMatrix.of( List.of( EUR_JPY, EUR_USD ) ) );
+        assertNotEquals( FxMatrix.of( List.of( EUR_USD ) ), FxMatrix.of( List.of( EUR_USD, EUR_JPY ) ) );
+        assertEquals( FxMatrix.empty(), FxMatrix.of( List.of() ) );
+    }
+}
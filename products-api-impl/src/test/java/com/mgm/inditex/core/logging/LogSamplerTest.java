@@ -0,0 +1,44 @@
+package com.mgm.inditex.core.logging;
+
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+// CSOFF: Javadoc
+class LogSamplerTest
+{
+    @Test
+    void oneInShouldKeepEveryEventOrNoneAtTheBounds()
+    {
+        // when
+        var all = LogSampler.oneIn( 1 );
+        var none = LogSampler.oneIn( 0 );
+
+        // then
+        assertSame( LogSampler.ALL, all );
+        assertSame( LogSampler.NONE, none );
+        assertTrue( IntStream.range( 0, 1_000 ).allMatch( i -> all.sample() ) );
+        assertTrue( IntStream.range( 0, 1_000 ).noneMatch( i -> none.sample() ) );
+    }
+
+    @Test
+    void sampleShouldKeepAboutOneInEvery()
+    {
+        // given
+        var cut = LogSampler.oneIn( 10 );
+
+        // when
+        var kept = IntStream.range( 0, 100_000 ).filter( i -> cut.sample() ).count();
+
+        // then
+        assertEquals( 10, cut.every() );
+        assertTrue( kept > 9_000 && kept < 11_000, "kept " + kept );
+    }
+
+    @Test
+    void oneInWhenNegativeShouldThrow()
+    {
+        assertThrows( IllegalArgumentException.class, () -> LogSampler.oneIn( -1 ) );
+    }
+}
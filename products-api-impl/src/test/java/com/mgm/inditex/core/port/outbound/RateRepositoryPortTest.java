@@ -0,0 +1,73 @@
+package com.mgm.inditex.core.port.outbound;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.mgm.inditex.core.domain.Rate;
+import com.mgm.inditex.fixtures.ListRateRepository;
+
+// CSOFF: Javadoc
+class RateRepositoryPortTest
+{
+    private static final long PRODUCT_ID = 35455L;
+    private static final int BRAND_ID = 1;
+    private static final int PRICE_LIST_ID = 1;
+    private static final String CURR = "EUR";
+    private static final Short PRIORITY = 1;
+    private static final LocalDateTime DATE = LocalDateTime.of( 2020, 6, 14, 0, 0 );
+    private static final Instant DATE_TO_INSTANT = DATE.toInstant( ZoneOffset.UTC );
+
+    @Test
+    void findApplicableRateWhenRatesFoundShouldReturnHighestPriorityRate()
+    {
+        // Arrange
+        short priority1 = 1;
+        short priority2 = 2;
+        var rate1 = Rate.of( BRAND_ID, PRODUCT_ID, PRICE_LIST_ID, DATE.minusDays( 5 ), DATE.plusDays( 5 ), priority1,
+            new BigDecimal( "25.5000" ), CURR );
+        var rate2 = Rate.of( BRAND_ID, PRODUCT_ID, PRICE_LIST_ID, DATE.minusDays( 5 ), DATE, priority2,
+            new BigDecimal( "35.5000" ), CURR );
+        RateRepositoryPort cut = new ListRateRepository( List.of( rate1, rate2 ) );
+
+        // Act
+        var result = cut.findApplicableRate( BRAND_ID, PRODUCT_ID, CURR, DATE_TO_INSTANT );
+
+        // Assert
+        assertEquals( rate2, result.orElseThrow() );
+    }
+
+    @Test
+    void findApplicableRateWhenMultipleRatesWithSamePriorityShouldReturnFirstOneFound()
+    {
+        // Arrange
+        var rate1 = Rate.of( BRAND_ID, PRODUCT_ID, PRICE_LIST_ID, DATE.minusDays( 5 ), DATE.plusDays( 5 ), PRIORITY,
+            new BigDecimal( "25.5000" ), CURR );
+        var rate2 = Rate.of( BRAND_ID, PRODUCT_ID, PRICE_LIST_ID, DATE.minusDays( 5 ), DATE.plusDays( 1 ), PRIORITY,
+            new BigDecimal( "35.5000" ), CURR );
+        RateRepositoryPort cut = new ListRateRepository( List.of( rate1, rate2 ) );
+
+        // Act
+        var result = cut.findApplicableRate( BRAND_ID, PRODUCT_ID, CURR, DATE_TO_INSTANT );
+
+        // Assert
+        assertEquals( rate1, result.orElseThrow() );
+    }
+
+    @Test
+    void findApplicableRateWhenNoRateAppliesShouldReturnEmpty()
+    {
+        // Arrange
+        var rate = Rate.of( BRAND_ID, PRODUCT_ID, PRICE_LIST_ID, DATE.plusDays( 1 ), DATE.plusDays( 5 ), PRIORITY,
+            new BigDecimal( "25.5000" ), CURR );
+        RateRepositoryPort cut = new ListRateRepository( List.of( rate ) );
+
+        // Act & Assert
+        assertTrue( cut.findApplicableRate( BRAND_ID, PRODUCT_ID, CURR, DATE_TO_INSTANT ).isEmpty() );
+    }
+}
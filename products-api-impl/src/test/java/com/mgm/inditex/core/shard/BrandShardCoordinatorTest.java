@@ -0,0 +1,152 @@
+package com.mgm.inditex.core.shard;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.mgm.inditex.core.port.outbound.ShardMembershipPort;
+
+// CSOFF: Javadoc
+class BrandShardCoordinatorTest
+{
+    private static final String SELF = "http://localhost:8081";
+    private static final String OTHER = "http://localhost:8082";
+    private static final Instant NOW = Instant.parse( "2020-06-14T10:00:00Z" );
+    private static final Duration TTL = Duration.ofSeconds( 10 );
+
+    private final FakeMembership membership = new FakeMembership();
+    private final List<BrandShardRing> rebalances = new ArrayList<>();
+
+    private BrandShardCoordinator cut;
+
+    @BeforeEach
+    void setUp()
+    {
+        cut = new BrandShardCoordinator( SELF, membership, 16, TTL, Clock.fixed( NOW, ZoneOffset.UTC ) );
+        cut.onRebalance( rebalances::add );
+    }
+
+    @Test
+    void ownerOfBeforeFirstRefreshShouldBeSelf()
+    {
+        // when / then
+        assertEquals( SELF, cut.ownerOf( 1 ) );
+        assertTrue( cut.isLocal( 1 ) );
+    }
+
+    @Test
+    void refreshShouldSendHeartbeatAndRebalanceOnlyWhenMembersChange()
+    {
+        // given
+        membership.heartbeats.put( OTHER, NOW.minusSeconds( 1 ) );
+
+        // when
+        var first = cut.refresh();
+        var second = cut.refresh();
+
+        // then
+        assertTrue( first );
+        assertFalse( second );
+        assertEquals( NOW, membership.heartbeats.get( SELF ) );
+        assertEquals( 1, rebalances.size() );
+        assertEquals( Set.of( SELF, OTHER ), cut.ring().members() );
+    }
+
+    @Test
+    void refreshShouldDropMembersWithoutRecentHeartbeat()
+    {
+        // given
+        membership.heartbeats.put( OTHER, NOW.minusSeconds( 1 ) );
+        cut.refresh();
+
+        // when
+        membership.heartbeats.put( OTHER, NOW.minus( TTL ).minusSeconds( 1 ) );
+        var rebalanced = cut.refresh();
+
+        // then
+        assertTrue( rebalanced );
+        assertEquals( Set.of( SELF ), cut.ring().members() );
+        assertTrue( cut.isLocal( 1 ) );
+    }
+
+    @Test
+    void refreshShouldIncludeSelfEvenIfItsHeartbeatIsNotVisible()
+    {
+        // given
+        membership.hideHeartbeats = true;
+
+        // when
+        cut.refresh();
+
+        // then
+        assertEquals( Set.of( SELF ), cut.ring().members() );
+    }
+
+    @Test
+    void refreshWhenListenerFailsShouldNotPublishRing()
+    {
+        // given
+        membership.heartbeats.put( OTHER, NOW );
+        cut.onRebalance( ring ->
+        {
+            throw new IllegalStateException( "load failed" );
+        } );
+
+        // when
+        assertThrows( IllegalStateException.class, cut::refresh );
+
+        // then
+        assertTrue( cut.ring().isEmpty() );
+        assertEquals( SELF, cut.ownerOf( 1 ) );
+    }
+
+    @Test
+    void leaveShouldRemoveSelfFromMembership()
+    {
+        // given
+        cut.refresh();
+
+        // when
+        cut.leave();
+
+        // then
+        assertFalse( membership.heartbeats.containsKey( SELF ) );
+    }
+
+    private static final class FakeMembership implements ShardMembershipPort
+    {
+        private final Map<String, Instant> heartbeats = new HashMap<>();
+        private boolean hideHeartbeats;
+
+        @Override
+        public void heartbeat( final String member, final Instant at )
+        {
+            heartbeats.put( member, at );
+        }
+
+        @Override
+        public List<String> liveMembers( final Instant since )
+        {
+            return heartbeats.entrySet().stream()
+                .filter( heartbeat -> !hideHeartbeats && !heartbeat.getValue().isBefore( since ) )
+                .map( Map.Entry::getKey )
+                .toList();
+        }
+
+        @Override
+        public void leave( final String member )
+        {
+            heartbeats.remove( member );
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.mgm.inditex.core.shard;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+// CSOFF: Javadoc
+class BrandShardRingTest
+{
+    private static final List<String> MEMBERS = List.of( "http://localhost:8081", "http://localhost:8082",
+        "http://localhost:8083" );
+    private static final int BRANDS = 3_000;
+    private static final int VIRTUAL_NODES = 128;
+
+    @Test
+    void ownerOfShouldNotDependOnMemberOrder()
+    {
+        // given
+        var ring = BrandShardRing.of( MEMBERS, VIRTUAL_NODES );
+        var reversed = BrandShardRing.of( MEMBERS.reversed(), VIRTUAL_NODES );
+
+        // when / then
+        IntStream.range( 0, BRANDS ).forEach( brandId ->
+            assertEquals( ring.ownerOf( brandId ), reversed.ownerOf( brandId ) ) );
+    }
+
+    @Test
+    void ownerOfShouldSpreadBrandsEvenly()
+    {
+        // given
+        var ring = BrandShardRing.of( MEMBERS, VIRTUAL_NODES );
+
+        // when
+        var owned = new HashMap<String, Integer>();
+        IntStream.range( 0, BRANDS ).forEach( brandId -> owned.merge( ring.ownerOf( brandId ), 1, Integer::sum ) );
+
+        // then: every member owns its share within 25%
+        assertEquals( MEMBERS.size(), owned.size() );
+        owned.values().forEach( count -> assertTrue( Math.abs( count - BRANDS / MEMBERS.size() ) < BRANDS / 12,
+            owned::toString ) );
+    }
+
+    @Test
+    void ofWhenMemberJoinsShouldOnlyMoveBrandsToIt()
+    {
+        // given
+        var before = BrandShardRing.of( MEMBERS.subList( 0, 2 ), VIRTUAL_NODES );
+        var after = BrandShardRing.of( MEMBERS, VIRTUAL_NODES );
+
+        // when
+        var moved = IntStream.range( 0, BRANDS )
+            .filter( brandId -> !before.ownerOf( brandId ).equals( after.ownerOf( brandId ) ) )
+            .boxed()
+            .toList();
+
+        // then: about a third of the brands move, all of them to the new member
+        assertTrue( moved.size() < BRANDS / 2, () -> "moved " + moved.size() );
+        moved.forEach( brandId -> assertEquals( MEMBERS.get( 2 ), after.ownerOf( brandId ) ) );
+    }
+
+    @Test
+    void ofWhenMemberLeavesShouldOnlyMoveItsBrands()
+    {
+        // given
+        var before = BrandShardRing.of( MEMBERS, VIRTUAL_NODES );
+        var after = BrandShardRing.of( MEMBERS.subList( 1, 3 ), VIRTUAL_NODES );
+
+        // when / then
+        IntStream.range( 0, BRANDS )
+            .filter( brandId -> !before.owns( MEMBERS.getFirst(), brandId ) )
+            .forEach( brandId -> assertEquals( before.ownerOf( brandId ), after.ownerOf( brandId ) ) );
+    }
+
+    @Test
+    void emptyShouldHaveNoOwners()
+    {
+        // given
+        var ring = BrandShardRing.empty();
+
+        // when / then
+        assertTrue( ring.isEmpty() );
+        assertNull( ring.ownerOf( 1 ) );
+        assertFalse( ring.owns( MEMBERS.getFirst(), 1 ) );
+        assertTrue( ring.members().isEmpty() );
+    }
+}
@@ -0,0 +1,145 @@
+package com.mgm.inditex.core.sync;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import static com.mgm.inditex.fixtures.RateFixture.rate;
+
+import com.mgm.inditex.core.domain.Rate;
+import com.mgm.inditex.core.domain.RateChanges;
+import com.mgm.inditex.core.domain.RateKey;
+import com.mgm.inditex.core.port.outbound.RateChangeFeedPort;
+import com.mgm.inditex.fixtures.ListRateRepository;
+
+// CSOFF: Javadoc
+class RateChangeSynchronizerTest
+{
+    private static final Instant NOW = Instant.parse( "2020-06-14T10:00:00Z" );
+    private static final LocalDateTime DATE = LocalDateTime.of( 2020, 6, 14, 0, 0 );
+    private static final RateKey EUR_KEY = new RateKey( 1, 35455L, "EUR" );
+    private static final RateKey USD_KEY = new RateKey( 1, 35455L, "USD" );
+
+    private final Rate euros = rate().priceList( 1 ).valid( DATE, DATE.plusDays( 1 ) ).toRate();
+    private final Rate moreEuros = rate().priceList( 2 ).valid( DATE, DATE.plusDays( 1 ) ).toRate();
+    private final List<RateChanges> feed = new ArrayList<>();
+    private final List<Map<RateKey, List<Rate>>> applied = new ArrayList<>();
+    private final List<Duration> lags = new ArrayList<>();
+
+    private final RateChangeSynchronizer cut = new RateChangeSynchronizer( new ListFeed(),
+        new ListRateRepository( List.of( euros, moreEuros ) ), 2, Duration.ofMinutes( 1 ),
+        Clock.fixed( NOW, ZoneOffset.UTC ) );
+
+    @Test
+    void syncShouldApplyEveryBatchToListenersAndAdvanceVersion()
+    {
+        // given
+        cut.addListener( applied::add );
+        cut.onLag( lags::add );
+        cut.start( NOW.minusSeconds( 60 ) );
+        feed.add( new RateChanges( 12, Set.of( EUR_KEY, USD_KEY ), NOW.minusSeconds( 3 ), Set.of( 11L, 12L ) ) );
+        feed.add( new RateChanges( 13, Set.of( EUR_KEY ), NOW.minusSeconds( 1 ), Set.of( 13L ) ) );
+
+        // when
+        var keys = cut.sync();
+
+        // then
+        assertEquals( 3, keys );
+        assertEquals( 13, cut.version() );
+        assertEquals( NOW, cut.lastSyncAt() );
+        assertEquals( Map.of( EUR_KEY, List.of( euros, moreEuros ), USD_KEY, List.of() ), applied.get( 0 ) );
+        assertEquals( Map.of( EUR_KEY, List.of( euros, moreEuros ) ), applied.get( 1 ) );
+        assertEquals( List.of( Duration.ofSeconds( 3 ), Duration.ofSeconds( 1 ) ), lags );
+    }
+
+    @Test
+    void syncWhenListenerFailsShouldRetrySameChanges()
+    {
+        // given
+        var failures = new int[] {1};
+        cut.addListener( changes ->
+        {
+            if ( failures[0]-- > 0 )
+            {
+                throw new IllegalStateException( "store unavailable" );
+            }
+            applied.add( changes );
+        } );
+        cut.start( NOW );
+        feed.add( new RateChanges( 12, Set.of( EUR_KEY ), NOW, Set.of( 11L, 12L ) ) );
+
+        // when
+        assertThrows( IllegalStateException.class, cut::sync );
+        var versionAfterFailure = cut.version();
+        cut.sync();
+
+        // then
+        assertEquals( 10, versionAfterFailure );
+        assertEquals( 12, cut.version() );
+        assertEquals( 1, applied.size() );
+    }
+
+    @Test
+    void syncWhenEarlierVersionCommitsAfterLaterOneShouldApplyItOnNextSync()
+    {
+        // given: version 11 is written first but committed after version 12
+        cut.addListener( applied::add );
+        cut.start( NOW );
+        feed.add( new RateChanges( 12, Set.of( USD_KEY ), NOW, Set.of( 12L ) ) );
+        var beforeCommit = cut.sync();
+
+        // when
+        feed.add( new RateChanges( 11, Set.of( EUR_KEY ), NOW, Set.of( 11L ) ) );
+        var afterCommit = cut.sync();
+        var nothingLeft = cut.sync();
+
+        // then
+        assertEquals( 1, beforeCommit );
+        assertEquals( 1, afterCommit );
+        assertEquals( 0, nothingLeft );
+        assertEquals( 12, cut.version() );
+        assertEquals( Map.of( USD_KEY, List.of() ), applied.get( 0 ) );
+        assertEquals( Map.of( EUR_KEY, List.of( euros, moreEuros ) ), applied.get( 1 ) );
+    }
+
+    @Test
+    void syncWhenNotStartedShouldThrowException()
+    {
+        assertThrows( IllegalStateException.class, cut::sync );
+    }
+
+    /**
+     * Feed over {@link #feed}, starting at version 10.
+     */
+    private final class ListFeed implements RateChangeFeedPort
+    {
+        @Override
+        public long versionBefore( final Instant time )
+        {
+            return 10;
+        }
+
+        @Override
+        public RateChanges changesSince( final long version, final int limit )
+        {
+            return feed.stream().filter( changes -> changes.version() > version ).findFirst()
+                .orElse( RateChanges.none( version ) );
+        }
+
+        @Override
+        public RateChanges changesAt( final Collection<Long> versions )
+        {
+            return feed.stream().filter( changes -> versions.contains( changes.version() ) ).findFirst()
+                .orElse( RateChanges.none( 0 ) );
+        }
+    }
+}
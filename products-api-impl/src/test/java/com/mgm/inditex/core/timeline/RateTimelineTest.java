@@ -0,0 +1,221 @@
+package com.mgm.inditex.core.timeline;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import static org.junit.jupiter.api.Assertions.*;
+import static com.mgm.inditex.fixtures.RateFixture.rate;
+
+import com.mgm.inditex.core.domain.Rate;
+import com.mgm.inditex.core.domain.RateKey;
+import com.mgm.inditex.core.filter.RateKeyFilter;
+import com.mgm.inditex.core.usecase.RateUseCase;
+import com.mgm.inditex.core.validation.DefaultRateValidator;
+import com.mgm.inditex.fixtures.ListRateRepository;
+import com.mgm.inditex.fixtures.RateDatasets;
+
+// CSOFF: Javadoc
+class RateTimelineTest
+{
+    private static final LocalDateTime JUNE_14 = LocalDateTime.of( 2020, 6, 14, 0, 0 );
+    private static final LocalDateTime YEAR_END = LocalDateTime.of( 2020, 12, 31, 23, 59, 59 );
+    private static final int RANDOM_PROBES = 2_000;
+
+    static Stream<String> datasets()
+    {
+        return Stream.of( RateDatasets.DEV, RateDatasets.STAGING, RateDatasets.PERFORMANCE );
+    }
+
+    @Test
+    void ofWhenRatesOverlapShouldResolveHighestPriorityPerSegment()
+    {
+        // Given: the dev dataset
+        var base = rate().priceList( 1 ).valid( JUNE_14, YEAR_END ).toRate();
+        var afternoon = rate().priceList( 2 ).valid( JUNE_14.withHour( 15 ), JUNE_14.withHour( 18 ).withMinute( 30 ) )
+            .priority( 1 ).toRate();
+        var morning = rate().priceList( 3 ).valid( JUNE_14.plusDays( 1 ), JUNE_14.plusDays( 1 ).withHour( 11 ) )
+            .priority( 1 ).toRate();
+        var evening = rate().priceList( 4 ).valid( JUNE_14.plusDays( 1 ).withHour( 16 ), YEAR_END ).priority( 1 )
+            .toRate();
+
+        // When
+        var cut = RateTimeline.of( List.of( base, afternoon, morning, evening ) );
+
+        // Then
+        var winners = cut.segments().stream().map( RateSegment::rate ).toList();
+        assertEquals( List.of( base, afternoon, base, morning, base, evening ), winners );
+        assertEquals( JUNE_14.withHour( 18 ).withMinute( 30 ).plusNanos( 1 ), cut.segments().get( 1 ).endExclusive() );
+        assertEquals( YEAR_END, cut.segments().getLast().endInclusive() );
+    }
+
+    @Test
+    void rateAtShouldTreatStartAndEndAsInclusive()
+    {
+        var base = rate().priceList( 1 ).valid( JUNE_14, YEAR_END ).toRate();
+        var afternoon = rate().priceList( 2 ).valid( JUNE_14.withHour( 15 ), JUNE_14.withHour( 18 ).withMinute( 30 ) )
+            .priority( 1 ).toRate();
+        var cut = RateTimeline.of( List.of( base, afternoon ) );
+
+        assertEquals( base, cut.rateAt( JUNE_14 ).orElseThrow() );
+        assertEquals( base, cut.rateAt( JUNE_14.withHour( 15 ).minusNanos( 1 ) ).orElseThrow() );
+        assertEquals( afternoon, cut.rateAt( JUNE_14.withHour( 15 ) ).orElseThrow() );
+        assertEquals( afternoon, cut.rateAt( JUNE_14.withHour( 18 ).withMinute( 30 ) ).orElseThrow() );
+        assertEquals( base, cut.rateAt( JUNE_14.withHour( 18 ).withMinute( 30 ).plusNanos( 1 ) ).orElseThrow() );
+        assertEquals( base, cut.rateAt( YEAR_END ).orElseThrow() );
+        assertTrue( cut.rateAt( YEAR_END.plusNanos( 1 ) ).isEmpty() );
+        assertTrue( cut.rateAt( JUNE_14.minusNanos( 1 ) ).isEmpty() );
+    }
+
+    @Test
+    void ofWhenPrioritiesTieShouldKeepFirstRateInInputOrder()
+    {
+        var first = rate().priceList( 1 ).valid( JUNE_14.withHour( 10 ), JUNE_14.withHour( 20 ) ).priority( 1 )
+            .toRate();
+        var second = rate().priceList( 2 ).valid( JUNE_14, JUNE_14.withHour( 12 ) ).priority( 1 ).toRate();
+
+        var cut = RateTimeline.of( List.of( first, second ) );
+
+        assertEquals( second, cut.rateAt( JUNE_14.withHour( 9 ) ).orElseThrow() );
+        assertEquals( first, cut.rateAt( JUNE_14.withHour( 11 ) ).orElseThrow() );
+        assertEquals( first, cut.rateAt( JUNE_14.withHour( 13 ) ).orElseThrow() );
+    }
+
+    @Test
+    void ofWhenRatesLeaveAGapShouldNotCoverIt()
+    {
+        var morning = rate().priceList( 1 ).valid( JUNE_14.withHour( 8 ), JUNE_14.withHour( 10 ) ).toRate();
+        var evening = rate().priceList( 2 ).valid( JUNE_14.withHour( 18 ), JUNE_14.withHour( 20 ) ).toRate();
+
+        var cut = RateTimeline.of( List.of( morning, evening ) );
+
+        assertEquals( 2, cut.segments().size() );
+        assertTrue( cut.segmentAt( JUNE_14.withHour( 12 ) ).isEmpty() );
+    }
+
+    @Test
+    void ofWhenSameRateWinsAroundLowerPriorityRateShouldMergeSegments()
+    {
+        var top = rate().priceList( 1 ).valid( JUNE_14, JUNE_14.withHour( 20 ) ).priority( 5 ).toRate();
+        var inner = rate().priceList( 2 ).valid( JUNE_14.withHour( 10 ), JUNE_14.withHour( 12 ) ).priority( 1 )
+            .toRate();
+
+        var cut = RateTimeline.of( List.of( top, inner ) );
+
+        assertEquals( 1, cut.segments().size() );
+        assertEquals( top, cut.segments().getFirst().rate() );
+    }
+
+    @Test
+    void ofWhenNoRatesShouldBeEmpty()
+    {
+        var cut = RateTimeline.of( List.of() );
+
+        assertTrue( cut.segments().isEmpty() );
+        assertTrue( cut.rateAt( JUNE_14 ).isEmpty() );
+    }
+
+    @Test
+    void betweenShouldClipOverlappingSegmentsToRange()
+    {
+        var base = rate().priceList( 1 ).valid( JUNE_14, YEAR_END ).toRate();
+        var afternoon = rate().priceList( 2 ).valid( JUNE_14.withHour( 15 ), JUNE_14.withHour( 18 ).withMinute( 30 ) )
+            .priority( 1 ).toRate();
+        var morning = rate().priceList( 3 ).valid( JUNE_14.plusDays( 1 ), JUNE_14.plusDays( 1 ).withHour( 11 ) )
+            .priority( 1 ).toRate();
+        var cut = RateTimeline.of( List.of( base, afternoon, morning ) );
+
+        var result = cut.between( JUNE_14.withHour( 16 ), JUNE_14.plusDays( 1 ).withHour( 10 ) );
+
+        assertEquals( List.of(
+            new RateSegment( JUNE_14.withHour( 16 ), JUNE_14.withHour( 18 ).withMinute( 30 ).plusNanos( 1 ),
+                afternoon ),
+            new RateSegment( JUNE_14.withHour( 18 ).withMinute( 30 ).plusNanos( 1 ), JUNE_14.plusDays( 1 ), base ),
+            new RateSegment( JUNE_14.plusDays( 1 ), JUNE_14.plusDays( 1 ).withHour( 10 ).plusNanos( 1 ), morning ) ),
+            result );
+        assertEquals( JUNE_14.plusDays( 1 ).withHour( 10 ), result.getLast().endInclusive() );
+    }
+
+    @Test
+    void betweenShouldTreatRangeBoundsAsInclusive()
+    {
+        var morning = rate().priceList( 1 ).valid( JUNE_14.withHour( 8 ), JUNE_14.withHour( 10 ) ).toRate();
+        var evening = rate().priceList( 2 ).valid( JUNE_14.withHour( 18 ), JUNE_14.withHour( 20 ) ).toRate();
+        var cut = RateTimeline.of( List.of( morning, evening ) );
+
+        assertEquals( List.of( new RateSegment( JUNE_14.withHour( 10 ), JUNE_14.withHour( 10 ).plusNanos( 1 ),
+            morning ), new RateSegment( JUNE_14.withHour( 18 ), JUNE_14.withHour( 18 ).plusNanos( 1 ), evening ) ),
+            cut.between( JUNE_14.withHour( 10 ), JUNE_14.withHour( 18 ) ) );
+        assertEquals( cut.segments(), cut.between( JUNE_14, YEAR_END ) );
+        assertTrue( cut.between( JUNE_14.withHour( 11 ), JUNE_14.withHour( 17 ) ).isEmpty() );
+        assertTrue( cut.between( JUNE_14.withHour( 20 ), JUNE_14.withHour( 8 ) ).isEmpty() );
+        assertTrue( RateTimeline.empty().between( JUNE_14, YEAR_END ).isEmpty() );
+    }
+
+    @ParameterizedTest
+    @MethodSource( "datasets" )
+    void rateAtShouldMatchRateUseCaseOnDataset( final String dataset )
+    {
+        // Given
+        var rates = RateDatasets.load( dataset );
+        var useCase = new RateUseCase( new ListRateRepository( rates ), new DefaultRateValidator(),
+            RateKeyFilter.ALLOW_ALL );
+        var grouped = new LinkedHashMap<RateKey, List<Rate>>();
+        rates.forEach( rate -> grouped.computeIfAbsent( RateKey.of( rate ), k -> new ArrayList<>() ).add( rate ) );
+        var timelines = new LinkedHashMap<RateKey, RateTimeline>();
+        grouped.forEach( ( key, group ) -> timelines.put( key, RateTimeline.of( group ) ) );
+
+        // When / Then: every boundary of every rate plus random instants inside the dataset range
+        var probes = 0;
+        for ( var rate : rates )
+        {
+            for ( var at : boundaryProbes( rate ) )
+            {
+                assertSameAnswer( useCase, timelines.get( RateKey.of( rate ) ), rate, at );
+                probes++;
+            }
+        }
+
+        var random = new Random( dataset.hashCode() );
+        for ( var i = 0; i < RANDOM_PROBES; i++ )
+        {
+            var rate = rates.get( random.nextInt( rates.size() ) );
+            var at = rate.getStartDate().minusDays( 3 ).plusSeconds( random.nextInt( 40 * 24 * 3600 ) );
+            assertSameAnswer( useCase, timelines.get( RateKey.of( rate ) ), rate, at );
+            probes++;
+        }
+
+        assertFalse( rates.isEmpty() );
+        assertTrue( probes > rates.size() );
+    }
+
+    private static void assertSameAnswer( final RateUseCase useCase, final RateTimeline cut, final Rate probe,
+        final LocalDateTime at )
+    {
+        var expected = useCase.getPrice( probe.getBrandId(), probe.getProductId(), probe.getCurrency(), at );
+        var actual = cut.rateAt( at );
+
+        assertEquals( expected.isPresent(), actual.isPresent(), () -> "presence differs at " + at + " for " + probe );
+        expected.ifPresent( rate -> assertSame( rate, actual.get(), () -> "winner differs at " + at ) );
+    }
+
+    private static List<LocalDateTime> boundaryProbes( final Rate rate )
+    {
+        var probes = new ArrayList<LocalDateTime>();
+        probes.add( rate.getStartDate().minusSeconds( 1 ) );
+        probes.add( rate.getStartDate().minusNanos( 1 ) );
+        probes.add( rate.getStartDate() );
+        probes.add( rate.getStartDate().plusNanos( 1 ) );
+        probes.add( rate.getEndDate().minusNanos( 1 ) );
+        probes.add( rate.getEndDate() );
+        probes.add( rate.getEndDate().plusNanos( 1 ) );
+        probes.add( rate.getEndDate().plusSeconds( 1 ) );
+        return probes;
+    }
+}
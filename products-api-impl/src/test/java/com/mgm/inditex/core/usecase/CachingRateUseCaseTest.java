@@ -0,0 +1,379 @@
+package com.mgm.inditex.core.usecase;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static com.mgm.inditex.fixtures.RateFixture.rate;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mgm.inditex.core.domain.FxRate;
+import com.mgm.inditex.core.domain.Rate;
+import com.mgm.inditex.core.domain.RateKey;
+import com.mgm.inditex.core.domain.RateQuery;
+import com.mgm.inditex.core.filter.RateKeyFilter;
+import com.mgm.inditex.core.fx.CurrencyConverter;
+import com.mgm.inditex.core.logging.LogSampler;
+import com.mgm.inditex.core.logging.PriceLookupLogSampling;
+import com.mgm.inditex.core.metrics.PriceLookupMetrics;
+import com.mgm.inditex.core.metrics.PriceLookupStage;
+import com.mgm.inditex.core.port.inbound.RateUserCasePort;
+import com.mgm.inditex.core.timeline.RateSegment;
+import com.mgm.inditex.core.timeline.RateTimeline;
+import com.mgm.inditex.core.validation.ApiValidationException;
+import com.mgm.inditex.core.validation.RateValidator;
+import com.mgm.inditex.fixtures.ListRateRepository;
+
+// CSOFF: Javadoc
+@ExtendWith( MockitoExtension.class )
+class CachingRateUseCaseTest
+{
+    private static final long PRODUCT_ID = 35455L;
+    private static final int BRAND_ID = 1;
+    private static final String CURR = "EUR";
+    private static final LocalDateTime DATE = LocalDateTime.of( 2020, 6, 14, 0, 0 );
+
+    private final Rate wide = rate().priceList( 1 ).valid( DATE, DATE.plusMonths( 6 ) ).toRate();
+    private final Rate afternoon = rate().priceList( 2 )
+        .valid( DATE.withHour( 15 ), DATE.withHour( 18 ).withMinute( 30 ) ).priority( 1 ).toRate();
+
+    @Mock
+    private RateUserCasePort delegate;
+
+    @Mock
+    private RateValidator rateValidator;
+
+    @Test
+    void getPriceWhenDateFallsInCachedSegmentShouldNotCallDelegateAgain()
+    {
+        // given
+        var cut = cut( 100 );
+        when( delegate.getTimeline( BRAND_ID, PRODUCT_ID, CURR ) )
+            .thenReturn( RateTimeline.of( List.of( wide, afternoon ) ) );
+
+        // when
+        var first = cut.getPrice( BRAND_ID, PRODUCT_ID, CURR, DATE.withHour( 16 ) );
+        var sameSegment = cut.getPrice( BRAND_ID, PRODUCT_ID, CURR, DATE.withHour( 17 ).withMinute( 59 ) );
+        var otherSegment = cut.getPrice( BRAND_ID, PRODUCT_ID, CURR, DATE.withHour( 10 ) );
+        var outside = cut.getPrice( BRAND_ID, PRODUCT_ID, CURR, DATE.minusDays( 1 ) );
+
+        // then
+        assertEquals( Optional.of( afternoon ), first );
+        assertEquals( Optional.of( afternoon ), sameSegment );
+        assertEquals( Optional.of( wide ), otherSegment );
+        assertEquals( Optional.empty(), outside );
+        verify( delegate, times( 1 ) ).getTimeline( BRAND_ID, PRODUCT_ID, CURR );
+    }
+
+    @Test
+    void getPriceWhenKeysDifferShouldLoadEachTimeline()
+    {
+        // given
+        var cut = cut( 100 );
+        when( delegate.getTimeline( BRAND_ID, PRODUCT_ID, CURR ) ).thenReturn( RateTimeline.of( List.of( wide ) ) );
+        when( delegate.getTimeline( BRAND_ID, PRODUCT_ID, "USD" ) ).thenReturn( RateTimeline.empty() );
+
+        // when
+        var euros = cut.getPrice( BRAND_ID, PRODUCT_ID, CURR, DATE );
+        var dollars = cut.getPrice( BRAND_ID, PRODUCT_ID, "USD", DATE );
+        cut.getPrice( BRAND_ID, PRODUCT_ID, "USD", DATE.plusDays( 1 ) );
+
+        // then
+        assertEquals( Optional.of( wide ), euros );
+        assertEquals( Optional.empty(), dollars );
+        verify( delegate, times( 1 ) ).getTimeline( BRAND_ID, PRODUCT_ID, "USD" );
+    }
+
+    @Test
+    void getPriceWhenMetricsConfiguredShouldRecordEachStageAndOnlyLoadsAsRepositoryReads()
+    {
+        // given
+        var cut = cut( 100 );
+        var metrics = mock( PriceLookupMetrics.class );
+        cut.setPriceLookupMetrics( metrics );
+        when( delegate.getTimeline( BRAND_ID, PRODUCT_ID, CURR ) ).thenReturn( RateTimeline.of( List.of( wide ) ) );
+
+        // when
+        cut.getPrice( BRAND_ID, PRODUCT_ID, CURR, DATE );
+        cut.getPrice( BRAND_ID, PRODUCT_ID, CURR, DATE.plusDays( 1 ) );
+
+        // then
+        verify( metrics, times( 2 ) ).recordStage( eq( PriceLookupStage.USE_CASE ), eq( BRAND_ID ), anyLong() );
+        verify( metrics, times( 2 ) ).recordStage( eq( PriceLookupStage.VALIDATION ), eq( BRAND_ID ), anyLong() );
+        verify( metrics, times( 1 ) ).recordStage( eq( PriceLookupStage.REPOSITORY ), eq( BRAND_ID ), anyLong() );
+    }
+
+    @Test
+    void getPriceShouldLogEachOutcomeAsSampled()
+    {
+        // given
+        var cut = cut( 100 );
+        var found = mock( LogSampler.class );
+        var notFound = mock( LogSampler.class );
+        cut.setLogSampling( new PriceLookupLogSampling( found, notFound, LogSampler.ALL ) );
+        when( delegate.getTimeline( BRAND_ID, PRODUCT_ID, CURR ) ).thenReturn( RateTimeline.of( List.of( wide ) ) );
+
+        // when
+        cut.getPrice( BRAND_ID, PRODUCT_ID, CURR, DATE );
+        cut.getPrice( BRAND_ID, PRODUCT_ID, CURR, DATE.minusDays( 1 ) );
+
+        // then
+        verify( found, times( 1 ) ).sample();
+        verify( notFound, times( 1 ) ).sample();
+    }
+
+    @Test
+    void getPriceWhenSegmentBoundIsExceededShouldEvictAndReload()
+    {
+        // given: each timeline weighs one segment and only one fits
+        var cut = cut( 1 );
+        when( delegate.getTimeline( BRAND_ID, PRODUCT_ID, CURR ) ).thenReturn( RateTimeline.of( List.of( wide ) ) );
+        when( delegate.getTimeline( BRAND_ID, PRODUCT_ID, "USD" ) ).thenReturn( RateTimeline.empty() );
+
+        // when
+        cut.getPrice( BRAND_ID, PRODUCT_ID, CURR, DATE );
+        cut.getPrice( BRAND_ID, PRODUCT_ID, "USD", DATE );
+        cut.getPrice( BRAND_ID, PRODUCT_ID, CURR, DATE );
+
+        // then
+        verify( delegate, times( 2 ) ).getTimeline( BRAND_ID, PRODUCT_ID, CURR );
+    }
+
+    @Test
+    void invalidateAllShouldReloadTimelines()
+    {
+        // given
+        var cut = cut( 100 );
+        when( delegate.getTimeline( BRAND_ID, PRODUCT_ID, CURR ) ).thenReturn( RateTimeline.of( List.of( wide ) ) );
+        cut.getTimeline( BRAND_ID, PRODUCT_ID, CURR );
+
+        // when
+        cut.invalidateAll();
+        cut.getTimeline( BRAND_ID, PRODUCT_ID, CURR );
+
+        // then
+        verify( delegate, times( 2 ) ).getTimeline( BRAND_ID, PRODUCT_ID, CURR );
+        verify( rateValidator, times( 2 ) ).validateGetTimelineRequest( BRAND_ID, PRODUCT_ID, CURR );
+    }
+
+    @Test
+    void invalidateShouldReloadOnlyTheGivenKeys()
+    {
+        // given
+        var cut = cut( 100 );
+        when( delegate.getTimeline( BRAND_ID, PRODUCT_ID, CURR ) ).thenReturn( RateTimeline.of( List.of( wide ) ) );
+        when( delegate.getTimeline( BRAND_ID, PRODUCT_ID, "USD" ) ).thenReturn( RateTimeline.empty() );
+        cut.getTimeline( BRAND_ID, PRODUCT_ID, CURR );
+        cut.getTimeline( BRAND_ID, PRODUCT_ID, "USD" );
+
+        // when
+        cut.invalidate( List.of( new RateKey( BRAND_ID, PRODUCT_ID, CURR ) ) );
+        cut.getTimeline( BRAND_ID, PRODUCT_ID, CURR );
+        cut.getTimeline( BRAND_ID, PRODUCT_ID, "USD" );
+
+        // then
+        verify( delegate, times( 2 ) ).getTimeline( BRAND_ID, PRODUCT_ID, CURR );
+        verify( delegate, times( 1 ) ).getTimeline( BRAND_ID, PRODUCT_ID, "USD" );
+    }
+
+    @Test
+    void invalidateAllShouldNotifyListeners()
+    {
+        // given
+        var cut = cut( 100 );
+        var notified = new int[1];
+        cut.onInvalidateAll( () -> notified[0]++ );
+
+        // when
+        cut.invalidateAll();
+        cut.invalidateAll();
+
+        // then
+        assertEquals( 2, notified[0] );
+    }
+
+    @Test
+    void getPriceWhenRequestIsInvalidShouldThrowExceptionBeforeCaching()
+    {
+        // given
+        var cut = cut( 100 );
+        doThrow( new ApiValidationException( Collections.emptyList() ) )
+            .when( rateValidator )
+            .validateGetPriceRequest( any(), any(), any(), any() );
+
+        // when
+        assertThrows( ApiValidationException.class, () -> cut.getPrice( null, PRODUCT_ID, CURR, DATE ) );
+
+        // then
+        verifyNoInteractions( delegate );
+    }
+
+    @Test
+    void getPricesShouldAnswerCachedKeysAndDelegateMissesInOneCall()
+    {
+        // given: the EUR timeline is cached, USD is not
+        var cut = cut( 100 );
+        when( delegate.getTimeline( BRAND_ID, PRODUCT_ID, CURR ) )
+            .thenReturn( RateTimeline.of( List.of( wide, afternoon ) ) );
+        cut.getTimeline( BRAND_ID, PRODUCT_ID, CURR );
+        var dollars = new RateQuery( BRAND_ID, PRODUCT_ID, "USD", DATE );
+        var otherDollars = new RateQuery( BRAND_ID, PRODUCT_ID + 1, "USD", DATE );
+        var dollarRate = rate().priceList( 3 ).valid( DATE, DATE.plusDays( 1 ) ).toRate();
+        when( delegate.getPrices( List.of( dollars, otherDollars ) ) )
+            .thenReturn( List.of( Optional.of( dollarRate ), Optional.empty() ) );
+
+        // when
+        var result = cut.getPrices( List.of(
+            new RateQuery( BRAND_ID, PRODUCT_ID, CURR, DATE.withHour( 16 ) ),
+            dollars,
+            new RateQuery( BRAND_ID, PRODUCT_ID, CURR, DATE.minusDays( 1 ) ),
+            otherDollars ) );
+
+        // then
+        assertEquals( List.of( Optional.of( afternoon ), Optional.of( dollarRate ), Optional.empty(),
+            Optional.empty() ), result );
+        verify( delegate, times( 1 ) ).getPrices( any() );
+        verify( delegate, times( 1 ) ).getTimeline( BRAND_ID, PRODUCT_ID, CURR );
+    }
+
+    @Test
+    void getPricesWhenEveryKeyIsCachedShouldNotCallDelegate()
+    {
+        // given
+        var cut = cut( 100 );
+        when( delegate.getTimeline( BRAND_ID, PRODUCT_ID, CURR ) ).thenReturn( RateTimeline.of( List.of( wide ) ) );
+        cut.getTimeline( BRAND_ID, PRODUCT_ID, CURR );
+
+        // when
+        var result = cut.getPrices( List.of( new RateQuery( BRAND_ID, PRODUCT_ID, CURR, DATE ) ) );
+
+        // then
+        assertEquals( List.of( Optional.of( wide ) ), result );
+        verify( delegate, never() ).getPrices( any() );
+    }
+
+    @Test
+    void getPriceSegmentsShouldClipCachedTimeline()
+    {
+        // given
+        var cut = cut( 100 );
+        when( delegate.getTimeline( BRAND_ID, PRODUCT_ID, CURR ) )
+            .thenReturn( RateTimeline.of( List.of( wide, afternoon ) ) );
+
+        // when
+        var first = cut.getPriceSegments( BRAND_ID, PRODUCT_ID, CURR, DATE.withHour( 16 ), DATE.withHour( 20 ) );
+        var second = cut.getPriceSegments( BRAND_ID, PRODUCT_ID, CURR, DATE, DATE.plusDays( 1 ) );
+
+        // then
+        assertEquals( List.of( afternoon, wide ), first.stream().map( RateSegment::rate ).toList() );
+        assertEquals( DATE.withHour( 16 ), first.getFirst().start() );
+        assertEquals( DATE.withHour( 20 ), first.getLast().endInclusive() );
+        assertEquals( List.of( wide, afternoon, wide ), second.stream().map( RateSegment::rate ).toList() );
+        verify( delegate, times( 1 ) ).getTimeline( BRAND_ID, PRODUCT_ID, CURR );
+        verify( rateValidator ).validateGetPriceSegmentsRequest( BRAND_ID, PRODUCT_ID, CURR, DATE.withHour( 16 ),
+            DATE.withHour( 20 ) );
+    }
+
+    @Test
+    void invalidateWhenConverterIsSetShouldDropTimelinesConvertedFromKey()
+    {
+        // given
+        var cut = cut( 100 );
+        var converter = new CurrencyConverter( CURR, () -> List.of( new FxRate( CURR, "USD",
+            new BigDecimal( "1.10000000" ) ) ) );
+        converter.reload();
+        cut.setCurrencyConverter( converter );
+        when( delegate.getTimeline( eq( BRAND_ID ), any(), anyString() ) )
+            .thenReturn( RateTimeline.of( List.of( wide ) ) );
+        cut.getTimeline( BRAND_ID, PRODUCT_ID, CURR );
+        cut.getTimeline( BRAND_ID, PRODUCT_ID, "USD" );
+        cut.getTimeline( BRAND_ID, PRODUCT_ID + 1, "USD" );
+
+        // when
+        cut.invalidate( List.of( new RateKey( BRAND_ID, PRODUCT_ID, CURR ) ) );
+        cut.getTimeline( BRAND_ID, PRODUCT_ID, CURR );
+        cut.getTimeline( BRAND_ID, PRODUCT_ID, "USD" );
+        cut.getTimeline( BRAND_ID, PRODUCT_ID + 1, "USD" );
+
+        // then
+        verify( delegate, times( 2 ) ).getTimeline( BRAND_ID, PRODUCT_ID, CURR );
+        verify( delegate, times( 2 ) ).getTimeline( BRAND_ID, PRODUCT_ID, "USD" );
+        verify( delegate, times( 1 ) ).getTimeline( BRAND_ID, PRODUCT_ID + 1, "USD" );
+    }
+
+    @Test
+    void answersWhenKeyIsPricedNativelyOnlyAtSomeDatesShouldMatchUncachedUseCase()
+    {
+        // given: dollars are set for the afternoon only, euros for the whole period, and the next product has
+        // euros only
+        var dollars = Rate.of( BRAND_ID, PRODUCT_ID, 3, DATE.withHour( 15 ), DATE.withHour( 18 ), ( short ) 1,
+            new BigDecimal( "12.00" ), "USD" );
+        var otherProduct = Rate.of( BRAND_ID, PRODUCT_ID + 1, 1, DATE, DATE.plusMonths( 6 ), ( short ) 0,
+            new BigDecimal( "10.00" ), CURR );
+        var converter = new CurrencyConverter( CURR, () -> List.of( new FxRate( CURR, "USD",
+            new BigDecimal( "1.10000000" ) ) ) );
+        converter.reload();
+        var uncached = new RateUseCase( new ListRateRepository( List.of( wide, dollars, otherProduct ) ), rateValidator,
+            RateKeyFilter.ALLOW_ALL );
+        uncached.setCurrencyConverter( converter );
+        var cut = cut( uncached, 100 );
+        cut.setCurrencyConverter( converter );
+        var queries = List.of(
+            new RateQuery( BRAND_ID, PRODUCT_ID, "USD", DATE.withHour( 10 ) ),
+            new RateQuery( BRAND_ID, PRODUCT_ID, "USD", DATE.withHour( 16 ) ),
+            new RateQuery( BRAND_ID, PRODUCT_ID + 1, "USD", DATE.withHour( 10 ) ) );
+
+        // when
+        var expected = uncached.getPrices( queries );
+        var coldBatch = cut.getPrices( queries );
+        var single = queries.stream()
+            .map( query -> cut.getPrice( query.brandId(), query.productId(), query.currency(), query.date() ) )
+            .toList();
+        var warmBatch = cut.getPrices( queries );
+
+        // then
+        assertEquals( List.of( Optional.empty(), Optional.of( dollars ) ), expected.subList( 0, 2 ) );
+        assertEquals( new BigDecimal( "11.0000" ), expected.get( 2 ).orElseThrow().getPrice() );
+        assertEquals( expected, queries.stream()
+            .map( query -> uncached.getPrice( query.brandId(), query.productId(), query.currency(), query.date() ) )
+            .toList() );
+        assertEquals( expected, coldBatch );
+        assertEquals( expected, single );
+        assertEquals( expected, warmBatch );
+        assertEquals( uncached.getPriceSegments( BRAND_ID, PRODUCT_ID, "USD", DATE, DATE.withHour( 12 ) ),
+            cut.getPriceSegments( BRAND_ID, PRODUCT_ID, "USD", DATE, DATE.withHour( 12 ) ) );
+    }
+
+    private CachingRateUseCase cut( final long maximumSegments )
+    {
+        return cut( delegate, maximumSegments );
+    }
+
+    private CachingRateUseCase cut( final RateUserCasePort delegate, final long maximumSegments )
+    {
+        var timelines = Caffeine.newBuilder()
+            .executor( Runnable::run )
+            .maximumWeight( maximumSegments )
+            .weigher( ( RateKey key, RateTimeline timeline ) -> Math.max( 1, timeline.segments().size() ) )
+            .<RateKey, RateTimeline>build();
+        return new CachingRateUseCase( delegate, rateValidator, timelines );
+    }
+}
@@ -4,9 +4,13 @@ import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -16,14 +20,29 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import com.mgm.inditex.core.domain.FxRate;
 import com.mgm.inditex.core.domain.Rate;
+import com.mgm.inditex.core.domain.RateKey;
+import com.mgm.inditex.core.domain.RateQuery;
+import com.mgm.inditex.core.filter.RateKeyFilter;
+import com.mgm.inditex.core.fx.CurrencyConverter;
+import com.mgm.inditex.core.logging.LogSampler;
+import com.mgm.inditex.core.logging.PriceLookupLogSampling;
+import com.mgm.inditex.core.metrics.PriceLookupMetrics;
+import com.mgm.inditex.core.metrics.PriceLookupStage;
 import com.mgm.inditex.core.port.outbound.RateRepositoryPort;
+import com.mgm.inditex.core.timeline.RateSegment;
 import com.mgm.inditex.core.validation.ApiValidationException;
 import com.mgm.inditex.core.validation.RateValidator;
 
@@ -45,87 +64,468 @@ class RateUseCaseTest
     @Mock
     private RateValidator rateValidator;
 
+    @Mock
+    private RateKeyFilter rateKeyFilter;
+
     @InjectMocks
     private RateUseCase rateUsecase;
 
+    @BeforeEach
+    void setUp()
+    {
+        lenient().when( rateKeyFilter.mightContain( any( RateKey.class ) ) ).thenReturn( true );
+    }
+
     @Test
-    void getPriceWhenRatesFoundShouldReturnHighestPriorityRate()
+    void getPriceWhenRateFoundShouldReturnRateResolvedByRepository()
     {
         // Arrange
-        short priority1 = 1;
-        short priority2 = 2;
-        var rate1 = Rate.of( BRAND_ID, PRODUCT_ID, PRICE_LIST_ID, DATE.minusDays( 5 ), DATE.plusDays( 5 ), priority1,
-            new BigDecimal( "25.5000" ), CURR );
-        var rate2 = Rate.of( BRAND_ID, PRODUCT_ID, PRICE_LIST_ID,  DATE.minusDays( 5 ), DATE, priority2,
+        short priority = 2;
+        var rate = Rate.of( BRAND_ID, PRODUCT_ID, PRICE_LIST_ID, DATE.minusDays( 5 ), DATE, priority,
             new BigDecimal( "35.5000" ), CURR );
 
-        var rates = List.of( rate1, rate2 );
-
-        when( rateRepository.findRatesForBrandAndProductAndCurrency( BRAND_ID, PRODUCT_ID, CURR, DATE_TO_INSTANT ) )
-            .thenReturn( rates );
+        when( rateRepository.findApplicableRate( BRAND_ID, PRODUCT_ID, CURR, DATE_TO_INSTANT ) )
+            .thenReturn( Optional.of( rate ) );
 
         // Act
         var result = rateUsecase.getPrice( BRAND_ID, PRODUCT_ID, CURR, DATE );
 
         // Assert
         assertTrue( result.isPresent() );
-        assertEquals( rate2, result.get() );
-        verify( rateRepository, times( 1 ) ).findRatesForBrandAndProductAndCurrency( BRAND_ID, PRODUCT_ID, CURR,
-            DATE_TO_INSTANT );
+        assertEquals( rate, result.get() );
+        verify( rateRepository, times( 1 ) ).findApplicableRate( BRAND_ID, PRODUCT_ID, CURR, DATE_TO_INSTANT );
+        verify( rateRepository, never() )
+            .findRatesForBrandAndProductAndCurrency( any(), anyLong(), anyString(), any( Instant.class ) );
     }
 
 
     @Test
     void getPriceWhenNoRatesFoundShouldReturnEmptyOptional() {
         // Arrange
-        when( rateRepository.findRatesForBrandAndProductAndCurrency( BRAND_ID, PRODUCT_ID, CURR, DATE_TO_INSTANT ) )
-            .thenReturn( Collections.emptyList() );
+        when( rateRepository.findApplicableRate( BRAND_ID, PRODUCT_ID, CURR, DATE_TO_INSTANT ) )
+            .thenReturn( Optional.empty() );
 
         // Act
         var result = rateUsecase.getPrice( BRAND_ID, PRODUCT_ID, CURR, DATE );
 
         // Assert
         assertFalse( result.isPresent() );
-        verify( rateRepository, times( 1 ) )
-            .findRatesForBrandAndProductAndCurrency( BRAND_ID, PRODUCT_ID, CURR, DATE_TO_INSTANT );
+        verify( rateRepository, times( 1 ) ).findApplicableRate( BRAND_ID, PRODUCT_ID, CURR, DATE_TO_INSTANT );
     }
 
     @Test
-    void getPriceWhenMultipleRatesWithSamePriorityShouldReturnFirstOneFound()
+    void getPriceWhenBrandIdNullShouldThrowException()
     {
         // Arrange
-        var rate1 = Rate.of( BRAND_ID, PRODUCT_ID, PRICE_LIST_ID, DATE.minusDays( 5 ), DATE.plusDays( 5 ), PRIORITY,
+        doThrow( new ApiValidationException( Collections.emptyList() ) )
+            .when( rateValidator )
+            .validateGetPriceRequest( any(), anyLong(), anyString(), any( LocalDateTime.class ) );
+
+        // Act & Assert
+        assertThrows( ApiValidationException.class, () -> rateUsecase.getPrice( null, PRODUCT_ID, CURR, DATE ) );
+
+        verify( rateRepository, never() ).findApplicableRate( any(), anyLong(), anyString(), any( Instant.class ) );
+    }
+
+    @Test
+    void getTimelineShouldResolveEveryRateOfProduct()
+    {
+        // Arrange
+        short priority1 = 0;
+        short priority2 = 1;
+        var wide = Rate.of( BRAND_ID, PRODUCT_ID, PRICE_LIST_ID, DATE.minusDays( 5 ), DATE.plusDays( 5 ), priority1,
             new BigDecimal( "25.5000" ), CURR );
-        var rate2 = Rate.of( BRAND_ID, PRODUCT_ID, PRICE_LIST_ID,  DATE.minusDays( 5 ), DATE.plusDays( 1 ), PRIORITY,
-            new BigDecimal( "35.5000" ), CURR );
+        var promotion = Rate.of( BRAND_ID, PRODUCT_ID, PRICE_LIST_ID + 1, DATE, DATE.plusDays( 1 ), priority2,
+            new BigDecimal( "19.9900" ), CURR );
+        when( rateRepository.findAllRatesForBrandAndProductAndCurrency( BRAND_ID, PRODUCT_ID, CURR ) )
+            .thenReturn( List.of( wide, promotion ) );
 
-        var rates = List.of( rate1, rate2 );
+        // Act
+        var result = rateUsecase.getTimeline( BRAND_ID, PRODUCT_ID, CURR );
 
-        when( rateRepository.findRatesForBrandAndProductAndCurrency( BRAND_ID, PRODUCT_ID, CURR, DATE_TO_INSTANT ) )
-            .thenReturn( rates );
+        // Assert
+        assertEquals( 3, result.segments().size() );
+        assertEquals( promotion, result.rateAt( DATE.plusHours( 1 ) ).orElseThrow() );
+        assertEquals( wide, result.rateAt( DATE.plusDays( 2 ) ).orElseThrow() );
+        verify( rateValidator ).validateGetTimelineRequest( BRAND_ID, PRODUCT_ID, CURR );
+    }
+
+    @Test
+    void getPriceWhenFilterRulesOutKeyShouldNotQueryRepository()
+    {
+        // Arrange
+        when( rateKeyFilter.mightContain( new RateKey( BRAND_ID, PRODUCT_ID, CURR ) ) ).thenReturn( false );
 
         // Act
-        var result = rateUsecase.getPrice( BRAND_ID, PRODUCT_ID, CURR, DATE );
+        var price = rateUsecase.getPrice( BRAND_ID, PRODUCT_ID, CURR, DATE );
+        var timeline = rateUsecase.getTimeline( BRAND_ID, PRODUCT_ID, CURR );
 
         // Assert
-        assertTrue( result.isPresent() );
-        assertEquals( rate1, result.get() );
-        verify( rateRepository, times( 1 ) )
-            .findRatesForBrandAndProductAndCurrency( BRAND_ID, PRODUCT_ID, CURR, DATE_TO_INSTANT );
+        assertTrue( price.isEmpty() );
+        assertTrue( timeline.segments().isEmpty() );
+        verifyNoInteractions( rateRepository );
     }
 
     @Test
-    void getPriceWhenBrandIdNullShouldThrowException()
+    void getPricesShouldAnswerEveryQueryInOrderFromSingleLookup()
+    {
+        // Arrange
+        short priority1 = 0;
+        short priority2 = 1;
+        var key = new RateKey( BRAND_ID, PRODUCT_ID, CURR );
+        var unknown = new RateKey( BRAND_ID, PRODUCT_ID + 1, CURR );
+        var wide = Rate.of( BRAND_ID, PRODUCT_ID, PRICE_LIST_ID, DATE.minusDays( 5 ), DATE.plusDays( 5 ), priority1,
+            new BigDecimal( "25.5000" ), CURR );
+        var promotion = Rate.of( BRAND_ID, PRODUCT_ID, PRICE_LIST_ID + 1, DATE, DATE.plusDays( 1 ), priority2,
+            new BigDecimal( "19.9900" ), CURR );
+        var queries = List.of(
+            new RateQuery( BRAND_ID, PRODUCT_ID, CURR, DATE.plusDays( 2 ) ),
+            new RateQuery( BRAND_ID, PRODUCT_ID + 1, CURR, DATE ),
+            new RateQuery( BRAND_ID, PRODUCT_ID, CURR, DATE.plusHours( 1 ) ),
+            new RateQuery( BRAND_ID, PRODUCT_ID, CURR, DATE.minusDays( 6 ) ) );
+        when( rateRepository.findRatesForKeys( List.of( key, unknown ), DATE.minusDays( 6 ).toInstant( ZoneOffset.UTC ),
+            DATE.plusDays( 2 ).toInstant( ZoneOffset.UTC ) ) ).thenReturn( List.of( wide, promotion ) );
+
+        // Act
+        var result = rateUsecase.getPrices( queries );
+
+        // Assert
+        assertEquals( List.of( Optional.of( wide ), Optional.empty(), Optional.of( promotion ), Optional.empty() ),
+            result );
+        verify( rateValidator ).validateGetPricesRequest( queries );
+        verify( rateRepository, times( 1 ) ).findRatesForKeys( any(), any(), any() );
+    }
+
+    @Test
+    void getPricesWhenFilterRulesOutEveryKeyShouldNotQueryRepository()
+    {
+        // Arrange
+        when( rateKeyFilter.mightContain( new RateKey( BRAND_ID, PRODUCT_ID, CURR ) ) ).thenReturn( false );
+
+        // Act
+        var result = rateUsecase.getPrices( List.of( new RateQuery( BRAND_ID, PRODUCT_ID, CURR, DATE ) ) );
+
+        // Assert
+        assertEquals( List.of( Optional.empty() ), result );
+        verifyNoInteractions( rateRepository );
+    }
+
+    @Test
+    void getPricesShouldLogBatchAsSampled()
+    {
+        // Arrange
+        var batch = mock( LogSampler.class );
+        rateUsecase.setLogSampling( new PriceLookupLogSampling( LogSampler.ALL, LogSampler.ALL, batch ) );
+        when( rateRepository.findRatesForKeys( any(), any(), any() ) ).thenReturn( List.of() );
+
+        // Act
+        rateUsecase.getPrices( List.of( new RateQuery( BRAND_ID, PRODUCT_ID, CURR, DATE ),
+            new RateQuery( BRAND_ID, PRODUCT_ID, CURR, DATE.plusDays( 1 ) ) ) );
+
+        // Assert
+        verify( batch, times( 1 ) ).sample();
+    }
+
+    @Test
+    void exportPricesOfBrandShouldHandOverWinnerOfEveryProductAndCurrency()
+    {
+        // Arrange: rates grouped by product and currency, as the repository streams them
+        short low = 0;
+        short high = 1;
+        var wide = Rate.of( BRAND_ID, PRODUCT_ID, PRICE_LIST_ID, DATE.minusDays( 5 ), DATE.plusDays( 5 ), low,
+            new BigDecimal( "25.5000" ), CURR );
+        var promotion = Rate.of( BRAND_ID, PRODUCT_ID, PRICE_LIST_ID + 1, DATE, DATE.plusDays( 1 ), high,
+            new BigDecimal( "19.9900" ), CURR );
+        var tie = Rate.of( BRAND_ID, PRODUCT_ID, PRICE_LIST_ID + 2, DATE, DATE.plusDays( 2 ), high,
+            new BigDecimal( "18.9900" ), CURR );
+        var dollars = Rate.of( BRAND_ID, PRODUCT_ID, PRICE_LIST_ID, DATE.minusDays( 5 ), DATE.plusDays( 5 ), low,
+            new BigDecimal( "28.4500" ), "USD" );
+        var other = Rate.of( BRAND_ID, PRODUCT_ID + 1, PRICE_LIST_ID, DATE.minusDays( 5 ), DATE.plusDays( 5 ), low,
+            new BigDecimal( "9.9900" ), CURR );
+        doAnswer( invocation ->
+        {
+            Consumer<Rate> action = invocation.getArgument( 2 );
+            List.of( wide, promotion, tie, dollars, other ).forEach( action );
+            return null;
+        } ).when( rateRepository ).forEachRateForBrand( any(), any(), any() );
+        var prices = new ArrayList<Rate>();
+
+        // Act
+        rateUsecase.exportPricesOfBrand( BRAND_ID, DATE ).forEach( prices::add );
+
+        // Assert
+        assertEquals( List.of( promotion, dollars, other ), prices );
+        verify( rateValidator ).validateGetBrandPricesRequest( BRAND_ID, DATE );
+        verify( rateRepository ).forEachRateForBrand( any(), any(), any() );
+    }
+
+    @Test
+    void exportPricesOfBrandWhenBrandHasNoRatesShouldHandOverNothing()
+    {
+        // Arrange
+        var prices = new ArrayList<Rate>();
+
+        // Act
+        rateUsecase.exportPricesOfBrand( BRAND_ID, DATE ).forEach( prices::add );
+
+        // Assert
+        assertTrue( prices.isEmpty() );
+        verify( rateRepository ).forEachRateForBrand( eq( BRAND_ID ), eq( DATE_TO_INSTANT ), any() );
+    }
+
+    @Test
+    void exportPricesOfBrandWhenRequestIsInvalidShouldThrowBeforeExportRuns()
     {
         // Arrange
         doThrow( new ApiValidationException( Collections.emptyList() ) )
             .when( rateValidator )
-            .validateGetPriceRequest( any(), anyLong(), anyString(), any( LocalDateTime.class ) );
+            .validateGetBrandPricesRequest( -1, DATE );
 
         // Act & Assert
-        assertThrows( ApiValidationException.class, () -> rateUsecase.getPrice( null, PRODUCT_ID, CURR, DATE ) );
+        assertThrows( ApiValidationException.class, () -> rateUsecase.exportPricesOfBrand( -1, DATE ) );
+        verifyNoInteractions( rateRepository );
+    }
 
-        verify( rateRepository, never() )
-            .findRatesForBrandAndProductAndCurrency( any(), anyLong(), anyString(), any( Instant.class ) );
+    @Test
+    void exportPricesOfBrandShouldNotReadRatesUntilExportRuns()
+    {
+        // Act
+        var export = rateUsecase.exportPricesOfBrand( BRAND_ID, DATE );
+
+        // Assert
+        verifyNoInteractions( rateRepository );
+        export.forEach( rate -> { } );
+        verify( rateRepository ).forEachRateForBrand( eq( BRAND_ID ), eq( DATE_TO_INSTANT ), any() );
+    }
+
+    @Test
+    void getPriceSegmentsShouldSweepRatesOverlappingRangeOnly()
+    {
+        // Arrange
+        short priority1 = 0;
+        short priority2 = 1;
+        var wide = Rate.of( BRAND_ID, PRODUCT_ID, PRICE_LIST_ID, DATE.minusDays( 5 ), DATE.plusDays( 5 ), priority1,
+            new BigDecimal( "25.5000" ), CURR );
+        var promotion = Rate.of( BRAND_ID, PRODUCT_ID, PRICE_LIST_ID + 1, DATE, DATE.plusDays( 1 ), priority2,
+            new BigDecimal( "19.9900" ), CURR );
+        var from = DATE.minusDays( 1 );
+        var to = DATE.plusDays( 2 );
+        when( rateRepository.findRatesForKeys( List.of( new RateKey( BRAND_ID, PRODUCT_ID, CURR ) ),
+            from.toInstant( ZoneOffset.UTC ), to.toInstant( ZoneOffset.UTC ) ) )
+            .thenReturn( List.of( wide, promotion ) );
+
+        // Act
+        var result = rateUsecase.getPriceSegments( BRAND_ID, PRODUCT_ID, CURR, from, to );
+
+        // Assert
+        assertEquals( List.of( wide, promotion, wide ), result.stream().map( RateSegment::rate ).toList() );
+        assertEquals( from, result.getFirst().start() );
+        assertEquals( to, result.getLast().endInclusive() );
+        verify( rateValidator ).validateGetPriceSegmentsRequest( BRAND_ID, PRODUCT_ID, CURR, from, to );
+    }
+
+    @Test
+    void getPriceSegmentsWhenFilterRulesOutKeyShouldNotQueryRepository()
+    {
+        // Arrange
+        when( rateKeyFilter.mightContain( new RateKey( BRAND_ID, PRODUCT_ID, CURR ) ) ).thenReturn( false );
+
+        // Act
+        var result = rateUsecase.getPriceSegments( BRAND_ID, PRODUCT_ID, CURR, DATE, DATE.plusDays( 1 ) );
+
+        // Assert
+        assertTrue( result.isEmpty() );
+        verifyNoInteractions( rateRepository );
+    }
+
+    @Test
+    void getPriceWhenNoRateInCurrencyShouldConvertBaseCurrencyRate()
+    {
+        // Arrange
+        var base = Rate.of( BRAND_ID, PRODUCT_ID, PRICE_LIST_ID, DATE.minusDays( 5 ), DATE, PRIORITY,
+            new BigDecimal( "35.5000" ), CURR );
+        rateUsecase.setCurrencyConverter( converter() );
+        when( rateRepository.findApplicableRate( BRAND_ID, PRODUCT_ID, "USD", DATE_TO_INSTANT ) )
+            .thenReturn( Optional.empty() );
+        when( rateRepository.findApplicableRate( BRAND_ID, PRODUCT_ID, CURR, DATE_TO_INSTANT ) )
+            .thenReturn( Optional.of( base ) );
+
+        // Act
+        var result = rateUsecase.getPrice( BRAND_ID, PRODUCT_ID, "USD", DATE ).orElseThrow();
+
+        // Assert
+        assertEquals( new BigDecimal( "39.0500" ), result.getPrice() );
+        assertEquals( "USD", result.getCurrency() );
+        assertEquals( base.getPriceListId(), result.getPriceListId() );
+    }
+
+    @Test
+    void getPriceWhenRateInCurrencyExistsShouldNotConvert()
+    {
+        // Arrange
+        var usd = Rate.of( BRAND_ID, PRODUCT_ID, PRICE_LIST_ID, DATE.minusDays( 5 ), DATE, PRIORITY,
+            new BigDecimal( "40.0000" ), "USD" );
+        rateUsecase.setCurrencyConverter( converter() );
+        when( rateRepository.findApplicableRate( BRAND_ID, PRODUCT_ID, "USD", DATE_TO_INSTANT ) )
+            .thenReturn( Optional.of( usd ) );
+
+        // Act
+        var result = rateUsecase.getPrice( BRAND_ID, PRODUCT_ID, "USD", DATE );
+
+        // Assert
+        assertEquals( Optional.of( usd ), result );
+        verify( rateRepository, never() ).findApplicableRate( BRAND_ID, PRODUCT_ID, CURR, DATE_TO_INSTANT );
+    }
+
+    @Test
+    void getPriceWhenRateInCurrencyExistsOnOtherDatesShouldNotConvert()
+    {
+        // Arrange
+        rateUsecase.setCurrencyConverter( converter() );
+        when( rateRepository.findApplicableRate( BRAND_ID, PRODUCT_ID, "USD", DATE_TO_INSTANT ) )
+            .thenReturn( Optional.empty() );
+        when( rateRepository.hasRatesForBrandAndProductAndCurrency( BRAND_ID, PRODUCT_ID, "USD" ) )
+            .thenReturn( true );
+
+        // Act
+        var result = rateUsecase.getPrice( BRAND_ID, PRODUCT_ID, "USD", DATE );
+
+        // Assert
+        assertTrue( result.isEmpty() );
+        verify( rateRepository, never() ).findApplicableRate( BRAND_ID, PRODUCT_ID, CURR, DATE_TO_INSTANT );
+        verify( rateRepository, never() ).findAllRatesForBrandAndProductAndCurrency( any(), anyLong(), anyString() );
+    }
+
+    @Test
+    void getPriceWhenCurrencyIsNotConvertibleShouldReturnEmpty()
+    {
+        // Arrange
+        rateUsecase.setCurrencyConverter( converter() );
+        when( rateRepository.findApplicableRate( BRAND_ID, PRODUCT_ID, "GBP", DATE_TO_INSTANT ) )
+            .thenReturn( Optional.empty() );
+
+        // Act
+        var result = rateUsecase.getPrice( BRAND_ID, PRODUCT_ID, "GBP", DATE );
+
+        // Assert
+        assertTrue( result.isEmpty() );
+        verify( rateRepository, times( 1 ) ).findApplicableRate( any(), anyLong(), anyString(), any() );
+    }
+
+    @Test
+    void getPricesShouldConvertMissingQueriesOfKeysWithoutRatesWithTwoMoreLookups()
+    {
+        // Arrange
+        var usdKey = new RateKey( BRAND_ID, PRODUCT_ID, "USD" );
+        var eurKey = new RateKey( BRAND_ID, PRODUCT_ID, CURR );
+        var base = Rate.of( BRAND_ID, PRODUCT_ID, PRICE_LIST_ID, DATE.minusDays( 5 ), DATE.plusDays( 5 ), PRIORITY,
+            new BigDecimal( "10.0000" ), CURR );
+        var queries = List.of(
+            new RateQuery( BRAND_ID, PRODUCT_ID, "USD", DATE ),
+            new RateQuery( BRAND_ID, PRODUCT_ID, CURR, DATE ),
+            new RateQuery( BRAND_ID, PRODUCT_ID, "USD", DATE.plusDays( 6 ) ) );
+        rateUsecase.setCurrencyConverter( converter() );
+        when( rateRepository.findRatesForKeys( List.of( usdKey, eurKey ), DATE_TO_INSTANT,
+            DATE.plusDays( 6 ).toInstant( ZoneOffset.UTC ) ) ).thenReturn( List.of( base ) );
+        when( rateRepository.findRatesForKeys( List.of( eurKey ), DATE_TO_INSTANT,
+            DATE.plusDays( 6 ).toInstant( ZoneOffset.UTC ) ) ).thenReturn( List.of( base ) );
+        when( rateRepository.findRatesForKeys( eq( List.of( usdKey ) ), any(), any() ) ).thenReturn( List.of() );
+
+        // Act
+        var result = rateUsecase.getPrices( queries );
+
+        // Assert
+        assertEquals( new BigDecimal( "11.0000" ), result.get( 0 ).orElseThrow().getPrice() );
+        assertEquals( "USD", result.get( 0 ).orElseThrow().getCurrency() );
+        assertEquals( Optional.of( base ), result.get( 1 ) );
+        assertTrue( result.get( 2 ).isEmpty() );
+        verify( rateRepository, times( 3 ) ).findRatesForKeys( any(), any(), any() );
+    }
+
+    @Test
+    void getTimelineWhenNoRateInCurrencyShouldConvertBaseCurrencyTimeline()
+    {
+        // Arrange
+        var base = Rate.of( BRAND_ID, PRODUCT_ID, PRICE_LIST_ID, DATE.minusDays( 5 ), DATE, PRIORITY,
+            new BigDecimal( "20.0000" ), CURR );
+        rateUsecase.setCurrencyConverter( converter() );
+        when( rateRepository.findAllRatesForBrandAndProductAndCurrency( BRAND_ID, PRODUCT_ID, "USD" ) )
+            .thenReturn( List.of() );
+        when( rateRepository.findAllRatesForBrandAndProductAndCurrency( BRAND_ID, PRODUCT_ID, CURR ) )
+            .thenReturn( List.of( base ) );
+
+        // Act
+        var result = rateUsecase.getTimeline( BRAND_ID, PRODUCT_ID, "USD" );
+
+        // Assert
+        assertEquals( 1, result.segments().size() );
+        assertEquals( new BigDecimal( "22.0000" ), result.segments().getFirst().rate().getPrice() );
+    }
+
+    @Test
+    void getPriceWhenMetricsConfiguredShouldRecordEachStage()
+    {
+        // Arrange
+        var metrics = mock( PriceLookupMetrics.class );
+        rateUsecase.setPriceLookupMetrics( metrics );
+        when( rateRepository.findApplicableRate( BRAND_ID, PRODUCT_ID, CURR, DATE_TO_INSTANT ) )
+            .thenReturn( Optional.empty() );
+
+        // Act
+        rateUsecase.getPrice( BRAND_ID, PRODUCT_ID, CURR, DATE );
+
+        // Assert
+        verify( metrics ).recordStage( eq( PriceLookupStage.USE_CASE ), eq( BRAND_ID ), anyLong() );
+        verify( metrics ).recordStage( eq( PriceLookupStage.VALIDATION ), eq( BRAND_ID ), anyLong() );
+        verify( metrics ).recordStage( eq( PriceLookupStage.REPOSITORY ), eq( BRAND_ID ), anyLong() );
+    }
+
+    @Test
+    void getPriceWhenValidationFailsShouldStillRecordUseCaseStage()
+    {
+        // Arrange
+        var metrics = mock( PriceLookupMetrics.class );
+        rateUsecase.setPriceLookupMetrics( metrics );
+        doThrow( new ApiValidationException( List.of() ) ).when( rateValidator )
+            .validateGetPriceRequest( BRAND_ID, PRODUCT_ID, CURR, DATE );
+
+        // Act
+        assertThrows( ApiValidationException.class, () -> rateUsecase.getPrice( BRAND_ID, PRODUCT_ID, CURR, DATE ) );
+
+        // Assert
+        verify( metrics ).recordStage( eq( PriceLookupStage.USE_CASE ), eq( BRAND_ID ), anyLong() );
+        verify( metrics ).recordStage( eq( PriceLookupStage.VALIDATION ), eq( BRAND_ID ), anyLong() );
+        verify( metrics, never() ).recordStage( eq( PriceLookupStage.REPOSITORY ), any(), anyLong() );
+    }
+
+    @Test
+    void getPricesWhenMetricsConfiguredShouldRecordCandidatesOfEachQuery()
+    {
+        // Arrange
+        var metrics = mock( PriceLookupMetrics.class );
+        rateUsecase.setPriceLookupMetrics( metrics );
+        var low = Rate.of( BRAND_ID, PRODUCT_ID, PRICE_LIST_ID, DATE.minusDays( 5 ), DATE.plusDays( 5 ), PRIORITY,
+            new BigDecimal( "10.0000" ), CURR );
+        var high = Rate.of( BRAND_ID, PRODUCT_ID, PRICE_LIST_ID, DATE, DATE.plusDays( 1 ), (short) 2,
+            new BigDecimal( "12.0000" ), CURR );
+        var queries = List.of(
+            new RateQuery( BRAND_ID, PRODUCT_ID, CURR, DATE ),
+            new RateQuery( BRAND_ID, PRODUCT_ID, CURR, DATE.plusDays( 3 ) ) );
+        when( rateRepository.findRatesForKeys( any(), any(), any() ) ).thenReturn( List.of( low, high ) );
+
+        // Act
+        rateUsecase.getPrices( queries );
+
+        // Assert
+        verify( metrics ).recordCandidates( BRAND_ID, 2 );
+        verify( metrics ).recordCandidates( BRAND_ID, 1 );
+    }
+
+    private static CurrencyConverter converter()
+    {
+        var converter = new CurrencyConverter( CURR, () -> List.of( new FxRate( CURR, "USD",
+            new BigDecimal( "1.10000000" ) ) ) );
+        converter.reload();
+        return converter;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,247 @@
+package com.mgm.inditex.core.usecase;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static com.mgm.inditex.fixtures.RateFixture.rate;
+
+import com.mgm.inditex.core.domain.Rate;
+import com.mgm.inditex.core.domain.RateDraft;
+import com.mgm.inditex.core.domain.RateKey;
+import com.mgm.inditex.core.domain.RateRecord;
+import com.mgm.inditex.core.filter.RefreshableRateKeyFilter;
+import com.mgm.inditex.core.port.outbound.RateConflictCheck;
+import com.mgm.inditex.core.port.outbound.RateConstraintViolationException;
+import com.mgm.inditex.core.port.outbound.RateWritePort;
+import com.mgm.inditex.core.validation.ApiConflictException;
+import com.mgm.inditex.core.validation.ApiNotFoundException;
+import com.mgm.inditex.core.validation.ApiValidationException;
+import com.mgm.inditex.core.validation.RateValidator;
+import com.mgm.inditex.fixtures.RateFixture;
+
+// CSOFF: Javadoc
+@ExtendWith( MockitoExtension.class )
+class RateWriteUseCaseTest
+{
+    private static final int BRAND_ID = 1;
+    private static final long PRODUCT_ID = 35455L;
+    private static final String CURR = "EUR";
+    private static final RateKey KEY = new RateKey( BRAND_ID, PRODUCT_ID, CURR );
+    private static final LocalDateTime START = LocalDateTime.of( 2021, 1, 1, 0, 0 );
+    private static final LocalDateTime END = LocalDateTime.of( 2021, 6, 30, 23, 59, 59 );
+    private static final RateFixture RATE = rate().price( "35.50" );
+
+    @Mock
+    private RateWritePort rateWriter;
+
+    @Mock
+    private RateValidator rateValidator;
+
+    @Mock
+    private CachingRateUseCase cachingRateUseCase;
+
+    @Mock
+    private RefreshableRateKeyFilter rateKeyFilter;
+
+    private RateWriteUseCase cut;
+
+    @BeforeEach
+    void setUp()
+    {
+        cut = new RateWriteUseCase( rateWriter, rateValidator );
+        cut.setCachingRateUseCase( cachingRateUseCase );
+        cut.setRateKeyFilter( rateKeyFilter );
+    }
+
+    @Test
+    void createRateWhenNoRateOverlapsShouldInsertItAndInvalidateKey()
+    {
+        // given
+        var draft = draft( 0 );
+        var rate = draft.toRate();
+        storedOverlapping( List.of() );
+
+        // when
+        var result = cut.createRate( draft );
+
+        // then
+        assertEquals( new RateRecord( 7L, rate ), result );
+        verify( rateValidator ).validateWriteRateRequest( draft );
+        verify( rateWriter ).insertRate( eq( rate ), any() );
+        verify( cachingRateUseCase ).invalidate( List.of( KEY ) );
+        verify( rateKeyFilter ).add( List.of( KEY ) );
+    }
+
+    @Test
+    void createRateWhenOverlappingRateHasOtherPriorityShouldInsertIt()
+    {
+        // given
+        storedOverlapping( List.of( RATE.valid( START.minusDays( 10 ), START.plusDays( 1 ) ).toRate() ) );
+
+        // when
+        var result = cut.createRate( draft( 1 ) );
+
+        // then
+        assertEquals( 7L, result.id() );
+    }
+
+    @Test
+    void createRateWhenOverlappingRateHasSamePriorityShouldThrowConflict()
+    {
+        // given
+        storedOverlapping( List.of( RATE.priority( 1 ).valid( START.minusDays( 10 ), START.plusDays( 1 ) ).toRate() ) );
+
+        // when
+        var exception = assertThrows( ApiConflictException.class, () -> cut.createRate( draft( 1 ) ) );
+
+        // then
+        assertEquals( "rate.conflict", exception.getErrors().getFirst().getErrorCode() );
+        verify( cachingRateUseCase, never() ).invalidate( any() );
+    }
+
+    @Test
+    void createRateWhenRateHasSamePeriodShouldThrowConflict()
+    {
+        // given
+        storedOverlapping( List.of( RATE.priority( 3 ).valid( START, END ).toRate() ) );
+
+        // when / then
+        assertThrows( ApiConflictException.class, () -> cut.createRate( draft( 0 ) ) );
+        verify( rateKeyFilter, never() ).add( any() );
+    }
+
+    @Test
+    void createRateWhenDatabaseRejectsDuplicateShouldThrowConflict()
+    {
+        // given
+        when( rateWriter.insertRate( any(), any() ) ).thenThrow(
+            new RateConstraintViolationException( "unique_rate", null ) );
+
+        // when / then
+        assertThrows( ApiConflictException.class, () -> cut.createRate( draft( 0 ) ) );
+        verify( cachingRateUseCase, never() ).invalidate( any() );
+    }
+
+    @Test
+    void createRateWhenValidationFailsShouldNotTouchRepository()
+    {
+        // given
+        var draft = draft( 0 );
+        doThrow( new ApiValidationException( List.of() ) ).when( rateValidator )
+            .validateWriteRateRequest( draft );
+
+        // when / then
+        assertThrows( ApiValidationException.class, () -> cut.createRate( draft ) );
+        verify( rateWriter, never() ).insertRate( any(), any() );
+    }
+
+    @Test
+    void updateRateShouldReplaceRateAndInvalidatePreviousAndNewKeys()
+    {
+        // given
+        var previous = RATE.valid( START, END ).currency( "USD" ).toRate();
+        var draft = draft( 0 );
+        when( rateWriter.updateRate( eq( 7L ), eq( draft.toRate() ), any() ) ).thenAnswer( invocation ->
+        {
+            invocation.<RateConflictCheck>getArgument( 2 ).check( List.of() );
+            return Optional.of( previous );
+        } );
+
+        // when
+        var result = cut.updateRate( 7L, draft );
+
+        // then
+        assertEquals( new RateRecord( 7L, draft.toRate() ), result );
+        verify( cachingRateUseCase ).invalidate( List.of( RateKey.of( previous ), KEY ) );
+    }
+
+    @Test
+    void updateRateWhenAnotherRateConflictsShouldThrowConflict()
+    {
+        // given
+        var other = RATE.priority( 1 ).valid( START.plusDays( 1 ), END.plusDays( 1 ) ).toRate();
+        when( rateWriter.updateRate( eq( 7L ), any(), any() ) ).thenAnswer( invocation ->
+        {
+            invocation.<RateConflictCheck>getArgument( 2 ).check( List.of( other ) );
+            return Optional.of( other );
+        } );
+
+        // when / then
+        assertThrows( ApiConflictException.class, () -> cut.updateRate( 7L, draft( 1 ) ) );
+        verify( cachingRateUseCase, never() ).invalidate( any() );
+    }
+
+    @Test
+    void updateRateWhenIdIsUnknownShouldThrowNotFound()
+    {
+        // given
+        when( rateWriter.updateRate( eq( 7L ), any(), any() ) ).thenReturn( Optional.empty() );
+
+        // when / then
+        assertThrows( ApiNotFoundException.class, () -> cut.updateRate( 7L, draft( 0 ) ) );
+    }
+
+    @Test
+    void deleteRateShouldInvalidateKeyOfDeletedRate()
+    {
+        // given
+        when( rateWriter.deleteRate( 7L ) ).thenReturn( Optional.of( RATE.valid( START, END ).toRate() ) );
+
+        // when
+        cut.deleteRate( 7L );
+
+        // then
+        verify( cachingRateUseCase ).invalidate( List.of( KEY ) );
+    }
+
+    @Test
+    void deleteRateWhenIdIsUnknownShouldThrowNotFound()
+    {
+        // given
+        when( rateWriter.deleteRate( 7L ) ).thenReturn( Optional.empty() );
+
+        // when / then
+        assertThrows( ApiNotFoundException.class, () -> cut.deleteRate( 7L ) );
+        verify( cachingRateUseCase, never() ).invalidate( any() );
+    }
+
+    @Test
+    void getRateWhenIdIsUnknownShouldThrowNotFound()
+    {
+        // given
+        when( rateWriter.findRateById( 7L ) ).thenReturn( Optional.empty() );
+
+        // when / then
+        var exception = assertThrows( ApiNotFoundException.class, () -> cut.getRate( 7L ) );
+        assertEquals( "rateId", exception.getErrors().getFirst().getKey() );
+    }
+
+    private void storedOverlapping( final List<Rate> overlapping )
+    {
+        // the write port runs the check with the rates it read under the key lock, then stores the rate
+        when( rateWriter.insertRate( any(), any() ) ).thenAnswer( invocation ->
+        {
+            invocation.<RateConflictCheck>getArgument( 1 ).check( overlapping );
+            return new RateRecord( 7L, invocation.getArgument( 0 ) );
+        } );
+    }
+
+    private static RateDraft draft( final int priority )
+    {
+        return new RateDraft( BRAND_ID, PRODUCT_ID, 5, START, END, priority, new BigDecimal( "39.90" ), CURR );
+    }
+}
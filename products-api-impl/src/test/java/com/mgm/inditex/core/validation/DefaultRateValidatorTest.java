@@ -1,12 +1,16 @@
 package com.mgm.inditex.core.validation;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.mgm.inditex.core.domain.RateDraft;
+import com.mgm.inditex.core.domain.RateQuery;
 import com.mgm.inditex.shared.exception.model.ApiError;
 
 // CSOFF: Javadoc
@@ -123,4 +127,158 @@ class DefaultRateValidatorTest
         assertTrue( errorKeys.contains( "currency" ) );
         assertTrue( errorKeys.contains( "date" ) );
     }
-}
\ No newline at end of file
+
+    @Test
+    void validateGetTimelineRequestWhenValidParamsShouldNotThrowException()
+    {
+        assertDoesNotThrow( () -> cut.validateGetTimelineRequest( BRAND_ID, PRODUCT_ID, CURRENCY ) );
+    }
+
+    @Test
+    void validateGetTimelineRequestWithInvalidParamsShouldThrowApiBadRequestExceptionWithEveryError()
+    {
+        var exception =
+            assertThrows( ApiValidationException.class, () -> cut.validateGetTimelineRequest( -1, null, " " ) );
+
+        List<String> errorKeys = exception.getErrors().stream().map( ApiError::getKey ).toList();
+
+        assertEquals( List.of( "brandId", "productId", "currency" ), errorKeys );
+    }
+
+    @Test
+    void validateGetPriceSegmentsRequestWhenValidParamsShouldNotThrowException()
+    {
+        assertDoesNotThrow( () -> cut.validateGetPriceSegmentsRequest( BRAND_ID, PRODUCT_ID, CURRENCY, DATE, DATE ) );
+    }
+
+    @Test
+    void validateGetPriceSegmentsRequestWithInvalidParamsShouldThrowApiBadRequestExceptionWithEveryError()
+    {
+        var exception = assertThrows( ApiValidationException.class,
+            () -> cut.validateGetPriceSegmentsRequest( -1, null, " ", null, DATE ) );
+
+        List<String> errorKeys = exception.getErrors().stream().map( ApiError::getKey ).toList();
+
+        assertEquals( List.of( "brandId", "productId", "currency", "from" ), errorKeys );
+    }
+
+    @Test
+    void validateGetPriceSegmentsRequestWhenRangeIsReversedShouldThrowApiBadRequestException()
+    {
+        var exception = assertThrows( ApiValidationException.class,
+            () -> cut.validateGetPriceSegmentsRequest( BRAND_ID, PRODUCT_ID, CURRENCY, DATE, DATE.minusNanos( 1 ) ) );
+
+        assertEquals( "validation.range", exception.getErrors().getFirst().getErrorCode() );
+        assertEquals( "to", exception.getErrors().getFirst().getKey() );
+    }
+
+    @Test
+    void validateGetBrandPricesRequestWhenValidParamsShouldNotThrowException()
+    {
+        assertDoesNotThrow( () -> cut.validateGetBrandPricesRequest( BRAND_ID, DATE ) );
+    }
+
+    @Test
+    void validateGetBrandPricesRequestWithInvalidParamsShouldThrowApiBadRequestExceptionWithEveryError()
+    {
+        var exception =
+            assertThrows( ApiValidationException.class, () -> cut.validateGetBrandPricesRequest( -1, null ) );
+
+        List<String> errorKeys = exception.getErrors().stream().map( ApiError::getKey ).toList();
+
+        assertEquals( List.of( "brandId", "date" ), errorKeys );
+    }
+
+    @Test
+    void validateGetPricesRequestWhenValidQueriesShouldNotThrowException()
+    {
+        assertDoesNotThrow( () -> cut.validateGetPricesRequest(
+            List.of( new RateQuery( BRAND_ID, PRODUCT_ID, CURRENCY, DATE ) ) ) );
+    }
+
+    @Test
+    void validateGetPricesRequestWhenEmptyShouldThrowApiBadRequestException()
+    {
+        var exception = assertThrows( ApiValidationException.class, () -> cut.validateGetPricesRequest( List.of() ) );
+
+        assertEquals( List.of( "items" ), exception.getErrors().stream().map( ApiError::getKey ).toList() );
+    }
+
+    @Test
+    void validateGetPricesRequestWhenLargerThanPageShouldThrowApiBadRequestException()
+    {
+        var queries = Collections.nCopies( 501, new RateQuery( BRAND_ID, PRODUCT_ID, CURRENCY, DATE ) );
+
+        var exception = assertThrows( ApiValidationException.class, () -> cut.validateGetPricesRequest( queries ) );
+
+        assertEquals( "validation.size", exception.getErrors().get( 0 ).getErrorCode() );
+    }
+
+    @Test
+    void validateGetPricesRequestWithInvalidQueriesShouldThrowApiBadRequestExceptionKeyedByPosition()
+    {
+        var queries = List.of(
+            new RateQuery( BRAND_ID, PRODUCT_ID, CURRENCY, DATE ),
+            new RateQuery( -1, PRODUCT_ID, "", DATE ) );
+
+        var exception = assertThrows( ApiValidationException.class, () -> cut.validateGetPricesRequest( queries ) );
+
+        List<String> errorKeys = exception.getErrors().stream().map( ApiError::getKey ).toList();
+
+        assertEquals( List.of( "items[1].brandId", "items[1].currency" ), errorKeys );
+    }
+
+    @Test
+    void validateWriteRateRequestWhenValidShouldNotThrowException()
+    {
+        var draft = new RateDraft( BRAND_ID, PRODUCT_ID, 1, DATE, DATE.plusDays( 1 ), 0, BigDecimal.TEN, CURRENCY );
+
+        assertDoesNotThrow( () -> cut.validateWriteRateRequest( draft ) );
+    }
+
+    @Test
+    void validateWriteRateRequestWhenFieldsAreMissingShouldReportEveryOne()
+    {
+        var draft = new RateDraft( null, PRODUCT_ID, null, DATE, null, null, new BigDecimal( "-0.5" ), "" );
+
+        var exception = assertThrows( ApiValidationException.class, () -> cut.validateWriteRateRequest( draft ) );
+
+        assertEquals( List.of( "brandId", "priceList", "endDate", "priority", "price", "currency" ),
+            exception.getErrors().stream().map( ApiError::getKey ).toList() );
+    }
+
+    @Test
+    void validateWriteRateRequestWhenDatesAreNotWholeSecondsShouldReportBoth()
+    {
+        var draft = new RateDraft( BRAND_ID, PRODUCT_ID, 1, DATE.withNano( 1_000 ), DATE.plusDays( 1 ).withNano( 500 ),
+            0, BigDecimal.TEN, CURRENCY );
+
+        var exception = assertThrows( ApiValidationException.class, () -> cut.validateWriteRateRequest( draft ) );
+
+        assertEquals( List.of( "startDate", "endDate" ),
+            exception.getErrors().stream().map( ApiError::getKey ).toList() );
+        assertEquals( "validation.format", exception.getErrors().getFirst().getErrorCode() );
+    }
+
+    @Test
+    void validateWriteRateRequestWhenDatesAreNotIncreasingShouldThrowApiBadRequestException()
+    {
+        var draft = new RateDraft( BRAND_ID, PRODUCT_ID, 1, DATE, DATE, 0, BigDecimal.TEN, CURRENCY );
+
+        var exception = assertThrows( ApiValidationException.class, () -> cut.validateWriteRateRequest( draft ) );
+
+        assertEquals( "endDate", exception.getErrors().getFirst().getKey() );
+        assertEquals( "validation.range", exception.getErrors().getFirst().getErrorCode() );
+    }
+
+    @Test
+    void validateWriteRateRequestWhenPriorityOrCurrencyAreOutOfRangeShouldThrowApiBadRequestException()
+    {
+        var draft = new RateDraft( BRAND_ID, PRODUCT_ID, 1, DATE, DATE.plusDays( 1 ), 40_000, BigDecimal.TEN, "EURO" );
+
+        var exception = assertThrows( ApiValidationException.class, () -> cut.validateWriteRateRequest( draft ) );
+
+        assertEquals( List.of( "priority", "currency" ),
+            exception.getErrors().stream().map( ApiError::getKey ).toList() );
+    }
+}
@@ -0,0 +1,98 @@
+package com.mgm.inditex.fixtures;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import com.mgm.inditex.core.domain.Rate;
+import com.mgm.inditex.core.domain.RateKey;
+import com.mgm.inditex.core.port.outbound.RateRepositoryPort;
+
+// CSOFF: Javadoc
+/**
+ * Reference {@link RateRepositoryPort} that answers with a plain scan, mirroring the SQL of
+ * {@code RateJpaRepository} ({@code start_date <= :date AND end_date >= :date}) and returning rows in
+ * insertion order.
+ */
+public class ListRateRepository implements RateRepositoryPort
+{
+    private final List<Rate> rates;
+    private final Map<RateKey, List<Rate>> byKey = new LinkedHashMap<>();
+
+    public ListRateRepository( final List<Rate> rates )
+    {
+        this.rates = List.copyOf( rates );
+        rates.forEach( rate -> byKey.computeIfAbsent( RateKey.of( rate ), k -> new ArrayList<>() ).add( rate ) );
+    }
+
+    @Override
+    public List<Rate> findRatesForBrandAndProductAndCurrency( final Integer brandId, final Long productId,
+        final String currency, final Instant date )
+    {
+        var at = LocalDateTime.ofInstant( date, ZoneOffset.UTC );
+        return byKey.getOrDefault( new RateKey( brandId, productId, currency ), List.of() )
+            .stream()
+            .filter( rate -> rate.appliesAt( at ) )
+            .toList();
+    }
+
+    @Override
+    public List<Rate> findRatesForBrandAndProduct( final Integer brandId, final Long productId, final Instant date )
+    {
+        var at = LocalDateTime.ofInstant( date, ZoneOffset.UTC );
+        return rates.stream()
+            .filter( rate -> rate.getBrandId().equals( brandId ) && rate.getProductId().equals( productId ) )
+            .filter( rate -> rate.appliesAt( at ) )
+            .toList();
+    }
+
+    @Override
+    public List<Rate> findAllRatesForBrandAndProductAndCurrency( final Integer brandId, final Long productId,
+        final String currency )
+    {
+        return List.copyOf( byKey.getOrDefault( new RateKey( brandId, productId, currency ), List.of() ) );
+    }
+
+    @Override
+    public boolean hasRatesForBrandAndProductAndCurrency( final Integer brandId, final Long productId,
+        final String currency )
+    {
+        return byKey.containsKey( new RateKey( brandId, productId, currency ) );
+    }
+
+    @Override
+    public List<Rate> findRatesForKeys( final Collection<RateKey> keys, final Instant from, final Instant to )
+    {
+        var wanted = Set.copyOf( keys );
+        var start = LocalDateTime.ofInstant( from, ZoneOffset.UTC );
+        var end = LocalDateTime.ofInstant( to, ZoneOffset.UTC );
+        return rates.stream()
+            .filter( rate -> wanted.contains( RateKey.of( rate ) ) )
+            .filter( rate -> !rate.getStartDate().isAfter( end ) && !rate.getEndDate().isBefore( start ) )
+            .toList();
+    }
+
+    @Override
+    public void forEachRateForBrand( final Integer brandId, final Instant date, final Consumer<Rate> action )
+    {
+        var at = LocalDateTime.ofInstant( date, ZoneOffset.UTC );
+        rates.stream()
+            .filter( rate -> rate.getBrandId().equals( brandId ) && rate.appliesAt( at ) )
+            .sorted( Comparator.comparing( Rate::getProductId ).thenComparing( Rate::getCurrency ) )
+            .forEach( action );
+    }
+
+    @Override
+    public List<RateKey> findAllRateKeys()
+    {
+        return List.copyOf( byKey.keySet() );
+    }
+}
@@ -0,0 +1,69 @@
+package com.mgm.inditex.fixtures;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import com.mgm.inditex.core.domain.Rate;
+
+// CSOFF: Javadoc
+/**
+ * Reads the rates inserted by the Flyway data migrations (and the test SQL scripts) straight from the
+ * classpath, in insertion order, so tests can run against the same datasets as each profile.
+ */
+public final class RateDatasets
+{
+    public static final String DEV = "db/migration/dev/V2__test_data.sql";
+    public static final String STAGING = "db/migration/staging/V2__staging_data.sql";
+    public static final String PERFORMANCE = "db/migration/performance/V2__performance_data.sql";
+
+    // (brand_id, start_date, end_date, price_list_id, product_id, priority, price, currency)
+    private static final Pattern ROW = Pattern.compile(
+        "\\(\\s*(\\d+),\\s*'([^']+)',\\s*'([^']+)',\\s*(\\d+),\\s*(\\d+),\\s*(\\d+)," +
+            "\\s*([\\d.]+),\\s*'(\\w{3})'\\s*\\)" );
+
+    private RateDatasets()
+    {
+    }
+
+    public static List<Rate> load( final String resource )
+    {
+        try ( InputStream in = RateDatasets.class.getClassLoader().getResourceAsStream( resource ) )
+        {
+            if ( in == null )
+            {
+                throw new IllegalArgumentException( "Dataset not found: " + resource );
+            }
+            var matcher = ROW.matcher( new String( in.readAllBytes(), StandardCharsets.UTF_8 ) );
+            var rates = new ArrayList<Rate>();
+            while ( matcher.find() )
+            {
+                rates.add( Rate.of(
+                    Integer.valueOf( matcher.group( 1 ) ),
+                    Long.valueOf( matcher.group( 5 ) ),
+                    Integer.valueOf( matcher.group( 4 ) ),
+                    parse( matcher.group( 2 ) ),
+                    parse( matcher.group( 3 ) ),
+                    Short.valueOf( matcher.group( 6 ) ),
+                    new BigDecimal( matcher.group( 7 ) ),
+                    matcher.group( 8 ) ) );
+            }
+            return rates;
+        }
+        catch ( IOException e )
+        {
+            throw new UncheckedIOException( e );
+        }
+    }
+
+    private static LocalDateTime parse( final String value )
+    {
+        return LocalDateTime.parse( value.replace( ' ', 'T' ).replace( "Z", "" ) );
+    }
+}
@@ -0,0 +1,67 @@
+package com.mgm.inditex.fixtures;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.mgm.inditex.core.domain.Rate;
+
+// CSOFF: Javadoc
+/**
+ * Immutable template of a {@link Rate} for tests: each method returns a copy with one field changed, so a test can
+ * keep its own defaults in a constant and derive every rate it needs from it.
+ */
+public record RateFixture( Integer brandId, Long productId, Integer priceListId, LocalDateTime start,
+    LocalDateTime end, short priority, BigDecimal price, String currency )
+{
+    private static final RateFixture DEFAULT = new RateFixture( 1, 35455L, 1, LocalDateTime.of( 2020, 6, 14, 0, 0 ),
+        LocalDateTime.of( 2020, 12, 31, 23, 59, 59 ), ( short ) 0, new BigDecimal( "10.00" ), "EUR" );
+
+    /**
+     * @return brand 1, product 35455, price list 1, priority 0, 10.00 EUR from 2020-06-14 to the end of 2020
+     */
+    public static RateFixture rate()
+    {
+        return DEFAULT;
+    }
+
+    public RateFixture brand( final int brandId )
+    {
+        return new RateFixture( brandId, productId, priceListId, start, end, priority, price, currency );
+    }
+
+    public RateFixture product( final long productId )
+    {
+        return new RateFixture( brandId, productId, priceListId, start, end, priority, price, currency );
+    }
+
+    public RateFixture priceList( final int priceListId )
+    {
+        return new RateFixture( brandId, productId, priceListId, start, end, priority, price, currency );
+    }
+
+    public RateFixture valid( final LocalDateTime start, final LocalDateTime end )
+    {
+        return new RateFixture( brandId, productId, priceListId, start, end, priority, price, currency );
+    }
+
+    public RateFixture priority( final int priority )
+    {
+        return new RateFixture( brandId, productId, priceListId, start, end, ( short ) priority, price, currency );
+    }
+
+    public RateFixture price( final String price )
+    {
+        return new RateFixture( brandId, productId, priceListId, start, end, priority, new BigDecimal( price ),
+            currency );
+    }
+
+    public RateFixture currency( final String currency )
+    {
+        return new RateFixture( brandId, productId, priceListId, start, end, priority, price, currency );
+    }
+
+    public Rate toRate()
+    {
+        return Rate.of( brandId, productId, priceListId, start, end, priority, price, currency );
+    }
+}
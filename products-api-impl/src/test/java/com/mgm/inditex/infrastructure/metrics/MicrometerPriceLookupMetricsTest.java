@@ -0,0 +1,83 @@
+package com.mgm.inditex.infrastructure.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.mgm.inditex.core.metrics.PriceLookupOutcome;
+import com.mgm.inditex.core.metrics.PriceLookupStage;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// CSOFF: Javadoc
+class MicrometerPriceLookupMetricsTest
+{
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MicrometerPriceLookupMetrics cut = new MicrometerPriceLookupMetrics( meterRegistry, 4, true );
+
+    @Test
+    void recordStageShouldTagStageAndBrandBucket()
+    {
+        // when
+        cut.recordStage( PriceLookupStage.REPOSITORY, 6, 2_000_000L );
+        cut.recordStage( PriceLookupStage.REPOSITORY, 2, 4_000_000L );
+        cut.recordStage( PriceLookupStage.VALIDATION, 2, 1_000L );
+
+        // then
+        var repository = meterRegistry.get( "price.lookup.stage" ).tag( "stage", "repository" )
+            .tag( "brand.bucket", "2" ).timer();
+        assertEquals( 2, repository.count() );
+        assertEquals( 6.0, repository.totalTime( TimeUnit.MILLISECONDS ) );
+        assertEquals( 1, meterRegistry.get( "price.lookup.stage" ).tag( "stage", "validation" )
+            .tag( "brand.bucket", "2" ).timer().count() );
+    }
+
+    @Test
+    void recordOutcomeShouldCountByStatus()
+    {
+        // when
+        cut.recordOutcome( PriceLookupOutcome.FOUND, 1 );
+        cut.recordOutcome( PriceLookupOutcome.FOUND, 1 );
+        cut.recordOutcome( PriceLookupOutcome.NOT_FOUND, 1 );
+        cut.recordOutcome( PriceLookupOutcome.INVALID, null );
+
+        // then
+        assertEquals( 2.0, meterRegistry.get( "price.lookup.requests" ).tag( "status", "200" )
+            .tag( "brand.bucket", "1" ).counter().count() );
+        assertEquals( 1.0, meterRegistry.get( "price.lookup.requests" ).tag( "status", "404" )
+            .tag( "brand.bucket", "1" ).counter().count() );
+        assertEquals( 1.0, meterRegistry.get( "price.lookup.requests" ).tag( "status", "400" )
+            .tag( "brand.bucket", "none" ).counter().count() );
+    }
+
+    @Test
+    void recordCandidatesShouldFoldNegativeBrandsIntoBuckets()
+    {
+        // when
+        cut.recordCandidates( -1, 3 );
+        cut.recordCandidates( 3, 1 );
+
+        // then
+        var summary = meterRegistry.get( "price.lookup.candidates" ).tag( "brand.bucket", "3" ).summary();
+        assertEquals( 2, summary.count() );
+        assertEquals( 4.0, summary.totalAmount() );
+        assertEquals( 3.0, summary.max() );
+    }
+
+    @Test
+    void constructorShouldRegisterEveryMeterUpfront()
+    {
+        // then: 5 stages, 3 outcomes and 1 summary for each of the 4 buckets and the unknown brand
+        assertEquals( 5 * 5, meterRegistry.get( "price.lookup.stage" ).timers().size() );
+        assertEquals( 3 * 5, meterRegistry.get( "price.lookup.requests" ).counters().size() );
+        assertEquals( 5, meterRegistry.get( "price.lookup.candidates" ).summaries().size() );
+    }
+
+    @Test
+    void constructorWhenNoBucketsShouldThrow()
+    {
+        assertThrows( IllegalArgumentException.class,
+            () -> new MicrometerPriceLookupMetrics( new SimpleMeterRegistry(), 0, true ) );
+    }
+}
@@ -0,0 +1,86 @@
+package com.mgm.inditex.infrastructure.security.jwt;
+
+import java.time.Clock;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.mgm.inditex.core.metrics.PriceLookupMetrics;
+import com.mgm.inditex.core.metrics.PriceLookupStage;
+
+// CSOFF: Javadoc
+class JwtAuthenticationFilterTest
+{
+    private static final String SECRET = "this-is-at-least-32-bytes-long-please-change";
+    private static final String SUBJECT = "user@inditex.com";
+
+    private final JwtService jwtService = new JwtService( SECRET, 60_000L, Clock.systemUTC() );
+    private final PriceLookupMetrics priceLookupMetrics = mock( PriceLookupMetrics.class );
+
+    private JwtAuthenticationFilter cut;
+
+    @BeforeEach
+    void setUp()
+    {
+        cut = new JwtAuthenticationFilter( jwtService );
+        cut.setPriceLookupMetrics( priceLookupMetrics );
+    }
+
+    @AfterEach
+    void tearDown()
+    {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilterWhenRequestIsPriceLookupShouldRecordAuthenticationStage() throws Exception
+    {
+        // given
+        var request = bearerRequest( "GET", "/inditex/api/v1/prices" );
+        request.setParameter( "brandId", "1" );
+
+        // when
+        cut.doFilter( request, new MockHttpServletResponse(), new MockFilterChain() );
+
+        // then
+        assertEquals( SUBJECT, SecurityContextHolder.getContext().getAuthentication().getName() );
+        verify( priceLookupMetrics ).recordStage( eq( PriceLookupStage.AUTHENTICATION ), eq( 1 ), anyLong() );
+    }
+
+    @Test
+    void doFilterWhenRequestIsNotPriceLookupShouldNotRecordAuthenticationStage() throws Exception
+    {
+        // given
+        var write = bearerRequest( "POST", "/inditex/api/v1/rates" );
+        var batch = bearerRequest( "POST", "/inditex/api/v1/prices/batch" );
+
+        // when
+        cut.doFilter( write, new MockHttpServletResponse(), new MockFilterChain() );
+        SecurityContextHolder.clearContext();
+        cut.doFilter( batch, new MockHttpServletResponse(), new MockFilterChain() );
+
+        // then
+        assertEquals( SUBJECT, SecurityContextHolder.getContext().getAuthentication().getName() );
+        verify( priceLookupMetrics, never() ).recordStage( any(), any(), anyLong() );
+    }
+
+    private MockHttpServletRequest bearerRequest( final String method, final String path )
+    {
+        var request = new MockHttpServletRequest( method, path );
+        request.setServletPath( path );
+        request.addHeader( "Authorization", "Bearer " + jwtService.generateToken( SUBJECT ) );
+        return request;
+    }
+}
@@ -0,0 +1,149 @@
+package com.mgm.inditex.infrastructure.security.jwt;
+
+import java.nio.ByteBuffer;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+// CSOFF: Javadoc
+class VerifiedTokenCacheTest
+{
+    private static final String SECRET = "this-is-at-least-32-bytes-long-please-change";
+    private static final String SUBJECT = "user@inditex.com";
+    private static final long EXPIRATION_MS = 60_000L;
+
+    private final MutableClock clock = new MutableClock( Instant.parse( "2020-06-14T10:00:00.250Z" ) );
+
+    private JwtService jwtService;
+    private VerifiedTokenCache cut;
+
+    @BeforeEach
+    void setUp()
+    {
+        jwtService = spy( new JwtService( SECRET, EXPIRATION_MS, clock ) );
+        var tokens = Caffeine.newBuilder()
+            .executor( Runnable::run )
+            .maximumSize( 100 )
+            .expireAfter( VerifiedTokenCache.untilTokenExpiry( clock ) )
+            .<ByteBuffer, VerifiedToken>build();
+        cut = new VerifiedTokenCache( tokens, jwtService, clock );
+    }
+
+    @Test
+    void subjectOfShouldVerifyEachTokenOnce()
+    {
+        // given
+        var token = jwtService.generateToken( SUBJECT );
+
+        // when
+        var first = cut.subjectOf( token );
+        var second = cut.subjectOf( token );
+
+        // then
+        assertEquals( SUBJECT, first );
+        assertEquals( SUBJECT, second );
+        verify( jwtService, times( 1 ) ).verify( token );
+    }
+
+    @Test
+    void subjectOfShouldExpireCachedTokenAtTheSameInstantAsParser()
+    {
+        // given: the exp claim has second precision, so the token expires at 10:01:00
+        var token = jwtService.generateToken( SUBJECT );
+        cut.subjectOf( token );
+        var expiry = Instant.parse( "2020-06-14T10:01:00Z" );
+
+        // when
+        clock.set( expiry );
+        var atExpiry = cut.subjectOf( token );
+        var parserAtExpiry = jwtService.validateAndGetSubject( token );
+        clock.set( expiry.plusMillis( 1 ) );
+        var afterExpiry = cut.subjectOf( token );
+        var parserAfterExpiry = jwtService.validateAndGetSubject( token );
+
+        // then
+        assertEquals( SUBJECT, atExpiry );
+        assertEquals( SUBJECT, parserAtExpiry );
+        assertNull( afterExpiry );
+        assertNull( parserAfterExpiry );
+    }
+
+    @Test
+    void subjectOfWhenTokenIsInvalidShouldNotCacheIt()
+    {
+        // given
+        var forged = new JwtService( SECRET.toUpperCase(), EXPIRATION_MS, clock ).generateToken( SUBJECT );
+
+        // when
+        var first = cut.subjectOf( forged );
+        var second = cut.subjectOf( forged );
+
+        // then
+        assertNull( first );
+        assertNull( second );
+        verify( jwtService, times( 2 ) ).verify( forged );
+    }
+
+    @Test
+    void untilTokenExpiryShouldKeepEntryUntilTheMillisecondAfterExpiry()
+    {
+        // given
+        var expiry = VerifiedTokenCache.untilTokenExpiry( clock );
+        var token = new VerifiedToken( SUBJECT, clock.instant().plusSeconds( 30 ) );
+
+        // when
+        var duration = expiry.expireAfterCreate( ByteBuffer.allocate( 0 ), token, 0L );
+        var expired = expiry.expireAfterCreate( ByteBuffer.allocate( 0 ),
+            new VerifiedToken( SUBJECT, clock.instant().minusSeconds( 1 ) ), 0L );
+        var unbounded = expiry.expireAfterCreate( ByteBuffer.allocate( 0 ), new VerifiedToken( SUBJECT, null ), 0L );
+
+        // then
+        assertEquals( Duration.ofSeconds( 30 ).plusMillis( 1 ).toNanos(), duration );
+        assertEquals( 0L, expired );
+        assertEquals( Long.MAX_VALUE, unbounded );
+    }
+
+    private static final class MutableClock extends Clock
+    {
+        private Instant now;
+
+        private MutableClock( final Instant now )
+        {
+            this.now = now;
+        }
+
+        void set( final Instant instant )
+        {
+            now = instant;
+        }
+
+        @Override
+        public ZoneId getZone()
+        {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone( final ZoneId zone )
+        {
+            return this;
+        }
+
+        @Override
+        public Instant instant()
+        {
+            return now;
+        }
+    }
+}
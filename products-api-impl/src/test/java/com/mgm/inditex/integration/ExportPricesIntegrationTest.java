@@ -0,0 +1,105 @@
+package com.mgm.inditex.integration;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mgm.inditex.controller.model.PriceResponse;
+
+// CSOFF
+@SpringBootTest
+@AutoConfigureMockMvc( addFilters = false )
+@Sql( scripts = {"/sql/clear-tables.sql", "/sql/integration-test-data.sql", "/sql/export-test-data.sql"} )
+class ExportPricesIntegrationTest
+{
+    private static final String EXPORT_PRICES_PATH = "/inditex/api/v1/prices/export";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @Test
+    void exportPricesShouldStreamEffectivePriceOfEveryProductOfBrand() throws Exception
+    {
+        var prices = export( "2020-06-14T16:00:00Z" );
+
+        assertEquals( List.of( 35455L, 35455L, 35456L ), prices.stream().map( PriceResponse::getProductId ).toList() );
+        assertEquals( List.of( "EUR", "USD", "EUR" ), prices.stream().map( PriceResponse::getCurrency ).toList() );
+        assertEquals( List.of( new BigDecimal( "25.45" ), new BigDecimal( "28.40" ), new BigDecimal( "9.99" ) ),
+            prices.stream().map( PriceResponse::getPrice ).toList() );
+    }
+
+    @Test
+    void exportPricesWhenBrandHasNoPriceAtDateShouldStreamNothing() throws Exception
+    {
+        assertEquals( List.of(), export( "2019-06-14T16:00:00Z" ) );
+    }
+
+    @Test
+    void exportPricesWhenDateIsMissingShouldReturnBadRequest() throws Exception
+    {
+        mockMvc.perform( get( EXPORT_PRICES_PATH ).param( "brandId", "1" ) ).andExpect( status().isBadRequest() );
+    }
+
+    @Test
+    void exportPricesWhenBrandIsNegativeShouldReturnBadRequest() throws Exception
+    {
+        mockMvc.perform( get( EXPORT_PRICES_PATH )
+                .param( "brandId", "-1" )
+                .param( "date", "2020-06-14T16:00:00Z" ) )
+            .andExpect( request().asyncNotStarted() )
+            .andExpect( status().isBadRequest() );
+    }
+
+    private List<PriceResponse> export( final String date ) throws Exception
+    {
+        var started = mockMvc.perform( get( EXPORT_PRICES_PATH )
+                .param( "brandId", "1" )
+                .param( "date", date )
+                .accept( MediaType.APPLICATION_NDJSON ) )
+            .andExpect( request().asyncStarted() )
+            .andReturn();
+
+        var response = mockMvc.perform( asyncDispatch( started ) )
+            .andExpect( status().isOk() )
+            .andExpect( content().contentType( MediaType.APPLICATION_NDJSON ) )
+            .andReturn();
+
+        var body = response.getResponse().getContentAsString( StandardCharsets.UTF_8 );
+        return Arrays.stream( body.split( "\n" ) )
+            .filter( line -> !line.isEmpty() )
+            .map( line -> read( line ) )
+            .toList();
+    }
+
+    private PriceResponse read( final String line )
+    {
+        try
+        {
+            return mapper.readValue( line, PriceResponse.class );
+        }
+        catch ( Exception e )
+        {
+            throw new IllegalStateException( e );
+        }
+    }
+}
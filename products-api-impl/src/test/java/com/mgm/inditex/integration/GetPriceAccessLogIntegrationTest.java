@@ -0,0 +1,54 @@
+package com.mgm.inditex.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.mgm.inditex.adapter.inbound.web.controller.rate.PriceAccessLog;
+
+// CSOFF
+@SpringBootTest( properties = {"app.logging.access-log.enabled=true", "app.logging.access-log.interval=1h",
+    "app.logging.sampling.price-lookup.found-every=0"} )
+@AutoConfigureMockMvc( addFilters = false )
+@Sql( scripts = {"/sql/clear-tables.sql", "/sql/integration-test-data.sql"} )
+class GetPriceAccessLogIntegrationTest
+{
+    private static final String GET_PRICE_PATH = "/inditex/api/v1/prices";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private PriceAccessLog priceAccessLog;
+
+    @Test
+    void getPriceShouldBeAggregatedPerBrandAndStatus() throws Exception
+    {
+        priceAccessLog.flush();
+
+        getPrice( "35455" ).andExpect( status().isOk() );
+        getPrice( "35455" ).andExpect( status().isOk() );
+        getPrice( "99999999" ).andExpect( status().isNotFound() );
+
+        assertEquals( 2, priceAccessLog.flush() );
+    }
+
+    private ResultActions getPrice( final String productId ) throws Exception
+    {
+        return mockMvc.perform( get( GET_PRICE_PATH )
+            .param( "brandId", "1" )
+            .param( "productId", productId )
+            .param( "date", "2020-06-14T10:00:00Z" )
+            .param( "currency", "EUR" )
+            .contentType( MediaType.APPLICATION_JSON ) );
+    }
+}
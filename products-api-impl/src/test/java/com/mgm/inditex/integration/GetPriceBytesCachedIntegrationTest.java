@@ -0,0 +1,146 @@
+package com.mgm.inditex.integration;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mgm.inditex.adapter.inbound.web.controller.rate.CachedPriceResponseConverter;
+import com.mgm.inditex.controller.model.PriceResponse;
+import com.mgm.inditex.core.usecase.CachingRateUseCase;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// CSOFF
+@SpringBootTest( properties = {"app.cache.rates.enabled=true", "app.cache.price-responses.enabled=true"} )
+@AutoConfigureMockMvc( addFilters = false )
+@Sql( scripts = {"/sql/clear-tables.sql", "/sql/integration-test-data.sql"} )
+class GetPriceBytesCachedIntegrationTest
+{
+    private static final String GET_PRICE_PATH = "/inditex/api/v1/prices";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @Autowired
+    private CachingRateUseCase rateUseCase;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private RequestMappingHandlerAdapter handlerAdapter;
+
+    @BeforeEach
+    void clearCache()
+    {
+        rateUseCase.invalidateAll();
+    }
+
+    @ParameterizedTest
+    @MethodSource( "providedBrandProductDateAndExpectedResults" )
+    void getPricesFromCachedBytes( final Integer brandId, final Long productId, final OffsetDateTime date,
+        final String currency, final BigDecimal price ) throws Exception
+    {
+        var first = getPrice( brandId, productId, date, currency ).getResponse().getContentAsByteArray();
+        var second = getPrice( brandId, productId, date, currency ).getResponse().getContentAsByteArray();
+
+        assertArrayEquals( first, second );
+        assertEquals( price, mapper.readValue( second, PriceResponse.class ).getPrice() );
+    }
+
+    @Test
+    void getPricesShouldServeSameSegmentFromCachedBytes() throws Exception
+    {
+        var hits = cacheGets( "hit" );
+        var misses = cacheGets( "miss" );
+
+        getPrice( 1, 35455L, OffsetDateTime.parse( "2020-06-14T10:00:00Z" ), "EUR" );
+        getPrice( 1, 35455L, OffsetDateTime.parse( "2020-06-14T12:00:00Z" ), "EUR" );
+
+        assertEquals( misses + 1, cacheGets( "miss" ) );
+        assertEquals( hits + 1, cacheGets( "hit" ) );
+    }
+
+    @Test
+    void invalidateAllShouldDropCachedBytes() throws Exception
+    {
+        getPrice( 1, 35455L, OffsetDateTime.parse( "2020-06-14T10:00:00Z" ), "EUR" );
+        var misses = cacheGets( "miss" );
+
+        rateUseCase.invalidateAll();
+        getPrice( 1, 35455L, OffsetDateTime.parse( "2020-06-14T10:00:00Z" ), "EUR" );
+
+        assertEquals( misses + 1, cacheGets( "miss" ) );
+    }
+
+    @Test
+    void cachedResponseConverterShouldComeBeforeJackson()
+    {
+        var converters = handlerAdapter.getMessageConverters().stream().map( Object::getClass ).toList();
+
+        assertTrue( converters.indexOf( CachedPriceResponseConverter.class ) >= 0 );
+        assertTrue( converters.indexOf( CachedPriceResponseConverter.class )
+            < converters.indexOf( MappingJackson2HttpMessageConverter.class ) );
+    }
+
+    @Test
+    void getPriceWhenNotFoundShouldStillAnswerNotFound() throws Exception
+    {
+        mockMvc.perform( get( GET_PRICE_PATH )
+            .param( "brandId", "1" )
+            .param( "productId", "99999" )
+            .param( "date", "2020-06-14T10:00:00Z" )
+            .param( "currency", "EUR" ) ).andExpect( status().isNotFound() );
+    }
+
+    static Stream<Arguments> providedBrandProductDateAndExpectedResults()
+    {
+        return GetPriceIntegrationTest.providedBrandProductDateAndExpectedResults();
+    }
+
+    private MvcResult getPrice( final Integer brandId, final Long productId, final OffsetDateTime date,
+        final String currency ) throws Exception
+    {
+        return mockMvc.perform( get( GET_PRICE_PATH )
+            .param( "brandId", brandId.toString() )
+            .param( "productId", productId.toString() )
+            .param( "date", date.toString() )
+            .param( "currency", currency )
+            .contentType( MediaType.APPLICATION_JSON ) )
+            .andExpect( status().isOk() )
+            .andExpect( content().contentType( MediaType.APPLICATION_JSON ) )
+            .andReturn();
+    }
+
+    private double cacheGets( final String result )
+    {
+        return meterRegistry.get( "cache.gets" ).tag( "cache", "price-responses" ).tag( "result", result )
+            .functionCounter().count();
+    }
+}
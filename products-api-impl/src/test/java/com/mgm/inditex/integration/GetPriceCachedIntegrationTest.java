@@ -0,0 +1,100 @@
+package com.mgm.inditex.integration;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mgm.inditex.controller.model.PriceResponse;
+import com.mgm.inditex.core.usecase.CachingRateUseCase;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// CSOFF
+@SpringBootTest( properties = "app.cache.rates.enabled=true" )
+@AutoConfigureMockMvc( addFilters = false )
+@Sql( scripts = {"/sql/clear-tables.sql", "/sql/integration-test-data.sql"} )
+class GetPriceCachedIntegrationTest
+{
+    private static final String GET_PRICE_PATH = "/inditex/api/v1/prices";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @Autowired
+    private CachingRateUseCase rateUseCase;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void clearCache()
+    {
+        rateUseCase.invalidateAll();
+    }
+
+    @ParameterizedTest
+    @MethodSource( "providedBrandProductDateAndExpectedResults" )
+    void getPricesFromCache( final Integer brandId, final Long productId, final OffsetDateTime date,
+        final String currency, final BigDecimal price ) throws Exception
+    {
+        assertEquals( price, getPrice( brandId, productId, date, currency ).getPrice() );
+        assertEquals( price, getPrice( brandId, productId, date, currency ).getPrice() );
+    }
+
+    @Test
+    void getPricesShouldPublishCacheMetrics() throws Exception
+    {
+        var hits = cacheGets( "hit" );
+        var misses = cacheGets( "miss" );
+
+        getPrice( 1, 35455L, OffsetDateTime.parse( "2020-06-14T10:00:00Z" ), "EUR" );
+        getPrice( 1, 35455L, OffsetDateTime.parse( "2020-06-14T16:00:00Z" ), "EUR" );
+
+        assertEquals( misses + 1, cacheGets( "miss" ) );
+        assertEquals( hits + 1, cacheGets( "hit" ) );
+    }
+
+    static Stream<Arguments> providedBrandProductDateAndExpectedResults()
+    {
+        return GetPriceIntegrationTest.providedBrandProductDateAndExpectedResults();
+    }
+
+    private PriceResponse getPrice( final Integer brandId, final Long productId, final OffsetDateTime date,
+        final String currency ) throws Exception
+    {
+        var response = mockMvc.perform( get( GET_PRICE_PATH )
+            .param( "brandId", brandId.toString() )
+            .param( "productId", productId.toString() )
+            .param( "date", date.toString() )
+            .param( "currency", currency )
+            .contentType( MediaType.APPLICATION_JSON ) ).andExpect( status().isOk() ).andReturn();
+
+        return mapper.readValue( response.getResponse().getContentAsString(), PriceResponse.class );
+    }
+
+    private double cacheGets( final String result )
+    {
+        return meterRegistry.get( "cache.gets" ).tag( "cache", "rates" ).tag( "result", result ).functionCounter()
+            .count();
+    }
+}
@@ -0,0 +1,173 @@
+package com.mgm.inditex.integration;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.time.Instant;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mgm.inditex.adapter.outbound.persistence.jdbc.RateChangeJdbcAdapter;
+import com.mgm.inditex.adapter.outbound.persistence.memory.RateInMemoryRepositoryAdapter;
+import com.mgm.inditex.controller.model.PriceResponse;
+import com.mgm.inditex.core.domain.RateKey;
+import com.mgm.inditex.core.filter.RefreshableRateKeyFilter;
+import com.mgm.inditex.core.sync.RateChangeSynchronizer;
+import com.mgm.inditex.core.usecase.CachingRateUseCase;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// CSOFF
+@SpringBootTest( properties = {
+    "app.persistence.rate-repository=memory",
+    "app.filter.rate-keys.enabled=true",
+    "app.cache.rates.enabled=true",
+    "app.change-capture.enabled=true",
+    "app.change-capture.interval=1h"} )
+@AutoConfigureMockMvc( addFilters = false )
+@Sql( scripts = {"/sql/clear-tables.sql", "/sql/integration-test-data.sql"} )
+class GetPriceChangeCaptureIntegrationTest
+{
+    private static final String GET_PRICE_PATH = "/inditex/api/v1/prices";
+    private static final RateKey EUR_KEY = new RateKey( 1, 35455L, "EUR" );
+    private static final RateKey NEW_KEY = new RateKey( 1, 99999L, "EUR" );
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private RateInMemoryRepositoryAdapter store;
+
+    @Autowired
+    private RefreshableRateKeyFilter rateKeyFilter;
+
+    @Autowired
+    private CachingRateUseCase cachingRateUseCase;
+
+    @Autowired
+    private RateChangeSynchronizer synchronizer;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void loadViews()
+    {
+        store.reload();
+        rateKeyFilter.refresh();
+        cachingRateUseCase.invalidateAll();
+        synchronizer.start( Instant.now() );
+    }
+
+    @Test
+    void getPriceAfterSyncShouldServeChangedRatesWithoutReload() throws Exception
+    {
+        // given: both keys are looked up, so the filter rejects the new one and the cache holds the old price
+        assertEquals( new BigDecimal( "35.50" ), price( 35455L, "2020-06-14T10:00:00Z" ) );
+        requestPrice( 99999L, "2020-06-14T10:00:00Z" ).andExpect( status().isNotFound() );
+
+        // when
+        write( "UPDATE rates SET price = 36.00 WHERE product_id = 35455 AND price_list_id = 1", EUR_KEY );
+        write( "INSERT INTO rates (brand_id, start_date, end_date, price_list_id, product_id, priority, price, " +
+            "currency) VALUES (1, '2020-06-01T00:00:00Z', '2020-06-30T23:59:59Z', 1, 99999, 0, 12.00, 'EUR')",
+            NEW_KEY );
+        var applied = synchronizer.sync();
+
+        // then
+        assertEquals( 2, applied );
+        assertEquals( new BigDecimal( "36.00" ), price( 35455L, "2020-06-14T10:00:00Z" ) );
+        assertEquals( new BigDecimal( "12.00" ), price( 99999L, "2020-06-14T10:00:00Z" ) );
+        assertTrue( meterRegistry.get( "rate.change.capture.lag" ).timer().count() >= 1 );
+        assertTrue( meterRegistry.get( "rate.change.capture.staleness" ).gauge().value() >= 0 );
+    }
+
+    @Test
+    void getPriceWhenTransactionsCommitInReverseVersionOrderShouldServeBothAfterSync() throws Exception
+    {
+        assertEquals( new BigDecimal( "35.50" ), price( 35455L, "2020-06-14T10:00:00Z" ) );
+        try ( var first = dataSource.getConnection() )
+        {
+            // given: the first transaction records its change, then a later one commits before it
+            first.setAutoCommit( false );
+            try ( var update = first.createStatement() )
+            {
+                update.executeUpdate( "UPDATE rates SET price = 36.00 WHERE product_id = 35455 AND price_list_id = 1" );
+            }
+            RateChangeJdbcAdapter.record( first, List.of( EUR_KEY ) );
+            write( "INSERT INTO rates (brand_id, start_date, end_date, price_list_id, product_id, priority, price, " +
+                "currency) VALUES (1, '2020-06-01T00:00:00Z', '2020-06-30T23:59:59Z', 1, 99999, 0, 12.00, 'EUR')",
+                NEW_KEY );
+            var beforeCommit = synchronizer.sync();
+
+            // when
+            first.commit();
+            var afterCommit = synchronizer.sync();
+
+            // then
+            assertEquals( 1, beforeCommit );
+            assertEquals( 1, afterCommit );
+            assertEquals( new BigDecimal( "36.00" ), price( 35455L, "2020-06-14T10:00:00Z" ) );
+            assertEquals( new BigDecimal( "12.00" ), price( 99999L, "2020-06-14T10:00:00Z" ) );
+        }
+    }
+
+    private void write( final String sql, final RateKey key )
+    {
+        transactionTemplate.executeWithoutResult( status ->
+        {
+            jdbcTemplate.update( sql );
+            jdbcTemplate.execute( ( Connection connection ) ->
+            {
+                RateChangeJdbcAdapter.record( connection, List.of( key ) );
+                return null;
+            } );
+        } );
+    }
+
+    private BigDecimal price( final Long productId, final String date ) throws Exception
+    {
+        var response = requestPrice( productId, date ).andExpect( status().isOk() ).andReturn();
+        return mapper.readValue( response.getResponse().getContentAsString(), PriceResponse.class ).getPrice();
+    }
+
+    private ResultActions requestPrice( final Long productId,
+        final String date ) throws Exception
+    {
+        return mockMvc.perform( get( GET_PRICE_PATH )
+            .param( "brandId", "1" )
+            .param( "productId", productId.toString() )
+            .param( "date", date )
+            .param( "currency", "EUR" )
+            .contentType( MediaType.APPLICATION_JSON ) );
+    }
+}
@@ -0,0 +1,131 @@
+package com.mgm.inditex.integration;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mgm.inditex.controller.model.PriceResponse;
+import com.mgm.inditex.core.fx.CurrencyConverter;
+import com.mgm.inditex.core.usecase.CachingRateUseCase;
+
+// CSOFF
+@SpringBootTest( properties = {
+    "app.fx.enabled=true",
+    "app.fx.refresh-interval=1h",
+    "app.cache.rates.enabled=true"} )
+@AutoConfigureMockMvc( addFilters = false )
+@Sql( scripts = {"/sql/clear-tables.sql", "/sql/integration-test-data.sql", "/sql/fx-rates.sql"} )
+class GetPriceFxIntegrationTest
+{
+    private static final String GET_PRICE_PATH = "/inditex/api/v1/prices";
+    private static final OffsetDateTime JUNE_14_10 = OffsetDateTime.parse( "2020-06-14T10:00:00Z" );
+    private static final OffsetDateTime JUNE_14_16 = OffsetDateTime.parse( "2020-06-14T16:00:00Z" );
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CurrencyConverter currencyConverter;
+
+    @Autowired
+    private CachingRateUseCase rateUseCase;
+
+    @BeforeEach
+    void loadFxRates()
+    {
+        currencyConverter.reload();
+        rateUseCase.invalidateAll();
+    }
+
+    @Test
+    void getPriceWhenNoRateInCurrencyShouldConvertEuroPrice() throws Exception
+    {
+        // when
+        var usd = getPrice( JUNE_14_10, "USD" );
+        var jpy = getPrice( JUNE_14_16, "JPY" );
+
+        // then: 35.50 * 1.085 and 25.45 * 162.5, rounded to cents
+        assertEquals( new BigDecimal( "38.52" ), usd.getPrice() );
+        assertEquals( "USD", usd.getCurrency() );
+        assertEquals( 1, usd.getPriceList() );
+        assertEquals( new BigDecimal( "4135.63" ), jpy.getPrice() );
+        assertEquals( 2, jpy.getPriceList() );
+    }
+
+    @Test
+    void getPriceWhenCurrencyHasNoFxRateShouldReturnNotFound() throws Exception
+    {
+        // when / then
+        perform( JUNE_14_10, "GBP" ).andExpect( status().isNotFound() );
+    }
+
+    @Test
+    void getPriceWhenRateInCurrencyExistsShouldNotConvert() throws Exception
+    {
+        // given
+        jdbcTemplate.update( "INSERT INTO rates (brand_id, start_date, end_date, price_list_id, product_id, " +
+            "priority, price, currency) VALUES (1, '2020-06-14T00:00:00Z', '2020-12-31T23:59:59Z', 1, 35455, 0, " +
+            "40.00, 'USD')" );
+
+        // when
+        var usd = getPrice( JUNE_14_10, "USD" );
+
+        // then
+        assertEquals( new BigDecimal( "40.00" ), usd.getPrice() );
+    }
+
+    @Test
+    void reloadWhenFxRatesChangeShouldServeNewRates() throws Exception
+    {
+        // given
+        getPrice( JUNE_14_10, "USD" );
+        jdbcTemplate.update( "UPDATE fx_rates SET rate = 2 WHERE base_currency = 'EUR' AND quote_currency = 'USD'" );
+
+        // when
+        var changed = currencyConverter.reload();
+        rateUseCase.invalidateAll();
+        var usd = getPrice( JUNE_14_10, "USD" );
+
+        // then
+        assertTrue( changed );
+        assertEquals( new BigDecimal( "71.00" ), usd.getPrice() );
+    }
+
+    private PriceResponse getPrice( final OffsetDateTime date, final String currency ) throws Exception
+    {
+        var response = perform( date, currency ).andExpect( status().isOk() ).andReturn();
+        return mapper.readValue( response.getResponse().getContentAsString(), PriceResponse.class );
+    }
+
+    private ResultActions perform( final OffsetDateTime date, final String currency ) throws Exception
+    {
+        return mockMvc.perform( get( GET_PRICE_PATH )
+            .param( "brandId", "1" )
+            .param( "productId", "35455" )
+            .param( "date", date.toString() )
+            .param( "currency", currency )
+            .contentType( MediaType.APPLICATION_JSON ) );
+    }
+}
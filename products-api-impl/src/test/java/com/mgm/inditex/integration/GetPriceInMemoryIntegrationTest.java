@@ -0,0 +1,70 @@
+package com.mgm.inditex.integration;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mgm.inditex.adapter.outbound.persistence.memory.RateInMemoryRepositoryAdapter;
+import com.mgm.inditex.controller.model.PriceResponse;
+
+// CSOFF
+@SpringBootTest( properties = "app.persistence.rate-repository=memory" )
+@AutoConfigureMockMvc( addFilters = false )
+@Sql( scripts = {"/sql/clear-tables.sql", "/sql/integration-test-data.sql"} )
+class GetPriceInMemoryIntegrationTest
+{
+    private static final String GET_PRICE_PATH = "/inditex/api/v1/prices";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @Autowired
+    private RateInMemoryRepositoryAdapter rateRepository;
+
+    @BeforeEach
+    void loadIndex()
+    {
+        rateRepository.reload();
+    }
+
+    @ParameterizedTest
+    @MethodSource( "providedBrandProductDateAndExpectedResults" )
+    void getPricesFromIndex( final Integer brandId, final Long productId, final OffsetDateTime date,
+        final String currency, final BigDecimal price ) throws Exception
+    {
+        var response = mockMvc.perform( get( GET_PRICE_PATH )
+            .param( "brandId", brandId.toString() )
+            .param( "productId", productId.toString() )
+            .param( "date", date.toString() )
+            .param( "currency", currency )
+            .contentType( MediaType.APPLICATION_JSON ) ).andExpect( status().isOk() ).andReturn();
+
+        var result = mapper.readValue( response.getResponse().getContentAsString(), PriceResponse.class );
+
+        assertEquals( price, result.getPrice() );
+    }
+
+    static Stream<Arguments> providedBrandProductDateAndExpectedResults()
+    {
+        return GetPriceIntegrationTest.providedBrandProductDateAndExpectedResults();
+    }
+}
@@ -0,0 +1,92 @@
+package com.mgm.inditex.integration;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mgm.inditex.controller.model.PriceResponse;
+import com.mgm.inditex.core.filter.RefreshableRateKeyFilter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// CSOFF
+@SpringBootTest( properties = "app.filter.rate-keys.enabled=true" )
+@AutoConfigureMockMvc( addFilters = false )
+@Sql( scripts = {"/sql/clear-tables.sql", "/sql/integration-test-data.sql"} )
+class GetPriceKeyFilterIntegrationTest
+{
+    private static final String GET_PRICE_PATH = "/inditex/api/v1/prices";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @Autowired
+    private RefreshableRateKeyFilter rateKeyFilter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void refreshFilter()
+    {
+        rateKeyFilter.refresh();
+    }
+
+    @ParameterizedTest
+    @MethodSource( "providedBrandProductDateAndExpectedResults" )
+    void getPricesThroughFilter( final Integer brandId, final Long productId, final OffsetDateTime date,
+        final String currency, final BigDecimal price ) throws Exception
+    {
+        var response = mockMvc.perform( get( GET_PRICE_PATH )
+            .param( "brandId", brandId.toString() )
+            .param( "productId", productId.toString() )
+            .param( "date", date.toString() )
+            .param( "currency", currency )
+            .contentType( MediaType.APPLICATION_JSON ) ).andExpect( status().isOk() ).andReturn();
+
+        var result = mapper.readValue( response.getResponse().getContentAsString(), PriceResponse.class );
+
+        assertEquals( price, result.getPrice() );
+    }
+
+    @Test
+    void getPriceWhenProductIsUnknownShouldReturnNotFoundFromFilter() throws Exception
+    {
+        var rejections = meterRegistry.get( "rate.key.filter.rejections" ).functionCounter().count();
+
+        mockMvc.perform( get( GET_PRICE_PATH )
+            .param( "brandId", "1" )
+            .param( "productId", "99999999" )
+            .param( "date", "2020-06-14T10:00:00Z" )
+            .param( "currency", "EUR" )
+            .contentType( MediaType.APPLICATION_JSON ) ).andExpect( status().isNotFound() );
+
+        assertEquals( rejections + 1, meterRegistry.get( "rate.key.filter.rejections" ).functionCounter().count() );
+        assertEquals( 1.0, meterRegistry.get( "rate.key.filter.keys" ).gauge().value() );
+    }
+
+    static Stream<Arguments> providedBrandProductDateAndExpectedResults()
+    {
+        return GetPriceIntegrationTest.providedBrandProductDateAndExpectedResults();
+    }
+}
@@ -0,0 +1,67 @@
+package com.mgm.inditex.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// CSOFF
+@SpringBootTest( properties = {"app.metrics.price-lookup.enabled=true", "app.metrics.price-lookup.brand-buckets=2"} )
+@AutoConfigureMockMvc( addFilters = false )
+@Sql( scripts = {"/sql/clear-tables.sql", "/sql/integration-test-data.sql"} )
+class GetPriceMetricsIntegrationTest
+{
+    private static final String GET_PRICE_PATH = "/inditex/api/v1/prices";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void getPriceShouldRecordStagesAndOutcomesByBrandBucket() throws Exception
+    {
+        var found = requests( "200" );
+        var notFound = requests( "404" );
+        var invalid = requests( "400" );
+        var repositoryReads = meterRegistry.get( "price.lookup.stage" ).tag( "stage", "repository" )
+            .tag( "brand.bucket", "1" ).timer().count();
+
+        getPrice( "1", "35455" ).andExpect( status().isOk() );
+        getPrice( "1", "99999999" ).andExpect( status().isNotFound() );
+        getPrice( "1", "-1" ).andExpect( status().isBadRequest() );
+
+        assertEquals( found + 1, requests( "200" ) );
+        assertEquals( notFound + 1, requests( "404" ) );
+        assertEquals( invalid + 1, requests( "400" ) );
+        assertEquals( repositoryReads + 2, meterRegistry.get( "price.lookup.stage" ).tag( "stage", "repository" )
+            .tag( "brand.bucket", "1" ).timer().count() );
+    }
+
+    private double requests( final String status )
+    {
+        return meterRegistry.get( "price.lookup.requests" ).tag( "status", status ).tag( "brand.bucket", "1" )
+            .counter().count();
+    }
+
+    private ResultActions getPrice( final String brandId, final String productId ) throws Exception
+    {
+        return mockMvc.perform( get( GET_PRICE_PATH )
+            .param( "brandId", brandId )
+            .param( "productId", productId )
+            .param( "date", "2020-06-14T10:00:00Z" )
+            .param( "currency", "EUR" )
+            .contentType( MediaType.APPLICATION_JSON ) );
+    }
+}
@@ -0,0 +1,104 @@
+package com.mgm.inditex.integration;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.time.OffsetDateTime;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mgm.inditex.adapter.outbound.persistence.PersistenceConfigProps;
+import com.mgm.inditex.adapter.outbound.persistence.RateSnapshotExporter;
+import com.mgm.inditex.adapter.outbound.persistence.memory.ColumnarRateStore;
+import com.mgm.inditex.adapter.outbound.persistence.memory.RateInMemoryRepositoryAdapter;
+import com.mgm.inditex.adapter.outbound.persistence.memory.RateSnapshotFile;
+import com.mgm.inditex.controller.model.PriceResponse;
+import com.mgm.inditex.fixtures.RateDatasets;
+
+// CSOFF
+@SpringBootTest( properties = "app.persistence.rate-repository=snapshot" )
+@AutoConfigureMockMvc( addFilters = false )
+@Sql( scripts = {"/sql/clear-tables.sql", "/sql/integration-test-data.sql"} )
+class GetPriceSnapshotIntegrationTest
+{
+    private static final String GET_PRICE_PATH = "/inditex/api/v1/prices";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @Autowired
+    private RateSnapshotExporter exporter;
+
+    @Autowired
+    private PersistenceConfigProps props;
+
+    @Autowired
+    private RateInMemoryRepositoryAdapter rateRepository;
+
+    @DynamicPropertySource
+    static void snapshotPath( final DynamicPropertyRegistry registry ) throws IOException
+    {
+        // the snapshot repository maps the file on startup, before any test data is inserted
+        var file = Files.createTempFile( "rates", ".snapshot" );
+        file.toFile().deleteOnExit();
+        RateSnapshotFile.write( ColumnarRateStore.of( RateDatasets.load( RateDatasets.DEV ) ), file );
+        registry.add( "app.persistence.snapshot-path", file::toString );
+    }
+
+    @BeforeEach
+    void exportSnapshot()
+    {
+        try
+        {
+            exporter.export( props.getSnapshotPath() );
+        }
+        catch ( IOException e )
+        {
+            throw new UncheckedIOException( e );
+        }
+        rateRepository.reload();
+    }
+
+    @ParameterizedTest
+    @MethodSource( "providedBrandProductDateAndExpectedResults" )
+    void getPricesFromSnapshot( final Integer brandId, final Long productId, final OffsetDateTime date,
+        final String currency, final BigDecimal price ) throws Exception
+    {
+        var response = mockMvc.perform( get( GET_PRICE_PATH )
+            .param( "brandId", brandId.toString() )
+            .param( "productId", productId.toString() )
+            .param( "date", date.toString() )
+            .param( "currency", currency )
+            .contentType( MediaType.APPLICATION_JSON ) ).andExpect( status().isOk() ).andReturn();
+
+        var result = mapper.readValue( response.getResponse().getContentAsString(), PriceResponse.class );
+
+        assertEquals( price, result.getPrice() );
+    }
+
+    static Stream<Arguments> providedBrandProductDateAndExpectedResults()
+    {
+        return GetPriceIntegrationTest.providedBrandProductDateAndExpectedResults();
+    }
+}
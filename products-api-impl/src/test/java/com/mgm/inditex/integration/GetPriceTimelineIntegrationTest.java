@@ -0,0 +1,92 @@
+package com.mgm.inditex.integration;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mgm.inditex.controller.model.PriceSegment;
+import com.mgm.inditex.controller.model.PriceTimelineResponse;
+
+// CSOFF
+@SpringBootTest
+@AutoConfigureMockMvc( addFilters = false )
+@Sql( scripts = {"/sql/clear-tables.sql", "/sql/integration-test-data.sql"} )
+class GetPriceTimelineIntegrationTest
+{
+    private static final String GET_PRICE_TIMELINE_PATH = "/inditex/api/v1/prices/timeline";
+    private static final OffsetDateTime JUNE_14 = LocalDateTime.of( 2020, 6, 14, 0, 0 ).atOffset( ZoneOffset.UTC );
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @Test
+    void getPriceTimelineShouldReturnEffectiveSegmentsInOrder() throws Exception
+    {
+        // when
+        var response = perform( JUNE_14, JUNE_14.plusDays( 1 ).withHour( 23 ).withMinute( 59 ).withSecond( 59 ) );
+
+        // then
+        assertEquals( 1, response.getBrandId() );
+        assertEquals( 35455L, response.getProductId() );
+        assertEquals( "EUR", response.getCurrency() );
+        assertEquals( List.of( 1, 2, 1, 3, 4 ),
+            response.getSegments().stream().map( PriceSegment::getPriceList ).toList() );
+        assertEquals( List.of( new BigDecimal( "35.50" ), new BigDecimal( "25.45" ), new BigDecimal( "35.50" ),
+            new BigDecimal( "30.50" ), new BigDecimal( "38.95" ) ),
+            response.getSegments().stream().map( PriceSegment::getPrice ).toList() );
+        assertEquals( JUNE_14, response.getSegments().getFirst().getStartDate() );
+        assertEquals( JUNE_14.plusDays( 1 ).withHour( 20 ), response.getSegments().get( 3 ).getEndDate() );
+        assertEquals( JUNE_14.plusDays( 1 ).withHour( 23 ).withMinute( 59 ).withSecond( 59 ),
+            response.getSegments().getLast().getEndDate() );
+    }
+
+    @Test
+    void getPriceTimelineWhenNothingAppliesShouldReturnNoSegments() throws Exception
+    {
+        var response = perform( JUNE_14.minusYears( 1 ), JUNE_14.minusYears( 1 ).plusDays( 1 ) );
+
+        assertTrue( response.getSegments().isEmpty() );
+    }
+
+    @Test
+    void getPriceTimelineWhenRangeIsReversedShouldReturnBadRequest() throws Exception
+    {
+        mockMvc.perform( get( GET_PRICE_TIMELINE_PATH )
+                .param( "brandId", "1" )
+                .param( "productId", "35455" )
+                .param( "from", JUNE_14.plusDays( 1 ).toString() )
+                .param( "to", JUNE_14.toString() ) )
+            .andExpect( status().isBadRequest() );
+    }
+
+    private PriceTimelineResponse perform( final OffsetDateTime from, final OffsetDateTime to ) throws Exception
+    {
+        var response = mockMvc.perform( get( GET_PRICE_TIMELINE_PATH )
+                .param( "brandId", "1" )
+                .param( "productId", "35455" )
+                .param( "from", from.toString() )
+                .param( "to", to.toString() ) )
+            .andExpect( status().isOk() )
+            .andReturn();
+
+        return mapper.readValue( response.getResponse().getContentAsString(), PriceTimelineResponse.class );
+    }
+}
@@ -0,0 +1,84 @@
+package com.mgm.inditex.integration;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.mgm.inditex.controller.model.PriceResponse;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// CSOFF
+@SpringBootTest( webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "app.diagnostics.virtual-threads.pinned-threshold=5ms" )
+@ActiveProfiles( "virtual-threads" )
+@Sql( scripts = {"/sql/clear-tables.sql", "/sql/integration-test-data.sql"} )
+class GetPriceVirtualThreadsIntegrationTest
+{
+    private static final Object LOCK = new Object();
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value( "${spring.threads.virtual.enabled}" )
+    private boolean virtualThreads;
+
+    @Test
+    void getPriceShouldBeServedOnVirtualThreads()
+    {
+        var response = restTemplate.getForEntity( "/inditex/api/v1/prices?brandId=1&productId=35455" +
+            "&date=2020-06-14T16:00:00Z&currency=EUR", PriceResponse.class );
+
+        assertTrue( virtualThreads );
+        assertEquals( HttpStatus.OK, response.getStatusCode() );
+        assertEquals( 2, response.getBody().getPriceList() );
+    }
+
+    @Test
+    void pinnedVirtualThreadShouldBeRecorded() throws Exception
+    {
+        var pinned = meterRegistry.get( "jvm.threads.virtual.pinned" ).timer();
+        var before = pinned.count();
+
+        // sleeping inside a monitor cannot unmount the virtual thread on Java 21
+        Thread.ofVirtual().start( () ->
+        {
+            synchronized ( LOCK )
+            {
+                sleep( Duration.ofMillis( 50 ) );
+            }
+        } ).join();
+
+        var deadline = System.nanoTime() + Duration.ofSeconds( 10 ).toNanos();
+        while ( pinned.count() == before && System.nanoTime() < deadline )
+        {
+            sleep( Duration.ofMillis( 100 ) );
+        }
+        assertTrue( pinned.count() > before );
+    }
+
+    private static void sleep( final Duration duration )
+    {
+        try
+        {
+            Thread.sleep( duration );
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.mgm.inditex.integration;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mgm.inditex.controller.model.PriceBatchItem;
+import com.mgm.inditex.controller.model.PriceBatchRequest;
+import com.mgm.inditex.controller.model.PriceBatchResponse;
+import com.mgm.inditex.controller.model.PriceQuery;
+
+// CSOFF
+@SpringBootTest
+@AutoConfigureMockMvc( addFilters = false )
+@Sql( scripts = {"/sql/clear-tables.sql", "/sql/integration-test-data.sql"} )
+class GetPricesBatchIntegrationTest
+{
+    private static final String GET_PRICES_BATCH_PATH = "/inditex/api/v1/prices/batch";
+    private static final OffsetDateTime JUNE_14 = LocalDateTime.of( 2020, 6, 14, 10, 0 ).atOffset( ZoneOffset.UTC );
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @Test
+    void getPricesBatchShouldAnswerEveryQueryInRequestOrder() throws Exception
+    {
+        // given: the single price scenarios, interleaved with lookups that have no price
+        var queries = new ArrayList<PriceQuery>();
+        var expected = new ArrayList<BigDecimal>();
+        GetPriceIntegrationTest.providedBrandProductDateAndExpectedResults().forEach( arguments ->
+        {
+            var values = arguments.get();
+            queries.add( new PriceQuery( ( Integer ) values[0], ( Long ) values[1], ( OffsetDateTime ) values[2] )
+                .currency( ( String ) values[3] ) );
+            expected.add( ( BigDecimal ) values[4] );
+            queries.add( new PriceQuery( 1, 1L, ( OffsetDateTime ) values[2] ) );
+            expected.add( null );
+        } );
+        queries.add( new PriceQuery( 1, 35455L, JUNE_14.minusYears( 1 ) ) );
+        expected.add( null );
+        queries.add( new PriceQuery( 1, 35455L, JUNE_14 ).currency( "USD" ) );
+        expected.add( null );
+
+        // when
+        var response = perform( new PriceBatchRequest( queries ) );
+
+        // then
+        assertEquals( expected.size(), response.getItems().size() );
+        for ( var i = 0; i < expected.size(); i++ )
+        {
+            var item = response.getItems().get( i );
+            if ( expected.get( i ) == null )
+            {
+                assertEquals( PriceBatchItem.StatusEnum.NOT_FOUND, item.getStatus() );
+                assertNull( item.getPrice() );
+            }
+            else
+            {
+                assertEquals( PriceBatchItem.StatusEnum.FOUND, item.getStatus() );
+                assertEquals( expected.get( i ), item.getPrice().getPrice() );
+                assertEquals( queries.get( i ).getProductId(), item.getPrice().getProductId() );
+            }
+        }
+    }
+
+    @Test
+    void getPricesBatchWhenEmptyShouldReturnBadRequest() throws Exception
+    {
+        mockMvc.perform( post( GET_PRICES_BATCH_PATH )
+                .contentType( MediaType.APPLICATION_JSON )
+                .content( mapper.writeValueAsString( new PriceBatchRequest( List.of() ) ) ) )
+            .andExpect( status().isBadRequest() );
+    }
+
+    @Test
+    void getPricesBatchWhenLargerThanPageShouldReturnBadRequest() throws Exception
+    {
+        var request = new PriceBatchRequest( Collections.nCopies( 501, new PriceQuery( 1, 35455L, JUNE_14 ) ) );
+
+        mockMvc.perform( post( GET_PRICES_BATCH_PATH )
+                .contentType( MediaType.APPLICATION_JSON )
+                .content( mapper.writeValueAsString( request ) ) )
+            .andExpect( status().isBadRequest() );
+    }
+
+    @Test
+    void getPricesBatchWhenQueryIsInvalidShouldReturnBadRequest() throws Exception
+    {
+        var request = new PriceBatchRequest( List.of( new PriceQuery( 1, 35455L, JUNE_14 ),
+            new PriceQuery( -1, 35455L, JUNE_14 ) ) );
+
+        mockMvc.perform( post( GET_PRICES_BATCH_PATH )
+                .contentType( MediaType.APPLICATION_JSON )
+                .content( mapper.writeValueAsString( request ) ) )
+            .andExpect( status().isBadRequest() );
+    }
+
+    private PriceBatchResponse perform( final PriceBatchRequest request ) throws Exception
+    {
+        var response = mockMvc.perform( post( GET_PRICES_BATCH_PATH )
+                .contentType( MediaType.APPLICATION_JSON )
+                .content( mapper.writeValueAsString( request ) ) )
+            .andExpect( status().isOk() )
+            .andReturn();
+
+        return mapper.readValue( response.getResponse().getContentAsString(), PriceBatchResponse.class );
+    }
+}
@@ -0,0 +1,155 @@
+package com.mgm.inditex.integration;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mgm.inditex.adapter.outbound.persistence.memory.RateInMemoryRepositoryAdapter;
+import com.mgm.inditex.controller.model.PriceResponse;
+import com.mgm.inditex.controller.model.RateResponse;
+import com.mgm.inditex.core.filter.RefreshableRateKeyFilter;
+import com.mgm.inditex.core.usecase.CachingRateUseCase;
+
+// CSOFF
+@SpringBootTest( properties = {
+    "app.persistence.rate-repository=memory",
+    "app.filter.rate-keys.enabled=true",
+    "app.cache.rates.enabled=true"} )
+@AutoConfigureMockMvc( addFilters = false )
+@Sql( scripts = {"/sql/clear-tables.sql", "/sql/integration-test-data.sql"} )
+class RateWriteIntegrationTest
+{
+    private static final String RATES_PATH = "/inditex/api/v1/rates";
+    private static final String GET_PRICE_PATH = "/inditex/api/v1/prices";
+    private static final String DATE = "2021-02-01T10:00:00Z";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @Autowired
+    private RateInMemoryRepositoryAdapter store;
+
+    @Autowired
+    private RefreshableRateKeyFilter rateKeyFilter;
+
+    @Autowired
+    private CachingRateUseCase cachingRateUseCase;
+
+    @BeforeEach
+    void loadViews()
+    {
+        store.reload();
+        rateKeyFilter.refresh();
+        cachingRateUseCase.invalidateAll();
+    }
+
+    @Test
+    void writesShouldBeServedByPriceLookupsStraightAway() throws Exception
+    {
+        // given: the product has no rates, so the filter rejects it
+        requestPrice( 99999L ).andExpect( status().isNotFound() );
+
+        // when: created
+        var created = rate( writeRate( post( RATES_PATH ), body( 0, "12.00" ) ).andExpect( status().isCreated() ) );
+
+        // then
+        assertEquals( new BigDecimal( "12.00" ), price( 99999L ) );
+        var stored = rate( mockMvc.perform( get( RATES_PATH + "/" + created.getId() ) ).andExpect( status().isOk() ) );
+        assertEquals( created, stored );
+
+        // when: updated
+        writeRate( put( RATES_PATH + "/" + created.getId() ), body( 0, "13.50" ) ).andExpect( status().isOk() );
+
+        // then
+        assertEquals( new BigDecimal( "13.50" ), price( 99999L ) );
+
+        // when: deleted
+        mockMvc.perform( delete( RATES_PATH + "/" + created.getId() ) ).andExpect( status().isNoContent() );
+
+        // then
+        requestPrice( 99999L ).andExpect( status().isNotFound() );
+        mockMvc.perform( get( RATES_PATH + "/" + created.getId() ) ).andExpect( status().isNotFound() );
+        mockMvc.perform( delete( RATES_PATH + "/" + created.getId() ) ).andExpect( status().isNotFound() );
+    }
+
+    @Test
+    void createRateWhenItOverlapsRateWithSamePriorityShouldReturnConflict() throws Exception
+    {
+        // given
+        writeRate( post( RATES_PATH ), body( 0, "12.00" ) ).andExpect( status().isCreated() );
+
+        // when / then
+        writeRate( post( RATES_PATH ), """
+            {"brandId": 1, "productId": 99999, "priceList": 2, "startDate": "2021-03-01T00:00:00Z",
+             "endDate": "2021-12-31T23:59:59Z", "priority": 0, "price": "9.00", "currency": "EUR"}
+            """ ).andExpect( status().isConflict() ).andExpect( jsonPath( "$.errors[0].errorCode" ).value(
+            "rate.conflict" ) );
+        writeRate( post( RATES_PATH ), body( 1, "9.00" ) ).andExpect( status().isConflict() );
+        assertEquals( new BigDecimal( "12.00" ), price( 99999L ) );
+    }
+
+    @Test
+    void createRateWhenFieldsAreInvalidShouldReturnBadRequest() throws Exception
+    {
+        writeRate( post( RATES_PATH ), """
+            {"brandId": 1, "productId": 99999, "priceList": 1, "startDate": "2021-06-30T23:59:59Z",
+             "endDate": "2021-01-01T00:00:00Z", "priority": 0, "price": "12.00", "currency": "EUR"}
+            """ ).andExpect( status().isBadRequest() );
+    }
+
+    private ResultActions writeRate( final MockHttpServletRequestBuilder request, final String body )
+        throws Exception
+    {
+        return mockMvc.perform( request.contentType( MediaType.APPLICATION_JSON ).content( body ) );
+    }
+
+    private static String body( final int priority, final String price )
+    {
+        return """
+            {"brandId": 1, "productId": 99999, "priceList": 1, "startDate": "2021-01-01T00:00:00Z",
+             "endDate": "2021-06-30T23:59:59Z", "priority": %d, "price": "%s", "currency": "EUR"}
+            """.formatted( priority, price );
+    }
+
+    private RateResponse rate( final ResultActions result ) throws Exception
+    {
+        return mapper.readValue( result.andReturn().getResponse().getContentAsString(), RateResponse.class );
+    }
+
+    private BigDecimal price( final Long productId ) throws Exception
+    {
+        var response = requestPrice( productId ).andExpect( status().isOk() ).andReturn();
+        return mapper.readValue( response.getResponse().getContentAsString(), PriceResponse.class ).getPrice();
+    }
+
+    private ResultActions requestPrice( final Long productId ) throws Exception
+    {
+        return mockMvc.perform( get( GET_PRICE_PATH )
+            .param( "brandId", "1" )
+            .param( "productId", productId.toString() )
+            .param( "date", DATE )
+            .param( "currency", "EUR" )
+            .contentType( MediaType.APPLICATION_JSON ) );
+    }
+}
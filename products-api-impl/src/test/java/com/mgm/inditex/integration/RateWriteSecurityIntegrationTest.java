@@ -0,0 +1,94 @@
+package com.mgm.inditex.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mgm.inditex.controller.model.RateResponse;
+import com.mgm.inditex.infrastructure.security.jwt.JwtService;
+
+// CSOFF
+@SpringBootTest( properties = "app.security.rate-writers=writer@inditex.com" )
+@AutoConfigureMockMvc
+@Sql( scripts = {"/sql/clear-tables.sql", "/sql/integration-test-data.sql"} )
+class RateWriteSecurityIntegrationTest
+{
+    private static final String RATES_PATH = "/inditex/api/v1/rates";
+    private static final String BODY = """
+        {"brandId": 1, "productId": 99999, "priceList": 1, "startDate": "2021-01-01T00:00:00Z",
+         "endDate": "2021-06-30T23:59:59Z", "priority": 0, "price": "12.00", "currency": "EUR"}
+        """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Test
+    void writesWithoutTokenShouldBeForbiddenEvenWhenApiIsWhitelisted() throws Exception
+    {
+        // the default profile whitelists /inditex/api/v1/**
+        mockMvc.perform( get( "/inditex/api/v1/prices" )
+                .param( "brandId", "1" )
+                .param( "productId", "35455" )
+                .param( "date", "2020-06-14T10:00:00Z" )
+                .param( "currency", "EUR" ) )
+            .andExpect( status().isOk() );
+
+        writeRate( post( RATES_PATH ), null ).andExpect( status().isForbidden() );
+        writeRate( put( RATES_PATH + "/1" ), null ).andExpect( status().isForbidden() );
+        mockMvc.perform( delete( RATES_PATH + "/1" ) ).andExpect( status().isForbidden() );
+    }
+
+    @Test
+    void writesWithTokenOfSubjectWithoutAuthorityShouldBeForbidden() throws Exception
+    {
+        var token = jwtService.generateToken( "reader@inditex.com" );
+
+        writeRate( post( RATES_PATH ), token ).andExpect( status().isForbidden() );
+        writeRate( put( RATES_PATH + "/1" ), token ).andExpect( status().isForbidden() );
+        mockMvc.perform( delete( RATES_PATH + "/1" ).header( HttpHeaders.AUTHORIZATION, "Bearer " + token ) )
+            .andExpect( status().isForbidden() );
+    }
+
+    @Test
+    void writesWithTokenOfRateWriterShouldBeAllowed() throws Exception
+    {
+        var token = jwtService.generateToken( "writer@inditex.com" );
+
+        var created = mapper.readValue( writeRate( post( RATES_PATH ), token ).andExpect( status().isCreated() )
+            .andReturn().getResponse().getContentAsString(), RateResponse.class );
+
+        mockMvc.perform( delete( RATES_PATH + "/" + created.getId() )
+                .header( HttpHeaders.AUTHORIZATION, "Bearer " + token ) )
+            .andExpect( status().isNoContent() );
+    }
+
+    private ResultActions writeRate( final MockHttpServletRequestBuilder request, final String token )
+        throws Exception
+    {
+        if ( token != null )
+        {
+            request.header( HttpHeaders.AUTHORIZATION, "Bearer " + token );
+        }
+        return mockMvc.perform( request.contentType( MediaType.APPLICATION_JSON ).content( BODY ) );
+    }
+}
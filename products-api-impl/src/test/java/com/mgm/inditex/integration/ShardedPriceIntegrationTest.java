@@ -0,0 +1,243 @@
+package com.mgm.inditex.integration;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mgm.inditex.ProductRateApplication;
+import com.mgm.inditex.adapter.inbound.web.controller.rate.ShardRoutingPriceDelegate;
+import com.mgm.inditex.adapter.outbound.persistence.shard.ShardedRateRepositoryAdapter;
+import com.mgm.inditex.controller.model.PriceBatchItem;
+import com.mgm.inditex.controller.model.PriceBatchRequest;
+import com.mgm.inditex.controller.model.PriceBatchResponse;
+import com.mgm.inditex.controller.model.PriceQuery;
+import com.mgm.inditex.controller.model.PriceResponse;
+import com.mgm.inditex.core.shard.BrandShardCoordinator;
+
+// CSOFF
+class ShardedPriceIntegrationTest
+{
+    private static final String GET_PRICE_QUERY = "/inditex/api/v1/prices?brandId=%d&productId=35455" +
+        "&date=2020-06-14T10:00:00Z";
+    private static final String GET_PRICES_BATCH_PATH = "/inditex/api/v1/prices/batch";
+    private static final Duration TIMEOUT = Duration.ofSeconds( 10 );
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().findAndRegisterModules();
+    private static final HttpClient CLIENT = HttpClient.newHttpClient();
+
+    private static ConfigurableApplicationContext first;
+    private static ConfigurableApplicationContext second;
+
+    @BeforeAll
+    static void startInstances() throws IOException
+    {
+        first = start( freePort() );
+        new ResourceDatabasePopulator( new ClassPathResource( "sql/clear-tables.sql" ),
+            new ClassPathResource( "sql/integration-test-data.sql" ) ).execute( first.getBean( DataSource.class ) );
+        second = start( freePort() );
+        awaitMembers( first, 2 );
+        awaitMembers( second, 2 );
+    }
+
+    @AfterAll
+    static void stopInstances()
+    {
+        if ( second != null && second.isActive() )
+        {
+            second.close();
+        }
+        if ( first != null )
+        {
+            first.close();
+        }
+    }
+
+    @Test
+    void getPriceShouldBeAnsweredByOwnerWhicheverInstanceReceivesIt() throws Exception
+    {
+        // given
+        var owner = coordinator( first ).ownerOf( 1 );
+
+        for ( var instance : List.of( first, second ) )
+        {
+            // when
+            var response = get( instance, GET_PRICE_QUERY.formatted( 1 ) );
+
+            // then
+            assertEquals( 200, response.statusCode() );
+            assertEquals( owner, response.headers().firstValue( ShardRoutingPriceDelegate.SERVED_BY_HEADER )
+                .orElseThrow() );
+            var price = MAPPER.readValue( response.body(), PriceResponse.class );
+            assertEquals( new BigDecimal( "35.50" ), price.getPrice() );
+        }
+        assertTrue( owningInstance( 1 ).getBean( ShardedRateRepositoryAdapter.class ).servedBrands().contains( 1 ) );
+    }
+
+    @Test
+    void getPriceWhenNotFoundShouldForwardStatusOfOwner() throws Exception
+    {
+        // given: a brand owned by the second instance, asked to the first one
+        var brandId = brandOwnedBy( second );
+
+        // when
+        var response = get( first, GET_PRICE_QUERY.formatted( brandId ) );
+
+        // then
+        assertEquals( 404, response.statusCode() );
+        assertEquals( self( second ), response.headers().firstValue( ShardRoutingPriceDelegate.SERVED_BY_HEADER )
+            .orElseThrow() );
+    }
+
+    @Test
+    void getPricesBatchShouldMergeAnswersOfEveryOwnerInRequestOrder() throws Exception
+    {
+        // given: brand 1 and a brand of each instance
+        var date = OffsetDateTime.parse( "2020-06-14T10:00:00Z" );
+        var queries = List.of( new PriceQuery( brandOwnedBy( first ), 35455L, date ),
+            new PriceQuery( 1, 35455L, date ),
+            new PriceQuery( brandOwnedBy( second ), 35455L, date ) );
+
+        // when
+        var response = CLIENT.send( HttpRequest.newBuilder( URI.create( self( first ) + GET_PRICES_BATCH_PATH ) )
+            .header( "Content-Type", "application/json" )
+            .POST( HttpRequest.BodyPublishers.ofByteArray( MAPPER.writeValueAsBytes(
+                new PriceBatchRequest( queries ) ) ) )
+            .build(), HttpResponse.BodyHandlers.ofByteArray() );
+
+        // then
+        assertEquals( 200, response.statusCode() );
+        var servedBy = response.headers().firstValue( ShardRoutingPriceDelegate.SERVED_BY_HEADER ).orElseThrow();
+        assertTrue( servedBy.contains( self( first ) ) && servedBy.contains( self( second ) ), servedBy );
+        var items = MAPPER.readValue( response.body(), PriceBatchResponse.class ).getItems();
+        assertEquals( PriceBatchItem.StatusEnum.NOT_FOUND, items.get( 0 ).getStatus() );
+        assertEquals( PriceBatchItem.StatusEnum.FOUND, items.get( 1 ).getStatus() );
+        assertEquals( new BigDecimal( "35.50" ), items.get( 1 ).getPrice().getPrice() );
+        assertEquals( PriceBatchItem.StatusEnum.NOT_FOUND, items.get( 2 ).getStatus() );
+    }
+
+    @Test
+    void rebalanceWhenInstanceLeavesShouldMoveItsBrandsToRemainingOne() throws Exception
+    {
+        // given
+        var brandId = brandOwnedBy( second );
+        var third = start( freePort() );
+        try
+        {
+            awaitMembers( first, 3 );
+
+            // when
+            third.close();
+            awaitMembers( first, 2 );
+
+            // then: the ring is back to the first two instances, which still agree on the owners
+            assertEquals( self( second ), coordinator( first ).ownerOf( brandId ) );
+            assertEquals( 200, get( second, GET_PRICE_QUERY.formatted( 1 ) ).statusCode() );
+        }
+        finally
+        {
+            if ( third.isActive() )
+            {
+                third.close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext start( final int port )
+    {
+        return new SpringApplicationBuilder( ProductRateApplication.class ).run(
+            "--server.port=" + port,
+            "--spring.main.banner-mode=off",
+            "--app.persistence.rate-repository=sharded",
+            "--app.sharding.advertised-url=http://localhost:" + port,
+            "--app.sharding.heartbeat-interval=100ms",
+            "--app.sharding.member-ttl=2s" );
+    }
+
+    private static int freePort() throws IOException
+    {
+        try ( var socket = new ServerSocket( 0 ) )
+        {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static void awaitMembers( final ConfigurableApplicationContext instance, final int members )
+    {
+        await( () -> coordinator( instance ).ring().members().size() == members );
+    }
+
+    private static void await( final BooleanSupplier condition )
+    {
+        var deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while ( !condition.getAsBoolean() )
+        {
+            if ( System.nanoTime() > deadline )
+            {
+                throw new AssertionError( "Condition not met within " + TIMEOUT );
+            }
+            try
+            {
+                Thread.sleep( 50 );
+            }
+            catch ( InterruptedException e )
+            {
+                Thread.currentThread().interrupt();
+                throw new AssertionError( e );
+            }
+        }
+    }
+
+    private static HttpResponse<byte[]> get( final ConfigurableApplicationContext instance, final String path )
+        throws IOException, InterruptedException
+    {
+        return CLIENT.send( HttpRequest.newBuilder( URI.create( self( instance ) + path ) ).GET().build(),
+            HttpResponse.BodyHandlers.ofByteArray() );
+    }
+
+    private static ConfigurableApplicationContext owningInstance( final int brandId )
+    {
+        return coordinator( first ).isLocal( brandId ) ? first : second;
+    }
+
+    private static int brandOwnedBy( final ConfigurableApplicationContext instance )
+    {
+        var coordinator = coordinator( first );
+        return IntStream.range( 100, 10_000 )
+            .filter( brandId -> coordinator.ownerOf( brandId ).equals( self( instance ) ) )
+            .findFirst()
+            .orElseThrow();
+    }
+
+    private static BrandShardCoordinator coordinator( final ConfigurableApplicationContext instance )
+    {
+        return instance.getBean( BrandShardCoordinator.class );
+    }
+
+    private static String self( final ConfigurableApplicationContext instance )
+    {
+        return coordinator( instance ).self();
+    }
+}
@@ -0,0 +1,6 @@
+-- Other products, currencies and brands next to the integration test data
+INSERT INTO rates (brand_id, start_date, end_date, price_list_id, product_id, priority, price, currency)
+VALUES (1, '2020-06-14T00:00:00Z', '2020-12-31T23:59:59Z', 1, 35455, 0, 28.40, 'USD'),
+       (1, '2020-06-14T00:00:00Z', '2020-12-31T23:59:59Z', 1, 35456, 0, 12.00, 'EUR'),
+       (1, '2020-06-14T12:00:00Z', '2020-06-14T20:00:00Z', 2, 35456, 1, 9.99, 'EUR'),
+       (2, '2020-06-14T00:00:00Z', '2020-12-31T23:59:59Z', 1, 35455, 0, 40.00, 'EUR');
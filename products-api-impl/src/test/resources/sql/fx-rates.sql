@@ -0,0 +1,5 @@
+DELETE FROM fx_rates;
+
+INSERT INTO fx_rates (base_currency, quote_currency, rate)
+VALUES ('EUR', 'USD', 1.08500000),
+       ('EUR', 'JPY', 162.50000000);
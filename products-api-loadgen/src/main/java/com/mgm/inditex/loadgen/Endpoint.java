@@ -0,0 +1,102 @@
+package com.mgm.inditex.loadgen;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.Locale;
+
+/**
+ * Endpoints a load run can drive, each turning the keys drawn by a {@link KeySampler} into a request.
+ *
+ * @author Miguel Maquieira
+ */
+public enum Endpoint
+{
+    /**
+     * {@code GET /api/v1/prices}, one key per request.
+     */
+    PRICE
+        {
+            @Override
+            HttpRequest.Builder request( final LoadOptions options, final KeySampler keys )
+            {
+                var key = keys.next();
+                return HttpRequest.newBuilder( URI.create( options.target() + "/api/v1/prices?brandId=" +
+                    key.brandId() + "&productId=" + key.productId() + "&date=" + key.date() + "&currency=" +
+                    options.currency() ) ).GET();
+            }
+        },
+
+    /**
+     * {@code POST /api/v1/prices/batch}, {@code batch-size} keys per request.
+     */
+    BATCH
+        {
+            @Override
+            HttpRequest.Builder request( final LoadOptions options, final KeySampler keys )
+            {
+                var body = new StringBuilder( "{\"items\":[" );
+                for ( var i = 0; i < options.batchSize(); i++ )
+                {
+                    var key = keys.next();
+                    body.append( i == 0 ? "" : "," )
+                        .append( "{\"brandId\":" ).append( key.brandId() )
+                        .append( ",\"productId\":" ).append( key.productId() )
+                        .append( ",\"date\":\"" ).append( key.date() )
+                        .append( "\",\"currency\":\"" ).append( options.currency() ).append( "\"}" );
+                }
+                body.append( "]}" );
+                return HttpRequest.newBuilder( URI.create( options.target() + "/api/v1/prices/batch" ) )
+                    .header( "Content-Type", "application/json" )
+                    .POST( HttpRequest.BodyPublishers.ofString( body.toString() ) );
+            }
+        },
+
+    /**
+     * {@code GET /api/v1/prices/timeline}, from the date of the key over {@code timeline-span}.
+     */
+    TIMELINE
+        {
+            @Override
+            HttpRequest.Builder request( final LoadOptions options, final KeySampler keys )
+            {
+                var key = keys.next();
+                return HttpRequest.newBuilder( URI.create( options.target() + "/api/v1/prices/timeline?brandId=" +
+                    key.brandId() + "&productId=" + key.productId() + "&from=" + key.date() + "&to=" +
+                    key.date().plus( options.timelineSpan() ) + "&currency=" + options.currency() ) ).GET();
+            }
+        },
+
+    /**
+     * {@code GET /api/v1/prices/export}, the streamed prices of the brand of the key; a request completes with
+     * the last line of the stream.
+     */
+    EXPORT
+        {
+            @Override
+            HttpRequest.Builder request( final LoadOptions options, final KeySampler keys )
+            {
+                var key = keys.next();
+                return HttpRequest.newBuilder( URI.create( options.target() + "/api/v1/prices/export?brandId=" +
+                    key.brandId() + "&date=" + key.date() ) ).GET();
+            }
+        };
+
+    /**
+     * @param name the name of the endpoint, in any case
+     * @return the endpoint
+     * @throws IllegalArgumentException if there is no such endpoint
+     */
+    public static Endpoint of( final String name )
+    {
+        return valueOf( name.strip().toUpperCase( Locale.ROOT ) );
+    }
+
+    /**
+     * Builds the next request, drawing its keys.
+     *
+     * @param options the options of the run
+     * @param keys the sampler of the keys
+     * @return the request, without the headers common to every endpoint
+     */
+    abstract HttpRequest.Builder request( LoadOptions options, KeySampler keys );
+}
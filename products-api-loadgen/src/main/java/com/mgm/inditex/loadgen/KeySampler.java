@@ -0,0 +1,77 @@
+package com.mgm.inditex.loadgen;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * Draws the brand, product and date of each request, each from its own {@link ZipfianDistribution}.
+ * <p>
+ * The ranks of each distribution are mapped to the brands, products and hourly date slots in an order shuffled
+ * with the seed, so the hot keys are spread over the key space instead of being its lowest ids. The same seed and
+ * options draw the same sequence of keys, so two runs send the same requests. A sampler is not thread-safe.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+final class KeySampler
+{
+    /**
+     * The key of a price lookup.
+     *
+     * @param brandId the brand
+     * @param productId the product
+     * @param date the date of the price
+     */
+    record PriceKey( int brandId, long productId, Instant date )
+    {
+    }
+
+    private static final Duration SLOT = Duration.ofHours( 1 );
+
+    private final SplittableRandom random;
+    private final List<Integer> brandIds;
+    private final List<Long> productIds;
+    private final List<Instant> dates;
+    private final ZipfianDistribution brands;
+    private final ZipfianDistribution products;
+    private final ZipfianDistribution slots;
+
+    KeySampler( final LoadOptions options )
+    {
+        var shuffle = new Random( options.seed() );
+        this.random = new SplittableRandom( options.seed() );
+        this.brandIds = shuffled( options.brandIds(), shuffle );
+        this.productIds = shuffled( options.productIds(), shuffle );
+        var hours = Math.max( 1, (int) ( options.dateRange().toHours() ) );
+        var slotDates = new ArrayList<Instant>( hours );
+        for ( var hour = 0; hour < hours; hour++ )
+        {
+            slotDates.add( options.dateFrom().plus( SLOT.multipliedBy( hour ) ) );
+        }
+        this.dates = shuffled( slotDates, shuffle );
+        this.brands = new ZipfianDistribution( brandIds.size(), options.brandExponent() );
+        this.products = new ZipfianDistribution( productIds.size(), options.productExponent() );
+        this.slots = new ZipfianDistribution( dates.size(), options.dateExponent() );
+    }
+
+    /**
+     * @return the key of the next request
+     */
+    PriceKey next()
+    {
+        return new PriceKey( brandIds.get( brands.sample( random ) ), productIds.get( products.sample( random ) ),
+            dates.get( slots.sample( random ) ) );
+    }
+
+    private static <T> List<T> shuffled( final List<T> values, final Random random )
+    {
+        var copy = new ArrayList<>( values );
+        Collections.shuffle( copy, random );
+        return List.copyOf( copy );
+    }
+}
@@ -0,0 +1,181 @@
+package com.mgm.inditex.loadgen;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * Summary of a load run as {@code name=value} lines in a fixed order, so two reports can be compared with
+ * {@code diff} or with {@link #compare(Map, Map)}.
+ * <p>
+ * Latencies are reported in milliseconds at the 50th, 90th, 99th, 99.9th and 99.99th percentiles and at the
+ * maximum, both as seen by a client sending on schedule ({@code latency.*}, corrected for coordinated omission) and
+ * from the actual send of each request ({@code service.*}). The full percentile distributions are written next to
+ * the report in the HdrHistogram {@code .hgrm} format, which the HdrHistogram plotter reads.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+public final class LatencyReport
+{
+    private static final double[] PERCENTILES = { 50, 90, 99, 99.9, 99.99 };
+    private static final double NANOS_PER_MILLI = 1e6;
+    private static final int PERCENTILE_TICKS_PER_HALF_DISTANCE = 5;
+
+    private LatencyReport()
+    {
+    }
+
+    /**
+     * @param options the options of the run
+     * @param result the result of the run
+     * @return the summary, in report order
+     */
+    public static Map<String, String> summarize( final LoadOptions options, final LoadResult result )
+    {
+        var summary = new LinkedHashMap<String, String>();
+        summary.put( "endpoint", options.endpoint().name().toLowerCase( Locale.ROOT ) );
+        summary.put( "target", options.target() );
+        summary.put( "rate", number( options.rate() ) );
+        summary.put( "duration.s", number( options.duration().toMillis() / 1e3 ) );
+        summary.put( "warmup.s", number( options.warmup().toMillis() / 1e3 ) );
+        summary.put( "max.in.flight", String.valueOf( options.maxInFlight() ) );
+        summary.put( "exponents", number( options.brandExponent() ) + "," + number( options.productExponent() ) +
+            "," + number( options.dateExponent() ) );
+        summary.put( "seed", String.valueOf( options.seed() ) );
+        summary.put( "requests", String.valueOf( result.completed() ) );
+        summary.put( "achieved.rate", number( result.completed() / ( result.elapsed().toMillis() / 1e3 ) ) );
+        result.responses().forEach( ( outcome, count ) -> summary.put( "responses." + outcome,
+            String.valueOf( count ) ) );
+        summary.put( "unfinished", String.valueOf( result.unfinished() ) );
+        summary.put( "send.lag.max.ms", number( result.maxSendLag().toNanos() / NANOS_PER_MILLI ) );
+        latencies( "latency", result.latency(), summary );
+        latencies( "service", result.serviceTime(), summary );
+        return summary;
+    }
+
+    /**
+     * Writes the summary to the report file and the latency and service time distributions to
+     * {@code <report>.latency.hgrm} and {@code <report>.service.hgrm}.
+     *
+     * @param report the report file
+     * @param summary the summary of the run
+     * @param result the result of the run
+     * @throws IOException if a file cannot be written
+     */
+    public static void write( final Path report, final Map<String, String> summary, final LoadResult result )
+        throws IOException
+    {
+        var parent = report.toAbsolutePath().getParent();
+        if ( parent != null )
+        {
+            Files.createDirectories( parent );
+        }
+        Files.writeString( report, format( summary ), StandardCharsets.UTF_8 );
+        distribution( report.resolveSibling( report.getFileName() + ".latency.hgrm" ), result.latency() );
+        distribution( report.resolveSibling( report.getFileName() + ".service.hgrm" ), result.serviceTime() );
+    }
+
+    /**
+     * @param report a report file
+     * @return its summary, in report order
+     * @throws IOException if the file cannot be read
+     */
+    public static Map<String, String> read( final Path report ) throws IOException
+    {
+        var summary = new LinkedHashMap<String, String>();
+        for ( var line : Files.readAllLines( report, StandardCharsets.UTF_8 ) )
+        {
+            var separator = line.indexOf( '=' );
+            if ( !line.startsWith( "#" ) && separator > 0 )
+            {
+                summary.put( line.substring( 0, separator ), line.substring( separator + 1 ) );
+            }
+        }
+        return summary;
+    }
+
+    /**
+     * @param summary the summary of a run
+     * @return its {@code name=value} lines
+     */
+    public static String format( final Map<String, String> summary )
+    {
+        var text = new StringBuilder();
+        summary.forEach( ( name, value ) -> text.append( name ).append( '=' ).append( value ).append( '\n' ) );
+        return text.toString();
+    }
+
+    /**
+     * Lines up the numeric values of two summaries, with the relative change from the first to the second.
+     *
+     * @param before the summary of the baseline run
+     * @param after the summary of the run compared with it
+     * @return one line per value of either summary
+     */
+    public static String compare( final Map<String, String> before, final Map<String, String> after )
+    {
+        var names = new LinkedHashMap<String, Boolean>();
+        before.keySet().forEach( name -> names.put( name, true ) );
+        after.keySet().forEach( name -> names.put( name, true ) );
+
+        var text = new StringBuilder( String.format( Locale.ROOT, "%-28s %14s %14s %9s%n", "", "before", "after",
+            "change" ) );
+        for ( var name : names.keySet() )
+        {
+            var first = before.getOrDefault( name, "-" );
+            var second = after.getOrDefault( name, "-" );
+            text.append( String.format( Locale.ROOT, "%-28s %14s %14s %9s%n", name, first, second,
+                change( first, second ) ) );
+        }
+        return text.toString();
+    }
+
+    private static void latencies( final String prefix, final Histogram histogram, final Map<String, String> summary )
+    {
+        for ( var percentile : PERCENTILES )
+        {
+            summary.put( prefix + ".p" + number( percentile ) + ".ms",
+                number( histogram.getValueAtPercentile( percentile ) / NANOS_PER_MILLI ) );
+        }
+        summary.put( prefix + ".max.ms", number( histogram.getMaxValue() / NANOS_PER_MILLI ) );
+        summary.put( prefix + ".mean.ms", number( histogram.getMean() / NANOS_PER_MILLI ) );
+    }
+
+    private static void distribution( final Path file, final Histogram histogram ) throws IOException
+    {
+        try ( var out = new PrintStream( Files.newOutputStream( file ), false, StandardCharsets.UTF_8 ) )
+        {
+            histogram.outputPercentileDistribution( out, PERCENTILE_TICKS_PER_HALF_DISTANCE, NANOS_PER_MILLI );
+        }
+    }
+
+    private static String change( final String before, final String after )
+    {
+        try
+        {
+            var first = Double.parseDouble( before );
+            var second = Double.parseDouble( after );
+            return first == 0 ? "" : String.format( Locale.ROOT, "%+.1f%%", ( second - first ) / first * 100 );
+        }
+        catch ( NumberFormatException e )
+        {
+            return before.equals( after ) ? "" : "changed";
+        }
+    }
+
+    private static String number( final double value )
+    {
+        var text = String.format( Locale.ROOT, "%.3f", value );
+        // trailing zeros carry no information and make reports harder to read
+        text = text.replaceAll( "0+$", "" );
+        return text.endsWith( "." ) ? text.substring( 0, text.length() - 1 ) : text;
+    }
+}
@@ -0,0 +1,62 @@
+package com.mgm.inditex.loadgen;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.DateTimeException;
+
+/**
+ * Entry point of {@code loadgen.jar}.
+ * <p>
+ * {@code java -jar products-api-loadgen/target/loadgen.jar [--name=value ...]} runs an open-loop load against the
+ * price API (see {@link LoadOptions} and {@link OpenLoopDriver}) and writes its {@link LatencyReport}, e.g.
+ * {@code --endpoint=batch --rate=500 --duration=2m --report=runs/batch-before.txt}.
+ * {@code java -jar products-api-loadgen/target/loadgen.jar compare <before> <after>} compares two reports.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+public final class LoadGenerator
+{
+    private static final int USAGE_ERROR = 2;
+
+    private LoadGenerator()
+    {
+    }
+
+    public static void main( final String[] args ) throws IOException, InterruptedException
+    {
+        if ( args.length > 0 && "compare".equals( args[0] ) )
+        {
+            if ( args.length != 3 )
+            {
+                System.err.println( "Usage: compare <before-report> <after-report>" );
+                System.exit( USAGE_ERROR );
+            }
+            System.out.print( LatencyReport.compare( LatencyReport.read( Path.of( args[1] ) ),
+                LatencyReport.read( Path.of( args[2] ) ) ) );
+            return;
+        }
+
+        LoadOptions options;
+        try
+        {
+            options = LoadOptions.parse( args );
+        }
+        catch ( IllegalArgumentException | DateTimeException e )
+        {
+            System.err.println( e.getMessage() );
+            System.err.print( "Options:\n" + LoadOptions.usage() );
+            System.exit( USAGE_ERROR );
+            return;
+        }
+
+        System.out.printf( "Sending %s requests at %s/s to %s for %ss after a %ss warm-up%n",
+            options.endpoint(), options.rate(), options.target(), options.duration().toSeconds(),
+            options.warmup().toSeconds() );
+        var result = new OpenLoopDriver( options ).run();
+        var summary = LatencyReport.summarize( options, result );
+        LatencyReport.write( options.report(), summary, result );
+        System.out.print( LatencyReport.format( summary ) );
+        System.out.println( "Report written to " + options.report().toAbsolutePath() );
+    }
+}
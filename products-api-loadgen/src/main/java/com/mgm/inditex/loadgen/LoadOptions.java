@@ -0,0 +1,190 @@
+package com.mgm.inditex.loadgen;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+/**
+ * Options of a load run, parsed from {@code --name=value} arguments.
+ * <p>
+ * The defaults drive {@code GET /prices} of an instance started with the {@code performance} profile, over the
+ * brands, products and dates of its dataset. Durations are written as {@code 500ms}, {@code 30s}, {@code 2m} or
+ * {@code 1h}, and id lists as {@code 1,2,3} or {@code 1..5}.
+ * </p>
+ *
+ * @param target base URL of the API, up to its base path
+ * @param endpoint endpoint the requests are sent to
+ * @param rate requests per second, issued on a fixed schedule whatever the responses take
+ * @param warmup time the schedule runs before latencies are recorded
+ * @param duration time latencies are recorded for
+ * @param maxInFlight requests awaiting a response beyond which the schedule waits; the wait counts as latency
+ * @param timeout time after which a request fails
+ * @param brandIds brands of the requests
+ * @param productIds products of the requests
+ * @param dateFrom first date of the requests
+ * @param dateRange span of the dates of the requests, drawn by the hour
+ * @param brandExponent Zipfian exponent of the brands, {@code 0} for uniform
+ * @param productExponent Zipfian exponent of the products, {@code 0} for uniform
+ * @param dateExponent Zipfian exponent of the dates, {@code 0} for uniform
+ * @param currency currency of the requests
+ * @param batchSize queries per request of the batch endpoint
+ * @param timelineSpan range of the requests of the timeline endpoint
+ * @param token bearer token sent with every request, if any
+ * @param seed seed of the key sequence
+ * @param report file the summary is written to, next to its {@code .hgrm} percentile distributions
+ * @author Miguel Maquieira
+ */
+public record LoadOptions( String target, Endpoint endpoint, double rate, Duration warmup, Duration duration,
+                           int maxInFlight, Duration timeout, List<Integer> brandIds, List<Long> productIds,
+                           Instant dateFrom, Duration dateRange, double brandExponent, double productExponent,
+                           double dateExponent, String currency, int batchSize, Duration timelineSpan, String token,
+                           long seed, Path report )
+{
+    private static final Map<String, String> DEFAULTS = Map.ofEntries(
+        Map.entry( "target", "http://localhost:9090/inditex" ),
+        Map.entry( "endpoint", "price" ),
+        Map.entry( "rate", "1000" ),
+        Map.entry( "warmup", "10s" ),
+        Map.entry( "duration", "60s" ),
+        Map.entry( "max-in-flight", "10000" ),
+        Map.entry( "timeout", "10s" ),
+        Map.entry( "brand-ids", "1..5" ),
+        Map.entry( "product-ids", "10001,20002,30003,35455,40004,50005,60006" ),
+        Map.entry( "date-from", "2020-01-01T00:00:00Z" ),
+        Map.entry( "date-range", "6480h" ),
+        Map.entry( "brand-exponent", "0.99" ),
+        Map.entry( "product-exponent", "0.99" ),
+        Map.entry( "date-exponent", "0.99" ),
+        Map.entry( "currency", "EUR" ),
+        Map.entry( "batch-size", "50" ),
+        Map.entry( "timeline-span", "168h" ),
+        Map.entry( "token", "" ),
+        Map.entry( "seed", "42" ),
+        Map.entry( "report", "loadgen-report.txt" ) );
+
+    public LoadOptions
+    {
+        if ( rate <= 0 || maxInFlight < 1 || batchSize < 1 )
+        {
+            throw new IllegalArgumentException( "rate, max-in-flight and batch-size must be positive" );
+        }
+        if ( duration.isNegative() || duration.isZero() || warmup.isNegative() )
+        {
+            throw new IllegalArgumentException( "duration must be positive and warmup not negative" );
+        }
+        if ( brandIds.isEmpty() || productIds.isEmpty() )
+        {
+            throw new IllegalArgumentException( "brand-ids and product-ids must not be empty" );
+        }
+        target = target.endsWith( "/" ) ? target.substring( 0, target.length() - 1 ) : target;
+    }
+
+    /**
+     * @param args {@code --name=value} arguments; options left out take their default
+     * @return the options
+     * @throws IllegalArgumentException if an argument is unknown or malformed
+     */
+    public static LoadOptions parse( final String... args )
+    {
+        var values = new HashMap<>( DEFAULTS );
+        for ( var arg : args )
+        {
+            var separator = arg.indexOf( '=' );
+            if ( !arg.startsWith( "--" ) || separator < 0 )
+            {
+                throw new IllegalArgumentException( "Expected --name=value but got " + arg );
+            }
+            var name = arg.substring( 2, separator );
+            if ( !DEFAULTS.containsKey( name ) )
+            {
+                throw new IllegalArgumentException( "Unknown option --" + name + ", expected one of " +
+                    new TreeSet<>( DEFAULTS.keySet() ) );
+            }
+            values.put( name, arg.substring( separator + 1 ) );
+        }
+
+        return new LoadOptions(
+            values.get( "target" ),
+            Endpoint.of( values.get( "endpoint" ) ),
+            Double.parseDouble( values.get( "rate" ) ),
+            duration( values.get( "warmup" ) ),
+            duration( values.get( "duration" ) ),
+            Integer.parseInt( values.get( "max-in-flight" ) ),
+            duration( values.get( "timeout" ) ),
+            ids( values.get( "brand-ids" ), Integer::valueOf ),
+            ids( values.get( "product-ids" ), Long::valueOf ),
+            Instant.parse( values.get( "date-from" ) ),
+            duration( values.get( "date-range" ) ),
+            Double.parseDouble( values.get( "brand-exponent" ) ),
+            Double.parseDouble( values.get( "product-exponent" ) ),
+            Double.parseDouble( values.get( "date-exponent" ) ),
+            values.get( "currency" ),
+            Integer.parseInt( values.get( "batch-size" ) ),
+            duration( values.get( "timeline-span" ) ),
+            values.get( "token" ).isEmpty() ? null : values.get( "token" ),
+            Long.parseLong( values.get( "seed" ) ),
+            Path.of( values.get( "report" ) ) );
+    }
+
+    /**
+     * @return the options and their defaults, one per line
+     */
+    public static String usage()
+    {
+        var usage = new StringBuilder();
+        DEFAULTS.entrySet().stream()
+            .sorted( Map.Entry.comparingByKey() )
+            .forEach( option -> usage.append( "  --" ).append( option.getKey() ).append( '=' )
+                .append( option.getValue() ).append( '\n' ) );
+        return usage.toString();
+    }
+
+    static Duration duration( final String value )
+    {
+        var text = value.strip().toLowerCase( Locale.ROOT );
+        if ( text.startsWith( "pt" ) )
+        {
+            return Duration.parse( text );
+        }
+        if ( text.endsWith( "ms" ) )
+        {
+            return Duration.ofMillis( Long.parseLong( text.substring( 0, text.length() - 2 ) ) );
+        }
+        var amount = Long.parseLong( text.substring( 0, text.length() - 1 ) );
+        return switch ( text.charAt( text.length() - 1 ) )
+        {
+            case 's' -> Duration.ofSeconds( amount );
+            case 'm' -> Duration.ofMinutes( amount );
+            case 'h' -> Duration.ofHours( amount );
+            default -> throw new IllegalArgumentException( "Expected a duration such as 30s but got " + value );
+        };
+    }
+
+    static <T extends Number> List<T> ids( final String value, final Function<String, T> parser )
+    {
+        var ids = new ArrayList<T>();
+        for ( var part : value.split( "," ) )
+        {
+            var range = part.strip().split( "\\.\\.", 2 );
+            if ( range.length == 1 )
+            {
+                ids.add( parser.apply( range[0] ) );
+                continue;
+            }
+            var first = Long.parseLong( range[0].strip() );
+            var last = Long.parseLong( range[1].strip() );
+            for ( var id = first; id <= last; id++ )
+            {
+                ids.add( parser.apply( Long.toString( id ) ) );
+            }
+        }
+        return List.copyOf( ids );
+    }
+}
@@ -0,0 +1,30 @@
+package com.mgm.inditex.loadgen;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.HdrHistogram.Histogram;
+
+/**
+ * Outcome of the measured part of a load run.
+ *
+ * @param latency time from the scheduled start of each request to its response, in nanoseconds, which is the
+ * latency a client sending at the scheduled rate would see (corrected for coordinated omission)
+ * @param serviceTime time from the actual send of each request to its response, in nanoseconds
+ * @param responses responses by HTTP status, and failures by {@code error.<exception>}
+ * @param unfinished requests still awaiting a response when the run gave up on them
+ * @param maxSendLag longest delay between the scheduled and the actual send of a request
+ * @param elapsed length of the measured part of the run
+ * @author Miguel Maquieira
+ */
+public record LoadResult( Histogram latency, Histogram serviceTime, Map<String, Long> responses, long unfinished,
+                          Duration maxSendLag, Duration elapsed )
+{
+    /**
+     * @return the number of requests that completed, whether they succeeded or failed
+     */
+    public long completed()
+    {
+        return latency.getTotalCount();
+    }
+}
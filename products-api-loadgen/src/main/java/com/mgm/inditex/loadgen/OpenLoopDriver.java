@@ -0,0 +1,144 @@
+package com.mgm.inditex.loadgen;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.Recorder;
+
+/**
+ * Sends requests on a fixed schedule, {@code rate} per second, whatever the responses take (an open loop).
+ * <p>
+ * A closed-loop client only sends its next request once the previous one is answered, so when the server stalls
+ * it stops sending and the requests it would have sent during the stall are never measured: the stall shows up as
+ * one slow request instead of the hundreds that real clients would have waited on (coordinated omission). Here
+ * every request has a scheduled start, and its latency is measured from that start, so a request sent late
+ * because the client was held back (by {@code max-in-flight}, a slow connection or the generator itself) is
+ * charged the time it waited. The time from the actual send is recorded as well, as the service time.
+ * </p>
+ * <p>
+ * Requests are built and scheduled on one thread and sent asynchronously by a {@link HttpClient} whose responses
+ * are handled on virtual threads. Requests scheduled during the warm-up are sent but not recorded.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+public final class OpenLoopDriver
+{
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final Duration START_DELAY = Duration.ofMillis( 50 );
+    private static final Duration DRAIN_MARGIN = Duration.ofSeconds( 5 );
+
+    private final LoadOptions options;
+    private final KeySampler keys;
+
+    public OpenLoopDriver( final LoadOptions options )
+    {
+        this.options = options;
+        this.keys = new KeySampler( options );
+    }
+
+    /**
+     * Runs the warm-up and the measured schedule, then waits for the requests still in flight.
+     *
+     * @return the latencies and responses of the measured requests
+     * @throws InterruptedException if the run is interrupted
+     */
+    public LoadResult run() throws InterruptedException
+    {
+        var latency = new Recorder( SIGNIFICANT_DIGITS );
+        var serviceTime = new Recorder( SIGNIFICANT_DIGITS );
+        var responses = new ConcurrentHashMap<String, LongAdder>();
+        var inFlight = new Semaphore( options.maxInFlight() );
+        var maxSendLag = 0L;
+
+        try ( var executor = Executors.newVirtualThreadPerTaskExecutor();
+            var client = HttpClient.newBuilder()
+                .version( HttpClient.Version.HTTP_1_1 )
+                .connectTimeout( options.timeout() )
+                .executor( executor )
+                .build() )
+        {
+            var period = 1e9 / options.rate();
+            var start = System.nanoTime() + START_DELAY.toNanos();
+            var measuredFrom = start + options.warmup().toNanos();
+            var end = measuredFrom + options.duration().toNanos();
+
+            for ( var i = 0L; ; i++ )
+            {
+                var scheduled = start + (long) ( i * period );
+                if ( scheduled >= end )
+                {
+                    break;
+                }
+                var request = request();
+                for ( var now = System.nanoTime(); now < scheduled; now = System.nanoTime() )
+                {
+                    LockSupport.parkNanos( scheduled - now );
+                }
+                inFlight.acquire();
+
+                var sent = System.nanoTime();
+                var measured = scheduled >= measuredFrom;
+                if ( measured )
+                {
+                    maxSendLag = Math.max( maxSendLag, sent - scheduled );
+                }
+                client.sendAsync( request, HttpResponse.BodyHandlers.discarding() ).whenComplete( ( response, e ) ->
+                {
+                    var done = System.nanoTime();
+                    try
+                    {
+                        if ( measured )
+                        {
+                            latency.recordValue( done - scheduled );
+                            serviceTime.recordValue( done - sent );
+                            responses.computeIfAbsent( e == null ? String.valueOf( response.statusCode() )
+                                : error( e ), outcome -> new LongAdder() ).increment();
+                        }
+                    }
+                    finally
+                    {
+                        // released once recorded, so the drain below only reads complete results
+                        inFlight.release();
+                    }
+                } );
+            }
+
+            var drained = inFlight.tryAcquire( options.maxInFlight(),
+                options.timeout().plus( DRAIN_MARGIN ).toNanos(), TimeUnit.NANOSECONDS );
+            var unfinished = drained ? 0 : options.maxInFlight() - inFlight.availablePermits();
+            client.shutdownNow();
+
+            var counts = new TreeMap<String, Long>();
+            responses.forEach( ( outcome, count ) -> counts.put( outcome, count.sum() ) );
+            return new LoadResult( latency.getIntervalHistogram(), serviceTime.getIntervalHistogram(), counts,
+                unfinished, Duration.ofNanos( maxSendLag ), options.duration() );
+        }
+    }
+
+    private HttpRequest request()
+    {
+        var request = options.endpoint().request( options, keys ).timeout( options.timeout() );
+        if ( options.token() != null )
+        {
+            request.header( "Authorization", "Bearer " + options.token() );
+        }
+        return request.build();
+    }
+
+    private static String error( final Throwable e )
+    {
+        var cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        return "error." + cause.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,70 @@
+package com.mgm.inditex.loadgen;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Zipfian distribution over the ranks {@code 0..size-1}: rank {@code k} is drawn with a probability proportional to
+ * {@code 1 / (k + 1)^exponent}, so a handful of ranks take most of the draws, as the hot products of a catalogue
+ * take most of its traffic. An exponent of {@code 0} draws every rank with the same probability.
+ * <p>
+ * The cumulative distribution is computed once, so a draw is a binary search over {@code size} doubles.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+public final class ZipfianDistribution
+{
+    private final double[] cumulative;
+
+    public ZipfianDistribution( final int size, final double exponent )
+    {
+        if ( size < 1 )
+        {
+            throw new IllegalArgumentException( "size must be positive" );
+        }
+        if ( exponent < 0 || !Double.isFinite( exponent ) )
+        {
+            throw new IllegalArgumentException( "exponent must be a non-negative number" );
+        }
+        cumulative = new double[size];
+        var sum = 0.0;
+        for ( var rank = 0; rank < size; rank++ )
+        {
+            sum += 1.0 / Math.pow( rank + 1.0, exponent );
+            cumulative[rank] = sum;
+        }
+        for ( var rank = 0; rank < size; rank++ )
+        {
+            cumulative[rank] /= sum;
+        }
+        cumulative[size - 1] = 1.0;
+    }
+
+    /**
+     * @param random the source of randomness
+     * @return a rank, {@code 0} being the most frequent
+     */
+    public int sample( final RandomGenerator random )
+    {
+        var index = Arrays.binarySearch( cumulative, random.nextDouble() );
+        return Math.min( index >= 0 ? index : -index - 1, cumulative.length - 1 );
+    }
+
+    /**
+     * @param rank a rank of the distribution
+     * @return the probability of drawing it
+     */
+    public double probability( final int rank )
+    {
+        return rank == 0 ? cumulative[0] : cumulative[rank] - cumulative[rank - 1];
+    }
+
+    /**
+     * @return the number of ranks
+     */
+    public int size()
+    {
+        return cumulative.length;
+    }
+}
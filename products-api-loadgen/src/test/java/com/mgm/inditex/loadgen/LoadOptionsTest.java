@@ -0,0 +1,47 @@
+package com.mgm.inditex.loadgen;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+// CSOFF: Javadoc
+class LoadOptionsTest
+{
+    @Test
+    void parseShouldApplyArgumentsOverDefaults()
+    {
+        // when
+        var cut = LoadOptions.parse( "--endpoint=batch", "--rate=250.5", "--duration=2m", "--brand-ids=1..3,7",
+            "--target=http://localhost:8080/inditex/" );
+
+        // then
+        assertEquals( Endpoint.BATCH, cut.endpoint() );
+        assertEquals( 250.5, cut.rate() );
+        assertEquals( Duration.ofMinutes( 2 ), cut.duration() );
+        assertEquals( Duration.ofSeconds( 10 ), cut.warmup() );
+        assertEquals( List.of( 1, 2, 3, 7 ), cut.brandIds() );
+        assertEquals( 7, cut.productIds().size() );
+        assertEquals( "http://localhost:8080/inditex", cut.target() );
+        assertNull( cut.token() );
+    }
+
+    @Test
+    void durationShouldAcceptShortAndIsoForms()
+    {
+        assertEquals( Duration.ofMillis( 500 ), LoadOptions.duration( "500ms" ) );
+        assertEquals( Duration.ofHours( 168 ), LoadOptions.duration( "168h" ) );
+        assertEquals( Duration.ofSeconds( 90 ), LoadOptions.duration( "PT1M30S" ) );
+        assertThrows( IllegalArgumentException.class, () -> LoadOptions.duration( "3d" ) );
+    }
+
+    @Test
+    void parseWhenOptionIsUnknownOrInvalidShouldThrow()
+    {
+        assertThrows( IllegalArgumentException.class, () -> LoadOptions.parse( "--rps=10" ) );
+        assertThrows( IllegalArgumentException.class, () -> LoadOptions.parse( "rate=10" ) );
+        assertThrows( IllegalArgumentException.class, () -> LoadOptions.parse( "--rate=0" ) );
+        assertThrows( IllegalArgumentException.class, () -> LoadOptions.parse( "--endpoint=stream" ) );
+    }
+}
@@ -0,0 +1,107 @@
+package com.mgm.inditex.loadgen;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.sun.net.httpserver.HttpServer;
+
+// CSOFF: Javadoc
+class OpenLoopDriverTest
+{
+    private static final int STALL_MS = 500;
+
+    @TempDir
+    private Path dir;
+
+    private HttpServer server;
+    private final AtomicInteger requests = new AtomicInteger();
+
+    @BeforeEach
+    void startServer() throws IOException
+    {
+        server = HttpServer.create( new InetSocketAddress( "localhost", 0 ), 0 );
+        server.createContext( "/inditex/api/v1/prices", exchange ->
+        {
+            // the tenth request stalls the server, as a GC pause or a lock would
+            if ( requests.incrementAndGet() == 10 )
+            {
+                sleep( STALL_MS );
+            }
+            var status = exchange.getRequestURI().getQuery().contains( "productId=35455" ) ? 200 : 404;
+            exchange.sendResponseHeaders( status, -1 );
+            exchange.close();
+        } );
+        server.setExecutor( Executors.newSingleThreadExecutor() );
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer()
+    {
+        server.stop( 0 );
+    }
+
+    @Test
+    void runShouldChargeRequestsHeldBackByAStallWithTheTimeTheyWaited() throws Exception
+    {
+        // given: one request in flight at a time, as a closed-loop client would send them
+        var options = LoadOptions.parse( "--target=http://localhost:" + server.getAddress().getPort() + "/inditex",
+            "--rate=100", "--warmup=0s", "--duration=1s", "--max-in-flight=1", "--timeout=5s",
+            "--product-ids=35455,1", "--report=" + dir.resolve( "run.txt" ) );
+
+        // when
+        var result = new OpenLoopDriver( options ).run();
+
+        // then: every scheduled request is measured, and the ~50 scheduled during the stall are slow
+        assertEquals( 100, result.completed() );
+        assertEquals( 100, result.responses().values().stream().mapToLong( Long::longValue ).sum() );
+        assertEquals( 0, result.unfinished() );
+        assertTrue( result.latency().getValueAtPercentile( 75 ) > 100_000_000L,
+            "corrected p75 " + result.latency().getValueAtPercentile( 75 ) );
+        assertTrue( result.serviceTime().getValueAtPercentile( 75 ) < 50_000_000L,
+            "service p75 " + result.serviceTime().getValueAtPercentile( 75 ) );
+        assertTrue( result.maxSendLag().toMillis() >= STALL_MS - 50 );
+    }
+
+    @Test
+    void reportShouldRoundTripThroughItsFile() throws Exception
+    {
+        // given
+        var report = dir.resolve( "runs/price.txt" );
+        var options = LoadOptions.parse( "--target=http://localhost:" + server.getAddress().getPort() + "/inditex",
+            "--rate=50", "--warmup=0s", "--duration=200ms", "--report=" + report );
+        var result = new OpenLoopDriver( options ).run();
+        var summary = LatencyReport.summarize( options, result );
+
+        // when
+        LatencyReport.write( report, summary, result );
+        var read = LatencyReport.read( report );
+
+        // then
+        assertEquals( summary, read );
+        assertTrue( read.containsKey( "latency.p99.9.ms" ) );
+        assertTrue( report.resolveSibling( "price.txt.latency.hgrm" ).toFile().isFile() );
+        assertTrue( LatencyReport.compare( read, read ).contains( "latency.p99.ms" ) );
+    }
+
+    private static void sleep( final long millis )
+    {
+        try
+        {
+            Thread.sleep( millis );
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
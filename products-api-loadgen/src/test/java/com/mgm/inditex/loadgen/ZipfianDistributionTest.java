@@ -0,0 +1,50 @@
+package com.mgm.inditex.loadgen;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+// CSOFF: Javadoc
+class ZipfianDistributionTest
+{
+    @Test
+    void sampleShouldDrawRanksWithZipfianFrequencies()
+    {
+        // given
+        var cut = new ZipfianDistribution( 100, 1.0 );
+        var random = new SplittableRandom( 7 );
+        var counts = new int[cut.size()];
+
+        // when
+        for ( var i = 0; i < 1_000_000; i++ )
+        {
+            counts[cut.sample( random )]++;
+        }
+
+        // then: with exponent 1 rank k is drawn k + 1 times less often than rank 0
+        assertEquals( cut.probability( 0 ), counts[0] / 1e6, 0.005 );
+        assertEquals( 2.0, (double) counts[0] / counts[1], 0.1 );
+        assertEquals( 10.0, (double) counts[0] / counts[9], 0.5 );
+    }
+
+    @Test
+    void sampleWhenExponentIsZeroShouldBeUniform()
+    {
+        // given
+        var cut = new ZipfianDistribution( 4, 0 );
+
+        // then
+        for ( var rank = 0; rank < cut.size(); rank++ )
+        {
+            assertEquals( 0.25, cut.probability( rank ), 1e-12 );
+        }
+    }
+
+    @Test
+    void constructorWhenArgumentsAreInvalidShouldThrow()
+    {
+        assertThrows( IllegalArgumentException.class, () -> new ZipfianDistribution( 0, 1 ) );
+        assertThrows( IllegalArgumentException.class, () -> new ZipfianDistribution( 10, -1 ) );
+    }
+}
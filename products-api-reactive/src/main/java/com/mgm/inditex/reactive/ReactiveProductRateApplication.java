@@ -0,0 +1,14 @@
+package com.mgm.inditex.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class ReactiveProductRateApplication
+{
+
+    public static void main( final String[] args )
+    {
+        SpringApplication.run( ReactiveProductRateApplication.class, args );
+    }
+}
@@ -0,0 +1,55 @@
+package com.mgm.inditex.reactive.adapter.inbound.web.controller.rate;
+
+import java.time.OffsetDateTime;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.mgm.inditex.adapter.inbound.web.controller.rate.mapper.RateWebMapper;
+import com.mgm.inditex.controller.model.PriceResponse;
+import com.mgm.inditex.reactive.controller.api.PriceApiDelegate;
+import com.mgm.inditex.reactive.core.port.inbound.ReactiveRateUserCasePort;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive controller for the price endpoint of {@code products.yaml}.
+ * <p>
+ * It implements the {@link PriceApiDelegate} generated with the reactive option from the same contract as the
+ * servlet {@code RateController}, and answers with the same {@link PriceResponse} built by the shared
+ * {@link RateWebMapper}, so both variants are interchangeable for clients. The remaining operations of the
+ * contract are not served by this variant and keep the generated {@code 501 Not Implemented} answer.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+@RequiredArgsConstructor
+@Component
+public class ReactiveRateController implements PriceApiDelegate
+{
+    private final ReactiveRateUserCasePort rateUsecase;
+    private final RateWebMapper rateWebMapper;
+
+    /**
+     * Retrieves the applicable price for a specific product, brand, date, and currency.
+     *
+     * @param brandId The unique identifier of the brand.
+     * @param productId The unique identifier of the product.
+     * @param date The date and time for which the price is valid.
+     * @param currency The currency of the price.
+     * @param exchange The current server exchange.
+     * @return A {@link Mono} of a {@link ResponseEntity} containing the {@link PriceResponse} (HTTP 200 OK), or an
+     * HTTP 404 Not Found response if no price is applicable.
+     */
+    @Override
+    public Mono<ResponseEntity<PriceResponse>> getPrice( final Integer brandId, final Long productId,
+        final OffsetDateTime date, final String currency, final ServerWebExchange exchange )
+    {
+        return rateUsecase.getPrice( brandId, productId, currency, date.toLocalDateTime() )
+            .map( rateWebMapper::domainToApi )
+            .map( ResponseEntity::ok )
+            .defaultIfEmpty( ResponseEntity.notFound().build() );
+    }
+}
@@ -0,0 +1,71 @@
+package com.mgm.inditex.reactive.adapter.outbound.persistence.r2dbc;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import com.mgm.inditex.core.domain.Price;
+import com.mgm.inditex.core.domain.Rate;
+import com.mgm.inditex.reactive.core.port.outbound.ReactiveRateRepositoryPort;
+
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+/**
+ * Adapter that implements the {@link ReactiveRateRepositoryPort} with plain SQL over a non-blocking R2DBC
+ * {@link DatabaseClient}.
+ * <p>
+ * It runs the same query as {@code RateJdbcRepositoryAdapter}: the candidates are ranked in SQL and only the winning
+ * row is read, its price as a whole number of ten-thousandths. Instants are bound as UTC {@link OffsetDateTime}s,
+ * as the blocking adapters do; the H2 driver only decodes {@code TIMESTAMP} columns as {@link LocalDateTime}s in the
+ * session time zone, which is the JVM one, so they are shifted back to UTC when read.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+@RequiredArgsConstructor
+public class RateR2dbcRepositoryAdapter implements ReactiveRateRepositoryPort
+{
+    private static final String FIND_APPLICABLE = "SELECT brand_id, product_id, price_list_id, start_date, " +
+        "end_date, priority, CAST(price * 10000 AS BIGINT), currency FROM rates " +
+        "WHERE brand_id = :brandId AND product_id = :productId AND currency = :currency " +
+        "AND start_date <= :date AND end_date >= :date ORDER BY priority DESC, id FETCH FIRST 1 ROWS ONLY";
+
+    private final DatabaseClient databaseClient;
+
+    @Override
+    public Mono<Rate> findApplicableRate( final Integer brandId, final Long productId, final String currency,
+        final Instant date )
+    {
+        return databaseClient.sql( FIND_APPLICABLE )
+            .bind( "brandId", brandId )
+            .bind( "productId", productId )
+            .bind( "currency", currency )
+            .bind( "date", date.atOffset( ZoneOffset.UTC ) )
+            .map( RateR2dbcRepositoryAdapter::toRate )
+            .first();
+    }
+
+    private static Rate toRate( final Readable row )
+    {
+        return Rate.of(
+            row.get( 0, Integer.class ),
+            row.get( 1, Long.class ),
+            row.get( 2, Integer.class ),
+            utc( row.get( 3, LocalDateTime.class ) ),
+            utc( row.get( 4, LocalDateTime.class ) ),
+            row.get( 5, Short.class ),
+            Price.ofTenThousandths( row.get( 6, Long.class ) ),
+            row.get( 7, String.class ) );
+    }
+
+    private static LocalDateTime utc( final LocalDateTime sessionDateTime )
+    {
+        return LocalDateTime.ofInstant( sessionDateTime.atZone( ZoneId.systemDefault() ).toInstant(), ZoneOffset.UTC );
+    }
+}
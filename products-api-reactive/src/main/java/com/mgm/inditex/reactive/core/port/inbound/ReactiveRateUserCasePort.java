@@ -0,0 +1,28 @@
+package com.mgm.inditex.reactive.core.port.inbound;
+
+import java.time.LocalDateTime;
+
+import com.mgm.inditex.core.domain.Rate;
+import com.mgm.inditex.core.port.inbound.RateUserCasePort;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link RateUserCasePort} for the price lookup.
+ *
+ * @author Miguel Maquieira
+ */
+public interface ReactiveRateUserCasePort
+{
+    /**
+     * Resolves the price that applies to a product of a brand in a currency at a given date.
+     *
+     * @param brandId The brand ID.
+     * @param productId The product ID.
+     * @param currency The currency of the price.
+     * @param date The date for which the price is valid.
+     * @return The rate with the highest priority on that date, empty if none applies, or an
+     * {@code ApiValidationException} error if the request is invalid.
+     */
+    Mono<Rate> getPrice( Integer brandId, Long productId, String currency, LocalDateTime date );
+}
@@ -0,0 +1,28 @@
+package com.mgm.inditex.reactive.core.port.outbound;
+
+import java.time.Instant;
+
+import com.mgm.inditex.core.domain.Rate;
+import com.mgm.inditex.core.port.outbound.RateRepositoryPort;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link RateRepositoryPort} for the price lookup.
+ *
+ * @author Miguel Maquieira
+ */
+public interface ReactiveRateRepositoryPort
+{
+    /**
+     * Find the rate that applies to a given product, price list, and currency at a specified date: the one with the
+     * highest priority, or the first in insertion order among those sharing it.
+     *
+     * @param brandId The brand ID.
+     * @param productId The product ID.
+     * @param currency The currency in which the rate is expressed.
+     * @param date The date for which the rate is valid.
+     * @return The applicable rate, or empty if no rate is valid on the given date.
+     */
+    Mono<Rate> findApplicableRate( Integer brandId, Long productId, String currency, Instant date );
+}
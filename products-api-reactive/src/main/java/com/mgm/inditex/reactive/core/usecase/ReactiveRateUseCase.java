@@ -0,0 +1,54 @@
+package com.mgm.inditex.reactive.core.usecase;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+import com.mgm.inditex.core.domain.Rate;
+import com.mgm.inditex.core.usecase.RateUseCase;
+import com.mgm.inditex.core.validation.RateValidator;
+import com.mgm.inditex.reactive.core.port.inbound.ReactiveRateUserCasePort;
+import com.mgm.inditex.reactive.core.port.outbound.ReactiveRateRepositoryPort;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive implementation of the price lookup, with the same rules as {@link RateUseCase#getPrice}: the request is
+ * validated by the shared {@link RateValidator} and the rate with the highest priority on the date wins.
+ * <p>
+ * Validation runs on subscription, so an invalid request surfaces as an error signal instead of an exception
+ * thrown while assembling the pipeline.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ReactiveRateUseCase implements ReactiveRateUserCasePort
+{
+    private final ReactiveRateRepositoryPort rateRepository;
+    private final RateValidator rateValidator;
+
+    @Override
+    public Mono<Rate> getPrice( final Integer brandId, final Long productId, final String currency,
+        final LocalDateTime date )
+    {
+        return Mono.fromRunnable( () -> rateValidator.validateGetPriceRequest( brandId, productId, currency, date ) )
+            .then( Mono.defer( () -> rateRepository.findApplicableRate( brandId, productId, currency,
+                date.toInstant( ZoneOffset.UTC ) ) ) )
+            .doOnNext( rate -> log.info( "Price for query. {} {} {} {} {}",
+                kv( "brandId", brandId ),
+                kv( "productId", productId ),
+                kv( "date", date ),
+                kv( "currency", currency ),
+                kv( "price", rate.getPrice() ) ) )
+            .switchIfEmpty( Mono.fromRunnable( () -> log.warn( "No price found for product. {} {} {} {}",
+                kv( "brandId", brandId ),
+                kv( "productId", productId ),
+                kv( "date", date ),
+                kv( "currency", currency ) ) ) );
+    }
+}
@@ -0,0 +1,56 @@
+package com.mgm.inditex.reactive.infrastructure;
+
+import org.mapstruct.factory.Mappers;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import com.mgm.inditex.adapter.inbound.web.controller.ApiControllerAdvise;
+import com.mgm.inditex.adapter.inbound.web.controller.rate.mapper.RateWebMapper;
+import com.mgm.inditex.core.validation.DefaultRateValidator;
+import com.mgm.inditex.core.validation.RateValidator;
+import com.mgm.inditex.reactive.adapter.outbound.persistence.r2dbc.RateR2dbcRepositoryAdapter;
+import com.mgm.inditex.reactive.core.port.inbound.ReactiveRateUserCasePort;
+import com.mgm.inditex.reactive.core.port.outbound.ReactiveRateRepositoryPort;
+import com.mgm.inditex.reactive.core.usecase.ReactiveRateUseCase;
+
+/**
+ * Spring configuration of the reactive variant.
+ * <p>
+ * The domain, the {@link RateValidator}, the {@link RateWebMapper} and the error handling of
+ * {@link ApiControllerAdvise} are the ones of the servlet implementation; they are declared here rather than
+ * component-scanned, so none of its servlet or JPA beans are picked up.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+@Configuration
+@Import( ApiControllerAdvise.class )
+public class ReactiveRateConfig
+{
+    @Bean
+    RateValidator rateValidator()
+    {
+        return new DefaultRateValidator();
+    }
+
+    @Bean
+    RateWebMapper rateWebMapper()
+    {
+        return Mappers.getMapper( RateWebMapper.class );
+    }
+
+    @Bean
+    ReactiveRateRepositoryPort rateRepository( final DatabaseClient databaseClient )
+    {
+        return new RateR2dbcRepositoryAdapter( databaseClient );
+    }
+
+    @Bean
+    ReactiveRateUserCasePort rateUseCase( final ReactiveRateRepositoryPort rateRepository,
+        final RateValidator rateValidator )
+    {
+        return new ReactiveRateUseCase( rateRepository, rateValidator );
+    }
+}
@@ -0,0 +1,57 @@
+package com.mgm.inditex.reactive.infrastructure.security;
+
+import java.util.List;
+import java.util.Objects;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import com.mgm.inditex.infrastructure.security.jwt.JwtAuthenticationFilter;
+import com.mgm.inditex.infrastructure.security.jwt.JwtService;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux counterpart of the servlet {@link JwtAuthenticationFilter}.
+ * <p>
+ * A valid bearer token in the {@code Authorization} header authenticates the exchange as its subject. A missing
+ * or invalid token leaves the exchange anonymous, so whitelisted paths are still served and the others are
+ * rejected by the authorization rules. Verifying the signature is a short CPU-bound check, done on the calling
+ * thread.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+public class ReactiveJwtAuthenticationFilter implements WebFilter
+{
+    private static final String BEARER = "Bearer ";
+
+    private final JwtService jwtService;
+
+    public ReactiveJwtAuthenticationFilter( final JwtService jwtService )
+    {
+        this.jwtService = Objects.requireNonNull( jwtService, "jwtService" );
+    }
+
+    @Override
+    public Mono<Void> filter( final ServerWebExchange exchange, final WebFilterChain chain )
+    {
+        var authHeader = exchange.getRequest().getHeaders().getFirst( HttpHeaders.AUTHORIZATION );
+        if ( authHeader == null || !authHeader.startsWith( BEARER ) )
+        {
+            return chain.filter( exchange );
+        }
+        var subject = jwtService.validateAndGetSubject( authHeader.substring( BEARER.length() ) );
+        if ( subject == null )
+        {
+            return chain.filter( exchange );
+        }
+        var authentication = UsernamePasswordAuthenticationToken.authenticated( subject, null, List.of() );
+        return chain.filter( exchange )
+            .contextWrite( ReactiveSecurityContextHolder.withAuthentication( authentication ) );
+    }
+}
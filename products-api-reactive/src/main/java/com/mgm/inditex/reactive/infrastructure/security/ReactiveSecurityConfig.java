@@ -0,0 +1,79 @@
+package com.mgm.inditex.reactive.infrastructure.security;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.reactive.CorsConfigurationSource;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+
+import com.mgm.inditex.infrastructure.security.SecurityConfig;
+import com.mgm.inditex.infrastructure.security.SecurityConfigProps;
+import com.mgm.inditex.infrastructure.security.jwt.JwtService;
+
+/**
+ * WebFlux counterpart of the servlet {@link SecurityConfig}.
+ * <p>
+ * It reads the same {@code app.security} and {@code security.jwt} properties, so a profile that requires a JWT
+ * for the price endpoint of the servlet implementation requires it here too: paths in
+ * {@code app.security.whitelisted-paths} are open and every other exchange needs a bearer token issued by the
+ * servlet implementation's login. Exchanges without a valid token are answered with 401.
+ * </p>
+ *
+ * @author Miguel Maquieira
+ */
+@Configuration
+@EnableWebFluxSecurity
+@EnableConfigurationProperties( SecurityConfigProps.class )
+public class ReactiveSecurityConfig
+{
+    @Bean
+    JwtService jwtService( @Value( "${security.jwt.secret}" ) final String secret,
+        @Value( "${security.jwt.expiration-ms:3600000}" ) final long expirationMs )
+    {
+        return new JwtService( secret, expirationMs );
+    }
+
+    @Bean
+    SecurityWebFilterChain securityWebFilterChain( final ServerHttpSecurity http,
+        final SecurityConfigProps securityConfigProps, final JwtService jwtService )
+    {
+        return http.csrf( ServerHttpSecurity.CsrfSpec::disable )
+            .httpBasic( ServerHttpSecurity.HttpBasicSpec::disable )
+            .formLogin( ServerHttpSecurity.FormLoginSpec::disable )
+            .cors( cors -> cors.configurationSource( corsConfigurationSource( securityConfigProps ) ) )
+            .securityContextRepository( NoOpServerSecurityContextRepository.getInstance() )
+            .authorizeExchange(
+                exchange -> exchange.pathMatchers( securityConfigProps.getWhitelistedPaths().toArray( String[]::new ) )
+                    .permitAll()
+                    .anyExchange()
+                    .authenticated() )
+            .exceptionHandling( handling -> handling.authenticationEntryPoint(
+                new HttpStatusServerEntryPoint( HttpStatus.UNAUTHORIZED ) ) )
+            .addFilterAt( new ReactiveJwtAuthenticationFilter( jwtService ), SecurityWebFiltersOrder.AUTHENTICATION )
+            .build();
+    }
+
+    private static CorsConfigurationSource corsConfigurationSource( final SecurityConfigProps securityConfigProps )
+    {
+        CorsConfiguration config = new CorsConfiguration();
+        config.setAllowedOrigins( securityConfigProps.getAllowedOrigins() );
+        config.setAllowedMethods( List.of( "GET", "OPTIONS" ) );
+        config.setAllowedHeaders( List.of( "*" ) );
+        config.setAllowCredentials( true );
+
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration( "/**", config );
+        return source;
+    }
+}
@@ -0,0 +1,74 @@
+package com.mgm.inditex.reactive.adapter.outbound.persistence.r2dbc;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.r2dbc.DataR2dbcTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import org.springframework.r2dbc.core.DatabaseClient;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.mgm.inditex.core.domain.Rate;
+
+import io.r2dbc.spi.ConnectionFactory;
+import reactor.test.StepVerifier;
+
+// CSOFF: Javadoc
+@DataR2dbcTest
+class RateR2dbcRepositoryAdapterTest
+{
+    private static final int BRAND_ID = 1;
+    private static final long PRODUCT_ID = 35455L;
+    private static final String CURR = "EUR";
+
+    @Autowired
+    private ConnectionFactory connectionFactory;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    private RateR2dbcRepositoryAdapter cut;
+
+    @BeforeEach
+    void setUp()
+    {
+        new ResourceDatabasePopulator( new ClassPathResource( "sql/clear-tables.sql" ),
+            new ClassPathResource( "sql/integration-test-data.sql" ) ).populate( connectionFactory ).block();
+        cut = new RateR2dbcRepositoryAdapter( databaseClient );
+    }
+
+    @Test
+    void findApplicableRateShouldReturnHighestPriority()
+    {
+        StepVerifier.create( cut.findApplicableRate( BRAND_ID, PRODUCT_ID, CURR,
+                Instant.parse( "2020-06-14T16:00:00Z" ) ) )
+            .expectNext( Rate.of( BRAND_ID, PRODUCT_ID, 2, LocalDateTime.of( 2020, 6, 14, 15, 0 ),
+                LocalDateTime.of( 2020, 6, 14, 18, 30 ), ( short ) 1, new BigDecimal( "25.45" ), CURR ) )
+            .verifyComplete();
+    }
+
+    @Test
+    void findApplicableRateOnPriorityTieShouldReturnFirstInserted()
+    {
+        StepVerifier.create( cut.findApplicableRate( BRAND_ID, PRODUCT_ID, CURR,
+                Instant.parse( "2020-06-15T17:00:00Z" ) ) )
+            .assertNext( rate -> assertEquals( 3, rate.getPriceListId() ) )
+            .verifyComplete();
+    }
+
+    @Test
+    void findApplicableRateOutsideEveryRateShouldBeEmpty()
+    {
+        StepVerifier.create( cut.findApplicableRate( BRAND_ID, PRODUCT_ID, CURR,
+                Instant.parse( "2020-06-13T23:59:59Z" ) ) )
+            .verifyComplete();
+        StepVerifier.create( cut.findApplicableRate( BRAND_ID, PRODUCT_ID, "USD",
+                Instant.parse( "2020-06-14T16:00:00Z" ) ) )
+            .verifyComplete();
+    }
+}
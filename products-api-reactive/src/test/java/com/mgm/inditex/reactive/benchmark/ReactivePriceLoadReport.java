@@ -0,0 +1,160 @@
+package com.mgm.inditex.reactive.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.mgm.inditex.reactive.ReactiveProductRateApplication;
+
+// CSOFF: Javadoc
+/**
+ * Throughput and latency of {@code GET /prices} served by the WebFlux/R2DBC variant next to the servlet/JPA
+ * application, at increasing numbers of concurrent connections.
+ * <p>
+ * The reactive application is started in process with the {@code dev} data. The servlet one cannot share its
+ * classpath, so it is measured when it is already running at {@code benchmark.servlet-url}, for instance with
+ * {@code mvn spring-boot:run -pl products-api-impl -Dspring-boot.run.profiles=dev}, which loads the same data.
+ * </p>
+ * <p>
+ * Run with {@code mvn test -pl products-api-reactive -am -Dbenchmark=true -Dtest=ReactivePriceLoadReport
+ * -Dsurefire.failIfNoSpecifiedTests=false -Dbenchmark.servlet-url=http://localhost:8080
+ * -Dbenchmark.concurrency=100,1000,5000}. {@code benchmark.seconds} sets the measured time per level.
+ * </p>
+ */
+@EnabledIfSystemProperty( named = "benchmark", matches = "true" )
+class ReactivePriceLoadReport
+{
+    private static final String PRICE_PATH = "/inditex/api/v1/prices?brandId=1&productId=35455&currency=EUR" +
+        "&date=2020-06-14T16:00:00Z";
+
+    @Test
+    void reportThroughputAndLatencyPerStack() throws Exception
+    {
+        var levels = Arrays.stream( System.getProperty( "benchmark.concurrency", "100,1000,5000" ).split( "," ) )
+            .mapToInt( level -> Integer.parseInt( level.trim() ) ).toArray();
+        var seconds = Integer.getInteger( "benchmark.seconds", 10 );
+        var servletUrl = System.getProperty( "benchmark.servlet-url" );
+
+        System.out.printf( "%nGET /prices, %d s per level%n", seconds );
+        if ( servletUrl != null )
+        {
+            report( "Servlet + JPA", URI.create( servletUrl + PRICE_PATH ), levels, seconds );
+        }
+        try ( var context = new SpringApplicationBuilder( ReactiveProductRateApplication.class )
+            .run( "--server.port=0", "--logging.level.root=WARN" ) )
+        {
+            var port = ( ( WebServerApplicationContext ) context ).getWebServer().getPort();
+            report( "WebFlux + R2DBC", URI.create( "http://localhost:" + port + PRICE_PATH ), levels, seconds );
+        }
+    }
+
+    private static void report( final String label, final URI uri, final int[] levels, final int seconds )
+        throws Exception
+    {
+        // warm-up so the first level does not pay for class loading and JIT compilation
+        load( uri, Math.min( levels[0], 200 ), 2 );
+        for ( var level : levels )
+        {
+            var result = load( uri, level, seconds );
+            System.out.printf( "  %-16s %,6d connections: %,10.0f req/s  p50 %,7.1f ms  p99 %,7.1f ms  " +
+                "errors %,d%n", label, level, result.throughput(), result.percentile( 0.50 ),
+                result.percentile( 0.99 ), result.errors() );
+            assertTrue( result.completed() > 0, label );
+        }
+    }
+
+    private static LoadResult load( final URI uri, final int connections, final int seconds ) throws Exception
+    {
+        var request = HttpRequest.newBuilder( uri ).timeout( Duration.ofSeconds( 30 ) ).GET().build();
+        var latencies = new long[connections][];
+        var counts = new int[connections];
+        var errors = new LongAdder();
+        var deadline = System.nanoTime() + Duration.ofSeconds( seconds ).toNanos();
+        var start = System.nanoTime();
+
+        // the client keeps its own executor: shutting down the one of the connections would reject its callbacks
+        try ( var client = HttpClient.newBuilder().version( HttpClient.Version.HTTP_1_1 )
+                .connectTimeout( Duration.ofSeconds( 30 ) ).build();
+            var executor = Executors.newVirtualThreadPerTaskExecutor() )
+        {
+            for ( var c = 0; c < connections; c++ )
+            {
+                var connection = c;
+                latencies[connection] = new long[1024];
+                executor.submit( () ->
+                {
+                    while ( System.nanoTime() < deadline )
+                    {
+                        var sent = System.nanoTime();
+                        try
+                        {
+                            if ( client.send( request, HttpResponse.BodyHandlers.discarding() ).statusCode() != 200 )
+                            {
+                                errors.increment();
+                                continue;
+                            }
+                        }
+                        catch ( Exception e )
+                        {
+                            errors.increment();
+                            continue;
+                        }
+                        if ( counts[connection] == latencies[connection].length )
+                        {
+                            latencies[connection] = Arrays.copyOf( latencies[connection], counts[connection] * 2 );
+                        }
+                        latencies[connection][counts[connection]++] = System.nanoTime() - sent;
+                    }
+                } );
+            }
+            executor.shutdown();
+            executor.awaitTermination( seconds + 60L, TimeUnit.SECONDS );
+        }
+        var elapsed = System.nanoTime() - start;
+
+        var all = new long[Arrays.stream( counts ).sum()];
+        var offset = 0;
+        for ( var c = 0; c < connections; c++ )
+        {
+            System.arraycopy( latencies[c], 0, all, offset, counts[c] );
+            offset += counts[c];
+        }
+        Arrays.sort( all );
+        return new LoadResult( all, elapsed, errors.sum() );
+    }
+
+    private record LoadResult( long[] sortedLatencies, long elapsedNanos, long errors )
+    {
+        long completed()
+        {
+            return sortedLatencies.length;
+        }
+
+        double throughput()
+        {
+            return sortedLatencies.length * 1e9 / elapsedNanos;
+        }
+
+        double percentile( final double quantile )
+        {
+            if ( sortedLatencies.length == 0 )
+            {
+                return Double.NaN;
+            }
+            var rank = ( int ) Math.ceil( quantile * sortedLatencies.length );
+            return sortedLatencies[Math.clamp( rank - 1, 0, sortedLatencies.length - 1 )] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.mgm.inditex.reactive.core.usecase;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mgm.inditex.core.domain.Rate;
+import com.mgm.inditex.core.validation.ApiValidationException;
+import com.mgm.inditex.core.validation.RateValidator;
+import com.mgm.inditex.reactive.core.port.outbound.ReactiveRateRepositoryPort;
+
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+// CSOFF: Javadoc
+@ExtendWith( MockitoExtension.class )
+class ReactiveRateUseCaseTest
+{
+    private static final int BRAND_ID = 1;
+    private static final long PRODUCT_ID = 35455L;
+    private static final String CURR = "EUR";
+    private static final LocalDateTime DATE = LocalDateTime.of( 2020, 6, 14, 16, 0 );
+
+    @Mock
+    private ReactiveRateRepositoryPort rateRepository;
+
+    @Mock
+    private RateValidator rateValidator;
+
+    @InjectMocks
+    private ReactiveRateUseCase cut;
+
+    @Test
+    void getPriceShouldReturnApplicableRate()
+    {
+        // given
+        var rate = Rate.of( BRAND_ID, PRODUCT_ID, 2, DATE.minusHours( 1 ), DATE.plusHours( 2 ), ( short ) 1,
+            new BigDecimal( "25.45" ), CURR );
+        when( rateRepository.findApplicableRate( BRAND_ID, PRODUCT_ID, CURR, DATE.toInstant( ZoneOffset.UTC ) ) )
+            .thenReturn( Mono.just( rate ) );
+
+        // when / then
+        StepVerifier.create( cut.getPrice( BRAND_ID, PRODUCT_ID, CURR, DATE ) )
+            .expectNext( rate )
+            .verifyComplete();
+        verify( rateValidator ).validateGetPriceRequest( BRAND_ID, PRODUCT_ID, CURR, DATE );
+    }
+
+    @Test
+    void getPriceWhenNoRateAppliesShouldComplete()
+    {
+        // given
+        when( rateRepository.findApplicableRate( BRAND_ID, PRODUCT_ID, CURR, DATE.toInstant( ZoneOffset.UTC ) ) )
+            .thenReturn( Mono.empty() );
+
+        // when / then
+        StepVerifier.create( cut.getPrice( BRAND_ID, PRODUCT_ID, CURR, DATE ) ).verifyComplete();
+    }
+
+    @Test
+    void getPriceWhenRequestIsInvalidShouldSignalErrorOnSubscription()
+    {
+        // given
+        doThrow( new ApiValidationException( Collections.emptyList() ) )
+            .when( rateValidator ).validateGetPriceRequest( -1, PRODUCT_ID, CURR, DATE );
+
+        // when
+        var price = cut.getPrice( -1, PRODUCT_ID, CURR, DATE );
+
+        // then
+        verify( rateValidator, never() ).validateGetPriceRequest( any(), any(), any(), any() );
+        StepVerifier.create( price ).verifyError( ApiValidationException.class );
+        verify( rateRepository, never() ).findApplicableRate( any(), any(), any(), any() );
+    }
+}
@@ -0,0 +1,94 @@
+package com.mgm.inditex.reactive.integration;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import com.mgm.inditex.controller.model.PriceResponse;
+
+// CSOFF
+@SpringBootTest( properties = "spring.sql.init.data-locations=classpath:sql/integration-test-data.sql" )
+@AutoConfigureWebTestClient
+class GetPriceReactiveIntegrationTest
+{
+    private static final String GET_PRICE_PATH = "/inditex/api/v1/prices";
+    private static final String CURRENCY = "EUR";
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @ParameterizedTest
+    @MethodSource( "providedBrandProductDateAndExpectedResults" )
+    void getPrices( final Integer brandId, final Long productId, final OffsetDateTime date, final String currency,
+        final BigDecimal price )
+    {
+        var result = webTestClient.get()
+            .uri( builder -> builder.path( GET_PRICE_PATH )
+                .queryParam( "brandId", brandId )
+                .queryParam( "productId", productId )
+                .queryParam( "date", date.toString() )
+                .queryParam( "currency", currency )
+                .build() )
+            .accept( MediaType.APPLICATION_JSON )
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody( PriceResponse.class )
+            .returnResult()
+            .getResponseBody();
+
+        assertNotNull( result );
+        assertEquals( brandId, result.getBrandId() );
+        assertEquals( productId, result.getProductId() );
+        assertEquals( price, result.getPrice() );
+        assertEquals( currency, result.getCurrency() );
+    }
+
+    @Test
+    void getPriceWhenNoRateAppliesShouldReturnNotFound()
+    {
+        webTestClient.get()
+            .uri( GET_PRICE_PATH + "?brandId=1&productId=99999&date=2020-06-14T10:00:00Z&currency=EUR" )
+            .exchange()
+            .expectStatus().isNotFound();
+    }
+
+    @Test
+    void getPriceWhenRequestIsInvalidShouldReturnBadRequest()
+    {
+        webTestClient.get()
+            .uri( GET_PRICE_PATH + "?brandId=-1&productId=35455&date=2020-06-14T10:00:00Z&currency=EUR" )
+            .exchange()
+            .expectStatus().isBadRequest()
+            .expectBody().jsonPath( "$.errors[0].key" ).isEqualTo( "brandId" );
+    }
+
+    static Stream<Arguments> providedBrandProductDateAndExpectedResults()
+    {
+        return Stream.of(
+            Arguments.of( 1, 35455L, LocalDateTime.of( 2020, 6, 14, 10, 0 ).atOffset( ZoneOffset.UTC ), CURRENCY,
+                new BigDecimal( "35.50" ) ),
+            Arguments.of( 1, 35455L, LocalDateTime.of( 2020, 6, 14, 16, 0 ).atOffset( ZoneOffset.UTC ), CURRENCY,
+                new BigDecimal( "25.45" ) ),
+            Arguments.of( 1, 35455L, LocalDateTime.of( 2020, 6, 14, 21, 0 ).atOffset( ZoneOffset.UTC ), CURRENCY,
+                new BigDecimal( "35.50" ) ),
+            Arguments.of( 1, 35455L, LocalDateTime.of( 2020, 6, 15, 16, 0 ).atOffset( ZoneOffset.UTC ), CURRENCY,
+                new BigDecimal( "30.50" ) ),
+            Arguments.of( 1, 35455L, LocalDateTime.of( 2020, 6, 15, 21, 0 ).atOffset( ZoneOffset.UTC ), CURRENCY,
+                new BigDecimal( "38.95" ) ) );
+    }
+}
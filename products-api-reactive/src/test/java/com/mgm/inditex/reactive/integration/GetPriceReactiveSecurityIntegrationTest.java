@@ -0,0 +1,57 @@
+package com.mgm.inditex.reactive.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.mgm.inditex.infrastructure.security.jwt.JwtService;
+
+// CSOFF
+@SpringBootTest( properties = "spring.sql.init.data-locations=classpath:sql/integration-test-data.sql" )
+@AutoConfigureWebTestClient
+@ActiveProfiles( "prod" )
+class GetPriceReactiveSecurityIntegrationTest
+{
+    private static final String GET_PRICE_URI =
+        "/inditex/api/v1/prices?brandId=1&productId=35455&date=2020-06-14T10:00:00Z&currency=EUR";
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Test
+    void getPriceWithoutTokenShouldReturnUnauthorized()
+    {
+        webTestClient.get()
+            .uri( GET_PRICE_URI )
+            .exchange()
+            .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    void getPriceWithInvalidTokenShouldReturnUnauthorized()
+    {
+        webTestClient.get()
+            .uri( GET_PRICE_URI )
+            .header( HttpHeaders.AUTHORIZATION, "Bearer not-a-token" )
+            .exchange()
+            .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    void getPriceWithValidTokenShouldReturnPrice()
+    {
+        webTestClient.get()
+            .uri( GET_PRICE_URI )
+            .header( HttpHeaders.AUTHORIZATION, "Bearer " + jwtService.generateToken( "miguel@inditex.com" ) )
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody().jsonPath( "$.price" ).isEqualTo( 35.50 );
+    }
+}
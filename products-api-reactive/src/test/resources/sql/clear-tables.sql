@@ -0,0 +1 @@
+DELETE FROM rates;
\ No newline at end of file
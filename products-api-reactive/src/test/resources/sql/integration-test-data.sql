@@ -0,0 +1,6 @@
+-- Inserting the data
+INSERT INTO rates (brand_id, start_date, end_date, price_list_id, product_id, priority, price, currency)
+VALUES (1, '2020-06-14T00:00:00Z', '2020-12-31T23:59:59Z', 1, 35455, 0, 35.50, 'EUR'),
+       (1, '2020-06-14T15:00:00Z', '2020-06-14T18:30:00Z', 2, 35455, 1, 25.45, 'EUR'),
+       (1, '2020-06-15T00:00:00Z', '2020-06-15T20:00:00Z', 3, 35455, 1, 30.50, 'EUR'),
+       (1, '2020-06-15T16:00:00Z', '2020-12-31T23:59:59Z', 4, 35455, 1, 38.95, 'EUR');